@@ -0,0 +1,78 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.firebase;
+
+import com.google.api.client.http.ByteArrayContent;
+import com.google.gson.stream.JsonReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.StringReader;
+
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+/**
+ * Measures the serialization and the parsing of the node values.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+public class NodeValueBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int children;
+
+    private NodeValue value;
+    private String json;
+
+    @Setup
+    public void setUp() {
+        value = NodeValue.empty();
+        for (int i = 0; i < children; i++) {
+            value.addChild(format("{\"id\":{\"value\":\"entity-%d\"},\"name\":\"Entity #%d\"}",
+                                  i, i));
+        }
+        json = value.underlyingJson()
+                    .toString();
+    }
+
+    @Benchmark
+    public ByteArrayContent toByteArray() {
+        return value.toByteArray();
+    }
+
+    @Benchmark
+    public NodeValue fromString() {
+        return NodeValue.from(json);
+    }
+
+    @Benchmark
+    public NodeValue fromReader() {
+        return NodeValue.from(new JsonReader(new StringReader(json)));
+    }
+}
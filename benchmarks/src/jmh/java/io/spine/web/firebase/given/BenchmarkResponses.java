@@ -0,0 +1,68 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.firebase.given;
+
+import io.spine.client.QueryResponse;
+
+import static io.spine.web.firebase.given.FirebaseSubscriptionRecordTestEnv.mockQueryResponse;
+
+/**
+ * The query responses for the benchmarks.
+ */
+public final class BenchmarkResponses {
+
+    /** Prevents instantiation of this utility class. */
+    private BenchmarkResponses() {
+    }
+
+    /**
+     * Creates a response with the given number of books.
+     *
+     * <p>The given percentage of the books has the name which depends on the revision. Thus,
+     * the responses of different revisions differ only in that percentage of the books.
+     *
+     * @param books
+     *         the number of the books in the response
+     * @param changedPercent
+     *         the percentage of the books which change between the revisions
+     * @param revision
+     *         the revision of the books
+     */
+    public static QueryResponse library(int books, int changedPercent, int revision) {
+        Book[] library = new Book[books];
+        for (int i = 0; i < books; i++) {
+            int bookRevision = i % 100 < changedPercent ? revision : 0;
+            library[i] = book(i, bookRevision);
+        }
+        return mockQueryResponse(library);
+    }
+
+    private static Book book(int number, int revision) {
+        BookId id = BookId
+                .newBuilder()
+                .setValue("book-" + number)
+                .build();
+        return Book.newBuilder()
+                   .setId(id)
+                   .setName("Book #" + number + ", revision " + revision)
+                   .build();
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.firebase.given;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import io.spine.web.firebase.EntryFormat;
+import io.spine.web.firebase.FirebaseClient;
+import io.spine.web.firebase.NodePath;
+import io.spine.web.firebase.NodeValue;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link FirebaseClient} which keeps the database nodes in memory.
+ *
+ * <p>Like the database, the client stores the children merged into a node and deletes
+ * the children {@linkplain EntryFormat#isRemoved(JsonElement) marked as removed} in any of
+ * the entry formats. The read values are parsed from
+ * the serialized node content, as the values received over the network would be.
+ */
+public final class InMemoryFirebaseClient implements FirebaseClient {
+
+    private final Map<String, JsonObject> nodes = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<NodeValue> get(NodePath nodePath) {
+        JsonObject node = nodes.get(nodePath.getValue());
+        return node == null
+               ? Optional.empty()
+               : Optional.of(NodeValue.from(node.toString()));
+    }
+
+    @Override
+    public void merge(NodePath nodePath, NodeValue value) {
+        JsonObject node = nodes.computeIfAbsent(nodePath.getValue(), path -> new JsonObject());
+        synchronized (node) {
+            for (Map.Entry<String, JsonElement> child : value.underlyingJson()
+                                                             .entrySet()) {
+                JsonElement childValue = child.getValue();
+                if (EntryFormat.isRemoved(childValue)) {
+                    node.remove(child.getKey());
+                } else {
+                    node.add(child.getKey(), childValue);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void delete(NodePath nodePath) {
+        nodes.remove(nodePath.getValue());
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.firebase.query;
+
+import io.spine.client.Query;
+import io.spine.client.QueryResponse;
+import io.spine.testing.client.TestActorRequestFactory;
+import io.spine.web.firebase.EntryFormat;
+import io.spine.web.firebase.given.Book;
+import io.spine.web.firebase.given.InMemoryFirebaseClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import static io.spine.web.firebase.given.BenchmarkResponses.library;
+import static io.spine.web.firebase.query.FirebaseQueryBridge.DEFAULT_MAX_BATCH_BYTES;
+import static io.spine.web.firebase.query.FirebaseQueryBridge.DEFAULT_MAX_BATCH_ENTRIES;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+/**
+ * Measures the writes of the query records to an in-memory database.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+public class QueryRecordBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int entries;
+
+    @Param({"JSON_STRING", "JSON_OBJECT"})
+    public EntryFormat format;
+
+    private Query query;
+    private QueryResponse response;
+
+    @Setup
+    public void setUp() {
+        query = new TestActorRequestFactory(QueryRecordBenchmark.class).query()
+                                                                       .all(Book.class);
+        response = library(entries, 0, 0);
+    }
+
+    @Benchmark
+    public InMemoryFirebaseClient store() {
+        InMemoryFirebaseClient database = new InMemoryFirebaseClient();
+        QueryRecord record = new QueryRecord(query, response, format,
+                                             DEFAULT_MAX_BATCH_ENTRIES, DEFAULT_MAX_BATCH_BYTES);
+        record.storeVia(database);
+        return database;
+    }
+}
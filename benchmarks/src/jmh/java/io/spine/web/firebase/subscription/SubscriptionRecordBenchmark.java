@@ -0,0 +1,111 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.firebase.subscription;
+
+import io.spine.client.QueryResponse;
+import io.spine.web.firebase.EntryFormat;
+import io.spine.web.firebase.NodePath;
+import io.spine.web.firebase.NodePaths;
+import io.spine.web.firebase.NodeValue;
+import io.spine.web.firebase.given.InMemoryFirebaseClient;
+import io.spine.web.firebase.subscription.diff.EntryShadow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import static io.spine.web.firebase.given.BenchmarkResponses.library;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+/**
+ * Measures the writes of the subscription records to an in-memory database.
+ *
+ * <p>Each keep-up alternates between two revisions of the query response, which differ in
+ * a tenth of the entries. Thus, every keep-up writes the same amount of changes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+public class SubscriptionRecordBenchmark {
+
+    private static final int CHANGED_PERCENT = 10;
+
+    @Param({"10", "1000", "10000"})
+    public int entries;
+
+    @Param({"JSON_STRING", "JSON_OBJECT"})
+    public EntryFormat format;
+
+    private final NodePath path = NodePaths.of("benchmark/subscription");
+    private final QueryResponse[] revisions = new QueryResponse[2];
+    private int revision;
+
+    private InMemoryFirebaseClient shadowedDatabase;
+    private EntryShadow shadow;
+    private InMemoryFirebaseClient database;
+
+    @Setup
+    public void setUp() {
+        revisions[0] = library(entries, CHANGED_PERCENT, 0);
+        revisions[1] = library(entries, CHANGED_PERCENT, 1);
+        shadowedDatabase = new InMemoryFirebaseClient();
+        NodeValue initial = record(revisions[0]).storeAsInitial(shadowedDatabase);
+        shadow = EntryShadow.of(initial);
+        database = new InMemoryFirebaseClient();
+        record(revisions[0]).storeAsInitial(database);
+    }
+
+    private SubscriptionRecord record(QueryResponse response) {
+        return new SubscriptionRecord(path, response, format);
+    }
+
+    private SubscriptionRecord nextRevision() {
+        revision = 1 - revision;
+        return record(revisions[revision]);
+    }
+
+    @Benchmark
+    public NodeValue subscribe() {
+        return record(revisions[0]).storeAsInitial(new InMemoryFirebaseClient());
+    }
+
+    /**
+     * Keeps up the subscription calculating the changes against the node shadow.
+     */
+    @Benchmark
+    public EntryShadow keepUpWithShadow() {
+        shadow = nextRevision().storeAsUpdate(shadowedDatabase, shadow);
+        return shadow;
+    }
+
+    /**
+     * Keeps up the subscription calculating the changes against the node read from
+     * the database.
+     */
+    @Benchmark
+    public EntryShadow keepUpWithRead() {
+        return nextRevision().storeAsUpdate(database, null);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.firebase.subscription.diff;
+
+import io.spine.web.firebase.NodeValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+/**
+ * Measures the calculation of the subscription diff, including the matching of the entries.
+ *
+ * <p>The up-to-date entries come in the random order. A share of them is changed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+public class DiffCalculatorBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int entries;
+
+    /**
+     * The percentage of the changed entries.
+     */
+    @Param({"0", "10"})
+    public int changedPercent;
+
+    private NodeValue storedValue;
+    private EntryShadow shadow;
+    private List<String> upToDateEntries;
+
+    @Setup
+    public void setUp() {
+        storedValue = NodeValue.empty();
+        upToDateEntries = new ArrayList<>(entries);
+        for (int i = 0; i < entries; i++) {
+            storedValue.addChild(entry(i, 0));
+            int revision = i % 100 < changedPercent ? 1 : 0;
+            upToDateEntries.add(entry(i, revision));
+        }
+        Collections.shuffle(upToDateEntries, new Random(42));
+        shadow = EntryShadow.of(storedValue);
+    }
+
+    private static String entry(int id, int revision) {
+        return format("{\"id\":{\"value\":\"entity-%d\"},\"name\":\"Entity #%d\",\"revision\":%d}",
+                      id, id, revision);
+    }
+
+    /**
+     * Calculates the diff against the value read from the database.
+     */
+    @Benchmark
+    public Diff againstStoredValue() {
+        return DiffCalculator.from(storedValue)
+                             .compareWith(upToDateEntries);
+    }
+
+    /**
+     * Calculates the diff against the local shadow of the node.
+     */
+    @Benchmark
+    public Diff againstShadow() {
+        return DiffCalculator.from(shadow)
+                             .compareWith(upToDateEntries);
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.given;
+
+import javax.annotation.Nullable;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Proxy;
+
+import static com.google.common.net.HttpHeaders.CONTENT_TYPE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Lightweight HTTP requests for the benchmarks.
+ *
+ * <p>Unlike mocks, the requests do not record the invocations and thus do not distort
+ * the measurements.
+ */
+public final class BenchmarkRequests {
+
+    /** Prevents instantiation of this utility class. */
+    private BenchmarkRequests() {
+    }
+
+    /**
+     * Creates a new request with the given body.
+     *
+     * <p>The request supports only the methods required to read the body.
+     *
+     * @param contentType
+     *         the value of the {@code Content-Type} header
+     * @param body
+     *         the request body
+     */
+    public static HttpServletRequest request(String contentType, byte[] body) {
+        return new BodyRequest(contentType, body);
+    }
+
+    private static HttpServletRequest unsupportedRequest() {
+        Object request = Proxy.newProxyInstance(
+                BenchmarkRequests.class.getClassLoader(),
+                new Class<?>[]{HttpServletRequest.class},
+                (proxy, method, args) -> {
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        return (HttpServletRequest) request;
+    }
+
+    private static final class BodyRequest extends HttpServletRequestWrapper {
+
+        private static final HttpServletRequest UNSUPPORTED = unsupportedRequest();
+
+        private final String contentType;
+        private final byte[] body;
+
+        private BodyRequest(String contentType, byte[] body) {
+            super(UNSUPPORTED);
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        @Override
+        @Nullable
+        public String getHeader(String name) {
+            return CONTENT_TYPE.equalsIgnoreCase(name) ? contentType : null;
+        }
+
+        @Override
+        public String getContentType() {
+            return contentType;
+        }
+
+        @Override
+        public String getCharacterEncoding() {
+            return UTF_8.name();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return new BodyStream(body);
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body),
+                                                            UTF_8));
+        }
+    }
+
+    private static final class BodyStream extends ServletInputStream {
+
+        private final ByteArrayInputStream bytes;
+
+        private BodyStream(byte[] bytes) {
+            super();
+            this.bytes = new ByteArrayInputStream(bytes);
+        }
+
+        @Override
+        public int read() {
+            return bytes.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            return bytes.read(b, off, len);
+        }
+
+        @Override
+        public boolean isFinished() {
+            return bytes.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            throw new UnsupportedOperationException("Non-blocking reading is not supported.");
+        }
+    }
+}
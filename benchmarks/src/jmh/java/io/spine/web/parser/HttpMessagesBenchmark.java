@@ -0,0 +1,127 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.parser;
+
+import io.spine.client.CommandFactory;
+import io.spine.core.Command;
+import io.spine.json.Json;
+import io.spine.testing.client.TestActorRequestFactory;
+import io.spine.testing.client.command.TestCommandMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.Optional;
+
+import static io.spine.base.Identifier.newUuid;
+import static io.spine.web.given.BenchmarkRequests.request;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+/**
+ * Measures parsing of a typical {@link Command} from an HTTP request body.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+public class HttpMessagesBenchmark {
+
+    @Param
+    public Body body;
+
+    private String contentType;
+    private byte[] bytes;
+
+    @Setup
+    public void setUp() {
+        CommandFactory commandFactory =
+                new TestActorRequestFactory(HttpMessagesBenchmark.class).command();
+        TestCommandMessage message = TestCommandMessage
+                .vBuilder()
+                .setId(newUuid())
+                .build();
+        Command command = commandFactory.create(message);
+        contentType = body.contentType;
+        bytes = body.encode(command);
+    }
+
+    @Benchmark
+    public Optional<Command> parse() throws IOException {
+        return HttpMessages.parse(request(contentType, bytes), Command.class);
+    }
+
+    /**
+     * The encodings of the request body.
+     */
+    public enum Body {
+
+        JSON("application/json") {
+            @Override
+            byte[] encode(Command command) {
+                return Json.toCompactJson(command)
+                           .getBytes(UTF_8);
+            }
+        },
+
+        /**
+         * The JSON sent as a JSON string literal, which is un-escaped before parsing.
+         */
+        QUOTED_JSON("application/json") {
+            @Override
+            byte[] encode(Command command) {
+                String json = Json.toCompactJson(command);
+                String quoted = '"' + json.replace("\\", "\\\\")
+                                          .replace("\"", "\\\"") + '"';
+                return quoted.getBytes(UTF_8);
+            }
+        },
+
+        BASE64("application/x-protobuf") {
+            @Override
+            byte[] encode(Command command) {
+                return Base64.getEncoder()
+                             .encode(command.toByteArray());
+            }
+        },
+
+        BINARY("application/protobuf") {
+            @Override
+            byte[] encode(Command command) {
+                return command.toByteArray();
+            }
+        };
+
+        private final String contentType;
+
+        Body(String contentType) {
+            this.contentType = contentType;
+        }
+
+        abstract byte[] encode(Command command);
+    }
+}
@@ -32,6 +32,8 @@ import {Client} from './client';
  *                                                          data from
  * @property {?ActorProvider} actorProvider                 the optional provider of the user interacting with Spine
  * @property {?Client} implementation                       the optional custom implementation of `Client`
+ * @property {?MessageFormat} messageFormat                 the optional format of the messages sent to
+ *                                                          the endpoint, `MessageFormat.BASE64` by default
  */
 
 /**
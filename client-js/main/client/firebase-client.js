@@ -324,7 +324,7 @@ export class FirebaseClientFactory extends AbstractClientFactory {
    * @override
    */
   static _clientFor(options) {
-    const httpClient = new HttpClient(options.endpointUrl);
+    const httpClient = new HttpClient(options.endpointUrl, options.messageFormat);
     const endpoint = new HttpEndpoint(httpClient);
     const firebaseDatabaseClient = new FirebaseDatabaseClient(options.firebaseDatabase);
     const requestFactory = new ActorRequestFactory(options.actorProvider);
@@ -22,6 +22,19 @@
 
 import {Subscription} from 'rxjs';
 
+/**
+ * Parses the value of a query or subscription node child.
+ *
+ * The server stores an entry either as a string with the entry JSON or as a native JSON object.
+ * Both layouts are supported.
+ *
+ * @param {?(string|Object)} value the child value
+ * @return {?Object} the entry object
+ */
+function parseEntry(value) {
+  return typeof value === 'string' ? JSON.parse(value) : value;
+}
+
 /**
  * The client of a Firebase Realtime database.
  */
@@ -81,8 +94,7 @@ export class FirebaseDatabaseClient {
   _subscribeToChildEvent(childEvent, path, dataCallback) {
     const dbRef = this._database.ref(path);
     const callback = dbRef.on(childEvent, response => {
-      const msgJson = response.val();
-      const message = JSON.parse(msgJson);
+      const message = parseEntry(response.val());
       dataCallback(message);
     });
     return new Subscription(() => {
@@ -104,8 +116,8 @@ export class FirebaseDatabaseClient {
       if (data == null) {
         return dataCallback([]);
       }
-      const objectStrings = Object.values(data);
-      const items = objectStrings.map(item => JSON.parse(item));
+      const entries = Object.values(data);
+      const items = entries.map(parseEntry);
       dataCallback(items);
     });
   }
@@ -27,6 +27,26 @@
  */
 import fetch from 'isomorphic-fetch';
 
+/**
+ * The formats in which the messages are sent to the application server.
+ *
+ * @enum {string}
+ */
+export const MessageFormat = {
+
+  /**
+   * The message bytes encoded in Base64.
+   */
+  BASE64: 'application/x-protobuf',
+
+  /**
+   * The raw message bytes.
+   *
+   * The request body is a third smaller than in Base64 and needs no decoding on the server.
+   */
+  BINARY: 'application/protobuf'
+};
+
 /**
  * The HTTP client which performs the connection to the application server.
  */
@@ -37,15 +57,18 @@ export class HttpClient {
    *
    * @param {!string} appBaseUrl an application base URL (the protocol and the domain name) represented as
    *                            a string
+   * @param {?MessageFormat} messageFormat the format in which the messages are sent,
+   *                                       `MessageFormat.BASE64` by default
    */
-  constructor(appBaseUrl) {
+  constructor(appBaseUrl, messageFormat = MessageFormat.BASE64) {
     this._appBaseUrl = appBaseUrl;
+    this._messageFormat = messageFormat;
   }
 
   /**
    * Sends the given message to the given endpoint.
    *
-   * The message is sent as in form of a Base64-encoded byte string.
+   * The message is sent in the {@link MessageFormat} of this client.
    *
    * @param {!string} endpoint a endpoint to send the message to
    * @param {!TypedMessage} message a message to send, as a {@link TypedMessage}
@@ -53,17 +76,35 @@ export class HttpClient {
    *                                   an error occurs
    */
   postMessage(endpoint, message) {
-    const messageString = message.toBase64();
+    const body = this._messageFormat === MessageFormat.BINARY
+        ? HttpClient._binaryBody(message.toBytes())
+        : message.toBase64();
     const path = endpoint.startsWith('/') ? endpoint : '/' + endpoint;
     const url = this._appBaseUrl + path;
     const request = {
       method: 'POST',
-      body: messageString,
+      body: body,
       headers: {
-        'Content-Type': 'application/x-protobuf'
+        'Content-Type': this._messageFormat
       },
       mode: 'cors'
     };
     return fetch(url, request);
   }
+
+  /**
+   * Prepares the message bytes to be sent as a request body.
+   *
+   * The Node.js `fetch` implementation only sends strings, buffers and streams, so the bytes
+   * are wrapped into a `Buffer` where it is available.
+   *
+   * @param {!Uint8Array} bytes the serialized message
+   * @return {Uint8Array} the request body
+   * @private
+   */
+  static _binaryBody(bytes) {
+    return typeof Buffer === 'undefined'
+        ? bytes
+        : Buffer.from(bytes.buffer, bytes.byteOffset, bytes.byteLength);
+  }
 }
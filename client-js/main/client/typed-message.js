@@ -208,10 +208,19 @@ export class TypedMessage {
    * @return the string representing this message
    */
   toBase64() {
-    const bytes = this.message.serializeBinary();
+    const bytes = this.toBytes();
     return base64.fromByteArray(bytes);
   }
 
+  /**
+   * Converts this message into a byte array.
+   *
+   * @return {Uint8Array} the serialized message bytes
+   */
+  toBytes() {
+    return this.message.serializeBinary();
+  }
+
   /**
    * Creates a new `TypedMessage` wrapping a string.
    *
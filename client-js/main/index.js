@@ -21,7 +21,7 @@
 export {Type, TypedMessage, TypeUrl} from './client/typed-message';
 export {ActorRequestFactory, ActorProvider} from './client/actor-request-factory';
 export {FirebaseDatabaseClient} from './client/firebase-database-client';
-export {HttpClient} from './client/http-client';
+export {HttpClient, MessageFormat} from './client/http-client';
 export {Client} from './client/client';
 export {init} from './client/spine';
 export {FirebaseClient} from './client/firebase-client'
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+import assert from 'assert';
+import http from 'http';
+import uuid from 'uuid';
+
+import {HttpClient, MessageFormat} from '@lib/client/http-client';
+import {TypedMessage} from '@lib/client/typed-message';
+import {Duration} from '@lib/client/time-utils';
+import {CreateTask} from '@testProto/spine/web/test/given/commands_pb';
+import {TaskId} from '@testProto/spine/web/test/given/task_pb';
+import {fail} from './test-helpers';
+
+class Given {
+  constructor() {
+    throw new Error('A utility Given class cannot be instantiated.');
+  }
+
+  static command() {
+    const taskId = new TaskId();
+    taskId.setValue(uuid.v4());
+    const command = new CreateTask();
+    command.setId(taskId);
+    command.setName(uuid.v4());
+    return TypedMessage.of(command);
+  }
+}
+
+Given.ENDPOINT = '/command';
+
+/**
+ * An HTTP server which remembers the last request it received.
+ */
+class RecordingServer {
+
+  constructor() {
+    this._server = http.createServer((request, response) => {
+      const chunks = [];
+      request.on('data', chunk => chunks.push(chunk));
+      request.on('end', () => {
+        this.lastRequest = {
+          url: request.url,
+          contentType: request.headers['content-type'],
+          body: Buffer.concat(chunks)
+        };
+        response.end();
+      });
+    });
+  }
+
+  start() {
+    return new Promise(resolve => this._server.listen(0, 'localhost', resolve));
+  }
+
+  stop() {
+    return new Promise(resolve => this._server.close(resolve));
+  }
+
+  url() {
+    return `http://localhost:${this._server.address().port}`;
+  }
+}
+
+describe('HttpClient', function () {
+  const timeoutDuration = new Duration({seconds: 5});
+  this.timeout(timeoutDuration.inMs());
+
+  const server = new RecordingServer();
+
+  before(() => server.start());
+
+  after(() => server.stop());
+
+  it('sends messages encoded in Base64 by default', done => {
+    const command = Given.command();
+    const httpClient = new HttpClient(server.url());
+
+    httpClient.postMessage(Given.ENDPOINT, command)
+      .then(() => {
+        const request = server.lastRequest;
+        assert.equal(request.url, Given.ENDPOINT);
+        assert.equal(request.contentType, MessageFormat.BASE64);
+        assert.equal(request.body.toString(), command.toBase64());
+        done();
+      })
+      .catch(fail(done, 'A message sending failed when it was expected to complete.'));
+  });
+
+  it('sends raw message bytes in the binary format', done => {
+    const command = Given.command();
+    const httpClient = new HttpClient(server.url(), MessageFormat.BINARY);
+
+    httpClient.postMessage(Given.ENDPOINT, command)
+      .then(() => {
+        const request = server.lastRequest;
+        assert.equal(request.url, Given.ENDPOINT);
+        assert.equal(request.contentType, MessageFormat.BINARY);
+        assert.ok(request.body.equals(Buffer.from(command.toBytes())));
+        const received = CreateTask.deserializeBinary(new Uint8Array(request.body));
+        assert.equal(received.getName(), command.message.getName());
+        done();
+      })
+      .catch(fail(done, 'A message sending failed when it was expected to complete.'));
+  });
+});
+
+describe('TypedMessage.toBytes', () => {
+
+  it('serializes the wrapped message', () => {
+    const command = Given.command();
+    const bytes = command.toBytes();
+    assert.ok(bytes instanceof Uint8Array);
+    const restored = CreateTask.deserializeBinary(bytes);
+    assert.equal(restored.getName(), command.message.getName());
+    assert.equal(restored.getId().getValue(), command.message.getId().getValue());
+  });
+
+  it('is consistent with the Base64 representation', () => {
+    const command = Given.command();
+    const fromBase64 = Buffer.from(command.toBase64(), 'base64');
+    assert.ok(fromBase64.equals(Buffer.from(command.toBytes())));
+  });
+});
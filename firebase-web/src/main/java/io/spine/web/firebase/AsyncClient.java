@@ -20,21 +20,76 @@
 
 package io.spine.web.firebase;
 
+import com.google.gson.JsonElement;
+import io.spine.web.firebase.metrics.Gauge;
+import io.spine.web.firebase.metrics.MetricsRegistry;
+
+import java.time.Duration;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static io.spine.web.future.Completion.dispose;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 /**
  * A {@link FirebaseClient} which executes write operations asynchronously.
  *
  * <p>Read operations are considered less frequent and less costly, thus are executed synchronously.
+ *
+ * <p>The client may either pass the writes to an arbitrary {@link Executor} or keep them in
+ * a bounded queue processed by a dedicated set of threads. The latter is configured via
+ * the {@link #newBuilder() Builder}.
+ *
+ * <p>The bounded client {@linkplain Builder#setCoalescing(boolean) coalesces} the pending writes
+ * to the same node into a single request by default.
+ *
+ * <p>Each write may be tracked via the future returned from
+ * {@link #mergeAsync(NodePath, NodeValue)}. The pending writes can be awaited with
+ * {@link #flush(Duration)} and {@link #shutdown(Duration)}.
  */
 public final class AsyncClient implements FirebaseClient {
 
+    /**
+     * The default capacity of the write queue.
+     */
+    static final int DEFAULT_QUEUE_CAPACITY = 1000;
+
+    /**
+     * The default number of the threads which perform the queued writes.
+     */
+    static final int DEFAULT_WRITER_COUNT = 1;
+
     private final FirebaseClient delegate;
-    private final Executor executor;
+    private final WriteEngine engine;
+    private final Set<CompletableFuture<Void>> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Guards the acceptance of the writes against the shutdown.
+     *
+     * <p>The writes are accepted under the read lock, and the client is closed under the write
+     * lock. Thus, a write is either rejected or is pending by the time the shutdown flushes.
+     */
+    private final ReadWriteLock acceptance = new ReentrantReadWriteLock();
+    private boolean closed = false;
+
+    private AsyncClient(FirebaseClient delegate, WriteEngine engine) {
+        this.delegate = delegate;
+        this.engine = engine;
+    }
 
     /**
      * Creates a new async client with the given delegate and the given executor.
@@ -45,8 +100,7 @@ public final class AsyncClient implements FirebaseClient {
      * @param executor the {@link Executor} which executes the write requests
      */
     public AsyncClient(FirebaseClient delegate, Executor executor) {
-        this.delegate = checkNotNull(delegate);
-        this.executor = checkNotNull(executor);
+        this(checkNotNull(delegate), new ExecutorWriteEngine(delegate, checkNotNull(executor)));
     }
 
     /**
@@ -57,6 +111,9 @@ public final class AsyncClient implements FirebaseClient {
      * concurrency API, such as {@link java.util.concurrent.CompletableFuture} and the conventional
      * implementations of {@link java.util.stream.Stream}.
      *
+     * <p>The common pool has no bound on the number of the pending writes. Consider using
+     * a {@linkplain #newBuilder() bounded} client for the high-load applications.
+     *
      * @param delegate the firebase client which performs the requests
      * @see #AsyncClient(FirebaseClient, Executor)
      */
@@ -69,8 +126,251 @@ public final class AsyncClient implements FirebaseClient {
         return delegate.get(nodePath);
     }
 
+    @Override
+    public void forEachChild(NodePath nodePath, BiConsumer<String, JsonElement> action) {
+        delegate.forEachChild(nodePath, action);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The write is performed asynchronously. A failure of the write is logged.
+     *
+     * @throws RejectedExecutionException
+     *         if the client is {@linkplain #shutdown(Duration) shut down} or if the write queue is
+     *         full and the {@link OverflowPolicy#FAIL_FAST} policy is used
+     */
     @Override
     public void merge(NodePath nodePath, NodeValue value) {
-        executor.execute(() -> delegate.merge(nodePath, value));
+        dispose(mergeAsync(nodePath, value));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Unlike writes, the node is deleted synchronously. The writes to the node which are still
+     * pending are not cancelled.
+     */
+    @Override
+    public void delete(NodePath nodePath) {
+        delegate.delete(nodePath);
+    }
+
+    /**
+     * Schedules a merge of the given value into the given node.
+     *
+     * @param nodePath
+     *         the path to the node in the Firebase database
+     * @param value
+     *         the value to merge
+     * @return the future which is completed when the value is written to the database or
+     *         completed exceptionally if the write fails or is dropped
+     * @throws RejectedExecutionException
+     *         if the client is {@linkplain #shutdown(Duration) shut down} or if the write queue is
+     *         full and the {@link OverflowPolicy#FAIL_FAST} policy is used
+     */
+    @Override
+    public CompletableFuture<Void> mergeAsync(NodePath nodePath, NodeValue value) {
+        checkNotNull(nodePath);
+        checkNotNull(value);
+        Lock lock = acceptance.readLock();
+        lock.lock();
+        try {
+            if (closed) {
+                throw new RejectedExecutionException("The client is shut down.");
+            }
+            CompletableFuture<Void> future = engine.write(nodePath, value);
+            pending.add(future);
+            future.whenComplete((result, error) -> pending.remove(future));
+            return future;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits for all the writes scheduled so far to complete.
+     *
+     * <p>The writes which complete exceptionally are counted as completed.
+     *
+     * @param timeout
+     *         the maximum time to wait
+     * @return {@code true} if all the writes are complete, {@code false} if the timeout elapsed
+     *         or the current thread was interrupted
+     */
+    public boolean flush(Duration timeout) {
+        checkNotNull(timeout);
+        CompletableFuture<?>[] snapshot = pending.toArray(new CompletableFuture<?>[0]);
+        try {
+            CompletableFuture.allOf(snapshot)
+                             .get(timeout.toMillis(), MILLISECONDS);
+            return true;
+        } catch (ExecutionException ignored) {
+            // All the writes are complete, some of them have failed.
+            return true;
+        } catch (TimeoutException ignored) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Stops accepting new writes, waits for the pending ones to complete and releases
+     * the resources of the client.
+     *
+     * <p>If the client was created with a user-supplied {@link Executor}, the executor is not
+     * shut down.
+     *
+     * @param timeout
+     *         the maximum time to wait for the pending writes
+     * @return {@code true} if all the pending writes are complete, {@code false} otherwise
+     */
+    public boolean shutdown(Duration timeout) {
+        checkNotNull(timeout);
+        Lock lock = acceptance.writeLock();
+        lock.lock();
+        try {
+            closed = true;
+        } finally {
+            lock.unlock();
+        }
+        boolean flushed = flush(timeout);
+        engine.shutdown();
+        return flushed;
+    }
+
+    /**
+     * Obtains the number of the writes which were combined with the earlier pending writes to
+     * the same node instead of being sent separately.
+     *
+     * <p>Always returns zero for the clients which use an {@link Executor}.
+     */
+    public long coalescedWriteCount() {
+        return engine.coalescedWrites();
+    }
+
+    /**
+     * Obtains the number of the writes which are queued or being performed.
+     */
+    public int pendingWriteCount() {
+        return pending.size();
+    }
+
+    /**
+     * Creates a new instance of {@code Builder} for the {@code AsyncClient} instances with
+     * a bounded write queue.
+     *
+     * @return new instance of {@code Builder}
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * A builder for the {@code AsyncClient} instances which keep the pending writes in a bounded
+     * queue.
+     */
+    public static final class Builder {
+
+        private FirebaseClient delegate;
+        private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+        private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+        private int writerCount = DEFAULT_WRITER_COUNT;
+        private boolean coalescing = true;
+        private MetricsRegistry metrics = MetricsRegistry.noOp();
+
+        /**
+         * Prevents local instantiation.
+         */
+        private Builder() {
+        }
+
+        public Builder setDelegate(FirebaseClient delegate) {
+            this.delegate = checkNotNull(delegate);
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of the writes waiting to be performed.
+         *
+         * <p>The default value is {@value AsyncClient#DEFAULT_QUEUE_CAPACITY}.
+         */
+        public Builder setQueueCapacity(int queueCapacity) {
+            checkArgument(queueCapacity > 0,
+                          "Queue capacity must be positive, got %s.", queueCapacity);
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * Sets the policy to apply when the write queue is full.
+         *
+         * <p>The default value is {@link OverflowPolicy#BLOCK}.
+         */
+        public Builder setOverflowPolicy(OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = checkNotNull(overflowPolicy);
+            return this;
+        }
+
+        /**
+         * Sets the number of the threads which perform the writes.
+         *
+         * <p>The default value is {@value AsyncClient#DEFAULT_WRITER_COUNT}.
+         */
+        public Builder setWriterCount(int writerCount) {
+            checkArgument(writerCount > 0,
+                          "Writer count must be positive, got %s.", writerCount);
+            this.writerCount = writerCount;
+            return this;
+        }
+
+        /**
+         * Enables or disables coalescing of the pending writes.
+         *
+         * <p>If enabled, a write to a node which already has a pending write is combined with
+         * that write, and a single request is sent for both. The children of the later value
+         * overwrite the common children of the earlier one. The callers of both writes receive
+         * the same future.
+         *
+         * <p>Coalescing is enabled by default. Disable it if the order of the writes to different
+         * nodes must be preserved.
+         */
+        public Builder setCoalescing(boolean coalescing) {
+            this.coalescing = coalescing;
+            return this;
+        }
+
+        /**
+         * Sets the registry to expose the {@linkplain AsyncClient#pendingWriteCount() number of
+         * the pending writes} and the {@linkplain AsyncClient#coalescedWriteCount() number of
+         * the coalesced writes} to as the {@link Gauge#PENDING_WRITES} and
+         * the {@link Gauge#COALESCED_WRITES} gauges.
+         */
+        public Builder setMetrics(MetricsRegistry metrics) {
+            this.metrics = checkNotNull(metrics);
+            return this;
+        }
+
+        /**
+         * Creates a new instance of {@code AsyncClient}.
+         *
+         * <p>The client starts its writer threads immediately. Use
+         * {@link AsyncClient#shutdown(Duration)} to stop them.
+         *
+         * @return new instance of {@code AsyncClient}
+         */
+        public AsyncClient build() {
+            checkState(delegate != null, "Delegate Firebase client is not set.");
+            WriteEngine engine =
+                    new BoundedWriteEngine(delegate, queueCapacity, overflowPolicy,
+                                           writerCount, coalescing);
+            AsyncClient client = new AsyncClient(delegate, engine);
+            metrics.registerGauge(Gauge.PENDING_WRITES, client::pendingWriteCount);
+            metrics.registerGauge(Gauge.COALESCED_WRITES, client::coalescedWriteCount);
+            return client;
+        }
     }
 }
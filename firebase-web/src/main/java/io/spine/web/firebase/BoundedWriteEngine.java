@@ -0,0 +1,224 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.firebase;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * A {@link WriteEngine} which keeps the pending writes in a bounded queue and performs them on
+ * a dedicated set of threads.
+ *
+ * <p>When the queue is full, the engine acts according to the given {@link OverflowPolicy}.
+ *
+ * <p>If coalescing is enabled, a write to a node which already has a pending write is combined
+ * with that write instead of occupying a new place in the queue. The children of the later
+ * value win. Both callers then receive the same future. Note that coalescing may reorder
+ * the writes to different nodes.
+ */
+final class BoundedWriteEngine implements WriteEngine {
+
+    /**
+     * The time for which a writer thread waits for a new write before checking if the engine
+     * is still running.
+     */
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    private final FirebaseClient delegate;
+    private final BlockingQueue<PendingWrite> queue;
+    private final OverflowPolicy overflowPolicy;
+    private final ExecutorService writers;
+    private final boolean coalescing;
+
+    /**
+     * The queued writes which have not been taken by a writer thread yet.
+     *
+     * <p>Used as the lock for the coalescing.
+     */
+    private final Map<NodePath, PendingWrite> pendingByPath = new HashMap<>();
+    private final AtomicLong coalescedWrites = new AtomicLong();
+    private volatile boolean running = true;
+
+    BoundedWriteEngine(FirebaseClient delegate,
+                       int capacity,
+                       OverflowPolicy overflowPolicy,
+                       int writerCount,
+                       boolean coalescing) {
+        this.delegate = delegate;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.coalescing = coalescing;
+        ThreadFactory threadFactory = new ThreadFactoryBuilder()
+                .setNameFormat("firebase-writer-%d")
+                .setDaemon(true)
+                .build();
+        this.writers = newFixedThreadPool(writerCount, threadFactory);
+        for (int i = 0; i < writerCount; i++) {
+            writers.execute(this::processWrites);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> write(NodePath path, NodeValue value) {
+        if (!running) {
+            throw new RejectedExecutionException("The write engine is shut down.");
+        }
+        if (!coalescing) {
+            PendingWrite write = new PendingWrite(path, value);
+            enqueue(write);
+            rejectIfStopped(write);
+            return write.future();
+        }
+        PendingWrite write;
+        synchronized (pendingByPath) {
+            PendingWrite existing = pendingByPath.get(path);
+            if (existing != null) {
+                existing.absorb(value);
+                coalescedWrites.incrementAndGet();
+                return existing.future();
+            }
+            write = new PendingWrite(path, value);
+            pendingByPath.put(path, write);
+        }
+        enqueue(write);
+        rejectIfStopped(write);
+        return write.future();
+    }
+
+    /**
+     * Rejects the given queued write if the engine has been shut down meanwhile and no writer
+     * thread has taken the write.
+     *
+     * <p>Otherwise, the write could stay in the queue after the writer threads exit.
+     */
+    private void rejectIfStopped(PendingWrite write) {
+        if (!running && queue.remove(write)) {
+            RejectedExecutionException exception =
+                    new RejectedExecutionException("The write engine is shut down.");
+            reject(write, exception);
+            throw exception;
+        }
+    }
+
+    private void enqueue(PendingWrite write) {
+        switch (overflowPolicy) {
+            case BLOCK:
+                putBlocking(write);
+                break;
+            case DROP_OLDEST:
+                while (!queue.offer(write)) {
+                    PendingWrite dropped = queue.poll();
+                    if (dropped != null) {
+                        reject(dropped, new RejectedExecutionException(
+                                "The write is dropped due to the queue overflow."));
+                    }
+                }
+                break;
+            case FAIL_FAST:
+            default:
+                if (!queue.offer(write)) {
+                    RejectedExecutionException exception =
+                            new RejectedExecutionException("The write queue is full.");
+                    reject(write, exception);
+                    throw exception;
+                }
+                break;
+        }
+    }
+
+    private void putBlocking(PendingWrite write) {
+        try {
+            queue.put(write);
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+            RejectedExecutionException exception = new RejectedExecutionException(
+                    "Interrupted while waiting for space in the write queue.", e);
+            reject(write, exception);
+            throw exception;
+        }
+    }
+
+    /**
+     * Rejects the given write, including all the writes coalesced into it.
+     */
+    private void reject(PendingWrite write, RejectedExecutionException cause) {
+        release(write);
+        write.reject(cause);
+    }
+
+    /**
+     * Prevents coalescing of the new writes into the given one.
+     */
+    private void release(PendingWrite write) {
+        if (coalescing) {
+            synchronized (pendingByPath) {
+                pendingByPath.remove(write.path(), write);
+            }
+        }
+    }
+
+    /**
+     * Performs the queued writes until the engine is shut down and the queue is drained.
+     */
+    private void processWrites() {
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite write = queue.poll(POLL_TIMEOUT_MILLIS, MILLISECONDS);
+                if (write != null) {
+                    release(write);
+                    write.executeVia(delegate);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread()
+                      .interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Obtains the number of the writes which were combined with the earlier pending writes
+     * instead of being sent separately.
+     */
+    @Override
+    public long coalescedWrites() {
+        return coalescedWrites.get();
+    }
+
+    @Override
+    public void shutdown() {
+        running = false;
+        writers.shutdown();
+    }
+}
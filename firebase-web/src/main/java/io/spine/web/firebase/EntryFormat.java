@@ -0,0 +1,181 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.firebase;
+
+import com.google.common.base.CharMatcher;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A layout of the query and subscription entries stored in the Firebase database.
+ *
+ * <p>Each entry is an entity state serialized to JSON and stored as a child of the query or
+ * subscription node. The format defines how the JSON becomes the child value and how a removed
+ * entry is marked.
+ *
+ * <p>The JavaScript client reads both formats starting from version {@code 0.16.3}. The older
+ * clients support only the {@link #JSON_STRING} format.
+ */
+public enum EntryFormat {
+
+    /**
+     * Stores each entry as a string containing the entry JSON.
+     *
+     * <p>A removed entry is marked with the {@code "null"} string. The entry remains in
+     * the database and is reported to the clients as a change.
+     *
+     * <p>This is the original format understood by all the client versions.
+     */
+    JSON_STRING {
+        @Override
+        public JsonElement child(String json) {
+            checkNotNull(json);
+            return new JsonPrimitive(json);
+        }
+
+        @Override
+        public JsonElement removedChild() {
+            return new JsonPrimitive(REMOVED_STRING);
+        }
+    },
+
+    /**
+     * Stores each entry as a native JSON object.
+     *
+     * <p>The entries which are not JSON objects, e.g. the states of the well-known types
+     * serialized to JSON strings, are stored as in the {@link #JSON_STRING} format. This keeps
+     * the stored children unambiguous: a string child always contains the entry JSON.
+     *
+     * <p>The entries which the database cannot store as is are stored as strings as well. These
+     * are the entries with the keys containing the characters forbidden by the database, e.g.
+     * the keys of the {@code map} fields, and the entries with the empty objects, arrays or
+     * {@code null} values, which the database silently drops. Otherwise, the stored entry would
+     * never match the entry it was written from.
+     *
+     * <p>A removed entry is written as the JSON {@code null}, which makes the database delete
+     * the child. The entry fields can be addressed by the database rules and queries, and
+     * the JSON is not escaped into a string on the wire.
+     */
+    JSON_OBJECT {
+        @Override
+        public JsonElement child(String json) {
+            checkNotNull(json);
+            JsonElement parsed = new JsonParser().parse(json);
+            return parsed.isJsonObject() && storedAsIs(parsed)
+                   ? parsed
+                   : JSON_STRING.child(json);
+        }
+
+        @Override
+        public JsonElement removedChild() {
+            return JsonNull.INSTANCE;
+        }
+    };
+
+    private static final String REMOVED_STRING = "null";
+
+    /**
+     * The characters which the database does not allow in the keys.
+     */
+    private static final CharMatcher FORBIDDEN_KEY_CHARS = CharMatcher.anyOf(".$#[]/");
+
+    /**
+     * Converts the given entry JSON into the child value.
+     */
+    public abstract JsonElement child(String json);
+
+    /**
+     * Obtains the child value which marks a removed entry.
+     */
+    public abstract JsonElement removedChild();
+
+    /**
+     * Obtains the format used unless another one is configured.
+     */
+    public static EntryFormat defaultFormat() {
+        return JSON_STRING;
+    }
+
+    /**
+     * Checks if the given child value marks a removed entry in any of the formats.
+     */
+    public static boolean isRemoved(JsonElement child) {
+        checkNotNull(child);
+        if (child.isJsonNull()) {
+            return true;
+        }
+        return child.isJsonPrimitive() && REMOVED_STRING.equals(child.getAsString());
+    }
+
+    /**
+     * Checks if the database stores the given JSON value without altering it.
+     */
+    private static boolean storedAsIs(JsonElement json) {
+        if (json.isJsonNull()) {
+            return false;
+        }
+        if (json.isJsonObject()) {
+            Set<Map.Entry<String, JsonElement>> fields = json.getAsJsonObject()
+                                                             .entrySet();
+            if (fields.isEmpty()) {
+                return false;
+            }
+            for (Map.Entry<String, JsonElement> field : fields) {
+                String key = field.getKey();
+                if (key.isEmpty() || FORBIDDEN_KEY_CHARS.matchesAnyOf(key)
+                        || !storedAsIs(field.getValue())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (json.isJsonArray()) {
+            JsonArray elements = json.getAsJsonArray();
+            if (elements.size() == 0) {
+                return false;
+            }
+            for (JsonElement element : elements) {
+                if (!storedAsIs(element)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Obtains the entry JSON from the given child value stored in any of the formats.
+     */
+    public static String entryJson(JsonElement child) {
+        checkNotNull(child);
+        return child.isJsonPrimitive()
+               ? child.getAsString()
+               : child.toString();
+    }
+}
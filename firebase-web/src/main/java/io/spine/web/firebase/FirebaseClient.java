@@ -20,7 +20,16 @@
 
 package io.spine.web.firebase;
 
+import com.google.common.base.CharMatcher;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+
+import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
  * A client which operates on values in the Firebase database.
@@ -41,6 +50,30 @@ public interface FirebaseClient {
      */
     Optional<NodeValue> get(NodePath nodePath);
 
+    /**
+     * Reads the children of the specified Firebase database node one by one.
+     *
+     * <p>Nothing is passed to the {@code action} if the node is not present in the database.
+     *
+     * <p>By default, the whole node value is {@linkplain #get(NodePath) retrieved} first.
+     * The implementations may override this method to pass each child to the {@code action}
+     * as soon as it is read, so that the node value is never held in memory as a whole.
+     *
+     * @param nodePath
+     *         the path to the requested node in the database
+     * @param action
+     *         the action accepting the key and the value of each child
+     */
+    default void forEachChild(NodePath nodePath, BiConsumer<String, JsonElement> action) {
+        Optional<NodeValue> value = get(nodePath);
+        value.ifPresent(node -> {
+            for (Map.Entry<String, JsonElement> child : node.underlyingJson()
+                                                            .entrySet()) {
+                action.accept(child.getKey(), child.getValue());
+            }
+        });
+    }
+
     /**
      * Merges the specified value to the Firebase database node.
      *
@@ -55,4 +88,47 @@ public interface FirebaseClient {
      *         the value to merge
      */
     void merge(NodePath nodePath, NodeValue value);
+
+    /**
+     * Merges the specified value to the Firebase database node and reports when the value
+     * is written.
+     *
+     * <p>By default, the value is {@linkplain #merge(NodePath, NodeValue) merged} synchronously
+     * and the completed future is returned. The implementations which write asynchronously
+     * override this method to report the outcome of the write.
+     *
+     * @param nodePath
+     *         the path to the node in the Firebase database
+     * @param value
+     *         the value to merge
+     * @return the future which is completed when the value is written to the database or
+     *         completed exceptionally if the write fails
+     */
+    default CompletableFuture<Void> mergeAsync(NodePath nodePath, NodeValue value) {
+        merge(nodePath, value);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Deletes the specified Firebase database node along with all its children.
+     *
+     * <p>Does nothing if the node is not present in the database.
+     *
+     * <p>By default, the {@code null} value is {@linkplain #merge(NodePath, NodeValue) merged}
+     * into the parent node under the key of the deleted node, which makes the database remove
+     * the node. The implementations may override this method to delete the node directly.
+     *
+     * @param nodePath
+     *         the path to the node in the Firebase database
+     */
+    default void delete(NodePath nodePath) {
+        checkNotNull(nodePath);
+        String path = CharMatcher.is('/')
+                                 .trimFrom(nodePath.getValue());
+        int separator = path.lastIndexOf('/');
+        NodePath parent = NodePaths.of(separator < 0 ? "" : path.substring(0, separator));
+        NodeValue value = NodeValue.empty();
+        value.addChild(path.substring(separator + 1), JsonNull.INSTANCE);
+        merge(parent, value);
+    }
 }
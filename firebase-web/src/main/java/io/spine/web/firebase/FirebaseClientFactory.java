@@ -22,23 +22,51 @@ package io.spine.web.firebase;
 
 import com.google.api.client.extensions.appengine.http.UrlFetchTransport;
 import com.google.api.client.googleapis.auth.oauth2.GoogleCredential;
+import com.google.api.client.http.HttpRequest;
 import com.google.api.client.http.HttpRequestFactory;
+import com.google.api.client.http.HttpRequestInitializer;
 import com.google.api.client.http.HttpTransport;
 import com.google.api.client.http.apache.ApacheHttpTransport;
 import com.google.common.annotations.VisibleForTesting;
 import io.spine.server.DeploymentType;
 import io.spine.server.ServerEnvironment;
+import io.spine.web.firebase.metrics.MetricsRegistry;
+import io.spine.web.firebase.rest.MergeMode;
+import org.apache.http.client.HttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
 import static io.spine.server.DeploymentType.APPENGINE_CLOUD;
 import static io.spine.server.DeploymentType.APPENGINE_EMULATOR;
 import static io.spine.web.firebase.rest.RestClient.create;
+import static java.lang.Math.toIntExact;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 /**
  * A tool for {@link FirebaseClient} instances creation.
  */
 public final class FirebaseClientFactory {
 
+    /**
+     * The maximum number of distinct transport settings for which the shared transports are kept.
+     *
+     * <p>Each transport owns a connection pool, so an application is expected to use only
+     * a few distinct settings.
+     */
+    @VisibleForTesting
+    static final int MAX_SHARED_TRANSPORTS = 16;
+
+    /**
+     * The Apache HTTP transports shared between the clients created with the same settings.
+     */
+    private static final Map<TransportSettings, HttpTransport> apacheTransports =
+            new ConcurrentHashMap<>();
+
     /** Prevents instantiation of this static factory. */
     private FirebaseClientFactory() {
     }
@@ -57,7 +85,8 @@ public final class FirebaseClientFactory {
      */
     public static FirebaseClient restClient(DatabaseUrl url) {
         checkNotNull(url);
-        return forCurrentEnv(url, FirebaseCredentials.empty());
+        return forCurrentEnv(url, FirebaseCredentials.empty(), TransportSettings.defaults(),
+                             MetricsRegistry.noOp());
     }
 
     /**
@@ -73,7 +102,58 @@ public final class FirebaseClientFactory {
     public static FirebaseClient restClient(DatabaseUrl url, FirebaseCredentials credentials) {
         checkNotNull(url);
         checkNotNull(credentials);
-        return forCurrentEnv(url, credentials);
+        return forCurrentEnv(url, credentials, TransportSettings.defaults(),
+                             MetricsRegistry.noOp());
+    }
+
+    /**
+     * Creates a {@link io.spine.web.firebase.rest.RestClient} which uses given credentials and
+     * the HTTP transport with the given settings.
+     *
+     * <p>The clients created with equal settings share a single connection pool.
+     *
+     * @param url
+     *         the URL of the database on which the client operates
+     * @param credentials
+     *         the Firebase Database credentials to use
+     * @param settings
+     *         the settings of the HTTP transport
+     * @return the new instance of {@code RestClient}
+     */
+    public static FirebaseClient restClient(DatabaseUrl url,
+                                            FirebaseCredentials credentials,
+                                            TransportSettings settings) {
+        checkNotNull(url);
+        checkNotNull(credentials);
+        checkNotNull(settings);
+        return forCurrentEnv(url, credentials, settings, MetricsRegistry.noOp());
+    }
+
+    /**
+     * Creates a {@link io.spine.web.firebase.rest.RestClient} which uses given credentials and
+     * the HTTP transport with the given settings and records the metrics of its HTTP requests
+     * to the given registry.
+     *
+     * @param url
+     *         the URL of the database on which the client operates
+     * @param credentials
+     *         the Firebase Database credentials to use
+     * @param settings
+     *         the settings of the HTTP transport
+     * @param metrics
+     *         the registry of the HTTP request metrics
+     * @return the new instance of {@code RestClient}
+     * @see io.spine.web.firebase.metrics.InstrumentedClient
+     */
+    public static FirebaseClient restClient(DatabaseUrl url,
+                                            FirebaseCredentials credentials,
+                                            TransportSettings settings,
+                                            MetricsRegistry metrics) {
+        checkNotNull(url);
+        checkNotNull(credentials);
+        checkNotNull(settings);
+        checkNotNull(metrics);
+        return forCurrentEnv(url, credentials, settings, metrics);
     }
 
     /**
@@ -86,12 +166,15 @@ public final class FirebaseClientFactory {
      * <a href="https://developers.google.com/api-client-library/java/google-http-java-client/reference/1.20.0/com/google/api/client/http/HttpTransport">
      * HttpTransport docs</a>.
      */
-    private static FirebaseClient forCurrentEnv(DatabaseUrl url, FirebaseCredentials credentials) {
+    private static FirebaseClient forCurrentEnv(DatabaseUrl url,
+                                                FirebaseCredentials credentials,
+                                                TransportSettings settings,
+                                                MetricsRegistry metrics) {
         DeploymentType deploymentType = ServerEnvironment.getDeploymentType();
         if (deploymentType == APPENGINE_CLOUD || deploymentType == APPENGINE_EMULATOR) {
-            return gae(url, credentials);
+            return gae(url, credentials, settings, metrics);
         } else {
-            return nonGae(url, credentials);
+            return nonGae(url, credentials, settings, metrics);
         }
     }
 
@@ -99,46 +182,131 @@ public final class FirebaseClientFactory {
      * Creates a {@code FirebaseClient} for usage in the Google AppEngine environment.
      */
     @VisibleForTesting
-    static FirebaseClient gae(DatabaseUrl url, FirebaseCredentials credentials) {
+    static FirebaseClient gae(DatabaseUrl url,
+                              FirebaseCredentials credentials,
+                              TransportSettings settings,
+                              MetricsRegistry metrics) {
         UrlFetchTransport urlFetchTransport = UrlFetchTransport.getDefaultInstance();
-        return createWithTransport(urlFetchTransport, url, credentials);
+        return createWithTransport(urlFetchTransport, url, credentials, settings, metrics);
     }
 
     /**
      * Creates a {@code FirebaseClient} for usage in the non-GAE environment.
      */
     @VisibleForTesting
-    static FirebaseClient nonGae(DatabaseUrl url, FirebaseCredentials credentials) {
-        ApacheHttpTransport apacheHttpTransport = new ApacheHttpTransport();
-        return createWithTransport(apacheHttpTransport, url, credentials);
+    static FirebaseClient nonGae(DatabaseUrl url,
+                                 FirebaseCredentials credentials,
+                                 TransportSettings settings,
+                                 MetricsRegistry metrics) {
+        HttpTransport transport = apacheTransport(settings);
+        return createWithTransport(transport, url, credentials, settings, metrics);
     }
 
-    private static FirebaseClient createWithTransport(HttpTransport httpTransport,
-                                                      DatabaseUrl url,
-                                                      FirebaseCredentials credentials) {
-        if (credentials.isEmpty()) {
-            return createUnauthorized(httpTransport, url);
+    /**
+     * Shuts down the shared Apache HTTP transports and releases their connection pools.
+     *
+     * <p>The clients created before this call must not be used afterwards. The clients created
+     * after this call obtain new transports.
+     *
+     * @throws IOException
+     *         if any of the transports fails to shut down
+     */
+    public static synchronized void shutdownTransports() throws IOException {
+        IOException failure = null;
+        for (HttpTransport transport : apacheTransports.values()) {
+            try {
+                transport.shutdown();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        apacheTransports.clear();
+        if (failure != null) {
+            throw failure;
         }
-        return createAuthorized(httpTransport, url, credentials);
     }
 
     /**
-     * Creates a {@code FirebaseClient} authorized with the given credentials.
+     * Obtains the shared Apache HTTP transport configured with the given settings.
+     *
+     * @throws IllegalStateException
+     *         if there are already {@link #MAX_SHARED_TRANSPORTS} transports with other settings
      */
-    private static FirebaseClient createAuthorized(HttpTransport httpTransport,
-                                                   DatabaseUrl url,
-                                                   FirebaseCredentials credentials) {
-        GoogleCredential googleCredentials = credentials.credentials();
-        HttpRequestFactory requestFactory = httpTransport.createRequestFactory(googleCredentials);
-        return create(url, requestFactory);
+    @VisibleForTesting
+    static synchronized HttpTransport apacheTransport(TransportSettings settings) {
+        HttpTransport existing = apacheTransports.get(settings);
+        if (existing != null) {
+            return existing;
+        }
+        checkState(apacheTransports.size() < MAX_SHARED_TRANSPORTS,
+                   "Cannot share more than %s HTTP transports. " +
+                           "Reuse the `TransportSettings` or shut down the transports first.",
+                   MAX_SHARED_TRANSPORTS);
+        HttpTransport transport = newApacheTransport(settings);
+        apacheTransports.put(settings, transport);
+        return transport;
+    }
+
+    private static HttpTransport newApacheTransport(TransportSettings settings) {
+        long keepAliveMillis = settings.keepAlive()
+                                       .toMillis();
+        HttpClient httpClient = ApacheHttpTransport
+                .newDefaultHttpClientBuilder()
+                .setMaxConnTotal(settings.maxConnections())
+                .setMaxConnPerRoute(settings.maxConnectionsPerRoute())
+                .setKeepAliveStrategy((response, context) -> {
+                    long serverKeepAlive = DefaultConnectionKeepAliveStrategy
+                            .INSTANCE
+                            .getKeepAliveDuration(response, context);
+                    return serverKeepAlive >= 0 ? serverKeepAlive : keepAliveMillis;
+                })
+                .evictIdleConnections(settings.maxIdleTime()
+                                              .toMillis(), MILLISECONDS)
+                .evictExpiredConnections()
+                .build();
+        return new ApacheHttpTransport(httpClient);
+    }
+
+    private static FirebaseClient createWithTransport(HttpTransport httpTransport,
+                                                      DatabaseUrl url,
+                                                      FirebaseCredentials credentials,
+                                                      TransportSettings settings,
+                                                      MetricsRegistry metrics) {
+        HttpRequestInitializer initializer = initializer(credentials, settings);
+        HttpRequestFactory requestFactory = httpTransport.createRequestFactory(initializer);
+        return create(url, requestFactory, MergeMode.SINGLE_REQUEST, metrics);
     }
 
     /**
-     * Creates an unauthorized {@code FirebaseClient} to access the database with public rules.
+     * Creates an {@code HttpRequestInitializer} which applies the timeouts from the given
+     * settings and authorizes the requests with the given credentials, if any.
+     *
+     * <p>Empty credentials are suitable only for the databases with public rules.
      */
-    private static FirebaseClient createUnauthorized(HttpTransport httpTransport,
-                                                     DatabaseUrl url) {
-        HttpRequestFactory requestFactory = httpTransport.createRequestFactory();
-        return create(url, requestFactory);
+    @VisibleForTesting
+    static HttpRequestInitializer initializer(FirebaseCredentials credentials,
+                                              TransportSettings settings) {
+        GoogleCredential googleCredentials = credentials.isEmpty()
+                                             ? null
+                                             : credentials.credentials();
+        int connectTimeout = toIntExact(settings.connectTimeout()
+                                                .toMillis());
+        int readTimeout = toIntExact(settings.readTimeout()
+                                             .toMillis());
+        return request -> {
+            if (googleCredentials != null) {
+                googleCredentials.initialize(request);
+            }
+            applyTimeouts(request, connectTimeout, readTimeout);
+        };
+    }
+
+    private static void applyTimeouts(HttpRequest request, int connectTimeout, int readTimeout) {
+        request.setConnectTimeout(connectTimeout)
+               .setReadTimeout(readTimeout);
     }
 }
@@ -25,10 +25,15 @@ import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.google.firebase.database.utilities.Clock;
 import com.google.firebase.database.utilities.DefaultClock;
 import com.google.firebase.database.utilities.OffsetClock;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+
+import java.util.Map;
 
 import static com.google.api.client.http.ByteArrayContent.fromString;
+import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.net.MediaType.JSON_UTF_8;
 import static com.google.firebase.database.utilities.PushIdGenerator.generatePushChildName;
 
@@ -68,6 +73,20 @@ public final class NodeValue {
         return new NodeValue(value);
     }
 
+    /**
+     * Creates a {@code NodeValue} whose underlying {@link com.google.gson.JsonObject} is
+     * read from the given JSON stream.
+     *
+     * <p>The value is parsed directly from the stream without an intermediate {@code String}.
+     */
+    public static NodeValue from(JsonReader json) {
+        checkNotNull(json);
+        JsonParser parser = new JsonParser();
+        JsonObject value = parser.parse(json)
+                                 .getAsJsonObject();
+        return new NodeValue(value);
+    }
+
     /**
      * Creates a {@code NodeValue} which has a single entry under a generated key.
      */
@@ -109,6 +128,46 @@ public final class NodeValue {
         value.addProperty(key, data);
     }
 
+    /**
+     * Adds a JSON child to the value under a generated key.
+     *
+     * @return the generated key under which the data was stored
+     * @see #addChild(String)
+     */
+    @CanIgnoreReturnValue
+    public String addChild(JsonElement data) {
+        checkNotNull(data);
+        String key = ChildKeyGenerator.newKey();
+        value.add(key, data);
+        return key;
+    }
+
+    /**
+     * Adds a JSON child to the value under a specified key.
+     *
+     * <p>The {@linkplain com.google.gson.JsonNull JSON null} child makes the database delete
+     * the child when the value is merged.
+     */
+    public void addChild(String key, JsonElement data) {
+        checkNotNull(key);
+        checkNotNull(data);
+        value.add(key, data);
+    }
+
+    /**
+     * Adds all the children of the given value to this value.
+     *
+     * <p>The children present in both values are overwritten with the ones from
+     * the {@code other} value. This mimics the way the Firebase database merges
+     * the values written via the {@code PATCH} requests.
+     */
+    public void addChildren(NodeValue other) {
+        checkNotNull(other);
+        for (Map.Entry<String, JsonElement> child : other.value.entrySet()) {
+            value.add(child.getKey(), child.getValue());
+        }
+    }
+
     public JsonObject underlyingJson() {
         return value;
     }
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.firebase;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A write operation scheduled by the {@link AsyncClient} but not yet performed.
+ *
+ * <p>The class is not thread-safe. The {@link BoundedWriteEngine} guards the instances which
+ * may be {@linkplain #absorb(NodeValue) combined} with the later writes.
+ */
+final class PendingWrite {
+
+    private final NodePath path;
+    private final CompletableFuture<Void> future;
+    private NodeValue value;
+    private boolean ownsValue = false;
+
+    PendingWrite(NodePath path, NodeValue value) {
+        this.path = path;
+        this.value = value;
+        this.future = new CompletableFuture<>();
+    }
+
+    /**
+     * Combines the given value with the value of this write.
+     *
+     * <p>The children of the {@code later} value overwrite the common children of the value of
+     * this write. The value passed on construction is not modified.
+     */
+    void absorb(NodeValue later) {
+        if (!ownsValue) {
+            NodeValue copy = NodeValue.empty();
+            copy.addChildren(value);
+            value = copy;
+            ownsValue = true;
+        }
+        value.addChildren(later);
+    }
+
+    /**
+     * Performs the write via the given client and completes the {@linkplain #future() future}.
+     */
+    void executeVia(FirebaseClient client) {
+        try {
+            client.merge(path, value);
+            future.complete(null);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Completes the {@linkplain #future() future} with the given cause without performing
+     * the write.
+     */
+    void reject(Throwable cause) {
+        future.completeExceptionally(cause);
+    }
+
+    /**
+     * Obtains the path of the node to write to.
+     */
+    NodePath path() {
+        return path;
+    }
+
+    /**
+     * Obtains the future which is completed when the write is done.
+     */
+    CompletableFuture<Void> future() {
+        return future;
+    }
+}
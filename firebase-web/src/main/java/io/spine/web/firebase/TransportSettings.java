@@ -0,0 +1,258 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.firebase;
+
+import com.google.common.base.MoreObjects;
+
+import java.time.Duration;
+import java.util.Objects;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The settings of the HTTP transport used by the REST {@link FirebaseClient}s.
+ *
+ * <p>All the Firebase traffic of an application typically goes to a single host. Thus, the limit
+ * of connections per route is the main throughput knob of the transport.
+ *
+ * <p>The connection pool settings are applied only in the non-AppEngine environment, where
+ * the Apache HTTP client is used. The timeouts are applied in every environment.
+ *
+ * <p>The transports are shared between the clients created with equal settings.
+ */
+public final class TransportSettings {
+
+    private static final TransportSettings DEFAULTS = newBuilder().build();
+
+    private final int maxConnections;
+    private final int maxConnectionsPerRoute;
+    private final Duration connectTimeout;
+    private final Duration readTimeout;
+    private final Duration keepAlive;
+    private final Duration maxIdleTime;
+
+    private TransportSettings(Builder builder) {
+        this.maxConnections = builder.maxConnections;
+        this.maxConnectionsPerRoute = builder.maxConnectionsPerRoute;
+        this.connectTimeout = builder.connectTimeout;
+        this.readTimeout = builder.readTimeout;
+        this.keepAlive = builder.keepAlive;
+        this.maxIdleTime = builder.maxIdleTime;
+    }
+
+    /**
+     * Obtains the default transport settings.
+     */
+    public static TransportSettings defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Obtains the maximum total number of the pooled connections.
+     */
+    public int maxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * Obtains the maximum number of the pooled connections to a single host.
+     */
+    public int maxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    /**
+     * Obtains the timeout of establishing a connection.
+     */
+    public Duration connectTimeout() {
+        return connectTimeout;
+    }
+
+    /**
+     * Obtains the timeout of reading data from an established connection.
+     */
+    public Duration readTimeout() {
+        return readTimeout;
+    }
+
+    /**
+     * Obtains the time for which an idle connection is kept alive if the server does not
+     * specify it.
+     */
+    public Duration keepAlive() {
+        return keepAlive;
+    }
+
+    /**
+     * Obtains the time after which an idle connection is evicted from the pool.
+     */
+    public Duration maxIdleTime() {
+        return maxIdleTime;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        TransportSettings other = (TransportSettings) o;
+        return maxConnections == other.maxConnections &&
+                maxConnectionsPerRoute == other.maxConnectionsPerRoute &&
+                connectTimeout.equals(other.connectTimeout) &&
+                readTimeout.equals(other.readTimeout) &&
+                keepAlive.equals(other.keepAlive) &&
+                maxIdleTime.equals(other.maxIdleTime);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(maxConnections, maxConnectionsPerRoute,
+                            connectTimeout, readTimeout, keepAlive, maxIdleTime);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("maxConnections", maxConnections)
+                          .add("maxConnectionsPerRoute", maxConnectionsPerRoute)
+                          .add("connectTimeout", connectTimeout)
+                          .add("readTimeout", readTimeout)
+                          .add("keepAlive", keepAlive)
+                          .add("maxIdleTime", maxIdleTime)
+                          .toString();
+    }
+
+    /**
+     * Creates a new instance of {@code Builder} for {@code TransportSettings} instances.
+     *
+     * @return new instance of {@code Builder}
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * A builder for the {@code TransportSettings} instances.
+     */
+    public static final class Builder {
+
+        private int maxConnections = 200;
+        private int maxConnectionsPerRoute = 50;
+        private Duration connectTimeout = Duration.ofSeconds(20);
+        private Duration readTimeout = Duration.ofSeconds(20);
+        private Duration keepAlive = Duration.ofSeconds(30);
+        private Duration maxIdleTime = Duration.ofMinutes(1);
+
+        /**
+         * Prevents local instantiation.
+         */
+        private Builder() {
+        }
+
+        /**
+         * Sets the maximum total number of the pooled connections.
+         *
+         * <p>The default value is {@code 200}.
+         */
+        public Builder setMaxConnections(int maxConnections) {
+            checkArgument(maxConnections > 0,
+                          "Max connections must be positive, got %s.", maxConnections);
+            this.maxConnections = maxConnections;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of the pooled connections to a single host.
+         *
+         * <p>The default value is {@code 50}.
+         */
+        public Builder setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+            checkArgument(maxConnectionsPerRoute > 0,
+                          "Max connections per route must be positive, got %s.",
+                          maxConnectionsPerRoute);
+            this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+            return this;
+        }
+
+        /**
+         * Sets the timeout of establishing a connection.
+         *
+         * <p>The zero duration stands for an infinite timeout. The default value is 20 seconds.
+         */
+        public Builder setConnectTimeout(Duration connectTimeout) {
+            this.connectTimeout = checkNonNegative(connectTimeout);
+            return this;
+        }
+
+        /**
+         * Sets the timeout of reading data from an established connection.
+         *
+         * <p>The zero duration stands for an infinite timeout. The default value is 20 seconds.
+         */
+        public Builder setReadTimeout(Duration readTimeout) {
+            this.readTimeout = checkNonNegative(readTimeout);
+            return this;
+        }
+
+        /**
+         * Sets the time for which an idle connection is kept alive if the server response does
+         * not specify it.
+         *
+         * <p>The default value is 30 seconds.
+         */
+        public Builder setKeepAlive(Duration keepAlive) {
+            this.keepAlive = checkNonNegative(keepAlive);
+            return this;
+        }
+
+        /**
+         * Sets the time after which an idle connection is evicted from the pool.
+         *
+         * <p>The default value is 1 minute.
+         */
+        public Builder setMaxIdleTime(Duration maxIdleTime) {
+            this.maxIdleTime = checkNonNegative(maxIdleTime);
+            return this;
+        }
+
+        /**
+         * Creates a new instance of {@code TransportSettings}.
+         *
+         * @return new instance of {@code TransportSettings}
+         */
+        public TransportSettings build() {
+            checkArgument(maxConnectionsPerRoute <= maxConnections,
+                          "Connections per route (%s) must not exceed total connections (%s).",
+                          maxConnectionsPerRoute, maxConnections);
+            return new TransportSettings(this);
+        }
+
+        private static Duration checkNonNegative(Duration duration) {
+            checkNotNull(duration);
+            checkArgument(!duration.isNegative(), "Duration must not be negative.");
+            return duration;
+        }
+    }
+}
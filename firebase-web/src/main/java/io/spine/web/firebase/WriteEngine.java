@@ -0,0 +1,51 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.firebase;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A mechanism which performs the write operations of an {@link AsyncClient}.
+ */
+interface WriteEngine {
+
+    /**
+     * Schedules a merge of the given value into the given node.
+     *
+     * @return the future which is completed when the write is done
+     * @throws java.util.concurrent.RejectedExecutionException
+     *         if the write cannot be scheduled
+     */
+    CompletableFuture<Void> write(NodePath path, NodeValue value);
+
+    /**
+     * Obtains the number of the writes which were combined with other writes instead of being
+     * sent separately.
+     */
+    long coalescedWrites();
+
+    /**
+     * Stops the engine.
+     *
+     * <p>The writes which are already scheduled are still performed.
+     */
+    void shutdown();
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.firebase.emulator;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.Ints;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+
+import javax.annotation.Nullable;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A thread-safe tree of JSON values which follows the Firebase Realtime Database semantics.
+ *
+ * <p>The tree never contains {@code null} values or empty objects. Writing {@code null} to
+ * a node deletes it, and a node which loses its last child is deleted as well. Writing
+ * a value under a node which holds a primitive replaces the primitive with an object.
+ *
+ * <p>All the values passed in and out of the tree are copied, so the tree cannot be modified
+ * other than through its methods.
+ *
+ * <p>The object keys are ordered in the same way the Firebase orders them by key: the integer
+ * keys come first in the numeric order, followed by the other keys in the lexicographic order.
+ */
+final class DataTree {
+
+    private static final Splitter PATH_SPLITTER = Splitter.on('/')
+                                                          .omitEmptyStrings();
+
+    private static final Comparator<String> KEY_ORDER = DataTree::compareKeys;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private JsonObject root = new JsonObject();
+
+    /**
+     * Splits the given slash-separated path into the node keys.
+     */
+    static ImmutableList<String> keys(String path) {
+        checkNotNull(path);
+        return ImmutableList.copyOf(PATH_SPLITTER.split(path));
+    }
+
+    /**
+     * Obtains a copy of the value stored under the given path.
+     *
+     * @return the value or {@code Optional.empty()} if the node does not exist
+     */
+    Optional<JsonElement> get(List<String> path) {
+        return read(() -> {
+            JsonElement current = root;
+            for (String key : path) {
+                if (!current.isJsonObject()) {
+                    return Optional.empty();
+                }
+                current = current.getAsJsonObject()
+                                 .get(key);
+                if (current == null) {
+                    return Optional.empty();
+                }
+            }
+            JsonElement copy = normalize(current);
+            return copy.isJsonNull()
+                   ? Optional.empty()
+                   : Optional.of(copy);
+        });
+    }
+
+    /**
+     * Replaces the value under the given path, as the {@code PUT} request does.
+     */
+    void set(List<String> path, JsonElement value) {
+        checkNotNull(path);
+        checkNotNull(value);
+        JsonElement normalized = normalize(value);
+        write(() -> doSet(path, normalized));
+    }
+
+    /**
+     * Replaces the given children of the node under the given path, as the {@code PATCH}
+     * request does.
+     *
+     * <p>The keys of the {@code children} may be slash-separated paths relative to the node.
+     * All the children are written atomically.
+     */
+    void update(List<String> path, JsonObject children) {
+        checkNotNull(path);
+        checkNotNull(children);
+        List<Map.Entry<List<String>, JsonElement>> writes = new ArrayList<>();
+        for (Map.Entry<String, JsonElement> child : children.entrySet()) {
+            List<String> childPath = ImmutableList.<String>builder()
+                                                  .addAll(path)
+                                                  .addAll(keys(child.getKey()))
+                                                  .build();
+            JsonElement value = normalize(child.getValue());
+            writes.add(new SimpleImmutableEntry<>(childPath, value));
+        }
+        write(() -> {
+            for (Map.Entry<List<String>, JsonElement> childWrite : writes) {
+                doSet(childWrite.getKey(), childWrite.getValue());
+            }
+        });
+    }
+
+    /**
+     * Deletes the node under the given path.
+     */
+    void delete(List<String> path) {
+        set(path, JsonNull.INSTANCE);
+    }
+
+    /**
+     * Deletes all the nodes.
+     */
+    void clear() {
+        write(() -> root = new JsonObject());
+    }
+
+    private void doSet(List<String> path, JsonElement value) {
+        if (path.isEmpty()) {
+            root = value.isJsonObject() ? value.getAsJsonObject() : new JsonObject();
+            return;
+        }
+        if (value.isJsonNull()) {
+            remove(root, path, 0);
+            return;
+        }
+        JsonObject parent = root;
+        for (String key : path.subList(0, path.size() - 1)) {
+            JsonElement child = parent.get(key);
+            if (child == null || !child.isJsonObject()) {
+                JsonObject created = new JsonObject();
+                parent.add(key, created);
+                parent = created;
+            } else {
+                parent = child.getAsJsonObject();
+            }
+        }
+        parent.add(path.get(path.size() - 1), value);
+    }
+
+    /**
+     * Removes the node under the given path and the ancestors which become empty.
+     *
+     * @return {@code true} if the given {@code node} has become empty
+     */
+    private static boolean remove(JsonObject node, List<String> path, int depth) {
+        String key = path.get(depth);
+        if (depth == path.size() - 1) {
+            node.remove(key);
+        } else {
+            JsonElement child = node.get(key);
+            if (child != null && child.isJsonObject()
+                    && remove(child.getAsJsonObject(), path, depth + 1)) {
+                node.remove(key);
+            }
+        }
+        return node.entrySet()
+                   .isEmpty();
+    }
+
+    /**
+     * Creates a copy of the given value without the {@code null} values and the empty objects.
+     *
+     * @return the normalized value or {@link JsonNull} if nothing is left
+     */
+    private static JsonElement normalize(JsonElement value) {
+        if (value.isJsonArray()) {
+            JsonArray result = new JsonArray();
+            for (JsonElement element : value.getAsJsonArray()) {
+                result.add(normalize(element));
+            }
+            return result;
+        }
+        if (!value.isJsonObject()) {
+            return value;
+        }
+        JsonObject source = value.getAsJsonObject();
+        List<String> sortedKeys = new ArrayList<>(source.keySet());
+        sortedKeys.sort(KEY_ORDER);
+        JsonObject result = new JsonObject();
+        for (String key : sortedKeys) {
+            JsonElement normalized = normalize(source.get(key));
+            if (!normalized.isJsonNull()) {
+                result.add(key, normalized);
+            }
+        }
+        return result.entrySet()
+                     .isEmpty()
+               ? JsonNull.INSTANCE
+               : result;
+    }
+
+    /**
+     * Compares the keys in the Firebase order.
+     */
+    private static int compareKeys(String left, String right) {
+        Integer leftNumber = asInteger(left);
+        Integer rightNumber = asInteger(right);
+        if (leftNumber != null && rightNumber != null) {
+            return Integer.compare(leftNumber, rightNumber);
+        }
+        if (leftNumber != null) {
+            return -1;
+        }
+        if (rightNumber != null) {
+            return 1;
+        }
+        return left.compareTo(right);
+    }
+
+    /**
+     * Parses the given key as a 32-bit integer.
+     *
+     * <p>Keys like {@code "01"} or {@code "-0"} are not integers, as they are not in
+     * the canonical form.
+     */
+    @Nullable
+    private static Integer asInteger(String key) {
+        Integer number = Ints.tryParse(key);
+        return number != null && number.toString()
+                                       .equals(key)
+               ? number
+               : null;
+    }
+
+    private <T> T read(Supplier<T> operation) {
+        lock.readLock()
+            .lock();
+        try {
+            return operation.get();
+        } finally {
+            lock.readLock()
+                .unlock();
+        }
+    }
+
+    private void write(Runnable operation) {
+        lock.writeLock()
+            .lock();
+        try {
+            operation.run();
+        } finally {
+            lock.writeLock()
+                .unlock();
+        }
+    }
+}
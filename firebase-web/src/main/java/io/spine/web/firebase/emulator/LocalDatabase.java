@@ -0,0 +1,122 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.firebase.emulator;
+
+import com.google.gson.JsonElement;
+import io.spine.web.firebase.FirebaseClient;
+import io.spine.web.firebase.NodePath;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.web.firebase.emulator.DataTree.keys;
+
+/**
+ * An in-memory emulator of the Firebase Realtime Database.
+ *
+ * <p>The database stores a tree of JSON values and follows the semantics of the {@code GET},
+ * {@code PUT}, {@code PATCH}, {@code POST} and {@code DELETE} operations of the Realtime Database
+ * REST API: writing {@code null} deletes a node, the nodes which have no children are
+ * deleted, and the keys of the {@code PATCH} body may be relative paths.
+ *
+ * <p>The data may be accessed:
+ * <ul>
+ *     <li>via the {@linkplain #client() client} which operates on the data directly;
+ *     <li>over HTTP, with a {@link io.spine.web.firebase.rest.RestClient RestClient} pointed at
+ *         the {@linkplain #serve() local server}.
+ * </ul>
+ *
+ * <p>The emulator does not check the security rules and does not support the streaming and
+ * the query parameters of the REST API. It is meant for the local development, the tests and
+ * the load tests of the Firebase-based web application.
+ *
+ * <p>The database is thread-safe.
+ */
+public final class LocalDatabase {
+
+    private final DataTree data = new DataTree();
+    private final FirebaseClient client = new LocalDatabaseClient(data);
+
+    private LocalDatabase() {
+    }
+
+    /**
+     * Creates a new empty database.
+     */
+    public static LocalDatabase newInstance() {
+        return new LocalDatabase();
+    }
+
+    /**
+     * Obtains a client which operates on the data of this database directly.
+     */
+    public FirebaseClient client() {
+        return client;
+    }
+
+    /**
+     * Starts serving the database over HTTP on an ephemeral port of the loopback interface.
+     *
+     * @return the started server
+     * @throws IOException
+     *         if the server cannot be started
+     * @see #serve(int)
+     */
+    public LocalDatabaseServer serve() throws IOException {
+        return serve(0);
+    }
+
+    /**
+     * Starts serving the database over HTTP on the given port of the loopback interface.
+     *
+     * <p>The {@linkplain LocalDatabaseServer#url() URL} of the server may be used to create
+     * a {@link io.spine.web.firebase.rest.RestClient RestClient}.
+     *
+     * @param port
+     *         the port to listen on or zero to pick a free port
+     * @return the started server
+     * @throws IOException
+     *         if the server cannot be started
+     */
+    public LocalDatabaseServer serve(int port) throws IOException {
+        checkArgument(port >= 0, "Port must not be negative, got %s.", port);
+        return LocalDatabaseServer.start(data, port);
+    }
+
+    /**
+     * Obtains a copy of the value stored under the given path.
+     *
+     * @return the value or {@code Optional.empty()} if the node does not exist
+     */
+    public Optional<JsonElement> read(NodePath path) {
+        checkNotNull(path);
+        return data.get(keys(path.getValue()));
+    }
+
+    /**
+     * Deletes all the data of the database.
+     */
+    public void clear() {
+        data.clear();
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.firebase.emulator;
+
+import com.google.gson.JsonElement;
+import io.spine.web.firebase.FirebaseClient;
+import io.spine.web.firebase.NodePath;
+import io.spine.web.firebase.NodeValue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.web.firebase.emulator.DataTree.keys;
+
+/**
+ * A {@link FirebaseClient} which operates directly on the data of a {@link LocalDatabase}.
+ *
+ * <p>The values are copied on each read and write, just as if they were sent over the network.
+ */
+final class LocalDatabaseClient implements FirebaseClient {
+
+    private final DataTree data;
+
+    LocalDatabaseClient(DataTree data) {
+        this.data = data;
+    }
+
+    @Override
+    public Optional<NodeValue> get(NodePath nodePath) {
+        checkNotNull(nodePath);
+        Optional<JsonElement> value = data.get(keysOf(nodePath));
+        return value.map(json -> NodeValue.from(json.toString()));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The children are read from a snapshot of the node taken before the first child is
+     * passed to the {@code action}.
+     */
+    @Override
+    public void forEachChild(NodePath nodePath, BiConsumer<String, JsonElement> action) {
+        checkNotNull(nodePath);
+        checkNotNull(action);
+        Optional<JsonElement> value = data.get(keysOf(nodePath));
+        value.filter(JsonElement::isJsonObject)
+             .ifPresent(node -> {
+                 for (Map.Entry<String, JsonElement> child : node.getAsJsonObject()
+                                                                 .entrySet()) {
+                     action.accept(child.getKey(), child.getValue());
+                 }
+             });
+    }
+
+    @Override
+    public void merge(NodePath nodePath, NodeValue value) {
+        checkNotNull(nodePath);
+        checkNotNull(value);
+        data.update(keysOf(nodePath), value.underlyingJson());
+    }
+
+    @Override
+    public void delete(NodePath nodePath) {
+        checkNotNull(nodePath);
+        data.delete(keysOf(nodePath));
+    }
+
+    private static List<String> keysOf(NodePath path) {
+        return keys(path.getValue());
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.firebase.emulator;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sun.net.httpserver.HttpServer;
+import io.spine.web.firebase.DatabaseUrl;
+import io.spine.web.firebase.DatabaseUrls;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+import static java.lang.String.format;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+
+/**
+ * An HTTP server which exposes a {@link LocalDatabase} via the Firebase REST API.
+ *
+ * <p>The server listens on the loopback interface only. It is stopped on {@link #close()}.
+ */
+public final class LocalDatabaseServer implements AutoCloseable {
+
+    private static final String ROOT_CONTEXT = "/";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final DatabaseUrl url;
+
+    private LocalDatabaseServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+        InetSocketAddress address = server.getAddress();
+        String host = address.getAddress()
+                             .getHostAddress();
+        this.url = DatabaseUrls.from(format("http://%s:%d", host, address.getPort()));
+    }
+
+    /**
+     * Starts a server for the given data on the given port.
+     */
+    static LocalDatabaseServer start(DataTree data, int port) throws IOException {
+        InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+        HttpServer server = HttpServer.create(address, 0);
+        ThreadFactory threads = new ThreadFactoryBuilder()
+                .setNameFormat("firebase-emulator-%d")
+                .setDaemon(true)
+                .build();
+        ExecutorService executor = newCachedThreadPool(threads);
+        server.createContext(ROOT_CONTEXT, new RestEndpoint(data));
+        server.setExecutor(executor);
+        server.start();
+        return new LocalDatabaseServer(server, executor);
+    }
+
+    /**
+     * Obtains the URL of the served database.
+     *
+     * <p>The URL uses the IP address of the loopback interface, as the database URLs with local
+     * host names are not considered valid.
+     */
+    public DatabaseUrl url() {
+        return url;
+    }
+
+    /**
+     * Obtains the port on which the server listens.
+     */
+    public int port() {
+        return server.getAddress()
+                     .getPort();
+    }
+
+    /**
+     * Stops the server.
+     *
+     * <p>The requests in progress are aborted.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.firebase.emulator;
+
+import com.google.common.collect.ImmutableList;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.util.List;
+import java.util.Optional;
+
+import static com.google.common.net.MediaType.JSON_UTF_8;
+import static com.google.firebase.database.utilities.PushIdGenerator.generatePushChildName;
+import static io.spine.web.firebase.emulator.DataTree.keys;
+import static java.net.HttpURLConnection.HTTP_BAD_METHOD;
+import static java.net.HttpURLConnection.HTTP_BAD_REQUEST;
+import static java.net.HttpURLConnection.HTTP_NO_CONTENT;
+import static java.net.HttpURLConnection.HTTP_OK;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A handler of the Firebase REST API requests to a {@link LocalDatabase}.
+ *
+ * <p>The request path is the path of the node followed by the {@code .json} suffix. The query
+ * parameters are ignored, except for {@code print=silent}, which suppresses the response body.
+ *
+ * <p>The method may be overridden with the {@code X-HTTP-Method-Override} header.
+ */
+final class RestEndpoint implements HttpHandler {
+
+    private static final String JSON_SUFFIX = ".json";
+    private static final String METHOD_OVERRIDE_HEADER = "X-HTTP-Method-Override";
+    private static final String SILENT_PRINT = "print=silent";
+    private static final String NULL_RESPONSE = "null";
+
+    private final DataTree data;
+
+    RestEndpoint(DataTree data) {
+        this.data = data;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI()
+                                  .getPath();
+            if (!path.endsWith(JSON_SUFFIX)) {
+                respondWithError(exchange, HTTP_BAD_REQUEST,
+                                 "The path must end with \"" + JSON_SUFFIX + "\".");
+                return;
+            }
+            List<String> node = keys(path.substring(0, path.length() - JSON_SUFFIX.length()));
+            handle(exchange, method(exchange), node);
+        } catch (JsonParseException | IllegalStateException e) {
+            respondWithError(exchange, HTTP_BAD_REQUEST, "Invalid data: " + e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handle(HttpExchange exchange, String method, List<String> node)
+            throws IOException {
+        switch (method) {
+            case "GET": {
+                Optional<JsonElement> value = data.get(node);
+                respond(exchange, value.map(JsonElement::toString)
+                                       .orElse(NULL_RESPONSE));
+                break;
+            }
+            case "PUT": {
+                JsonElement value = readBody(exchange);
+                data.set(node, value);
+                respond(exchange, value.toString());
+                break;
+            }
+            case "PATCH": {
+                JsonObject children = readBody(exchange).getAsJsonObject();
+                data.update(node, children);
+                respond(exchange, children.toString());
+                break;
+            }
+            case "POST": {
+                JsonElement value = readBody(exchange);
+                String key = generatePushChildName(System.currentTimeMillis());
+                List<String> child = ImmutableList.<String>builder()
+                                                  .addAll(node)
+                                                  .add(key)
+                                                  .build();
+                data.set(child, value);
+                JsonObject name = new JsonObject();
+                name.addProperty("name", key);
+                respond(exchange, name.toString());
+                break;
+            }
+            case "DELETE": {
+                data.delete(node);
+                respond(exchange, NULL_RESPONSE);
+                break;
+            }
+            default:
+                respondWithError(exchange, HTTP_BAD_METHOD,
+                                 "Unsupported method " + method + '.');
+        }
+    }
+
+    private static String method(HttpExchange exchange) {
+        String override = exchange.getRequestHeaders()
+                                  .getFirst(METHOD_OVERRIDE_HEADER);
+        return override != null
+               ? override
+               : exchange.getRequestMethod();
+    }
+
+    private static JsonElement readBody(HttpExchange exchange) {
+        Reader body = new InputStreamReader(exchange.getRequestBody(), UTF_8);
+        JsonElement value = new JsonParser().parse(body);
+        return value == null ? JsonNull.INSTANCE : value;
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        String query = exchange.getRequestURI()
+                               .getRawQuery();
+        if (query != null && query.contains(SILENT_PRINT)) {
+            exchange.sendResponseHeaders(HTTP_NO_CONTENT, -1);
+            return;
+        }
+        send(exchange, HTTP_OK, body);
+    }
+
+    private static void respondWithError(HttpExchange exchange, int code, String message)
+            throws IOException {
+        JsonObject error = new JsonObject();
+        error.addProperty("error", message);
+        send(exchange, code, error.toString());
+    }
+
+    private static void send(HttpExchange exchange, int code, String body) throws IOException {
+        byte[] bytes = body.getBytes(UTF_8);
+        exchange.getResponseHeaders()
+                .set("Content-Type", JSON_UTF_8.toString());
+        exchange.sendResponseHeaders(code, bytes.length);
+        try (OutputStream response = exchange.getResponseBody()) {
+            response.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.firebase.metrics;
+
+/**
+ * A value sampled by a {@link MetricsRegistry} on demand.
+ */
+public enum Gauge {
+
+    /**
+     * The number of the {@linkplain InstrumentedClient client operations} in progress.
+     */
+    IN_FLIGHT_OPERATIONS,
+
+    /**
+     * The number of the HTTP requests to the Firebase REST API in progress.
+     */
+    IN_FLIGHT_REQUESTS,
+
+    /**
+     * The number of the writes of an {@link io.spine.web.firebase.AsyncClient AsyncClient}
+     * which are queued or being performed.
+     */
+    PENDING_WRITES,
+
+    /**
+     * The total number of the writes of an {@link io.spine.web.firebase.AsyncClient AsyncClient}
+     * which were combined with the earlier pending writes instead of being sent separately.
+     */
+    COALESCED_WRITES
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.firebase.metrics;
+
+import com.google.common.collect.MapMaker;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A counter of a {@link Gauge} value shared by all the clients which use the same
+ * {@link MetricsRegistry}.
+ *
+ * <p>The gauge is registered only once per registry, so the registry observes the total value
+ * across the clients instead of the value of the client created last.
+ */
+public final class GaugeCounter {
+
+    /**
+     * The counters by the registries.
+     *
+     * <p>The registries are compared by identity and held weakly, so the counters of
+     * an abandoned registry are released together with it.
+     */
+    private static final Map<MetricsRegistry, Map<Gauge, GaugeCounter>> counters =
+            new MapMaker().weakKeys()
+                          .makeMap();
+
+    private final AtomicLong value = new AtomicLong();
+
+    /** Prevents instantiation from outside. */
+    private GaugeCounter() {
+    }
+
+    /**
+     * Obtains the counter of the given gauge shared by the clients of the given registry.
+     *
+     * <p>Registers the gauge in the registry when the counter is obtained for the first time.
+     */
+    public static synchronized GaugeCounter of(MetricsRegistry metrics, Gauge gauge) {
+        checkNotNull(metrics);
+        checkNotNull(gauge);
+        Map<Gauge, GaugeCounter> registryCounters =
+                counters.computeIfAbsent(metrics, registry -> new EnumMap<>(Gauge.class));
+        GaugeCounter counter = registryCounters.get(gauge);
+        if (counter == null) {
+            counter = new GaugeCounter();
+            registryCounters.put(gauge, counter);
+            metrics.registerGauge(gauge, counter.value::get);
+        }
+        return counter;
+    }
+
+    /**
+     * Increments the gauge value.
+     */
+    public void increment() {
+        value.incrementAndGet();
+    }
+
+    /**
+     * Decrements the gauge value.
+     */
+    public void decrement() {
+        value.decrementAndGet();
+    }
+}
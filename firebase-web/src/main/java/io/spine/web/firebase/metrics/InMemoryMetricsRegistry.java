@@ -0,0 +1,165 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.firebase.metrics;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.String.format;
+
+/**
+ * A {@link MetricsRegistry} which keeps the metrics in memory.
+ *
+ * <p>The collected values are available via the accessor methods and as
+ * a human-readable {@linkplain #report() report}. The registry is suitable for the tests,
+ * the diagnostic endpoints and as a source for the periodic export to a monitoring system.
+ */
+public final class InMemoryMetricsRegistry implements MetricsRegistry {
+
+    private final Map<Operation, OperationMetrics> operations = new EnumMap<>(Operation.class);
+    private final Map<Gauge, LongSupplier> gauges = new ConcurrentHashMap<>();
+
+    public InMemoryMetricsRegistry() {
+        for (Operation operation : Operation.values()) {
+            operations.put(operation, new OperationMetrics());
+        }
+    }
+
+    @Override
+    public void recordLatency(Operation operation, Duration latency) {
+        checkNotNull(latency);
+        metricsOf(operation).latency.record(latency);
+    }
+
+    @Override
+    public void recordRequestBytes(Operation operation, long bytes) {
+        metricsOf(operation).requestBytes.add(bytes);
+    }
+
+    @Override
+    public void recordResponseBytes(Operation operation, long bytes) {
+        metricsOf(operation).responseBytes.add(bytes);
+    }
+
+    @Override
+    public void recordFailure(Operation operation, Throwable failure) {
+        checkNotNull(failure);
+        metricsOf(operation).failures.increment();
+    }
+
+    @Override
+    public void registerGauge(Gauge gauge, LongSupplier value) {
+        checkNotNull(gauge);
+        checkNotNull(value);
+        gauges.put(gauge, value);
+    }
+
+    /**
+     * Obtains the latency histogram of the given operation.
+     */
+    public LatencyHistogram latency(Operation operation) {
+        return metricsOf(operation).latency;
+    }
+
+    /**
+     * Obtains the total size of the bodies sent with the given operation.
+     */
+    public long requestBytes(Operation operation) {
+        return metricsOf(operation).requestBytes.sum();
+    }
+
+    /**
+     * Obtains the total size of the bodies received in response to the given operation.
+     */
+    public long responseBytes(Operation operation) {
+        return metricsOf(operation).responseBytes.sum();
+    }
+
+    /**
+     * Obtains the number of the failures of the given operation.
+     */
+    public long failureCount(Operation operation) {
+        return metricsOf(operation).failures.sum();
+    }
+
+    /**
+     * Obtains the current value of the given gauge or zero if the gauge is not registered.
+     */
+    public long gaugeValue(Gauge gauge) {
+        checkNotNull(gauge);
+        LongSupplier value = gauges.get(gauge);
+        return value == null
+               ? 0
+               : value.getAsLong();
+    }
+
+    /**
+     * Composes a human-readable report of the collected metrics.
+     *
+     * <p>The operations which were never recorded are omitted.
+     */
+    public String report() {
+        StringBuilder result = new StringBuilder();
+        for (Operation operation : Operation.values()) {
+            LatencyHistogram latency = latency(operation);
+            long count = latency.count();
+            if (count == 0) {
+                continue;
+            }
+            result.append(format(
+                    "%s: count=%d failures=%d mean=%dms p50=%dms p99=%dms max=%dms"
+                            + " sent=%dB received=%dB%n",
+                    operation, count, failureCount(operation),
+                    latency.mean().toMillis(),
+                    latency.quantile(0.5).toMillis(),
+                    latency.quantile(0.99).toMillis(),
+                    latency.max().toMillis(),
+                    requestBytes(operation), responseBytes(operation)));
+        }
+        for (Gauge gauge : Gauge.values()) {
+            if (gauges.containsKey(gauge)) {
+                result.append(format("%s: %d%n", gauge, gaugeValue(gauge)));
+            }
+        }
+        return result.toString();
+    }
+
+    private OperationMetrics metricsOf(Operation operation) {
+        checkNotNull(operation);
+        return operations.get(operation);
+    }
+
+    /**
+     * The metrics of a single operation.
+     */
+    private static final class OperationMetrics {
+
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder requestBytes = new LongAdder();
+        private final LongAdder responseBytes = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+    }
+}
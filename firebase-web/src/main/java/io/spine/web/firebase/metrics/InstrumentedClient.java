@@ -0,0 +1,148 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.firebase.metrics;
+
+import com.google.gson.JsonElement;
+import io.spine.web.firebase.FirebaseClient;
+import io.spine.web.firebase.NodePath;
+import io.spine.web.firebase.NodeValue;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link FirebaseClient} which records the metrics of the operations of another client.
+ *
+ * <p>For each operation, the latency and the failures are recorded. The number of
+ * the operations in progress is exposed as the {@link Gauge#IN_FLIGHT_OPERATIONS} gauge, summed
+ * across all the clients which use the same registry.
+ *
+ * <p>The latency of a write includes only the time the delegate needs to accept it. To measure
+ * the actual writes of an {@link io.spine.web.firebase.AsyncClient AsyncClient}, wrap its delegate
+ * instead of the async client itself.
+ *
+ * <p>The sizes of the request and response bodies are recorded by
+ * the {@link io.spine.web.firebase.rest.RestClient RestClient} created with the same registry.
+ */
+public final class InstrumentedClient implements FirebaseClient {
+
+    private final FirebaseClient delegate;
+    private final MetricsRegistry metrics;
+    private final GaugeCounter inFlight;
+
+    private InstrumentedClient(FirebaseClient delegate, MetricsRegistry metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+        this.inFlight = GaugeCounter.of(metrics, Gauge.IN_FLIGHT_OPERATIONS);
+    }
+
+    /**
+     * Creates a new client which records the metrics of the given delegate to the given registry.
+     */
+    public static InstrumentedClient wrap(FirebaseClient delegate, MetricsRegistry metrics) {
+        checkNotNull(delegate);
+        checkNotNull(metrics);
+        return new InstrumentedClient(delegate, metrics);
+    }
+
+    @Override
+    public Optional<NodeValue> get(NodePath nodePath) {
+        return call(Operation.READ, () -> delegate.get(nodePath));
+    }
+
+    @Override
+    public void forEachChild(NodePath nodePath, BiConsumer<String, JsonElement> action) {
+        run(Operation.READ, () -> delegate.forEachChild(nodePath, action));
+    }
+
+    @Override
+    public void merge(NodePath nodePath, NodeValue value) {
+        run(Operation.MERGE, () -> delegate.merge(nodePath, value));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The latency is recorded when the returned future is completed.
+     */
+    @Override
+    public CompletableFuture<Void> mergeAsync(NodePath nodePath, NodeValue value) {
+        long start = begin();
+        CompletableFuture<Void> result;
+        try {
+            result = delegate.mergeAsync(nodePath, value);
+        } catch (RuntimeException e) {
+            metrics.recordFailure(Operation.MERGE, e);
+            end(Operation.MERGE, start);
+            throw e;
+        }
+        return result.whenComplete((ignored, error) -> {
+            if (error != null) {
+                metrics.recordFailure(Operation.MERGE, error);
+            }
+            end(Operation.MERGE, start);
+        });
+    }
+
+    @Override
+    public void delete(NodePath nodePath) {
+        run(Operation.DELETE, () -> delegate.delete(nodePath));
+    }
+
+    private void run(Operation operation, Runnable action) {
+        long start = begin();
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            metrics.recordFailure(operation, e);
+            throw e;
+        } finally {
+            end(operation, start);
+        }
+    }
+
+    private <T> T call(Operation operation, Supplier<T> action) {
+        long start = begin();
+        try {
+            return action.get();
+        } catch (RuntimeException e) {
+            metrics.recordFailure(operation, e);
+            throw e;
+        } finally {
+            end(operation, start);
+        }
+    }
+
+    private long begin() {
+        inFlight.increment();
+        return System.nanoTime();
+    }
+
+    private void end(Operation operation, long start) {
+        inFlight.decrement();
+        metrics.recordLatency(operation, Duration.ofNanos(System.nanoTime() - start));
+    }
+}
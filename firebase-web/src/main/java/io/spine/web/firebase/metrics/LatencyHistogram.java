@@ -0,0 +1,148 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.firebase.metrics;
+
+import com.google.common.collect.ImmutableList;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.Arrays.binarySearch;
+
+/**
+ * A histogram of the operation latencies with fixed exponential buckets.
+ *
+ * <p>The bucket bounds range from 1 millisecond to 10 seconds. The latencies which exceed
+ * the last bound fall into an overflow bucket.
+ *
+ * <p>The histogram is thread-safe.
+ */
+public final class LatencyHistogram {
+
+    private static final long[] BOUNDS_MILLIS = {
+            1, 2, 5, 10, 20, 50, 100, 200, 500, 1_000, 2_000, 5_000, 10_000
+    };
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BOUNDS_MILLIS.length + 1);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Records the given latency.
+     */
+    public void record(Duration latency) {
+        checkNotNull(latency);
+        long nanos = Math.max(latency.toNanos(), 0);
+        buckets.incrementAndGet(bucketOf(nanos));
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    private static int bucketOf(long nanos) {
+        long millis = (nanos + 999_999) / 1_000_000;
+        int index = binarySearch(BOUNDS_MILLIS, millis);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * Obtains the number of the recorded latencies.
+     */
+    public long count() {
+        return count.sum();
+    }
+
+    /**
+     * Obtains the mean of the recorded latencies or zero if there are none.
+     */
+    public Duration mean() {
+        long recorded = count();
+        return recorded == 0
+               ? Duration.ZERO
+               : Duration.ofNanos(totalNanos.sum() / recorded);
+    }
+
+    /**
+     * Obtains the maximum recorded latency or zero if there are none.
+     */
+    public Duration max() {
+        return Duration.ofNanos(maxNanos.get());
+    }
+
+    /**
+     * Obtains the upper bound of the bucket which contains the given quantile of
+     * the recorded latencies.
+     *
+     * <p>If the quantile falls into the overflow bucket, the {@linkplain #max() maximum} is
+     * returned.
+     *
+     * @param quantile
+     *         the quantile, e.g. {@code 0.99} for the 99th percentile
+     * @return the estimated latency or zero if no latencies are recorded
+     */
+    public Duration quantile(double quantile) {
+        checkArgument(quantile > 0 && quantile <= 1,
+                      "Quantile must be in (0, 1], got %s.", quantile);
+        long recorded = count();
+        if (recorded == 0) {
+            return Duration.ZERO;
+        }
+        long rank = (long) Math.ceil(quantile * recorded);
+        long seen = 0;
+        for (int i = 0; i < BOUNDS_MILLIS.length; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return Duration.ofMillis(BOUNDS_MILLIS[i]);
+            }
+        }
+        return max();
+    }
+
+    /**
+     * Obtains the number of the latencies in each bucket.
+     *
+     * <p>The element {@code i} corresponds to the latencies up to the {@code i}-th bound
+     * inclusive. The last element is the overflow bucket.
+     */
+    public ImmutableList<Long> bucketCounts() {
+        ImmutableList.Builder<Long> result = ImmutableList.builder();
+        for (int i = 0; i < buckets.length(); i++) {
+            result.add(buckets.get(i));
+        }
+        return result.build();
+    }
+
+    /**
+     * Obtains the upper bounds of the buckets, except for the overflow one.
+     */
+    public static ImmutableList<Duration> bucketBounds() {
+        ImmutableList.Builder<Duration> result = ImmutableList.builder();
+        for (long bound : BOUNDS_MILLIS) {
+            result.add(Duration.ofMillis(bound));
+        }
+        return result.build();
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.firebase.metrics;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * A receiver of the Firebase client metrics.
+ *
+ * <p>Implement this interface to pass the metrics to a monitoring system of choice. All
+ * the methods do nothing by default, so an implementation may override only the ones it needs.
+ *
+ * <p>The methods are called from the threads which perform the operations, thus
+ * the implementations must be thread-safe and should not block.
+ *
+ * @see InMemoryMetricsRegistry
+ */
+public interface MetricsRegistry {
+
+    /**
+     * Obtains a registry which ignores all the metrics.
+     */
+    static MetricsRegistry noOp() {
+        return NoOpRegistry.INSTANCE;
+    }
+
+    /**
+     * Records the time spent on the given operation, whether it has succeeded or not.
+     */
+    default void recordLatency(Operation operation, Duration latency) {
+        // Do nothing by default.
+    }
+
+    /**
+     * Records the size of the body sent with the given operation.
+     */
+    default void recordRequestBytes(Operation operation, long bytes) {
+        // Do nothing by default.
+    }
+
+    /**
+     * Records the size of the body received in response to the given operation.
+     */
+    default void recordResponseBytes(Operation operation, long bytes) {
+        // Do nothing by default.
+    }
+
+    /**
+     * Records a failure of the given operation.
+     */
+    default void recordFailure(Operation operation, Throwable failure) {
+        // Do nothing by default.
+    }
+
+    /**
+     * Registers the source of the given gauge value.
+     *
+     * <p>A registration replaces the previous source of the same gauge, if any.
+     */
+    default void registerGauge(Gauge gauge, LongSupplier value) {
+        // Do nothing by default.
+    }
+
+    /**
+     * A registry which ignores all the metrics.
+     */
+    enum NoOpRegistry implements MetricsRegistry {
+        INSTANCE
+    }
+}
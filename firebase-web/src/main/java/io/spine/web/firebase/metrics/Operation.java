@@ -0,0 +1,66 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.firebase.metrics;
+
+/**
+ * An operation on the Firebase database which is measured.
+ *
+ * <p>The {@code FirebaseClient} operations are recorded by the {@link InstrumentedClient}.
+ * The HTTP requests are recorded by the {@link io.spine.web.firebase.rest.RestClient}, one
+ * client operation may involve several requests.
+ */
+public enum Operation {
+
+    /**
+     * A read of a node or of its children.
+     */
+    READ,
+
+    /**
+     * A merge of a value into a node.
+     */
+    MERGE,
+
+    /**
+     * A deletion of a node.
+     */
+    DELETE,
+
+    /**
+     * An HTTP {@code GET} request to the Firebase REST API.
+     */
+    HTTP_GET,
+
+    /**
+     * An HTTP {@code PUT} request to the Firebase REST API.
+     */
+    HTTP_PUT,
+
+    /**
+     * An HTTP {@code PATCH} request to the Firebase REST API.
+     */
+    HTTP_PATCH,
+
+    /**
+     * An HTTP {@code DELETE} request to the Firebase REST API.
+     */
+    HTTP_DELETE
+}
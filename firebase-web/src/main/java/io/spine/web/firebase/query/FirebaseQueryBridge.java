@@ -20,16 +20,30 @@
 
 package io.spine.web.firebase.query;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.spine.client.Query;
 import io.spine.client.QueryResponse;
 import io.spine.client.grpc.QueryServiceGrpc.QueryServiceImplBase;
+import io.spine.web.firebase.EntryFormat;
 import io.spine.web.firebase.FirebaseClient;
+import io.spine.web.firebase.NodePath;
+import io.spine.web.query.AsyncQueryService;
 import io.spine.web.query.BlockingQueryService;
 import io.spine.web.query.QueryBridge;
 import io.spine.web.query.QueryProcessingResult;
 
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 /**
  * An implementation of {@link QueryBridge} based on the Firebase Realtime Database.
@@ -39,20 +53,69 @@ import static com.google.common.base.Preconditions.checkState;
  *
  * <p>More formally, for each encountered {@link Query}, the bridge performs a call to
  * the {@code QueryService} and stores the resulting entity states into the given database. The data
- * is stored as a list of strings. Each entry is
- * a {@linkplain io.spine.json.Json JSON representation} of an entity state. The path produced by
+ * is stored as a list of entries. Each entry is
+ * a {@linkplain io.spine.json.Json JSON representation} of an entity state stored in
+ * the configured {@linkplain Builder#setEntryFormat(EntryFormat) format}. The path produced by
  * the bridge as a result is the path to the database node containing all those records.
  * The absolute position of such a node is not specified, thus the result path is the only way
  * to read the data from the database.
+ *
+ * <p>The query response is written in batches, each containing several entity states. The size of
+ * a batch is limited both by the number of entries and by the approximate size in bytes. See
+ * {@link Builder#setMaxBatchEntries(int)} and {@link Builder#setMaxBatchBytes(long)}.
+ *
+ * <p>The results of the identical queries may be shared via a {@link QueryResultCache}. See
+ * {@link Builder#setCache(QueryResultCache)}.
+ *
+ * <p>By default, the written query results are kept in the database forever. If
+ * the {@linkplain Builder#setResultLifetime(Duration) result lifetime} is set, the node of each
+ * result is deleted once the lifetime passes.
+ *
+ * <p>The {@linkplain #sendAsync(Query) asynchronous} variant does not block the calling thread
+ * while the {@code QueryService} processes the query.
  */
 public final class FirebaseQueryBridge implements QueryBridge {
 
+    /**
+     * The default maximum number of entries written to the database in a single request.
+     */
+    static final int DEFAULT_MAX_BATCH_ENTRIES = 500;
+
+    /**
+     * The default maximum size of a single write request in bytes.
+     */
+    static final long DEFAULT_MAX_BATCH_BYTES = 1024 * 1024;
+
+    private final AsyncQueryService asyncQueryService;
     private final BlockingQueryService queryService;
     private final FirebaseClient firebaseClient;
+    private final int maxBatchEntries;
+    private final long maxBatchBytes;
+    private final EntryFormat entryFormat;
+    @Nullable
+    private final QueryResultCache cache;
+    @Nullable
+    private final Duration resultLifetime;
+    @Nullable
+    private final ScheduledExecutorService reaper;
 
     private FirebaseQueryBridge(Builder builder) {
-        this.queryService = builder.queryService;
+        this.asyncQueryService = builder.newQueryService();
+        this.queryService = new BlockingQueryService(asyncQueryService);
         this.firebaseClient = builder.firebaseClient;
+        this.maxBatchEntries = builder.maxBatchEntries;
+        this.maxBatchBytes = builder.maxBatchBytes;
+        this.entryFormat = builder.entryFormat;
+        this.cache = builder.cache;
+        this.resultLifetime = builder.resultLifetime;
+        this.reaper = resultLifetime == null ? null : newReaper();
+    }
+
+    private static ScheduledExecutorService newReaper() {
+        ThreadFactoryBuilder threads = new ThreadFactoryBuilder()
+                .setNameFormat("firebase-query-reaper-%d")
+                .setDaemon(true);
+        return newSingleThreadScheduledExecutor(threads.build());
     }
 
     /**
@@ -61,20 +124,91 @@ public final class FirebaseQueryBridge implements QueryBridge {
      *
      * <p>Returns the path in the database, under which the query response is stored.
      *
+     * <p>If the {@linkplain Builder#setCache(QueryResultCache) cache} is set and holds the result
+     * of an identical query, the path to the stored result is returned right away.
+     *
      * @param query the query to send
      * @return a path in the database
      */
     @Override
     public QueryProcessingResult send(Query query) {
+        if (cache != null) {
+            return cache.get(query, () -> execute(query));
+        }
+        return execute(query);
+    }
+
+    /**
+     * Sends the given {@link Query} to the {@code QueryService} and stores the query response
+     * into the database once the response arrives.
+     *
+     * <p>The calling thread is not blocked while the query is processed. The response is stored on
+     * the thread which completes the query.
+     *
+     * <p>If the {@linkplain Builder#setCache(QueryResultCache) cache} is set, the identical queries
+     * sent while the result is being loaded share the same result.
+     *
+     * @param query the query to send
+     * @return the future path in the database
+     */
+    @Override
+    public CompletionStage<QueryProcessingResult> sendAsync(Query query) {
+        CompletableFuture<QueryResult> result = cache != null
+                                                ? cache.getAsync(query, () -> executeAsync(query))
+                                                : executeAsync(query);
+        return result.thenApply(QueryProcessingResult.class::cast);
+    }
+
+    private CompletableFuture<QueryResult> executeAsync(Query query) {
+        CompletableFuture<QueryResult> result =
+                asyncQueryService.execute(query)
+                                 .thenApply(response -> store(query, response));
+        return result;
+    }
+
+    private QueryResult execute(Query query) {
         QueryResponse queryResponse = queryService.execute(query);
-        QueryRecord record = new QueryRecord(query, queryResponse);
+        return store(query, queryResponse);
+    }
+
+    private QueryResult store(Query query, QueryResponse queryResponse) {
+        QueryRecord record = new QueryRecord(query, queryResponse, entryFormat,
+                                             maxBatchEntries, maxBatchBytes);
         record.storeVia(firebaseClient);
+        scheduleDeletion(record.path());
 
-        QueryProcessingResult result = new QueryResult(record.path(),
-                                                       queryResponse.getMessagesCount());
+        QueryResult result = new QueryResult(record.path(), queryResponse.getMessagesCount());
         return result;
     }
 
+    /**
+     * Deletes the node under the given path once the result lifetime passes.
+     *
+     * <p>Does nothing if the bridge is {@linkplain #shutdown() shut down}.
+     */
+    private void scheduleDeletion(NodePath path) {
+        if (reaper != null && resultLifetime != null) {
+            try {
+                reaper.schedule(() -> firebaseClient.delete(path),
+                                resultLifetime.toMillis(), MILLISECONDS);
+            } catch (RejectedExecutionException ignored) {
+                // The bridge is shut down, the result is kept in the database.
+            }
+        }
+    }
+
+    /**
+     * Stops deleting the query results whose lifetime passes.
+     *
+     * <p>The results whose lifetime has not passed yet are left intact. Does nothing if
+     * the {@linkplain Builder#setResultLifetime(Duration) result lifetime} is not set.
+     */
+    public void shutdown() {
+        if (reaper != null) {
+            reaper.shutdownNow();
+        }
+    }
+
     /**
      * Creates a new instance of {@code Builder} for {@code FirebaseQueryBridge} instances.
      *
@@ -89,8 +223,17 @@ public final class FirebaseQueryBridge implements QueryBridge {
      */
     public static final class Builder {
 
-        private BlockingQueryService queryService;
+        private QueryServiceImplBase queryService;
+        @Nullable
+        private Duration queryTimeout;
         private FirebaseClient firebaseClient;
+        private int maxBatchEntries = DEFAULT_MAX_BATCH_ENTRIES;
+        private long maxBatchBytes = DEFAULT_MAX_BATCH_BYTES;
+        private EntryFormat entryFormat = EntryFormat.defaultFormat();
+        @Nullable
+        private QueryResultCache cache;
+        @Nullable
+        private Duration resultLifetime;
 
         /**
          * Prevents local instantiation.
@@ -99,8 +242,19 @@ public final class FirebaseQueryBridge implements QueryBridge {
         }
 
         public Builder setQueryService(QueryServiceImplBase service) {
-            checkNotNull(service);
-            this.queryService = new BlockingQueryService(service);
+            this.queryService = checkNotNull(service);
+            return this;
+        }
+
+        /**
+         * Sets the time to wait for a query response.
+         *
+         * <p>By default, the asynchronous calls await the response indefinitely, and
+         * the synchronous calls require the {@code QueryService} to respond on the calling
+         * thread.
+         */
+        public Builder setQueryTimeout(Duration timeout) {
+            this.queryTimeout = checkNotNull(timeout);
             return this;
         }
 
@@ -109,6 +263,85 @@ public final class FirebaseQueryBridge implements QueryBridge {
             return this;
         }
 
+        /**
+         * Sets the maximum number of entity states written to the database in a single request.
+         *
+         * <p>The default value is {@value FirebaseQueryBridge#DEFAULT_MAX_BATCH_ENTRIES}.
+         *
+         * @param maxBatchEntries
+         *         a positive number of entries
+         */
+        public Builder setMaxBatchEntries(int maxBatchEntries) {
+            checkArgument(maxBatchEntries > 0,
+                          "Batch entry count must be positive, got %s.", maxBatchEntries);
+            this.maxBatchEntries = maxBatchEntries;
+            return this;
+        }
+
+        /**
+         * Sets the maximum approximate size of a single write request in bytes.
+         *
+         * <p>An entity state which exceeds the limit on its own is written in a separate request.
+         *
+         * <p>The default value is {@value FirebaseQueryBridge#DEFAULT_MAX_BATCH_BYTES}.
+         *
+         * @param maxBatchBytes
+         *         a positive number of bytes
+         */
+        public Builder setMaxBatchBytes(long maxBatchBytes) {
+            checkArgument(maxBatchBytes > 0,
+                          "Batch size must be positive, got %s.", maxBatchBytes);
+            this.maxBatchBytes = maxBatchBytes;
+            return this;
+        }
+
+        /**
+         * Sets the format in which the entity states are stored in the database.
+         *
+         * <p>By default, the {@link EntryFormat#JSON_STRING} format is used, which is understood
+         * by all the client versions.
+         */
+        public Builder setEntryFormat(EntryFormat entryFormat) {
+            this.entryFormat = checkNotNull(entryFormat);
+            return this;
+        }
+
+        /**
+         * Sets the cache of the query results.
+         *
+         * <p>By default, the results are not cached and every query is executed and written to
+         * the database.
+         *
+         * <p>To make the cached results reflect the entity changes before they expire, configure
+         * the cache with the {@linkplain QueryResultCache.Builder#setSubscriptionService
+         * subscription service} of the bounded context.
+         */
+        public Builder setCache(QueryResultCache cache) {
+            this.cache = checkNotNull(cache);
+            return this;
+        }
+
+        /**
+         * Sets the time for which the written query results are kept in the database.
+         *
+         * <p>The clients read the result right after the response, so the lifetime only needs
+         * to cover the read. If the {@linkplain #setCache(QueryResultCache) cache} is set,
+         * the lifetime must exceed its TTL, as a cache hit returns an already written node.
+         *
+         * <p>The deletions are scheduled in memory. The results written by an instance which is
+         * {@linkplain FirebaseQueryBridge#shutdown() shut down} before their lifetime passes stay
+         * in the database.
+         *
+         * <p>By default, the results are never deleted.
+         */
+        public Builder setResultLifetime(Duration resultLifetime) {
+            checkNotNull(resultLifetime);
+            checkArgument(!resultLifetime.isNegative() && !resultLifetime.isZero(),
+                          "Result lifetime must be positive.");
+            this.resultLifetime = resultLifetime;
+            return this;
+        }
+
         /**
          * Creates a new instance of {@code FirebaseQueryBridge}.
          *
@@ -117,7 +350,17 @@ public final class FirebaseQueryBridge implements QueryBridge {
         public FirebaseQueryBridge build() {
             checkState(queryService != null, "Query Service is not set.");
             checkState(firebaseClient != null, "Firebase database client is not set.");
+            checkState(resultLifetime == null
+                               || cache == null
+                               || resultLifetime.compareTo(cache.ttl()) > 0,
+                       "Result lifetime must exceed the cache TTL.");
             return new FirebaseQueryBridge(this);
         }
+
+        private AsyncQueryService newQueryService() {
+            return queryTimeout == null
+                   ? new AsyncQueryService(queryService)
+                   : new AsyncQueryService(queryService, queryTimeout);
+        }
     }
 }
@@ -20,15 +20,19 @@
 
 package io.spine.web.firebase.query;
 
+import com.google.protobuf.Message;
 import io.spine.client.EntityStateWithVersion;
 import io.spine.client.Query;
 import io.spine.client.QueryResponse;
 import io.spine.json.Json;
 import io.spine.protobuf.AnyPacker;
+import io.spine.web.firebase.EntryFormat;
 import io.spine.web.firebase.FirebaseClient;
 import io.spine.web.firebase.NodePath;
 import io.spine.web.firebase.NodeValue;
 
+import static com.google.common.base.Utf8.encodedLength;
+
 /**
  * A record which can be stored into a Firebase database.
  *
@@ -38,10 +42,34 @@ final class QueryRecord {
 
     private final NodePath path;
     private final QueryResponse queryResponse;
+    private final EntryFormat entryFormat;
+    private final int maxBatchEntries;
+    private final long maxBatchBytes;
 
-    QueryRecord(Query query, QueryResponse queryResponse) {
+    /**
+     * Creates a new record.
+     *
+     * @param query
+     *         the query to which the response is written
+     * @param queryResponse
+     *         the response to write
+     * @param entryFormat
+     *         the format of the written entries
+     * @param maxBatchEntries
+     *         the maximum number of entries written in a single request
+     * @param maxBatchBytes
+     *         the maximum approximate size of a single request in bytes
+     */
+    QueryRecord(Query query,
+                QueryResponse queryResponse,
+                EntryFormat entryFormat,
+                int maxBatchEntries,
+                long maxBatchBytes) {
         this.path = QueryNodePath.of(query);
         this.queryResponse = queryResponse;
+        this.entryFormat = entryFormat;
+        this.maxBatchEntries = maxBatchEntries;
+        this.maxBatchBytes = maxBatchBytes;
     }
 
     /**
@@ -61,19 +89,59 @@ final class QueryRecord {
     }
 
     /**
-     * Flushes the array response of the query to the Firebase, adding array items to storage one
-     * by one.
+     * Flushes the array response of the query to the Firebase in batches.
+     *
+     * <p>Each batch is written with a single request and contains several entries. A batch is
+     * flushed as soon as it reaches either the maximum entry count or the maximum size in bytes.
+     * A single entry exceeding the byte limit is written as a batch on its own.
      *
      * <p>Suitable for big queries, spanning thousands and millions of items.
      */
+    @SuppressWarnings("RedundantTypeArguments") // AnyPacker::unpack type cannot be inferred.
     private void flushTo(FirebaseClient firebaseClient) {
-        queryResponse.getMessagesList()
-                     .stream()
-                     .unordered()
-                     .map(EntityStateWithVersion::getState)
-                     .map(AnyPacker::unpack)
-                     .map(Json::toCompactJson)
-                     .map(NodeValue::withSingleChild)
-                     .forEach(node -> firebaseClient.merge(path, node));
+        Batch batch = new Batch();
+        for (EntityStateWithVersion entity : queryResponse.getMessagesList()) {
+            Message state = AnyPacker.<Message>unpack(entity.getState());
+            String json = Json.toCompactJson(state);
+            long entryBytes = encodedLength(json);
+            if (!batch.isEmpty() && batch.bytes + entryBytes > maxBatchBytes) {
+                batch = batch.flushTo(firebaseClient);
+            }
+            batch.add(json, entryBytes);
+            if (batch.entries >= maxBatchEntries) {
+                batch = batch.flushTo(firebaseClient);
+            }
+        }
+        if (!batch.isEmpty()) {
+            batch.flushTo(firebaseClient);
+        }
+    }
+
+    /**
+     * A group of entries written to the database with a single request.
+     */
+    private final class Batch {
+
+        private final NodeValue value = NodeValue.empty();
+        private int entries;
+        private long bytes;
+
+        private void add(String json, long jsonBytes) {
+            value.addChild(entryFormat.child(json));
+            entries++;
+            bytes += jsonBytes;
+        }
+
+        private boolean isEmpty() {
+            return entries == 0;
+        }
+
+        /**
+         * Writes this batch to the database and returns a new empty batch.
+         */
+        private Batch flushTo(FirebaseClient firebaseClient) {
+            firebaseClient.merge(path, value);
+            return new Batch();
+        }
     }
 }
@@ -20,15 +20,13 @@
 
 package io.spine.web.firebase.query;
 
+import io.spine.web.ResponseFormat;
 import io.spine.web.firebase.NodePath;
 import io.spine.web.query.QueryProcessingResult;
 
 import javax.servlet.ServletResponse;
 import java.io.IOException;
 
-import static com.google.common.net.MediaType.JSON_UTF_8;
-import static io.spine.json.Json.toCompactJson;
-
 /**
  * A result of a query processed by a {@link FirebaseQueryBridge}.
  *
@@ -37,8 +35,6 @@ import static io.spine.json.Json.toCompactJson;
  */
 final class QueryResult implements QueryProcessingResult {
 
-    private static final String JSON_MIME_TYPE = JSON_UTF_8.toString();
-
     private final NodePath path;
     private final long count;
 
@@ -49,12 +45,16 @@ final class QueryResult implements QueryProcessingResult {
 
     @Override
     public void writeTo(ServletResponse response) throws IOException {
+        writeTo(response, ResponseFormat.JSON);
+    }
+
+    @Override
+    public void writeTo(ServletResponse response, ResponseFormat format) throws IOException {
         FirebaseQueryResponse queryResponse =
                 FirebaseQueryResponseVBuilder.newBuilder()
                                              .setPath(path.getValue())
                                              .setCount(count)
                                              .build();
-        response.getWriter().append(toCompactJson(queryResponse));
-        response.setContentType(JSON_MIME_TYPE);
+        format.write(queryResponse, response);
     }
 }
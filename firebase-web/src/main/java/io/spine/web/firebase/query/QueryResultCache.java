@@ -0,0 +1,496 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.firebase.query;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Objects;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.google.protobuf.FieldMask;
+import com.google.protobuf.Timestamp;
+import io.grpc.stub.StreamObserver;
+import io.spine.client.Query;
+import io.spine.client.Subscription;
+import io.spine.client.SubscriptionUpdate;
+import io.spine.client.Target;
+import io.spine.client.Topic;
+import io.spine.client.TopicId;
+import io.spine.client.grpc.SubscriptionServiceGrpc.SubscriptionServiceImplBase;
+import io.spine.core.ActorContext;
+import io.spine.core.TenantId;
+import io.spine.core.UserId;
+import io.spine.core.Version;
+import io.spine.grpc.MemoizingObserver;
+import io.spine.logging.Logging;
+import io.spine.type.TypeUrl;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Throwables.throwIfUnchecked;
+import static com.google.protobuf.util.Timestamps.compare;
+import static io.spine.base.Identifier.newUuid;
+import static io.spine.base.Time.currentTime;
+import static io.spine.grpc.StreamObservers.memoizingObserver;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * A cache of the query results materialized in a Firebase database.
+ *
+ * <p>The results are cached by the tenant, the actor, the target and the field mask of
+ * the query. A cache hit returns the path to the already written database node, so it costs
+ * neither a query execution nor a database write. The concurrent identical queries which miss
+ * the cache are executed once.
+ *
+ * <p>The entries expire after a configurable time since they are written and are evicted when
+ * the cache exceeds its maximum size. The entries for a certain entity type may also be
+ * {@linkplain #invalidate(TypeUrl, Version) invalidated} when an entity of that type changes.
+ * If the {@linkplain Builder#setSubscriptionService subscription service} is set, the cache
+ * subscribes to the changes of each cached entity type and invalidates the entries itself.
+ *
+ * <p>A result loaded while its entity type is invalidated is not cached, as it may miss
+ * the change.
+ */
+public final class QueryResultCache implements Logging {
+
+    /**
+     * The default time for which a result is cached.
+     */
+    static final Duration DEFAULT_TTL = Duration.ofSeconds(5);
+
+    /**
+     * The default maximum number of the cached results.
+     */
+    static final long DEFAULT_MAX_SIZE = 1000;
+
+    private final Cache<Key, Entry> cache;
+    private final Duration ttl;
+    @Nullable
+    private final SubscriptionServiceImplBase subscriptionService;
+
+    /**
+     * The number of the invalidations of each entity type.
+     */
+    private final ConcurrentMap<String, AtomicLong> invalidations = new ConcurrentHashMap<>();
+
+    /**
+     * The number of the invalidations of all the entity types.
+     */
+    private final AtomicLong fullInvalidations = new AtomicLong();
+
+    /**
+     * The entity types whose changes are watched, by tenant.
+     */
+    private final Set<Map.Entry<TenantId, String>> watchedTypes = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The results of the asynchronous queries which are being loaded.
+     */
+    private final ConcurrentMap<Key, CompletableFuture<QueryResult>> loading =
+            new ConcurrentHashMap<>();
+
+    private QueryResultCache(Builder builder) {
+        this.ttl = builder.ttl;
+        this.subscriptionService = builder.subscriptionService;
+        this.cache = CacheBuilder
+                .newBuilder()
+                .expireAfterWrite(builder.ttl.toMillis(), MILLISECONDS)
+                .maximumSize(builder.maxSize)
+                .ticker(builder.ticker)
+                .build();
+    }
+
+    /**
+     * Obtains the cached result of the given query or loads it with the given loader.
+     */
+    QueryResult get(Query query, Supplier<QueryResult> loader) {
+        Key key = new Key(query);
+        watch(query);
+        AtomicBoolean loaded = new AtomicBoolean();
+        long generation = generation(key.type);
+        try {
+            Entry entry = cache.get(key, () -> {
+                Timestamp startedAt = currentTime();
+                loaded.set(true);
+                return new Entry(loader.get(), startedAt);
+            });
+            if (loaded.get()) {
+                discardIfInvalidated(key, entry, generation);
+            }
+            return entry.result;
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            Throwable cause = e.getCause();
+            throwIfUnchecked(cause);
+            throw illegalStateWithCauseOf(cause);
+        }
+    }
+
+    /**
+     * Obtains the cached result of the given query or loads it asynchronously with the given
+     * loader.
+     *
+     * <p>The identical queries which miss the cache while the result is being loaded share
+     * the same future result.
+     */
+    CompletableFuture<QueryResult> getAsync(Query query,
+                                            Supplier<CompletableFuture<QueryResult>> loader) {
+        Key key = new Key(query);
+        watch(query);
+        Entry cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return completedFuture(cached.result);
+        }
+        CompletableFuture<QueryResult> result = new CompletableFuture<>();
+        CompletableFuture<QueryResult> inFlight = loading.putIfAbsent(key, result);
+        if (inFlight != null) {
+            return inFlight;
+        }
+        Entry loaded = cache.getIfPresent(key);
+        if (loaded != null) {
+            loading.remove(key, result);
+            result.complete(loaded.result);
+            return result;
+        }
+        load(key, loader, result);
+        return result;
+    }
+
+    private void load(Key key,
+                      Supplier<CompletableFuture<QueryResult>> loader,
+                      CompletableFuture<QueryResult> result) {
+        Timestamp startedAt = currentTime();
+        long generation = generation(key.type);
+        CompletableFuture<QueryResult> loaded;
+        try {
+            loaded = loader.get();
+        } catch (RuntimeException e) {
+            loading.remove(key, result);
+            result.completeExceptionally(e);
+            return;
+        }
+        loaded.whenComplete((value, error) -> {
+            if (error == null) {
+                Entry entry = new Entry(value, startedAt);
+                cache.put(key, entry);
+                discardIfInvalidated(key, entry, generation);
+            }
+            loading.remove(key, result);
+            if (error == null) {
+                result.complete(value);
+            } else {
+                result.completeExceptionally(error);
+            }
+        });
+    }
+
+    /**
+     * Invalidates the cached results of the queries for the given entity type which were
+     * materialized before the given entity version.
+     *
+     * <p>Call this method when an entity of the given type changes, so that the following
+     * queries see the change.
+     *
+     * @param type
+     *         the type of the changed entity state
+     * @param version
+     *         the new version of the changed entity
+     */
+    public void invalidate(TypeUrl type, Version version) {
+        checkNotNull(type);
+        checkNotNull(version);
+        invalidate(type.value(), version.getTimestamp());
+    }
+
+    private void invalidate(String type, Timestamp changed) {
+        invalidationsOf(type).incrementAndGet();
+        cache.asMap()
+             .entrySet()
+             .removeIf(entry -> entry.getKey().type.equals(type)
+                     && compare(entry.getValue().cachedAt, changed) <= 0);
+    }
+
+    /**
+     * Discards all the cached results.
+     */
+    public void invalidateAll() {
+        fullInvalidations.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    /**
+     * Obtains the number which changes each time the results of the given type are invalidated.
+     */
+    private long generation(String type) {
+        return fullInvalidations.get() + invalidationsOf(type).get();
+    }
+
+    private AtomicLong invalidationsOf(String type) {
+        return invalidations.computeIfAbsent(type, newType -> new AtomicLong());
+    }
+
+    /**
+     * Discards the newly stored entry if its type has been invalidated since the given
+     * generation, i.e. while the entry was loaded.
+     */
+    private void discardIfInvalidated(Key key, Entry entry, long generation) {
+        if (generation(key.type) != generation) {
+            cache.asMap()
+                 .remove(key, entry);
+        }
+    }
+
+    /**
+     * Subscribes to the changes of the entities of the given query type, unless already
+     * subscribed or the subscription service is not set.
+     *
+     * <p>The subscription is made before the result is loaded, so that the changes made during
+     * the load invalidate it.
+     */
+    private void watch(Query query) {
+        if (subscriptionService == null) {
+            return;
+        }
+        ActorContext context = query.getContext();
+        String type = query.getTarget()
+                           .getType();
+        Map.Entry<TenantId, String> watched =
+                new SimpleImmutableEntry<>(context.getTenantId(), type);
+        if (!watchedTypes.add(watched)) {
+            return;
+        }
+        Topic topic = Topic
+                .newBuilder()
+                .setId(TopicId.newBuilder()
+                              .setValue(newUuid()))
+                .setTarget(Target.newBuilder()
+                                 .setType(type)
+                                 .setIncludeAll(true))
+                .setContext(context)
+                .build();
+        MemoizingObserver<Subscription> observer = memoizingObserver();
+        subscriptionService.subscribe(topic, observer);
+        Throwable error = observer.getError();
+        if (error != null) {
+            watchedTypes.remove(watched);
+            log().warn("Failed to subscribe to the changes of `{}`, the cached results are " +
+                               "invalidated only on expiry.", type, error);
+            return;
+        }
+        subscriptionService.activate(observer.firstResponse(), new ChangeObserver(watched));
+    }
+
+    /**
+     * Invalidates the cached results of an entity type upon each change of an entity.
+     */
+    private final class ChangeObserver implements StreamObserver<SubscriptionUpdate> {
+
+        private final Map.Entry<TenantId, String> watched;
+
+        private ChangeObserver(Map.Entry<TenantId, String> watched) {
+            this.watched = watched;
+        }
+
+        @Override
+        public void onNext(SubscriptionUpdate update) {
+            invalidate(watched.getValue(), currentTime());
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            watchedTypes.remove(watched);
+            invalidate(watched.getValue(), currentTime());
+            log().warn("The changes of `{}` are no longer received.", watched.getValue(), t);
+        }
+
+        @Override
+        public void onCompleted() {
+            watchedTypes.remove(watched);
+        }
+    }
+
+    /**
+     * Obtains the time for which a result is cached.
+     */
+    Duration ttl() {
+        return ttl;
+    }
+
+    /**
+     * Obtains the number of the cached results.
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * Creates a new instance of {@code Builder} for {@code QueryResultCache} instances.
+     *
+     * @return new instance of {@code Builder}
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * The properties of a query which define its result.
+     *
+     * <p>The actor is a part of the key, as the result is stored under the path of the actor.
+     */
+    private static final class Key {
+
+        private final TenantId tenant;
+        private final UserId actor;
+        private final String type;
+        private final Target target;
+        private final FieldMask fieldMask;
+
+        private Key(Query query) {
+            ActorContext context = query.getContext();
+            this.tenant = context.getTenantId();
+            this.actor = context.getActor();
+            this.target = query.getTarget();
+            this.type = target.getType();
+            this.fieldMask = query.getFieldMask();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key other = (Key) o;
+            return tenant.equals(other.tenant) &&
+                    actor.equals(other.actor) &&
+                    target.equals(other.target) &&
+                    fieldMask.equals(other.fieldMask);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(tenant, actor, target, fieldMask);
+        }
+    }
+
+    /**
+     * A cached query result along with the time it was materialized.
+     */
+    private static final class Entry {
+
+        private final QueryResult result;
+        private final Timestamp cachedAt;
+
+        private Entry(QueryResult result, Timestamp cachedAt) {
+            this.result = result;
+            this.cachedAt = cachedAt;
+        }
+    }
+
+    /**
+     * A builder for the {@code QueryResultCache} instances.
+     */
+    public static final class Builder {
+
+        private Duration ttl = DEFAULT_TTL;
+        private long maxSize = DEFAULT_MAX_SIZE;
+        private Ticker ticker = Ticker.systemTicker();
+        @Nullable
+        private SubscriptionServiceImplBase subscriptionService;
+
+        /**
+         * Prevents local instantiation.
+         */
+        private Builder() {
+        }
+
+        /**
+         * Sets the time for which a result is cached after it is written to the database.
+         *
+         * <p>The default value is 5 seconds.
+         */
+        public Builder setTtl(Duration ttl) {
+            checkNotNull(ttl);
+            checkArgument(!ttl.isNegative() && !ttl.isZero(), "TTL must be positive.");
+            this.ttl = ttl;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of the cached results.
+         *
+         * <p>When the limit is reached, the least recently used results are evicted.
+         *
+         * <p>The default value is {@value QueryResultCache#DEFAULT_MAX_SIZE}.
+         */
+        public Builder setMaxSize(long maxSize) {
+            checkArgument(maxSize > 0, "Cache size must be positive, got %s.", maxSize);
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        /**
+         * Sets the subscription service of the bounded context which reports the entity changes.
+         *
+         * <p>If the service is set, the cache subscribes to the changes of all the entities of
+         * each cached type, once per tenant. The cached results of a type are invalidated as
+         * soon as an entity of the type changes.
+         *
+         * <p>By default, the results are only invalidated on expiry or explicitly.
+         */
+        public Builder setSubscriptionService(SubscriptionServiceImplBase subscriptionService) {
+            this.subscriptionService = checkNotNull(subscriptionService);
+            return this;
+        }
+
+        @VisibleForTesting
+        Builder setTicker(Ticker ticker) {
+            this.ticker = checkNotNull(ticker);
+            return this;
+        }
+
+        /**
+         * Creates a new instance of {@code QueryResultCache}.
+         *
+         * @return new instance of {@code QueryResultCache}
+         */
+        public QueryResultCache build() {
+            return new QueryResultCache(this);
+        }
+    }
+}
@@ -26,16 +26,35 @@ import com.google.api.client.http.HttpHeaders;
 import com.google.api.client.http.HttpRequest;
 import com.google.api.client.http.HttpRequestFactory;
 import com.google.api.client.http.HttpResponse;
+import com.google.common.io.CharStreams;
+import com.google.common.io.CountingInputStream;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import com.google.gson.stream.JsonReader;
+import io.spine.web.firebase.metrics.Gauge;
+import io.spine.web.firebase.metrics.GaugeCounter;
+import io.spine.web.firebase.metrics.MetricsRegistry;
+import io.spine.web.firebase.metrics.Operation;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.time.Duration;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
  * A tool to create and execute HTTP requests.
  *
- * <p>All responses are returned in a {@code String} form.
+ * <p>The responses to the writes are returned in a {@code String} form, and the responses to
+ * the reads are {@linkplain #read(GenericUrl, ResponseReader) streamed} straight into the target
+ * structure.
+ *
+ * <p>The latency, the body sizes and the failures of the requests are recorded to
+ * the {@link MetricsRegistry} passed on creation. The number of the requests in progress is
+ * exposed as the {@link Gauge#IN_FLIGHT_REQUESTS} gauge, summed across all the clients which use
+ * the same registry.
  *
  * <p>The class is effectively {@code final} and is left non-{@code final} to enable testing mocks.
  */
@@ -51,9 +70,13 @@ class HttpClient {
     private static final String FIREBASE_DECODING_HEADER = "X-Firebase-Decoding";
 
     private final HttpRequestFactory requestFactory;
+    private final MetricsRegistry metrics;
+    private final GaugeCounter inFlight;
 
-    private HttpClient(HttpRequestFactory requestFactory) {
+    private HttpClient(HttpRequestFactory requestFactory, MetricsRegistry metrics) {
         this.requestFactory = requestFactory;
+        this.metrics = metrics;
+        this.inFlight = GaugeCounter.of(metrics, Gauge.IN_FLIGHT_REQUESTS);
     }
 
     /**
@@ -64,23 +87,53 @@ class HttpClient {
      * @return the new instance of {@code HttpClient}
      */
     static HttpClient using(HttpRequestFactory requestFactory) {
+        return using(requestFactory, MetricsRegistry.noOp());
+    }
+
+    /**
+     * Creates a new {@code HttpClient} which will use the specified HTTP request factory and
+     * record the request metrics to the given registry.
+     *
+     * @param requestFactory
+     *         the {@code HttpRequestFactory} to use for HTTP requests execution
+     * @param metrics
+     *         the registry of the request metrics
+     * @return the new instance of {@code HttpClient}
+     */
+    static HttpClient using(HttpRequestFactory requestFactory, MetricsRegistry metrics) {
         checkNotNull(requestFactory);
-        return new HttpClient(requestFactory);
+        checkNotNull(metrics);
+        return new HttpClient(requestFactory, metrics);
     }
 
     /**
-     * Prepares and executes a GET request.
+     * Prepares and executes a GET request and reads the JSON response body directly from
+     * the response stream.
+     *
+     * <p>The response body is never held in memory as a whole, unless the given {@code reader}
+     * collects it.
      *
      * @param url
      *         the target URL
-     * @return the {@code String} containing response body
+     * @param reader
+     *         the reader of the response body
+     * @param <T>
+     *         the type of the read result
+     * @return the result of the {@code reader}
      * @throws RequestToFirebaseFailedException
      *         if the request couldn't be performed normally
      */
-    String get(GenericUrl url) {
+    @CanIgnoreReturnValue
+    <T> T read(GenericUrl url, ResponseReader<T> reader) {
         checkNotNull(url);
+        checkNotNull(reader);
         try {
-            return doGet(url);
+            HttpRequest request = requestFactory.buildGetRequest(url);
+            return execute(Operation.HTTP_GET, request, content -> {
+                try (JsonReader json = new JsonReader(content)) {
+                    return reader.read(json);
+                }
+            });
         } catch (IOException e) {
             throw new RequestToFirebaseFailedException(e.getMessage(), e);
         }
@@ -130,27 +183,83 @@ class HttpClient {
         }
     }
 
-    private String doGet(GenericUrl url) throws IOException {
-        HttpRequest request = requestFactory.buildGetRequest(url);
-        return executeAndGetResponse(request);
+    /**
+     * Prepares and executes a DELETE request.
+     *
+     * @param url
+     *         the target URL
+     * @return the {@code String} containing response body
+     * @throws RequestToFirebaseFailedException
+     *         if the request couldn't be performed normally
+     */
+    @CanIgnoreReturnValue
+    String delete(GenericUrl url) {
+        checkNotNull(url);
+        try {
+            return doDelete(url);
+        } catch (IOException e) {
+            throw new RequestToFirebaseFailedException(e.getMessage(), e);
+        }
     }
 
     private String doPut(GenericUrl url, HttpContent content) throws IOException {
         HttpRequest request = requestFactory.buildPutRequest(url, content);
-        return executeAndGetResponse(request);
+        return execute(Operation.HTTP_PUT, request, CharStreams::toString);
     }
 
     private String doPatch(GenericUrl url, HttpContent content) throws IOException {
         HttpRequest request = requestFactory.buildPatchRequest(url, content);
-        return executeAndGetResponse(request);
+        return execute(Operation.HTTP_PATCH, request, CharStreams::toString);
+    }
+
+    private String doDelete(GenericUrl url) throws IOException {
+        HttpRequest request = requestFactory.buildDeleteRequest(url);
+        return execute(Operation.HTTP_DELETE, request, CharStreams::toString);
     }
 
-    private static String executeAndGetResponse(HttpRequest request) throws IOException {
+    /**
+     * Executes the given request and reads the response body with the given reader.
+     *
+     * <p>The metrics of the request are recorded regardless of its outcome.
+     */
+    private <T> T execute(Operation operation, HttpRequest request, BodyReader<T> reader)
+            throws IOException {
         setFirebaseDecodingHeader(request);
-        HttpResponse httpResponse = request.execute();
-        String response = httpResponse.parseAsString();
-        httpResponse.disconnect();
-        return response;
+        HttpContent content = request.getContent();
+        long requestBytes = content == null ? 0 : content.getLength();
+        if (requestBytes > 0) {
+            metrics.recordRequestBytes(operation, requestBytes);
+        }
+        inFlight.increment();
+        long start = System.nanoTime();
+        try {
+            HttpResponse httpResponse = request.execute();
+            try (CountingInputStream body = new CountingInputStream(contentOf(httpResponse));
+                 Reader bodyReader = new InputStreamReader(body,
+                                                           httpResponse.getContentCharset())) {
+                T result = reader.read(bodyReader);
+                metrics.recordResponseBytes(operation, body.getCount());
+                return result;
+            } finally {
+                httpResponse.disconnect();
+            }
+        } catch (IOException | RuntimeException e) {
+            metrics.recordFailure(operation, e);
+            throw e;
+        } finally {
+            inFlight.decrement();
+            metrics.recordLatency(operation, Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * Obtains the body of the given response or an empty stream if the response has no body.
+     */
+    private static InputStream contentOf(HttpResponse response) throws IOException {
+        InputStream content = response.getContent();
+        return content == null
+               ? new ByteArrayInputStream(new byte[0])
+               : content;
     }
 
     /**
@@ -165,4 +274,31 @@ class HttpClient {
         HttpHeaders headers = request.getHeaders();
         headers.put(FIREBASE_DECODING_HEADER, 1);
     }
+
+    /**
+     * A reader of the decoded response body.
+     *
+     * @param <T>
+     *         the type of the read result
+     */
+    @FunctionalInterface
+    private interface BodyReader<T> {
+
+        T read(Reader body) throws IOException;
+    }
+
+    /**
+     * A reader of the JSON response body.
+     *
+     * @param <T>
+     *         the type of the read result
+     */
+    @FunctionalInterface
+    interface ResponseReader<T> {
+
+        /**
+         * Reads the result from the given JSON stream.
+         */
+        T read(JsonReader json) throws IOException;
+    }
 }
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.firebase.rest;
+
+/**
+ * A way in which the {@link RestClient} performs the
+ * {@linkplain RestClient#merge(io.spine.web.firebase.NodePath, io.spine.web.firebase.NodeValue)
+ * merge} operation.
+ */
+public enum MergeMode {
+
+    /**
+     * Merges the value with a single {@code PATCH} request.
+     *
+     * <p>The Firebase REST API creates the node if it does not exist yet, thus no prior read is
+     * required.
+     */
+    SINGLE_REQUEST,
+
+    /**
+     * Reads the node first and then either creates it via {@code PUT} or updates it via
+     * {@code PATCH}.
+     *
+     * <p>This mode performs two round trips to the database per merge and downloads the whole
+     * node content. Prefer {@link #SINGLE_REQUEST} unless the database rules forbid {@code PATCH}
+     * requests to nonexistent nodes.
+     */
+    READ_BEFORE_WRITE
+}
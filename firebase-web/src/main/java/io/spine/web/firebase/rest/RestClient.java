@@ -25,12 +25,19 @@ import com.google.api.client.http.GenericUrl;
 import com.google.api.client.http.HttpContent;
 import com.google.api.client.http.HttpRequestFactory;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import io.spine.web.firebase.DatabaseUrl;
 import io.spine.web.firebase.FirebaseClient;
 import io.spine.web.firebase.NodePath;
 import io.spine.web.firebase.NodeValue;
+import io.spine.web.firebase.metrics.MetricsRegistry;
 
+import java.io.IOException;
 import java.util.Optional;
+import java.util.function.BiConsumer;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static io.spine.web.firebase.rest.RestNodeUrls.asGenericUrl;
@@ -53,37 +60,86 @@ public class RestClient implements FirebaseClient {
 
     private final RestNodeUrls factory;
     private final HttpClient httpClient;
+    private final MergeMode mergeMode;
 
     @VisibleForTesting
-    RestClient(RestNodeUrls factory, HttpClient httpClient) {
+    RestClient(RestNodeUrls factory, HttpClient httpClient, MergeMode mergeMode) {
         this.factory = factory;
         this.httpClient = httpClient;
+        this.mergeMode = mergeMode;
+    }
+
+    @VisibleForTesting
+    RestClient(RestNodeUrls factory, HttpClient httpClient) {
+        this(factory, httpClient, MergeMode.SINGLE_REQUEST);
     }
 
     /**
      * Creates a {@code RestClient} which operates on the database located at the given
      * {@code url} and uses the given {@code requestFactory} to prepare HTTP requests.
+     *
+     * <p>The resulting client merges values in the {@link MergeMode#SINGLE_REQUEST} mode.
      */
     public static RestClient create(DatabaseUrl url, HttpRequestFactory requestFactory) {
+        return create(url, requestFactory, MergeMode.SINGLE_REQUEST);
+    }
+
+    /**
+     * Creates a {@code RestClient} which operates on the database located at the given
+     * {@code url}, uses the given {@code requestFactory} to prepare HTTP requests and merges
+     * values in the given {@code mergeMode}.
+     */
+    public static RestClient create(DatabaseUrl url,
+                                    HttpRequestFactory requestFactory,
+                                    MergeMode mergeMode) {
+        return create(url, requestFactory, mergeMode, MetricsRegistry.noOp());
+    }
+
+    /**
+     * Creates a {@code RestClient} which operates on the database located at the given
+     * {@code url}, uses the given {@code requestFactory} to prepare HTTP requests, merges
+     * values in the given {@code mergeMode} and records the metrics of each HTTP request to
+     * the given registry.
+     */
+    public static RestClient create(DatabaseUrl url,
+                                    HttpRequestFactory requestFactory,
+                                    MergeMode mergeMode,
+                                    MetricsRegistry metrics) {
+        checkNotNull(mergeMode);
         RestNodeUrls nodeUrlTemplate = new RestNodeUrls(url);
-        HttpClient requestExecutor = HttpClient.using(requestFactory);
-        return new RestClient(nodeUrlTemplate, requestExecutor);
+        HttpClient requestExecutor = HttpClient.using(requestFactory, metrics);
+        return new RestClient(nodeUrlTemplate, requestExecutor, mergeMode);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The value is parsed directly from the response stream.
+     */
     @Override
     public Optional<NodeValue> get(NodePath nodePath) {
         checkNotNull(nodePath);
 
         GenericUrl nodeUrl = asGenericUrl(factory.with(nodePath));
-        String data = httpClient.get(nodeUrl);
-        if (isNullData(data)) {
-            return Optional.empty();
-        }
-        NodeValue value = NodeValue.from(data);
-        Optional<NodeValue> result = Optional.of(value);
+        Optional<NodeValue> result = httpClient.read(nodeUrl, RestClient::readValue);
         return result;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Each child is parsed from the response stream and passed to the {@code action} before
+     * the next one is read.
+     */
+    @Override
+    public void forEachChild(NodePath nodePath, BiConsumer<String, JsonElement> action) {
+        checkNotNull(nodePath);
+        checkNotNull(action);
+
+        GenericUrl nodeUrl = asGenericUrl(factory.with(nodePath));
+        httpClient.read(nodeUrl, json -> readChildren(json, action));
+    }
+
     @Override
     public void merge(NodePath nodePath, NodeValue value) {
         checkNotNull(nodePath);
@@ -91,11 +147,32 @@ public class RestClient implements FirebaseClient {
 
         GenericUrl nodeUrl = asGenericUrl(factory.with(nodePath));
         ByteArrayContent byteArrayContent = value.toByteArray();
+        if (mergeMode == MergeMode.SINGLE_REQUEST) {
+            update(nodeUrl, byteArrayContent);
+        } else {
+            readAndWrite(nodePath, nodeUrl, byteArrayContent);
+        }
+    }
+
+    @Override
+    public void delete(NodePath nodePath) {
+        checkNotNull(nodePath);
+
+        GenericUrl nodeUrl = asGenericUrl(factory.with(nodePath));
+        httpClient.delete(nodeUrl);
+    }
+
+    /**
+     * Checks if the node exists and then either creates or updates it.
+     *
+     * @see MergeMode#READ_BEFORE_WRITE
+     */
+    private void readAndWrite(NodePath nodePath, GenericUrl nodeUrl, HttpContent value) {
         Optional<NodeValue> existingValue = get(nodePath);
         if (!existingValue.isPresent()) {
-            create(nodeUrl, byteArrayContent);
+            create(nodeUrl, value);
         } else {
-            update(nodeUrl, byteArrayContent);
+            update(nodeUrl, value);
         }
     }
 
@@ -109,13 +186,44 @@ public class RestClient implements FirebaseClient {
     /**
      * Updates the database node with the given value.
      *
-     * <p>Common entries are overwritten.
+     * <p>Common entries are overwritten. If the node does not exist, it is created.
      */
     private void update(GenericUrl nodeUrl, HttpContent value) {
         httpClient.patch(nodeUrl, value);
     }
 
-    private static boolean isNullData(String data) {
-        return NULL_ENTRY.equals(data);
+    private static Optional<NodeValue> readValue(JsonReader json) throws IOException {
+        if (isNullData(json)) {
+            return Optional.empty();
+        }
+        NodeValue value = NodeValue.from(json);
+        return Optional.of(value);
+    }
+
+    /**
+     * Passes the children of the node read from the given JSON stream to the {@code action}.
+     *
+     * @return the number of the read children
+     */
+    private static int readChildren(JsonReader json, BiConsumer<String, JsonElement> action)
+            throws IOException {
+        if (isNullData(json)) {
+            return 0;
+        }
+        JsonParser parser = new JsonParser();
+        int count = 0;
+        json.beginObject();
+        while (json.hasNext()) {
+            String key = json.nextName();
+            JsonElement child = parser.parse(json);
+            action.accept(key, child);
+            count++;
+        }
+        json.endObject();
+        return count;
+    }
+
+    private static boolean isNullData(JsonReader json) throws IOException {
+        return json.peek() == JsonToken.NULL;
     }
 }
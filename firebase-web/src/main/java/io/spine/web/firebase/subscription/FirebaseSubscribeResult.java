@@ -21,18 +21,17 @@
 package io.spine.web.firebase.subscription;
 
 import io.spine.client.Subscription;
+import io.spine.web.ResponseFormat;
 import io.spine.web.subscription.result.SubscribeResult;
 
 import javax.servlet.ServletResponse;
 import java.io.IOException;
 
-import static io.spine.json.Json.toCompactJson;
-
 /**
  * A result of a request to subscribe to some {@link io.spine.client.Topic Topic}
  * to be written to the {@link ServletResponse}.
  *
- * <p>The result is a JSON formatted {@link Subscription} message.
+ * <p>The result is a JSON or binary formatted {@link Subscription} message.
  */
 final class FirebaseSubscribeResult implements SubscribeResult {
 
@@ -44,7 +43,11 @@ final class FirebaseSubscribeResult implements SubscribeResult {
 
     @Override
     public void writeTo(ServletResponse response) throws IOException {
-        response.getWriter()
-                .write(toCompactJson(subscription));
+        writeTo(response, ResponseFormat.JSON);
+    }
+
+    @Override
+    public void writeTo(ServletResponse response, ResponseFormat format) throws IOException {
+        format.write(subscription, response);
     }
 }
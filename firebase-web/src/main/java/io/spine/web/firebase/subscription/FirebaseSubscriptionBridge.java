@@ -29,20 +29,39 @@ import io.spine.client.SubscriptionIdVBuilder;
 import io.spine.client.SubscriptionVBuilder;
 import io.spine.client.Topic;
 import io.spine.client.grpc.QueryServiceGrpc.QueryServiceImplBase;
+import io.spine.client.grpc.SubscriptionServiceGrpc.SubscriptionServiceImplBase;
+import io.spine.grpc.MemoizingObserver;
+import io.spine.web.firebase.EntryFormat;
 import io.spine.web.firebase.FirebaseClient;
 import io.spine.web.firebase.NodePath;
 import io.spine.web.firebase.NodePaths;
+import io.spine.web.firebase.NodeValue;
 import io.spine.web.firebase.query.QueryNodePath;
+import io.spine.web.firebase.subscription.diff.EntryShadow;
+import io.spine.web.query.AsyncQueryService;
 import io.spine.web.query.BlockingQueryService;
 import io.spine.web.subscription.SubscriptionBridge;
 import io.spine.web.subscription.result.SubscribeResult;
 import io.spine.web.subscription.result.SubscriptionCancelResult;
 import io.spine.web.subscription.result.SubscriptionKeepUpResult;
 
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 import static io.spine.client.Queries.generateId;
 import static io.spine.core.Responses.statusOk;
+import static io.spine.grpc.StreamObservers.memoizingObserver;
+import static io.spine.grpc.StreamObservers.noOpObserver;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+import static java.util.concurrent.CompletableFuture.completedFuture;
 
 /**
  * An implementation of {@link SubscriptionBridge} based on the Firebase Realtime Database.
@@ -50,29 +69,146 @@ import static io.spine.core.Responses.statusOk;
  * <p>The bridge allows to {@link #subscribe(Topic) subscribe} to some {@linkplain Topic topic},
  * {@linkplain #keepUp(Subscription) keep up} the created {@linkplain Subscription subscription},
  * and {@linkplain #cancel(Subscription) cancel} the created subscription.
+ *
+ * <p>By default, the subscription node is updated on each keep-up by re-executing the topic
+ * query and writing the difference with the stored data.
+ *
+ * <p>If the {@linkplain Builder#setSubscriptionService subscription service} is set, the bridge
+ * works in the push mode. In this mode, the bridge subscribes to the topic in the bounded context
+ * and writes only the changed entities to the subscription node as soon as the updates arrive.
+ * The keep-up does not query the bounded context then. The node is refreshed once
+ * the subscription is activated in the bounded context, so that the changes made after
+ * the initial query are not lost. Note that in the push mode the entities which stop matching
+ * the topic are not removed from the subscription node. The push mode requires
+ * the {@linkplain Builder#setRegistry registry}, so that the subscriptions which are no longer
+ * kept up are cancelled in the bounded context.
+ *
+ * <p>By default, the keep-up reads the subscription node from the database to calculate
+ * the changes. If the {@linkplain Builder#setMaxShadows maximum number} of the shadows is set,
+ * the bridge keeps a local shadow of each subscription node it writes and calculates the changes
+ * against it instead. A node whose shadow is evicted, or whose write has failed, is read from
+ * the database on the next keep-up. The shadows assume that the subscription nodes are written
+ * only by this bridge instance.
+ *
+ * <p>The entity states are stored in the subscription node in
+ * the {@linkplain Builder#setEntryFormat configured format}.
+ *
+ * <p>A cancelled subscription has its node deleted from the database. If
+ * the {@linkplain Builder#setRegistry registry} is set, the node of a subscription which is not
+ * kept up for too long is deleted as well.
+ *
+ * <p>The {@linkplain #subscribeAsync(Topic) asynchronous} {@linkplain #keepUpAsync(Subscription)
+ * variants} do not block the calling thread while the {@code QueryService} processes the topic
+ * query.
  */
 public final class FirebaseSubscriptionBridge implements SubscriptionBridge {
 
+    private final AsyncQueryService asyncQueryService;
     private final BlockingQueryService queryService;
     private final FirebaseClient firebaseClient;
+    private final EntryFormat entryFormat;
+    @Nullable
+    private final SubscriptionServiceImplBase subscriptionService;
+    @Nullable
+    private final SubscriptionRegistry registry;
+    private final SubscriptionShadows shadows;
+
+    /**
+     * The subscriptions in the push mode by the paths to their nodes.
+     */
+    private final Map<String, LiveSubscription> liveSubscriptions = new ConcurrentHashMap<>();
 
     private FirebaseSubscriptionBridge(Builder builder) {
-        this.queryService = builder.queryService;
+        this.asyncQueryService = builder.newQueryService();
+        this.queryService = new BlockingQueryService(asyncQueryService);
         this.firebaseClient = builder.firebaseClient;
+        this.entryFormat = builder.entryFormat;
+        this.subscriptionService = builder.subscriptionService;
+        this.registry = builder.registry;
+        this.shadows = new SubscriptionShadows(builder.maxShadows);
     }
 
     @Override
     public SubscribeResult subscribe(Topic topic) {
         Query query = newQueryForTopic(topic);
         QueryResponse queryResponse = queryService.execute(query);
+        return createSubscription(topic, query, queryResponse);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The subscription node is written on the thread which completes the topic query.
+     */
+    @Override
+    public CompletionStage<SubscribeResult> subscribeAsync(Topic topic) {
+        Query query = newQueryForTopic(topic);
+        CompletableFuture<SubscribeResult> result =
+                asyncQueryService.execute(query)
+                                 .thenApply(response -> createSubscription(topic, query, response));
+        return result;
+    }
+
+    private SubscribeResult createSubscription(Topic topic,
+                                               Query query,
+                                               QueryResponse queryResponse) {
         NodePath path = QueryNodePath.of(query);
-        SubscriptionRecord record = new SubscriptionRecord(path, queryResponse);
-        record.storeAsInitial(firebaseClient);
+        SubscriptionRecord record = new SubscriptionRecord(path, queryResponse, entryFormat);
         SubscriptionId id = newSubscriptionId(record.path());
         Subscription subscription = newSubscription(id, topic);
+        if (subscriptionService != null) {
+            NodeValue initialValue = record.storeAsInitial(firebaseClient);
+            goLive(subscription, initialValue, subscriptionService);
+        } else if (shadows.enabled()) {
+            ShadowInvalidation invalidation = new ShadowInvalidation(path);
+            NodeValue initialValue = invalidation.guard(
+                    () -> record.storeAsInitial(firebaseClient, invalidation)
+            );
+            shadows.put(path, EntryShadow.of(initialValue));
+            invalidation.recheck();
+        } else {
+            record.storeAsInitial(firebaseClient);
+        }
+        register(path);
         return new FirebaseSubscribeResult(subscription);
     }
 
+    /**
+     * Subscribes to the updates of the given subscription in the bounded context.
+     */
+    private void goLive(Subscription subscription,
+                        NodeValue initialValue,
+                        SubscriptionServiceImplBase service) {
+        MemoizingObserver<Subscription> observer = memoizingObserver();
+        service.subscribe(subscription.getTopic(), observer);
+        Throwable error = observer.getError();
+        if (error != null) {
+            throw illegalStateWithCauseOf(error);
+        }
+        Subscription target = observer.firstResponse();
+        NodePath path = pathOf(subscription);
+        LiveSubscription live = new LiveSubscription(path, initialValue, firebaseClient,
+                                                     entryFormat, target,
+                                                     () -> refreshLive(subscription));
+        liveSubscriptions.put(path.getValue(), live);
+        service.activate(target, live);
+        live.refresh();
+    }
+
+    /**
+     * Re-executes the topic query of the subscription in the push mode and writes
+     * the difference with the data stored in the database.
+     *
+     * @return the value merged into the subscription node
+     */
+    private NodeValue refreshLive(Subscription subscription) {
+        Query query = newQueryForTopic(subscription.getTopic());
+        QueryResponse queryResponse = queryService.execute(query);
+        NodePath path = pathOf(subscription);
+        SubscriptionRecord record = new SubscriptionRecord(path, queryResponse, entryFormat);
+        return record.storeChanges(firebaseClient);
+    }
+
     private static Query newQueryForTopic(Topic topic) {
         return QueryVBuilder
                 .newBuilder()
@@ -98,23 +234,185 @@ public final class FirebaseSubscriptionBridge implements SubscriptionBridge {
                 .build();
     }
 
+    private void register(NodePath path) {
+        if (registry != null) {
+            registry.register(path, () -> forget(path));
+        }
+    }
+
+    /**
+     * Stops tracking the subscription stored under the given path.
+     */
+    private void forget(NodePath path) {
+        stopLive(path);
+        shadows.remove(path);
+    }
+
+    /**
+     * Stops writing the bounded context updates to the given node, if the updates are written.
+     */
+    private void stopLive(NodePath path) {
+        LiveSubscription live = liveSubscriptions.remove(path.getValue());
+        if (live != null && subscriptionService != null) {
+            subscriptionService.cancel(live.target(), noOpObserver());
+        }
+    }
+
+    private static NodePath pathOf(Subscription subscription) {
+        SubscriptionId id = subscription.getId();
+        return NodePaths.of(id.getValue());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The subscriptions in the push mode are kept up to date by the bounded context, so
+     * the keep-up of such a subscription does not perform any reads or writes. Other subscriptions
+     * are {@linkplain #refresh(Subscription) refreshed}.
+     *
+     * <p>The keep-up renews the subscription lease in the {@linkplain Builder#setRegistry
+     * registry}. A subscription which has already expired is registered again.
+     */
     @Override
     public SubscriptionKeepUpResult keepUp(Subscription subscription) {
+        NodePath path = pathOf(subscription);
+        if (!isLive(path)) {
+            refresh(subscription);
+        }
+        return renew(path);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The subscription node is updated on the thread which completes the topic query.
+     */
+    @Override
+    public CompletionStage<SubscriptionKeepUpResult> keepUpAsync(Subscription subscription) {
+        NodePath path = pathOf(subscription);
+        if (isLive(path)) {
+            return completedFuture(renew(path));
+        }
+        Query query = newQueryForTopic(subscription.getTopic());
+        CompletableFuture<SubscriptionKeepUpResult> result =
+                asyncQueryService.execute(query)
+                                 .thenApply(response -> {
+                                     storeUpdate(path, response);
+                                     return renew(path);
+                                 });
+        return result;
+    }
+
+    private boolean isLive(NodePath path) {
+        return liveSubscriptions.containsKey(path.getValue());
+    }
+
+    /**
+     * Renews the lease of the subscription stored under the given path.
+     */
+    private SubscriptionKeepUpResult renew(NodePath path) {
+        register(path);
+        return new FirebaseSubscriptionKeepUpResult(statusOk());
+    }
+
+    /**
+     * Re-executes the topic query and writes the difference with the stored data to
+     * the subscription node.
+     */
+    private void refresh(Subscription subscription) {
         Topic topic = subscription.getTopic();
         Query query = newQueryForTopic(topic);
         QueryResponse queryResponse = queryService.execute(query);
-        SubscriptionId id = subscription.getId();
-        NodePath path = NodePaths.of(id.getValue());
-        SubscriptionRecord record = new SubscriptionRecord(path, queryResponse);
-        record.storeAsUpdate(firebaseClient);
-        return new FirebaseSubscriptionKeepUpResult(statusOk());
+        NodePath path = pathOf(subscription);
+        storeUpdate(path, queryResponse);
     }
 
+    /**
+     * Writes the difference between the given query response and the stored data to
+     * the subscription node.
+     *
+     * <p>The difference is calculated against the node shadow, if there is one. The nodes of
+     * the subscriptions in the push mode are not shadowed, as they are also written by
+     * the bounded context updates. If the write fails, the shadow is discarded, so that the next
+     * keep-up reads the node from the database.
+     *
+     * <p>If the shadows are disabled, no shadow of the updated node is built.
+     */
+    private void storeUpdate(NodePath path, QueryResponse queryResponse) {
+        SubscriptionRecord record = new SubscriptionRecord(path, queryResponse, entryFormat);
+        if (isLive(path) || !shadows.enabled()) {
+            record.storeChanges(firebaseClient);
+            return;
+        }
+        EntryShadow shadow = shadows.get(path);
+        ShadowInvalidation invalidation = new ShadowInvalidation(path);
+        EntryShadow updated = invalidation.guard(
+                () -> record.storeAsUpdate(firebaseClient, shadow, invalidation)
+        );
+        shadows.update(path, shadow, updated);
+        invalidation.recheck();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The subscription node is deleted from the database.
+     */
     @Override
     public SubscriptionCancelResult cancel(Subscription subscription) {
+        NodePath path = pathOf(subscription);
+        forget(path);
+        if (registry != null) {
+            registry.cancel(path);
+        } else {
+            firebaseClient.delete(path);
+        }
         return new FirebaseSubscriptionCancelResult(statusOk());
     }
 
+    /**
+     * Discards the shadow of a subscription node if the write to the node fails.
+     *
+     * <p>An asynchronous write may fail before the updated shadow is stored. Thus, the failure is
+     * remembered and the shadow is {@linkplain #recheck() discarded again} after it is stored.
+     */
+    private final class ShadowInvalidation implements Runnable {
+
+        private final NodePath path;
+        private volatile boolean failed;
+
+        private ShadowInvalidation(NodePath path) {
+            this.path = path;
+        }
+
+        @Override
+        public void run() {
+            failed = true;
+            shadows.remove(path);
+        }
+
+        /**
+         * Performs the given write, discarding the shadow if the write fails synchronously.
+         */
+        private <T> T guard(Supplier<T> write) {
+            try {
+                return write.get();
+            } catch (RuntimeException e) {
+                run();
+                throw e;
+            }
+        }
+
+        /**
+         * Discards the shadow stored after the write if the write has already failed.
+         */
+        private void recheck() {
+            if (failed) {
+                shadows.remove(path);
+            }
+        }
+    }
+
     /**
      * Creates a new instance of {@code Builder} for {@code FirebaseQueryBridge} instances.
      *
@@ -129,8 +427,16 @@ public final class FirebaseSubscriptionBridge implements SubscriptionBridge {
      */
     public static final class Builder {
 
-        private BlockingQueryService queryService;
+        private QueryServiceImplBase queryService;
+        @Nullable
+        private Duration queryTimeout;
         private FirebaseClient firebaseClient;
+        private EntryFormat entryFormat = EntryFormat.defaultFormat();
+        @Nullable
+        private SubscriptionServiceImplBase subscriptionService;
+        @Nullable
+        private SubscriptionRegistry registry;
+        private long maxShadows = 0;
 
         /**
          * Prevents local instantiation.
@@ -139,8 +445,19 @@ public final class FirebaseSubscriptionBridge implements SubscriptionBridge {
         }
 
         public Builder setQueryService(QueryServiceImplBase service) {
-            checkNotNull(service);
-            this.queryService = new BlockingQueryService(service);
+            this.queryService = checkNotNull(service);
+            return this;
+        }
+
+        /**
+         * Sets the time to wait for a topic query response.
+         *
+         * <p>By default, the asynchronous calls await the response indefinitely, and
+         * the synchronous calls require the {@code QueryService} to respond on the calling
+         * thread.
+         */
+        public Builder setQueryTimeout(Duration timeout) {
+            this.queryTimeout = checkNotNull(timeout);
             return this;
         }
 
@@ -149,6 +466,60 @@ public final class FirebaseSubscriptionBridge implements SubscriptionBridge {
             return this;
         }
 
+        /**
+         * Sets the format in which the entity states are stored in the subscription nodes.
+         *
+         * <p>By default, the {@link EntryFormat#JSON_STRING} format is used, which is understood
+         * by all the client versions.
+         */
+        public Builder setEntryFormat(EntryFormat entryFormat) {
+            this.entryFormat = checkNotNull(entryFormat);
+            return this;
+        }
+
+        /**
+         * Sets the subscription service of the bounded context and thus enables the push mode.
+         *
+         * <p>In the push mode, the subscription nodes are updated with the changed entities as
+         * soon as the bounded context reports the change.
+         *
+         * <p>The push mode subscriptions are tracked by the bridge instance. Thus, the same
+         * instance must serve the subscribe, keep-up and cancel requests.
+         *
+         * <p>The push mode requires the {@linkplain #setRegistry registry}, which releases
+         * the subscriptions of the clients which stop keeping them up.
+         */
+        public Builder setSubscriptionService(SubscriptionServiceImplBase service) {
+            this.subscriptionService = checkNotNull(service);
+            return this;
+        }
+
+        /**
+         * Sets the registry which tracks the subscription leases.
+         *
+         * <p>If the registry is set, the nodes of the subscriptions which are not kept up for
+         * longer than the lease are deleted from the database. The leases are stored in
+         * the database, so the instances serving the same subscriptions may use their own
+         * registries.
+         */
+        public Builder setRegistry(SubscriptionRegistry registry) {
+            this.registry = checkNotNull(registry);
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of the subscription nodes shadowed locally.
+         *
+         * <p>By default, the shadows are disabled, so that each keep-up reads the subscription
+         * node from the database. The shadows should only be enabled if the keep-ups of
+         * a subscription are always served by the same bridge instance.
+         */
+        public Builder setMaxShadows(long maxShadows) {
+            checkArgument(maxShadows >= 0, "Maximum number of shadows must not be negative.");
+            this.maxShadows = maxShadows;
+            return this;
+        }
+
         /**
          * Creates a new instance of {@code FirebaseQueryBridge}.
          *
@@ -159,7 +530,16 @@ public final class FirebaseSubscriptionBridge implements SubscriptionBridge {
                        "Query Service is not set to FirebaseSubscriptionBridge.");
             checkState(firebaseClient != null,
                        "Firebase database client is not set to FirebaseSubscriptionBridge.");
+            checkState(subscriptionService == null || registry != null,
+                       "Subscription registry is not set to FirebaseSubscriptionBridge " +
+                               "working in the push mode.");
             return new FirebaseSubscriptionBridge(this);
         }
+
+        private AsyncQueryService newQueryService() {
+            return queryTimeout == null
+                   ? new AsyncQueryService(queryService)
+                   : new AsyncQueryService(queryService, queryTimeout);
+        }
     }
 }
@@ -23,17 +23,16 @@ package io.spine.web.firebase.subscription;
 import io.spine.core.Response;
 import io.spine.core.ResponseVBuilder;
 import io.spine.core.Status;
+import io.spine.web.ResponseFormat;
 import io.spine.web.subscription.result.SubscriptionCancelResult;
 
 import javax.servlet.ServletResponse;
 import java.io.IOException;
 
-import static io.spine.json.Json.toCompactJson;
-
 /**
  * A result of a request to cancel a subscription to be written to the {@link ServletResponse}.
  *
- * <p>The result is a JSON formatted {@linkplain Response Spine Response} message.
+ * <p>The result is a JSON or binary formatted {@linkplain Response Spine Response} message.
  */
 final class FirebaseSubscriptionCancelResult implements SubscriptionCancelResult {
 
@@ -59,7 +58,11 @@ final class FirebaseSubscriptionCancelResult implements SubscriptionCancelResult
 
     @Override
     public void writeTo(ServletResponse response) throws IOException {
-        response.getWriter()
-                .write(toCompactJson(this.response));
+        writeTo(response, ResponseFormat.JSON);
+    }
+
+    @Override
+    public void writeTo(ServletResponse response, ResponseFormat format) throws IOException {
+        format.write(this.response, response);
     }
 }
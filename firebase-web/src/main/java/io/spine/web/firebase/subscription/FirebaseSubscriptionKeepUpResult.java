@@ -23,18 +23,17 @@ package io.spine.web.firebase.subscription;
 import io.spine.core.Response;
 import io.spine.core.ResponseVBuilder;
 import io.spine.core.Status;
+import io.spine.web.ResponseFormat;
 import io.spine.web.subscription.result.SubscriptionKeepUpResult;
 
 import javax.servlet.ServletResponse;
 import java.io.IOException;
 
-import static io.spine.json.Json.toCompactJson;
-
 /**
  * A result of a request to keep up the subscription (i.e. not close it yet)
  * to be written to the {@link ServletResponse}.
  *
- * <p>The result is a JSON formatted {@linkplain Response Spine Response} message.
+ * <p>The result is a JSON or binary formatted {@linkplain Response Spine Response} message.
  */
 final class FirebaseSubscriptionKeepUpResult implements SubscriptionKeepUpResult {
 
@@ -53,7 +52,11 @@ final class FirebaseSubscriptionKeepUpResult implements SubscriptionKeepUpResult
 
     @Override
     public void writeTo(ServletResponse response) throws IOException {
-        response.getWriter()
-                .write(toCompactJson(this.response));
+        writeTo(response, ResponseFormat.JSON);
+    }
+
+    @Override
+    public void writeTo(ServletResponse response, ResponseFormat format) throws IOException {
+        format.write(this.response, response);
     }
 }
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.firebase.subscription;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.protobuf.Any;
+import com.google.protobuf.Message;
+import io.grpc.stub.StreamObserver;
+import io.spine.client.Subscription;
+import io.spine.client.SubscriptionUpdate;
+import io.spine.json.Json;
+import io.spine.logging.Logging;
+import io.spine.protobuf.AnyPacker;
+import io.spine.web.firebase.EntryFormat;
+import io.spine.web.firebase.FirebaseClient;
+import io.spine.web.firebase.NodePath;
+import io.spine.web.firebase.NodeValue;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * A subscription whose Firebase node is updated as soon as the subscribed entities change.
+ *
+ * <p>Receives the entity state updates from the bounded context and writes only the changed
+ * entities to the subscription node. The node children are matched to the entities by
+ * the {@code "id"} field of the entity state JSON.
+ *
+ * <p>If an updated entity has no {@code "id"} field, the whole subscription node is
+ * {@linkplain #refresh() refreshed}. The node is also refreshed once the subscription is
+ * activated, as the entities may change between the initial query and the activation. The refresh
+ * and the updates are written one at a time, so that an update is never overwritten by an older
+ * refresh.
+ */
+final class LiveSubscription implements StreamObserver<SubscriptionUpdate>, Logging {
+
+    private static final String ID_FIELD = "id";
+
+    private final NodePath path;
+    private final FirebaseClient firebaseClient;
+    private final EntryFormat entryFormat;
+    private final Subscription target;
+    private final Supplier<NodeValue> refresh;
+
+    /**
+     * The keys of the subscription node children by the JSON of the entity IDs.
+     */
+    private final Map<String, String> keysById = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new {@code LiveSubscription}.
+     *
+     * @param path
+     *         the path to the subscription node
+     * @param initialValue
+     *         the value initially written to the subscription node
+     * @param firebaseClient
+     *         the client to write the updates with
+     * @param entryFormat
+     *         the format of the written entries
+     * @param target
+     *         the subscription in the bounded context which delivers the updates
+     * @param refresh
+     *         the action which rewrites the whole subscription node and returns the value merged
+     *         into the node
+     */
+    LiveSubscription(NodePath path,
+                     NodeValue initialValue,
+                     FirebaseClient firebaseClient,
+                     EntryFormat entryFormat,
+                     Subscription target,
+                     Supplier<NodeValue> refresh) {
+        this.path = path;
+        this.firebaseClient = firebaseClient;
+        this.entryFormat = entryFormat;
+        this.target = target;
+        this.refresh = refresh;
+        index(initialValue);
+    }
+
+    /**
+     * Updates the keys of the entities with the value merged into the subscription node.
+     */
+    private void index(NodeValue value) {
+        for (Map.Entry<String, JsonElement> child : value.underlyingJson()
+                                                         .entrySet()) {
+            String key = child.getKey();
+            JsonElement entry = child.getValue();
+            if (EntryFormat.isRemoved(entry)) {
+                keysById.values()
+                        .remove(key);
+            } else {
+                String data = EntryFormat.entryJson(entry);
+                idOf(data).ifPresent(id -> keysById.put(id, key));
+            }
+        }
+    }
+
+    /**
+     * Obtains the subscription in the bounded context which delivers the updates.
+     */
+    Subscription target() {
+        return target;
+    }
+
+    /**
+     * Writes the changed entities to the subscription node.
+     */
+    @Override
+    public synchronized void onNext(SubscriptionUpdate update) {
+        NodeValue value = NodeValue.empty();
+        for (Any state : update.getUpdatesList()) {
+            String data = toJson(state);
+            Optional<String> id = idOf(data);
+            if (!id.isPresent()) {
+                refresh();
+                return;
+            }
+            JsonElement child = entryFormat.child(data);
+            String key = keysById.computeIfAbsent(id.get(), newId -> value.addChild(child));
+            value.addChild(key, child);
+        }
+        firebaseClient.merge(path, value);
+    }
+
+    /**
+     * Rewrites the whole subscription node and updates the keys of the entities.
+     */
+    synchronized void refresh() {
+        NodeValue written = refresh.get();
+        index(written);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        log().error("Subscription updates failed for the node `{}`.", path.getValue(), t);
+    }
+
+    @Override
+    public void onCompleted() {
+        // The updates are completed upon the subscription cancellation, nothing to clean up.
+    }
+
+    @SuppressWarnings("RedundantTypeArguments") // AnyPacker::unpack type cannot be inferred.
+    private static String toJson(Any state) {
+        Message message = AnyPacker.<Message>unpack(state);
+        return Json.toCompactJson(message);
+    }
+
+    private static Optional<String> idOf(String data) {
+        JsonElement json = new JsonParser().parse(data);
+        if (!json.isJsonObject()) {
+            return Optional.empty();
+        }
+        JsonElement id = json.getAsJsonObject()
+                             .get(ID_FIELD);
+        return Optional.ofNullable(id)
+                       .map(JsonElement::toString);
+    }
+}
@@ -20,21 +20,27 @@
 
 package io.spine.web.firebase.subscription;
 
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.google.protobuf.Message;
 import io.spine.client.EntityStateWithVersion;
 import io.spine.client.QueryResponse;
 import io.spine.json.Json;
 import io.spine.protobuf.AnyPacker;
+import io.spine.web.firebase.EntryFormat;
 import io.spine.web.firebase.FirebaseClient;
 import io.spine.web.firebase.NodePath;
 import io.spine.web.firebase.NodeValue;
 import io.spine.web.firebase.subscription.diff.Diff;
 import io.spine.web.firebase.subscription.diff.DiffCalculator;
+import io.spine.web.firebase.subscription.diff.EntryShadow;
 
+import javax.annotation.Nullable;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
+import static io.spine.web.future.Completion.dispose;
 import static java.util.stream.Collectors.toList;
 
 /**
@@ -44,12 +50,16 @@ import static java.util.stream.Collectors.toList;
  */
 final class SubscriptionRecord {
 
+    private static final Runnable NO_OP = () -> {};
+
     private final NodePath path;
     private final QueryResponse queryResponse;
+    private final EntryFormat entryFormat;
 
-    SubscriptionRecord(NodePath path, QueryResponse queryResponse) {
+    SubscriptionRecord(NodePath path, QueryResponse queryResponse, EntryFormat entryFormat) {
         this.path = path;
         this.queryResponse = queryResponse;
+        this.entryFormat = entryFormat;
     }
 
     /**
@@ -62,58 +72,143 @@ final class SubscriptionRecord {
     /**
      * Writes this record to the Firebase database as initial data, without checking what is
      * already stored in database at given location.
+     *
+     * @return the written value
      */
-    void storeAsInitial(FirebaseClient firebaseClient) {
-        flushNewVia(firebaseClient);
+    @CanIgnoreReturnValue
+    NodeValue storeAsInitial(FirebaseClient firebaseClient) {
+        return storeAsInitial(firebaseClient, NO_OP);
     }
 
     /**
-     * Flushes an array response of the query to the Firebase, adding array items to storage in a
-     * transaction.
+     * Writes this record to the Firebase database as initial data.
+     *
+     * <p>The {@code onWriteFailure} action is run if the database rejects the write, which may
+     * happen after this method returns if the client writes asynchronously.
+     *
+     * @return the written value
      */
-    private void flushNewVia(FirebaseClient firebaseClient) {
-        flushEntries(mapMessagesToJson(), firebaseClient);
+    @CanIgnoreReturnValue
+    NodeValue storeAsInitial(FirebaseClient firebaseClient, Runnable onWriteFailure) {
+        return flushEntries(mapMessagesToJson(), firebaseClient, onWriteFailure);
     }
 
     /**
      * Stores the data to the Firebase, updating only the data that has changed.
+     *
+     * <p>If the shadow of the stored data is given, the changes are calculated against
+     * the shadow. Otherwise, the stored data is read from the database.
+     *
+     * @param firebaseClient
+     *         the client to access the database
+     * @param shadow
+     *         the shadow of the data stored in the database or {@code null} if it is unknown
+     * @return the shadow of the stored data after the update
      */
-    void storeAsUpdate(FirebaseClient firebaseClient) {
-        flushDiffVia(firebaseClient);
+    @CanIgnoreReturnValue
+    EntryShadow storeAsUpdate(FirebaseClient firebaseClient, @Nullable EntryShadow shadow) {
+        return storeAsUpdate(firebaseClient, shadow, NO_OP);
     }
 
     /**
-     * Flushes an array response of the query to the Firebase, adding, removing and updating items
-     * already present in storage in a transaction.
+     * Stores the data to the Firebase, updating only the data that has changed.
+     *
+     * <p>The {@code onWriteFailure} action is run if the database rejects the write, which may
+     * happen after this method returns if the client writes asynchronously. The returned shadow
+     * does not match the stored data in this case.
+     *
+     * @see #storeAsUpdate(FirebaseClient, EntryShadow)
+     */
+    @CanIgnoreReturnValue
+    EntryShadow storeAsUpdate(FirebaseClient firebaseClient,
+                              @Nullable EntryShadow shadow,
+                              Runnable onWriteFailure) {
+        if (shadow != null) {
+            return flushDiffVia(firebaseClient, shadow, onWriteFailure);
+        }
+        Optional<NodeValue> existingValue = firebaseClient.get(path);
+        if (existingValue.isPresent()) {
+            EntryShadow existing = EntryShadow.of(existingValue.get());
+            return flushDiffVia(firebaseClient, existing, onWriteFailure);
+        }
+        NodeValue written = flushEntries(mapMessagesToJson(), firebaseClient, onWriteFailure);
+        return EntryShadow.of(written);
+    }
+
+    /**
+     * Stores the data to the Firebase, updating only the data that has changed since
+     * the stored data is read from the database.
+     *
+     * @param firebaseClient
+     *         the client to access the database
+     * @return the value merged into the node, in which the removed children are
+     *         {@linkplain EntryFormat#isRemoved marked as removed}
      */
-    private void flushDiffVia(FirebaseClient firebaseClient) {
+    @CanIgnoreReturnValue
+    NodeValue storeChanges(FirebaseClient firebaseClient) {
         Optional<NodeValue> existingValue = firebaseClient.get(path);
-        Stream<String> newEntries = mapMessagesToJson();
         if (existingValue.isPresent()) {
-            DiffCalculator diffCalculator = DiffCalculator.from(existingValue.get());
-            List<String> entriesList = newEntries.collect(toList());
-            Diff diff = diffCalculator.compareWith(entriesList);
-            updateWithDiff(diff, firebaseClient);
-        } else {
-            flushEntries(newEntries, firebaseClient);
+            EntryShadow existing = EntryShadow.of(existingValue.get());
+            return updateWithDiff(diffWith(existing), firebaseClient, NO_OP);
         }
+        return flushEntries(mapMessagesToJson(), firebaseClient, NO_OP);
     }
 
-    private void flushEntries(Stream<String> jsonEntries, FirebaseClient client) {
+    /**
+     * Flushes an array response of the query to the Firebase, adding, removing and updating items
+     * already present in storage in a transaction.
+     */
+    private EntryShadow flushDiffVia(FirebaseClient firebaseClient,
+                                     EntryShadow shadow,
+                                     Runnable onWriteFailure) {
+        NodeValue written = updateWithDiff(diffWith(shadow), firebaseClient, onWriteFailure);
+        return shadow.updatedWith(written);
+    }
+
+    private Diff diffWith(EntryShadow shadow) {
+        List<String> newEntries = mapMessagesToJson().collect(toList());
+        Diff diff = DiffCalculator.from(shadow)
+                                  .compareWith(newEntries);
+        return diff;
+    }
+
+    private NodeValue flushEntries(Stream<String> jsonEntries,
+                                   FirebaseClient client,
+                                   Runnable onWriteFailure) {
         NodeValue nodeValue = NodeValue.empty();
-        jsonEntries.forEach(nodeValue::addChild);
-        client.merge(path, nodeValue);
+        jsonEntries.forEach(json -> nodeValue.addChild(entryFormat.child(json)));
+        write(nodeValue, client, onWriteFailure);
+        return nodeValue;
     }
 
-    private void updateWithDiff(Diff diff, FirebaseClient firebaseClient) {
+    private NodeValue updateWithDiff(Diff diff,
+                                     FirebaseClient firebaseClient,
+                                     Runnable onWriteFailure) {
         NodeValue nodeValue = NodeValue.empty();
         diff.getChangedList()
-            .forEach(record -> nodeValue.addChild(record.getKey(), record.getData()));
+            .forEach(record -> nodeValue.addChild(record.getKey(),
+                                                  entryFormat.child(record.getData())));
         diff.getRemovedList()
-            .forEach(record -> nodeValue.addChild(record.getKey(), "null"));
+            .forEach(record -> nodeValue.addChild(record.getKey(), entryFormat.removedChild()));
         diff.getAddedList()
-            .forEach(record -> nodeValue.addChild(record.getData()));
-        firebaseClient.merge(path, nodeValue);
+            .forEach(record -> nodeValue.addChild(entryFormat.child(record.getData())));
+        write(nodeValue, firebaseClient, onWriteFailure);
+        return nodeValue;
+    }
+
+    /**
+     * Merges the value into the record node and runs the given action if the write fails.
+     *
+     * <p>The failure of the write is logged.
+     */
+    private void write(NodeValue value, FirebaseClient client, Runnable onWriteFailure) {
+        CompletableFuture<Void> write = client.mergeAsync(path, value);
+        write.whenComplete((result, error) -> {
+            if (error != null) {
+                onWriteFailure.run();
+            }
+        });
+        dispose(write);
     }
 
     /**
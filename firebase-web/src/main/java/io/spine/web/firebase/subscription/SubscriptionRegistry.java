@@ -0,0 +1,354 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.firebase.subscription;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.io.BaseEncoding;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
+import io.spine.logging.Logging;
+import io.spine.web.firebase.FirebaseClient;
+import io.spine.web.firebase.NodePath;
+import io.spine.web.firebase.NodePaths;
+import io.spine.web.firebase.NodeValue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * A registry of the active subscriptions stored in a Firebase database.
+ *
+ * <p>Each registered subscription holds a lease which is renewed on every keep-up. When
+ * the subscription is cancelled or its lease expires, the subscription node is deleted from
+ * the database.
+ *
+ * <p>The leases are stored in the database under the {@linkplain Builder#setLeaseNode lease node},
+ * as the time of the last keep-up of each subscription. Thus, the registries of several server
+ * instances sharing the database see the keep-ups served by each other. The lease node should be
+ * hidden from the clients by the database rules.
+ *
+ * <p>The expired subscriptions are reaped by a background thread on a configurable schedule.
+ * The lease should be much longer than the keep-up interval and the clock skew between
+ * the instances. A subscription which is kept up on one instance while another instance reaps
+ * it may still be deleted; the following keep-up then registers it again.
+ */
+public final class SubscriptionRegistry implements Logging {
+
+    /**
+     * The default lease duration.
+     *
+     * <p>The JavaScript client keeps up its subscriptions every 10 seconds, so the default lease
+     * tolerates several missed keep-ups in a row.
+     */
+    private static final Duration DEFAULT_LEASE = Duration.ofMinutes(1);
+
+    /**
+     * The default interval between the checks for the expired subscriptions.
+     */
+    private static final Duration DEFAULT_REAP_INTERVAL = Duration.ofSeconds(30);
+
+    /**
+     * The default path to the node which holds the leases.
+     */
+    private static final String DEFAULT_LEASE_NODE = "subscriptionLeases";
+
+    private static final BaseEncoding leaseKeys = BaseEncoding.base64Url()
+                                                              .omitPadding();
+
+    private final FirebaseClient firebaseClient;
+    private final NodePath leaseNode;
+    private final Duration lease;
+    private final Clock clock;
+    private final ScheduledExecutorService reaper;
+
+    /**
+     * The subscriptions registered via this registry by the paths to their nodes.
+     */
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private SubscriptionRegistry(Builder builder) {
+        this.firebaseClient = builder.firebaseClient;
+        this.leaseNode = builder.leaseNode;
+        this.lease = builder.lease;
+        this.clock = builder.clock;
+        ThreadFactory threadFactory = new ThreadFactoryBuilder()
+                .setNameFormat("firebase-subscription-reaper-%d")
+                .setDaemon(true)
+                .build();
+        this.reaper = newSingleThreadScheduledExecutor(threadFactory);
+    }
+
+    private void startReaping(Duration reapInterval) {
+        long interval = reapInterval.toMillis();
+        reaper.scheduleWithFixedDelay(this::reapSafely, interval, interval, MILLISECONDS);
+    }
+
+    /**
+     * Registers the subscription stored under the given path or renews its lease.
+     *
+     * <p>If the subscription is already registered, the expiry action is replaced with
+     * the given one.
+     *
+     * @param path
+     *         the path to the subscription node
+     * @param onExpiry
+     *         the action to perform when the subscription expires or is cancelled by another
+     *         instance, before the node is deleted
+     */
+    void register(NodePath path, Runnable onExpiry) {
+        checkNotNull(path);
+        checkNotNull(onExpiry);
+        Instant now = clock.instant();
+        NodeValue leaseValue = NodeValue.empty();
+        leaseValue.addChild(leaseKey(path), new JsonPrimitive(now.toEpochMilli()));
+        firebaseClient.merge(leaseNode, leaseValue);
+        entries.put(path.getValue(), new Entry(onExpiry, now));
+    }
+
+    /**
+     * Unregisters the subscription stored under the given path and deletes its node.
+     */
+    void cancel(NodePath path) {
+        checkNotNull(path);
+        entries.remove(path.getValue());
+        firebaseClient.delete(path);
+        removeLease(leaseKey(path));
+    }
+
+    /**
+     * Deletes the nodes of the subscriptions whose leases have expired.
+     *
+     * <p>The expiry actions are also performed for the subscriptions registered via this
+     * registry whose leases were removed by another instance. A lease written less than
+     * a lease period ago is not treated as removed, as the write may still be on its way to
+     * the database, e.g. queued by an {@link io.spine.web.firebase.AsyncClient AsyncClient}.
+     *
+     * @return the number of the removed subscriptions
+     */
+    @VisibleForTesting
+    int reapExpired() {
+        Instant now = clock.instant();
+        Optional<NodeValue> leases = firebaseClient.get(leaseNode);
+        Set<String> leased = new HashSet<>();
+        int reaped = 0;
+        if (leases.isPresent()) {
+            for (Map.Entry<String, JsonElement> child : leases.get()
+                                                              .underlyingJson()
+                                                              .entrySet()) {
+                String key = child.getKey();
+                String path = pathOf(key);
+                Instant keptUpAt = Instant.ofEpochMilli(child.getValue()
+                                                             .getAsLong());
+                if (keptUpAt.plus(lease)
+                            .isBefore(now)) {
+                    expire(path);
+                    firebaseClient.delete(NodePaths.of(path));
+                    removeLease(key);
+                    reaped++;
+                } else {
+                    leased.add(path);
+                }
+            }
+        }
+        Instant leaseWrittenBy = now.minus(lease);
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            boolean removedElsewhere = !leased.contains(entry.getKey())
+                    && entry.getValue().registered.isBefore(leaseWrittenBy);
+            if (removedElsewhere) {
+                expire(entry.getKey());
+            }
+        }
+        return reaped;
+    }
+
+    private void expire(String path) {
+        Entry entry = entries.remove(path);
+        if (entry != null) {
+            entry.onExpiry.run();
+        }
+    }
+
+    private void removeLease(String key) {
+        NodeValue value = NodeValue.empty();
+        value.addChild(key, JsonNull.INSTANCE);
+        firebaseClient.merge(leaseNode, value);
+    }
+
+    private void reapSafely() {
+        try {
+            int reaped = reapExpired();
+            if (reaped > 0) {
+                log().debug("Reaped {} expired Firebase subscriptions.", reaped);
+            }
+        } catch (RuntimeException e) {
+            log().error("Failed to reap the expired Firebase subscriptions.", e);
+        }
+    }
+
+    /**
+     * Obtains the number of the active subscriptions registered via this registry.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Stops reaping the expired subscriptions.
+     *
+     * <p>The subscription nodes and their leases are left intact.
+     */
+    public void shutdown() {
+        reaper.shutdownNow();
+    }
+
+    /**
+     * Obtains the key of the lease of the subscription stored under the given path.
+     *
+     * <p>The path is encoded, as the database keys may not contain slashes.
+     */
+    private static String leaseKey(NodePath path) {
+        return leaseKeys.encode(path.getValue()
+                                    .getBytes(UTF_8));
+    }
+
+    private static String pathOf(String leaseKey) {
+        return new String(leaseKeys.decode(leaseKey), UTF_8);
+    }
+
+    /**
+     * Creates a new instance of {@code Builder} for {@code SubscriptionRegistry} instances.
+     *
+     * @return new instance of {@code Builder}
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * A subscription registered via this registry.
+     */
+    private static final class Entry {
+
+        private final Runnable onExpiry;
+        private final Instant registered;
+
+        private Entry(Runnable onExpiry, Instant registered) {
+            this.onExpiry = onExpiry;
+            this.registered = registered;
+        }
+    }
+
+    /**
+     * A builder for the {@code SubscriptionRegistry} instances.
+     */
+    public static final class Builder {
+
+        private FirebaseClient firebaseClient;
+        private NodePath leaseNode = NodePaths.of(DEFAULT_LEASE_NODE);
+        private Duration lease = DEFAULT_LEASE;
+        private Duration reapInterval = DEFAULT_REAP_INTERVAL;
+        private Clock clock = Clock.systemUTC();
+
+        /**
+         * Prevents local instantiation.
+         */
+        private Builder() {
+        }
+
+        public Builder setFirebaseClient(FirebaseClient firebaseClient) {
+            this.firebaseClient = checkNotNull(firebaseClient);
+            return this;
+        }
+
+        /**
+         * Sets the path to the database node which holds the subscription leases.
+         *
+         * <p>The default value is {@code subscriptionLeases}. All the registries serving
+         * the same subscriptions must use the same node.
+         */
+        public Builder setLeaseNode(NodePath leaseNode) {
+            this.leaseNode = checkNotNull(leaseNode);
+            return this;
+        }
+
+        /**
+         * Sets the time for which a subscription stays active after the last keep-up.
+         *
+         * <p>The default value is 1 minute.
+         */
+        public Builder setLease(Duration lease) {
+            checkNotNull(lease);
+            checkArgument(!lease.isNegative() && !lease.isZero(), "Lease must be positive.");
+            this.lease = lease;
+            return this;
+        }
+
+        /**
+         * Sets the interval between the checks for the expired subscriptions.
+         *
+         * <p>The default value is 30 seconds.
+         */
+        public Builder setReapInterval(Duration reapInterval) {
+            checkNotNull(reapInterval);
+            checkArgument(!reapInterval.isNegative() && !reapInterval.isZero(),
+                          "Reap interval must be positive.");
+            this.reapInterval = reapInterval;
+            return this;
+        }
+
+        @VisibleForTesting
+        Builder setClock(Clock clock) {
+            this.clock = checkNotNull(clock);
+            return this;
+        }
+
+        /**
+         * Creates a new instance of {@code SubscriptionRegistry} and starts reaping
+         * the expired subscriptions.
+         *
+         * @return new instance of {@code SubscriptionRegistry}
+         */
+        public SubscriptionRegistry build() {
+            checkState(firebaseClient != null,
+                       "Firebase database client is not set to SubscriptionRegistry.");
+            SubscriptionRegistry registry = new SubscriptionRegistry(this);
+            registry.startReaping(reapInterval);
+            return registry;
+        }
+    }
+}
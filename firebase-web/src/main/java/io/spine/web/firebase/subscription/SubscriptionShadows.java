@@ -0,0 +1,123 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.firebase.subscription;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.spine.web.firebase.NodePath;
+import io.spine.web.firebase.subscription.diff.EntryShadow;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * The local shadows of the subscription nodes by the node paths.
+ *
+ * <p>The shadows are evicted when the number of them exceeds the maximum size and when they are
+ * not accessed for too long. A subscription which has its shadow evicted is updated after reading
+ * the node from the database.
+ */
+final class SubscriptionShadows {
+
+    /**
+     * The time after the last access when a shadow is evicted.
+     */
+    private static final Duration EXPIRATION = Duration.ofMinutes(10);
+
+    private final Cache<String, EntryShadow> cache;
+    private final boolean enabled;
+
+    SubscriptionShadows(long maxSize) {
+        this.enabled = maxSize > 0;
+        this.cache = CacheBuilder
+                .newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(EXPIRATION.toMillis(), MILLISECONDS)
+                .build();
+    }
+
+    /**
+     * Checks if any shadows can be stored.
+     *
+     * <p>If the maximum size is zero, the shadows are discarded right away, so there is no
+     * point in building them.
+     */
+    boolean enabled() {
+        return enabled;
+    }
+
+    /**
+     * Obtains the shadow of the given node if there is one.
+     */
+    @Nullable
+    EntryShadow get(NodePath path) {
+        return cache.getIfPresent(path.getValue());
+    }
+
+    /**
+     * Replaces the given shadow of the node with the updated one.
+     *
+     * <p>If the node shadow has been changed concurrently, the shadow is discarded, since it is
+     * not known which of the updates reached the database last.
+     *
+     * @param path
+     *         the path to the node
+     * @param previous
+     *         the shadow used to update the node or {@code null} if the node has been read from
+     *         the database
+     * @param updated
+     *         the shadow of the node after the update
+     */
+    void update(NodePath path, @Nullable EntryShadow previous, EntryShadow updated) {
+        String key = path.getValue();
+        ConcurrentMap<String, EntryShadow> shadows = cache.asMap();
+        boolean replaced = previous == null
+                           ? shadows.putIfAbsent(key, updated) == null
+                           : shadows.replace(key, previous, updated);
+        if (!replaced) {
+            cache.invalidate(key);
+        }
+    }
+
+    /**
+     * Stores the shadow of the newly written node.
+     */
+    void put(NodePath path, EntryShadow shadow) {
+        cache.put(path.getValue(), shadow);
+    }
+
+    /**
+     * Discards the shadow of the given node.
+     */
+    void remove(NodePath path) {
+        cache.invalidate(path.getValue());
+    }
+
+    /**
+     * Obtains the number of the shadowed nodes.
+     */
+    long size() {
+        return cache.size();
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.firebase.subscription.diff;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import java.util.List;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.sort;
+
+/**
+ * 64-bit hashes of the entry content.
+ *
+ * <p>The {@linkplain #fingerprint(String) fingerprint} is calculated from the entry data as is.
+ * It allows to detect the identical entries without parsing them.
+ *
+ * <p>The {@linkplain #of(JsonNode) content hash} is calculated from the canonical form of
+ * the parsed JSON. The canonical form has no whitespace, the object fields sorted by name and
+ * the numbers stripped of trailing zeros. Thus, the entries differing only in formatting have
+ * the same content hash. This matters for the entries stored as JSON objects, which
+ * the database returns with the fields sorted.
+ */
+final class ContentHash {
+
+    private static final HashFunction function = Hashing.farmHashFingerprint64();
+
+    /** Prevents instantiation of this utility class. */
+    private ContentHash() {
+    }
+
+    static long of(JsonNode json) {
+        StringBuilder canonical = new StringBuilder();
+        appendCanonical(json, canonical);
+        return fingerprint(canonical.toString());
+    }
+
+    private static void appendCanonical(JsonNode json, StringBuilder out) {
+        if (json.isObject()) {
+            out.append('{');
+            List<String> names = newArrayList(json.fieldNames());
+            sort(names);
+            String separator = "";
+            for (String name : names) {
+                out.append(separator);
+                appendText(name, out);
+                out.append(':');
+                appendCanonical(json.get(name), out);
+                separator = ",";
+            }
+            out.append('}');
+        } else if (json.isArray()) {
+            out.append('[');
+            String separator = "";
+            for (JsonNode element : json) {
+                out.append(separator);
+                appendCanonical(element, out);
+                separator = ",";
+            }
+            out.append(']');
+        } else if (json.isNumber()) {
+            out.append(json.decimalValue()
+                           .stripTrailingZeros()
+                           .toPlainString());
+        } else if (json.isTextual()) {
+            appendText(json.textValue(), out);
+        } else {
+            out.append(json.toString());
+        }
+    }
+
+    private static void appendText(String text, StringBuilder out) {
+        out.append('"')
+           .append(text.replace("\\", "\\\\")
+                       .replace("\"", "\\\""))
+           .append('"');
+    }
+
+    static long fingerprint(String data) {
+        return function.hashString(data, UTF_8)
+                       .asLong();
+    }
+}
@@ -26,6 +26,8 @@ import io.spine.web.firebase.NodeValue;
 
 import java.util.List;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+
 /**
  * Calculates a diff of the Firebase storage state to an actual state of entities,
  * used to execute updates on Firebase storage.
@@ -50,6 +52,18 @@ public final class DiffCalculator {
         return new DiffCalculator(existingEntries);
     }
 
+    /**
+     * Creates a new {@code DiffCalculator} with the state kept in the local shadow of
+     * the Firebase node.
+     *
+     * @param shadow
+     *         the shadow of the node data to match new data to
+     */
+    public static DiffCalculator from(EntryShadow shadow) {
+        checkNotNull(shadow);
+        return new DiffCalculator(shadow.entries());
+    }
+
     /**
      * Compares the actual state represented by {@code newEntries} to the state of the Firebase
      * database represented by a {@link NodeValue}.
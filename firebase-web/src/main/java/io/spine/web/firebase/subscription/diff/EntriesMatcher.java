@@ -22,9 +22,15 @@ package io.spine.web.firebase.subscription.diff;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
-import java.util.ArrayList;
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static io.spine.web.firebase.subscription.diff.EntryUpdates.addEntry;
 import static io.spine.web.firebase.subscription.diff.EntryUpdates.changeEntry;
@@ -34,13 +40,58 @@ import static java.util.stream.Stream.concat;
 
 /**
  * A matcher of the up-to-date subscription state to the one stored in one Firebase database.
+ *
+ * <p>The existing entries are indexed by their {@code "id"} field or, if there is no such field,
+ * by their content hash. Thus, each up-to-date entry is matched in constant time and
+ * the whole state is matched in time linear to the number of the entries.
+ *
+ * <p>The entries with the same {@code "id"} are considered unchanged if their
+ * {@linkplain ContentHash content hashes} are equal.
+ *
+ * <p>Before the matching by the {@code "id"} or the content, the up-to-date entries are matched to
+ * the existing entries with the same {@linkplain ContentHash#fingerprint(String) fingerprint}.
+ * Such entries are identical and thus unchanged. Since the fingerprint does not require parsing
+ * of the entry, the unchanged entries are matched without parsing JSON.
  */
 final class EntriesMatcher {
 
-    private final List<ExistingEntry> unmatchedEntries;
+    /**
+     * The unmatched existing entries in the order of their appearance in the Firebase storage.
+     */
+    private final Set<ExistingEntry> unmatchedEntries;
+
+    /**
+     * The existing entries grouped by their fingerprint.
+     */
+    private final Map<Long, Deque<ExistingEntry>> byFingerprint = new HashMap<>();
+
+    /**
+     * The existing entries which have an {@code "id"} field grouped by the field value.
+     */
+    private final Map<JsonNode, Deque<ExistingEntry>> byId = new HashMap<>();
+
+    /**
+     * The existing entries which have no {@code "id"} field grouped by their content hash.
+     */
+    private final Map<Long, Deque<ExistingEntry>> byContent = new HashMap<>();
 
     EntriesMatcher(List<ExistingEntry> entries) {
-        this.unmatchedEntries = new ArrayList<>(entries);
+        this.unmatchedEntries = new LinkedHashSet<>(entries);
+        for (ExistingEntry entry : entries) {
+            index(byFingerprint, entry.fingerprint(), entry);
+            if (entry.containsId()) {
+                index(byId, entry.id(), entry);
+            } else {
+                index(byContent, entry.contentHash(), entry);
+            }
+        }
+    }
+
+    private static <K> void index(Map<K, Deque<ExistingEntry>> index,
+                                  K key,
+                                  ExistingEntry entry) {
+        index.computeIfAbsent(key, k -> new ArrayDeque<>())
+             .add(entry);
     }
 
     /**
@@ -53,10 +104,24 @@ final class EntriesMatcher {
      * @return a list of entries with operation appropriate to them
      */
     List<EntryUpdate> match(List<UpToDateEntry> entries) {
-        List<EntryUpdate> matched = entries.stream()
-                                           .map(this::match)
-                                           .collect(toList());
-        return concat(matched.stream(), unmatched().stream()).collect(toList());
+        EntryUpdate[] matched = new EntryUpdate[entries.size()];
+        for (int i = 0; i < matched.length; i++) {
+            matched[i] = matchIdentical(entries.get(i));
+        }
+        for (int i = 0; i < matched.length; i++) {
+            if (matched[i] == null) {
+                matched[i] = match(entries.get(i));
+            }
+        }
+        return concat(Stream.of(matched), unmatched().stream()).collect(toList());
+    }
+
+    @Nullable
+    private EntryUpdate matchIdentical(UpToDateEntry entry) {
+        ExistingEntry identicalEntry = take(byFingerprint, entry.fingerprint());
+        return identicalEntry == null
+               ? null
+               : passEntry(entry, identicalEntry);
     }
 
     private EntryUpdate match(UpToDateEntry entry) {
@@ -64,35 +129,48 @@ final class EntriesMatcher {
     }
 
     private EntryUpdate matchById(UpToDateEntry entry) {
-        Optional<ExistingEntry> optionalMatchingEntry =
-                unmatchedEntries.stream()
-                                .filter(existing -> existing.idEquals(entry.id()))
-                                .findFirst();
-        if (optionalMatchingEntry.isPresent()) {
-            ExistingEntry matchingEntry = optionalMatchingEntry.get();
-            unmatchedEntries.remove(matchingEntry);
-            JsonNode matchingJson = matchingEntry.json();
-            if (matchingJson.equals(entry.json())) {
-                return passEntry(entry, matchingEntry);
-            } else {
-                return changeEntry(entry, matchingEntry);
-            }
-        } else {
+        ExistingEntry matchingEntry = take(byId, entry.id());
+        if (matchingEntry == null) {
             return addEntry(entry);
         }
+        if (matchingEntry.contentHash() == entry.contentHash()) {
+            return passEntry(entry, matchingEntry);
+        } else {
+            return changeEntry(entry, matchingEntry);
+        }
     }
 
     private EntryUpdate shallowMatch(UpToDateEntry entry) {
-        Optional<ExistingEntry> optionalMatchingEntry =
-                unmatchedEntries.stream()
-                                .filter(existing -> entry.json().equals(existing.json()))
-                                .findFirst();
-        if (optionalMatchingEntry.isPresent()) {
-            ExistingEntry matchingEntry = optionalMatchingEntry.get();
-            unmatchedEntries.remove(matchingEntry);
-            return passEntry(entry, matchingEntry);
+        ExistingEntry matchingEntry = take(byContent, entry.contentHash());
+        if (matchingEntry == null) {
+            return addEntry(entry);
+        }
+        return passEntry(entry, matchingEntry);
+    }
+
+    /**
+     * Removes the first unmatched entry stored under the given key from the given index.
+     *
+     * <p>Each entry is present in several indices. The entries which are already matched via
+     * another index are skipped.
+     *
+     * @return the removed entry or {@code null} if there is no unmatched entry under
+     *         the given key
+     */
+    @Nullable
+    private <K> ExistingEntry take(Map<K, Deque<ExistingEntry>> index, K key) {
+        Deque<ExistingEntry> candidates = index.get(key);
+        if (candidates == null) {
+            return null;
+        }
+        ExistingEntry entry = candidates.poll();
+        while (entry != null && !unmatchedEntries.remove(entry)) {
+            entry = candidates.poll();
+        }
+        if (candidates.isEmpty()) {
+            index.remove(key);
         }
-        return addEntry(entry);
+        return entry;
     }
 
     private List<EntryUpdate> unmatched() {
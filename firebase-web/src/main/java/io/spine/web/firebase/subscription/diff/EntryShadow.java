@@ -0,0 +1,98 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.firebase.subscription.diff;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.gson.JsonElement;
+import io.spine.web.firebase.EntryFormat;
+import io.spine.web.firebase.NodeValue;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A local copy of the subscription node entries sufficient to calculate a diff.
+ *
+ * <p>The shadow keeps only the key, the {@code "id"} field and the content hash of each entry,
+ * not the entry data.
+ *
+ * <p>The shadow is immutable. An update produces a new shadow instance.
+ */
+public final class EntryShadow {
+
+    private final ImmutableMap<String, ExistingEntry> entries;
+
+    private EntryShadow(ImmutableMap<String, ExistingEntry> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Creates a shadow of the given node value.
+     */
+    public static EntryShadow of(NodeValue value) {
+        checkNotNull(value);
+        EntryShadow empty = new EntryShadow(ImmutableMap.of());
+        return empty.updatedWith(value);
+    }
+
+    /**
+     * Creates a new shadow with the given value merged into this shadow.
+     *
+     * <p>The children of the given value overwrite the entries of this shadow. The children
+     * {@linkplain EntryFormat#isRemoved marked as removed} are removed from the shadow.
+     *
+     * @param written
+     *         the value merged into the shadowed node
+     * @return the updated shadow
+     */
+    public EntryShadow updatedWith(NodeValue written) {
+        checkNotNull(written);
+        Map<String, ExistingEntry> updated = new LinkedHashMap<>(entries);
+        for (Map.Entry<String, JsonElement> child : written.underlyingJson()
+                                                           .entrySet()) {
+            String key = child.getKey();
+            JsonElement value = child.getValue();
+            if (EntryFormat.isRemoved(value)) {
+                updated.remove(key);
+            } else {
+                String data = EntryFormat.entryJson(value);
+                ExistingEntry entry = ExistingEntry.parse(key, data);
+                updated.put(key, entry.withoutData());
+            }
+        }
+        return new EntryShadow(ImmutableMap.copyOf(updated));
+    }
+
+    /**
+     * Obtains the number of the shadowed entries.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    List<ExistingEntry> entries() {
+        return entries.values()
+                      .asList();
+    }
+}
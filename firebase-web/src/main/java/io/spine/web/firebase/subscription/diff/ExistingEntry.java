@@ -2,48 +2,71 @@ package io.spine.web.firebase.subscription.diff;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.gson.JsonObject;
+import io.spine.web.firebase.EntryFormat;
 
+import javax.annotation.Nullable;
 import java.util.List;
 
 import static java.util.stream.Collectors.toList;
 
 /**
  * An entry retrieved from Firebase database to check the {@link UpToDateEntry} against.
+ *
+ * <p>An entry may also come from an {@link EntryShadow}. Such an entry keeps no data, only its
+ * key, {@code "id"}, content hash and fingerprint.
  */
 final class ExistingEntry {
 
     private final String key;
     private final String data;
-    private final JsonNode json;
+    @Nullable
     private final JsonNode id;
-    private final boolean containsId;
+    private final long contentHash;
+    private final long fingerprint;
 
-    private ExistingEntry(String key, String data) {
+    private ExistingEntry(String key,
+                          String data,
+                          @Nullable JsonNode id,
+                          long contentHash,
+                          long fingerprint) {
         this.key = key;
         this.data = data;
-        this.json = JsonParser.parse(data);
-        this.id = json.get("id");
-        this.containsId = id != null;
+        this.id = id;
+        this.contentHash = contentHash;
+        this.fingerprint = fingerprint;
     }
 
+    /**
+     * Parses the entry stored under the given key.
+     */
+    static ExistingEntry parse(String key, String data) {
+        JsonNode json = JsonParser.parse(data);
+        return new ExistingEntry(key, data, json.get("id"), ContentHash.of(json),
+                                 ContentHash.fingerprint(data));
+    }
+
+    /**
+     * Parses the entries stored in any of the {@linkplain EntryFormat formats}.
+     */
     static List<ExistingEntry> fromJson(JsonObject object) {
         return object
                 .entrySet()
                 .stream()
-                .map(entry -> new ExistingEntry(entry.getKey(), entry.getValue()
-                                                                     .getAsString()))
+                .map(entry -> parse(entry.getKey(), EntryFormat.entryJson(entry.getValue())))
                 .collect(toList());
     }
 
     /**
-     * JSON data of this entry.
+     * Creates a copy of this entry which drops the entry data.
      */
-    JsonNode json() {
-        return json;
+    ExistingEntry withoutData() {
+        return new ExistingEntry(key, "", id, contentHash, fingerprint);
     }
 
     /**
      * JSON serialized entity data represented as a string.
+     *
+     * <p>Is empty for the entries {@linkplain #withoutData() without data}.
      */
     String data() {
         return data;
@@ -57,9 +80,32 @@ final class ExistingEntry {
     }
 
     /**
-     * Checks if this entries {@code "id"} field matches the provided one.
+     * Returns {@code true} if the entity contains an {@code "id"} field and {@code false}
+     * otherwise.
+     */
+    boolean containsId() {
+        return id != null;
+    }
+
+    /**
+     * A {@link JsonNode} representation of the entities {@code "id"} field.
+     */
+    @Nullable
+    JsonNode id() {
+        return id;
+    }
+
+    /**
+     * The {@linkplain ContentHash hash} of the entry content.
+     */
+    long contentHash() {
+        return contentHash;
+    }
+
+    /**
+     * The {@linkplain ContentHash#fingerprint(String) fingerprint} of the entry data.
      */
-    boolean idEquals(JsonNode id) {
-        return containsId && this.id.equals(id);
+    long fingerprint() {
+        return fingerprint;
     }
 }
@@ -2,6 +2,8 @@ package io.spine.web.firebase.subscription.diff;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.google.common.annotations.VisibleForTesting;
 
 import java.io.IOException;
 
@@ -13,6 +15,14 @@ import static io.spine.util.Exceptions.newIllegalArgumentException;
  */
 final class JsonParser {
 
+    /**
+     * The reader of the JSON trees shared by all the parse operations.
+     *
+     * <p>Unlike the {@code ObjectMapper} it is created from, the {@code ObjectReader} is
+     * immutable and thus is safe to use from multiple threads without synchronization.
+     */
+    private static final ObjectReader READER = new ObjectMapper().reader();
+
     /** Prevents instantiation of this utility class. */
     private JsonParser() {
     }
@@ -20,10 +30,17 @@ final class JsonParser {
     static JsonNode parse(String jsonString) {
         checkNotNull(jsonString);
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readTree(jsonString);
+            return READER.readTree(jsonString);
         } catch (IOException e) {
             throw newIllegalArgumentException("Could not parse JSON.", e);
         }
     }
+
+    /**
+     * Obtains the shared JSON reader.
+     */
+    @VisibleForTesting
+    static ObjectReader reader() {
+        return READER;
+    }
 }
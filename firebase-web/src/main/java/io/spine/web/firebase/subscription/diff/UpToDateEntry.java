@@ -2,25 +2,30 @@ package io.spine.web.firebase.subscription.diff;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
+import javax.annotation.Nullable;
 import java.util.List;
 
 import static java.util.stream.Collectors.toList;
 
 /**
  * An entry received from Spine and serialized to JSON to be saved to Firebase database.
+ *
+ * <p>The entry data is parsed lazily, upon the first request of the {@code "id"} field or
+ * the content hash. An entry which is identical to an existing one is matched by its
+ * {@linkplain #fingerprint() fingerprint} and thus is never parsed.
  */
 class UpToDateEntry {
 
     private final String data;
-    private final JsonNode json;
-    private final JsonNode id;
-    private final boolean containsId;
+    private final long fingerprint;
+    private boolean parsed;
+    @Nullable
+    private JsonNode id;
+    private long contentHash;
 
     private UpToDateEntry(String data) {
         this.data = data;
-        this.json = JsonParser.parse(data);
-        this.id = json.get("id");
-        this.containsId = id != null;
+        this.fingerprint = ContentHash.fingerprint(data);
     }
 
     static List<UpToDateEntry> parse(List<String> json) {
@@ -29,11 +34,13 @@ class UpToDateEntry {
                    .collect(toList());
     }
 
-    /**
-     * JSON data of this entry.
-     */
-    JsonNode json() {
-        return json;
+    private void ensureParsed() {
+        if (!parsed) {
+            JsonNode json = JsonParser.parse(data);
+            this.id = json.get("id");
+            this.contentHash = ContentHash.of(json);
+            this.parsed = true;
+        }
     }
 
     /**
@@ -48,13 +55,30 @@ class UpToDateEntry {
      * otherwise.
      */
     boolean containsId() {
-        return containsId;
+        return id() != null;
     }
 
     /**
      * A {@link JsonNode} representation of the entities {@code "id"} field.
      */
+    @Nullable
     JsonNode id() {
+        ensureParsed();
         return id;
     }
+
+    /**
+     * The {@linkplain ContentHash hash} of the entry content.
+     */
+    long contentHash() {
+        ensureParsed();
+        return contentHash;
+    }
+
+    /**
+     * The {@linkplain ContentHash#fingerprint(String) fingerprint} of the entry data.
+     */
+    long fingerprint() {
+        return fingerprint;
+    }
 }
@@ -20,19 +20,32 @@
 
 package io.spine.web.firebase;
 
+import com.google.gson.JsonObject;
+import io.spine.web.firebase.given.BlockingFirebaseClient;
 import io.spine.web.firebase.given.TestFirebaseClient;
+import io.spine.web.firebase.metrics.Gauge;
+import io.spine.web.firebase.metrics.InMemoryMetricsRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 
 import static com.google.common.truth.Truth.assertThat;
 import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
 import static io.spine.web.firebase.given.AsyncClientTestEnv.sleepFor;
 import static java.time.Duration.ofSeconds;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DisplayName("Async Firebase client should")
 class AsyncClientTest {
@@ -84,6 +97,182 @@ class AsyncClientTest {
         assertThat(delegate.writes()).contains(path);
     }
 
+    @Test
+    @DisplayName("complete the write future when the write is done")
+    void completeFuture() throws Exception {
+        AsyncClient asyncClient = new AsyncClient(delegate, executor);
+        CompletableFuture<Void> future = asyncClient.mergeAsync(path, NodeValue.empty());
+        future.get();
+        assertThat(delegate.writes()).contains(path);
+    }
+
+    @Test
+    @DisplayName("perform write operations with a bounded queue")
+    void executeWritesWithBoundedQueue() {
+        AsyncClient asyncClient = AsyncClient
+                .newBuilder()
+                .setDelegate(delegate)
+                .build();
+        checkAsync(asyncClient);
+        assertTrue(asyncClient.shutdown(latency));
+    }
+
+    @Test
+    @DisplayName("flush pending writes on shutdown")
+    void flushOnShutdown() {
+        AsyncClient asyncClient = AsyncClient
+                .newBuilder()
+                .setDelegate(delegate)
+                .setCoalescing(false)
+                .build();
+        asyncClient.merge(path, NodeValue.empty());
+        asyncClient.merge(path, NodeValue.empty());
+        assertTrue(asyncClient.shutdown(latency.multipliedBy(3)));
+        assertThat(delegate.writes()).containsExactly(path, path);
+        assertThrows(RejectedExecutionException.class,
+                     () -> asyncClient.merge(path, NodeValue.empty()));
+    }
+
+    @Test
+    @DisplayName("reject writes when the queue is full with the fail-fast policy")
+    void failFast() {
+        BlockingFirebaseClient blockingDelegate = new BlockingFirebaseClient();
+        AsyncClient asyncClient = boundedClient(blockingDelegate, OverflowPolicy.FAIL_FAST);
+        asyncClient.merge(path, NodeValue.empty());
+        blockingDelegate.awaitFirstWrite();
+        asyncClient.merge(path, NodeValue.empty());
+
+        assertThrows(RejectedExecutionException.class,
+                     () -> asyncClient.merge(path, NodeValue.empty()));
+        blockingDelegate.release();
+        assertTrue(asyncClient.shutdown(latency));
+        assertThat(blockingDelegate.writes()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("drop the oldest write when the queue is full with the drop-oldest policy")
+    void dropOldest() throws Exception {
+        BlockingFirebaseClient blockingDelegate = new BlockingFirebaseClient();
+        AsyncClient asyncClient = boundedClient(blockingDelegate, OverflowPolicy.DROP_OLDEST);
+        CompletableFuture<Void> first = asyncClient.mergeAsync(path, NodeValue.empty());
+        blockingDelegate.awaitFirstWrite();
+        CompletableFuture<Void> dropped = asyncClient.mergeAsync(path, NodeValue.empty());
+        CompletableFuture<Void> last = asyncClient.mergeAsync(path, NodeValue.empty());
+
+        ExecutionException exception = assertThrows(ExecutionException.class, dropped::get);
+        assertThat(exception.getCause()).isInstanceOf(RejectedExecutionException.class);
+        blockingDelegate.release();
+        first.get();
+        last.get();
+        assertTrue(asyncClient.shutdown(latency));
+        assertThat(blockingDelegate.writes()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("coalesce pending writes to the same node")
+    void coalesceWrites() throws Exception {
+        BlockingFirebaseClient blockingDelegate = new BlockingFirebaseClient();
+        InMemoryMetricsRegistry metrics = new InMemoryMetricsRegistry();
+        AsyncClient asyncClient = AsyncClient
+                .newBuilder()
+                .setDelegate(blockingDelegate)
+                .setMetrics(metrics)
+                .build();
+        NodePath otherPath = NodePaths.of("some/other/path");
+        asyncClient.merge(otherPath, NodeValue.empty());
+        blockingDelegate.awaitFirstWrite();
+
+        NodeValue first = NodeValue.empty();
+        first.addChild("a", "1");
+        first.addChild("b", "1");
+        NodeValue second = NodeValue.empty();
+        second.addChild("b", "2");
+        NodeValue third = NodeValue.empty();
+        third.addChild("c", "3");
+        asyncClient.merge(path, first);
+        asyncClient.merge(path, second);
+        CompletableFuture<Void> last = asyncClient.mergeAsync(path, third);
+        assertThat(asyncClient.coalescedWriteCount()).isEqualTo(2);
+        assertThat(metrics.gaugeValue(Gauge.COALESCED_WRITES)).isEqualTo(2);
+
+        blockingDelegate.release();
+        last.get();
+        assertThat(blockingDelegate.writes()).containsExactly(otherPath, path);
+        JsonObject written = blockingDelegate.values()
+                                             .get(1)
+                                             .underlyingJson();
+        assertThat(written.get("a").getAsString()).isEqualTo("1");
+        assertThat(written.get("b").getAsString()).isEqualTo("2");
+        assertThat(written.get("c").getAsString()).isEqualTo("3");
+        assertThat(first.underlyingJson().entrySet()).hasSize(2);
+        assertTrue(asyncClient.shutdown(latency));
+    }
+
+    @Test
+    @DisplayName("expose the number of pending writes as a gauge")
+    void exposePendingWrites() throws Exception {
+        BlockingFirebaseClient blockingDelegate = new BlockingFirebaseClient();
+        InMemoryMetricsRegistry metrics = new InMemoryMetricsRegistry();
+        AsyncClient asyncClient = AsyncClient
+                .newBuilder()
+                .setDelegate(blockingDelegate)
+                .setCoalescing(false)
+                .setMetrics(metrics)
+                .build();
+        asyncClient.merge(path, NodeValue.empty());
+        CompletableFuture<Void> last = asyncClient.mergeAsync(path, NodeValue.empty());
+        blockingDelegate.awaitFirstWrite();
+        assertThat(metrics.gaugeValue(Gauge.PENDING_WRITES)).isEqualTo(2);
+
+        blockingDelegate.release();
+        last.get();
+        assertTrue(asyncClient.shutdown(latency));
+    }
+
+    @Test
+    @DisplayName("complete every accepted write when shut down concurrently")
+    void completeWritesAcceptedDuringShutdown() throws Exception {
+        AsyncClient asyncClient = AsyncClient
+                .newBuilder()
+                .setDelegate(TestFirebaseClient.withSimulatedLatency(Duration.ZERO))
+                .build();
+        Set<CompletableFuture<Void>> accepted = ConcurrentHashMap.newKeySet();
+        ExecutorService producers = newFixedThreadPool(4);
+        for (int i = 0; i < 4; i++) {
+            NodePath producerPath = NodePaths.of("some/path/" + i);
+            producers.execute(() -> {
+                try {
+                    while (true) {
+                        accepted.add(asyncClient.mergeAsync(producerPath, NodeValue.empty()));
+                    }
+                } catch (RejectedExecutionException ignored) {
+                    // The client is shut down.
+                }
+            });
+        }
+        sleepFor(Duration.ofMillis(50));
+        asyncClient.shutdown(latency);
+        producers.shutdown();
+        assertTrue(producers.awaitTermination(latency.toMillis(), MILLISECONDS));
+
+        CompletableFuture<?>[] settled = accepted
+                .stream()
+                .map(future -> future.handle((result, error) -> result))
+                .toArray(CompletableFuture<?>[]::new);
+        CompletableFuture.allOf(settled)
+                         .get(latency.toMillis(), MILLISECONDS);
+    }
+
+    private static AsyncClient boundedClient(FirebaseClient delegate, OverflowPolicy policy) {
+        return AsyncClient
+                .newBuilder()
+                .setDelegate(delegate)
+                .setQueueCapacity(1)
+                .setOverflowPolicy(policy)
+                .setCoalescing(false)
+                .build();
+    }
+
     private void checkAsync(AsyncClient asyncClient) {
         asyncClient.merge(path, NodeValue.empty());
         assertThat(delegate.writes()).doesNotContain(path);
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.firebase;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static io.spine.web.firebase.EntryFormat.JSON_OBJECT;
+import static io.spine.web.firebase.EntryFormat.JSON_STRING;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("EntryFormat should")
+class EntryFormatTest {
+
+    private static final String JSON = "{\"id\":{\"value\":\"42\"},\"title\":\"null\"}";
+
+    @Test
+    @DisplayName("store the entry as a string in the legacy format")
+    void storeString() {
+        JsonElement child = JSON_STRING.child(JSON);
+        assertEquals(new JsonPrimitive(JSON), child);
+        assertEquals(JSON, EntryFormat.entryJson(child));
+    }
+
+    @Test
+    @DisplayName("store the entry as a JSON object in the native format")
+    void storeObject() {
+        JsonElement child = JSON_OBJECT.child(JSON);
+        assertTrue(child.isJsonObject());
+        assertEquals(JSON, EntryFormat.entryJson(child));
+    }
+
+    @Test
+    @DisplayName("store a non-object entry as a string in the native format")
+    void storePrimitiveAsString() {
+        String json = "\"2019-01-01T00:00:00Z\"";
+        JsonElement child = JSON_OBJECT.child(json);
+        assertEquals(new JsonPrimitive(json), child);
+        assertEquals(json, EntryFormat.entryJson(child));
+    }
+
+    @Test
+    @DisplayName("store an entry with a forbidden key as a string in the native format")
+    void storeForbiddenKeyAsString() {
+        String json = "{\"id\":{\"value\":\"42\"},\"map\":{\"a.b\":\"c\"}}";
+        JsonElement child = JSON_OBJECT.child(json);
+        assertEquals(new JsonPrimitive(json), child);
+        assertEquals(json, EntryFormat.entryJson(child));
+    }
+
+    @Test
+    @DisplayName("store an entry with an empty value as a string in the native format")
+    void storeEmptyValueAsString() {
+        String emptyObject = "{\"id\":{\"value\":\"42\"},\"details\":{}}";
+        String emptyArray = "{\"id\":{\"value\":\"42\"},\"tags\":[]}";
+        assertEquals(new JsonPrimitive(emptyObject), JSON_OBJECT.child(emptyObject));
+        assertEquals(new JsonPrimitive(emptyArray), JSON_OBJECT.child(emptyArray));
+    }
+
+    @Test
+    @DisplayName("mark removed entries in each format")
+    void markRemoved() {
+        assertEquals(new JsonPrimitive("null"), JSON_STRING.removedChild());
+        assertEquals(JsonNull.INSTANCE, JSON_OBJECT.removedChild());
+        assertTrue(EntryFormat.isRemoved(JSON_STRING.removedChild()));
+        assertTrue(EntryFormat.isRemoved(JSON_OBJECT.removedChild()));
+    }
+
+    @Test
+    @DisplayName("not treat stored entries as removed")
+    void notRemoved() {
+        assertFalse(EntryFormat.isRemoved(JSON_STRING.child(JSON)));
+        assertFalse(EntryFormat.isRemoved(JSON_OBJECT.child(JSON)));
+    }
+
+    @Test
+    @DisplayName("use the legacy format by default")
+    void defaultToString() {
+        assertEquals(JSON_STRING, EntryFormat.defaultFormat());
+    }
+}
@@ -21,14 +21,25 @@
 package io.spine.web.firebase;
 
 import com.google.api.client.googleapis.testing.auth.oauth2.MockGoogleCredential;
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpRequest;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.testing.http.MockHttpTransport;
 import com.google.common.testing.NullPointerTester;
 import io.spine.testing.UtilityClassTest;
+import io.spine.web.firebase.metrics.MetricsRegistry;
 import io.spine.web.firebase.rest.RestClient;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.time.Duration;
+
 import static com.google.common.truth.Truth.assertThat;
+import static io.spine.web.firebase.FirebaseClientFactory.MAX_SHARED_TRANSPORTS;
 import static io.spine.web.firebase.FirebaseCredentials.fromGoogleCredentials;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @DisplayName("FirebaseClientFactory should")
 class FirebaseClientFactoryTest extends UtilityClassTest<FirebaseClientFactory> {
@@ -45,10 +56,17 @@ class FirebaseClientFactoryTest extends UtilityClassTest<FirebaseClientFactory>
         super(FirebaseClientFactory.class);
     }
 
+    @AfterEach
+    void shutdownTransports() throws IOException {
+        FirebaseClientFactory.shutdownTransports();
+    }
+
     @Override
     protected void configure(NullPointerTester tester) {
         tester.setDefault(DatabaseUrl.class, SOME_URL)
-              .setDefault(FirebaseCredentials.class, CREDENTIALS);
+              .setDefault(FirebaseCredentials.class, CREDENTIALS)
+              .setDefault(TransportSettings.class, TransportSettings.defaults())
+              .setDefault(MetricsRegistry.class, MetricsRegistry.noOp());
     }
 
     @Test
@@ -68,14 +86,91 @@ class FirebaseClientFactoryTest extends UtilityClassTest<FirebaseClientFactory>
     @Test
     @DisplayName("create a REST client for the AppEngine environment")
     void createGaeRestClient() {
-        FirebaseClient client = FirebaseClientFactory.gae(SOME_URL, CREDENTIALS);
+        FirebaseClient client = FirebaseClientFactory.gae(SOME_URL, CREDENTIALS,
+                                                         TransportSettings.defaults(),
+                                                         MetricsRegistry.noOp());
         assertThat(client).isInstanceOf(RestClient.class);
     }
 
     @Test
     @DisplayName("create a REST client for the non-GAE environment")
     void createNonGaeRestClient() {
-        FirebaseClient client = FirebaseClientFactory.nonGae(SOME_URL, CREDENTIALS);
+        FirebaseClient client = FirebaseClientFactory.nonGae(SOME_URL, CREDENTIALS,
+                                                            TransportSettings.defaults(),
+                                                            MetricsRegistry.noOp());
         assertThat(client).isInstanceOf(RestClient.class);
     }
+
+    @Test
+    @DisplayName("create a REST client with the given transport settings")
+    void createWithSettings() {
+        TransportSettings settings = TransportSettings
+                .newBuilder()
+                .setMaxConnectionsPerRoute(100)
+                .build();
+        FirebaseClient client = FirebaseClientFactory.restClient(SOME_URL, CREDENTIALS, settings);
+        assertThat(client).isInstanceOf(RestClient.class);
+    }
+
+    @Test
+    @DisplayName("share the HTTP transport between clients with equal settings")
+    void shareTransport() {
+        TransportSettings settings = TransportSettings
+                .newBuilder()
+                .setMaxConnections(300)
+                .build();
+        TransportSettings equalSettings = TransportSettings
+                .newBuilder()
+                .setMaxConnections(300)
+                .build();
+        HttpTransport transport = FirebaseClientFactory.apacheTransport(settings);
+        assertThat(FirebaseClientFactory.apacheTransport(equalSettings)).isSameAs(transport);
+        assertThat(FirebaseClientFactory.apacheTransport(TransportSettings.defaults()))
+                .isNotSameAs(transport);
+    }
+
+    @Test
+    @DisplayName("create a new HTTP transport after the shared ones are shut down")
+    void recreateTransport() throws IOException {
+        HttpTransport transport = FirebaseClientFactory.apacheTransport(
+                TransportSettings.defaults());
+        FirebaseClientFactory.shutdownTransports();
+        assertThat(FirebaseClientFactory.apacheTransport(TransportSettings.defaults()))
+                .isNotSameAs(transport);
+    }
+
+    @Test
+    @DisplayName("limit the number of shared HTTP transports")
+    void limitTransports() {
+        for (int i = 1; i <= MAX_SHARED_TRANSPORTS; i++) {
+            FirebaseClientFactory.apacheTransport(withMaxConnections(i));
+        }
+        TransportSettings oneMore = withMaxConnections(MAX_SHARED_TRANSPORTS + 1);
+        assertThrows(IllegalStateException.class,
+                     () -> FirebaseClientFactory.apacheTransport(oneMore));
+    }
+
+    @Test
+    @DisplayName("apply the configured timeouts to the requests")
+    void applyTimeouts() throws IOException {
+        TransportSettings settings = TransportSettings
+                .newBuilder()
+                .setConnectTimeout(Duration.ofSeconds(3))
+                .setReadTimeout(Duration.ofSeconds(7))
+                .build();
+        HttpRequest request = new MockHttpTransport()
+                .createRequestFactory(FirebaseClientFactory.initializer(
+                        FirebaseCredentials.empty(), settings))
+                .buildGetRequest(new GenericUrl("https://someUrl.com"));
+        assertThat(request.getConnectTimeout()).isEqualTo(3000);
+        assertThat(request.getReadTimeout()).isEqualTo(7000);
+    }
+
+    private static TransportSettings withMaxConnections(int maxConnections) {
+        return TransportSettings
+                .newBuilder()
+                .setMaxConnections(maxConnections)
+                .setMaxConnectionsPerRoute(1)
+                .build();
+    }
 }
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.firebase;
+
+import com.google.gson.JsonNull;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("FirebaseClient should")
+class FirebaseClientTest {
+
+    @Test
+    @DisplayName("delete a node by merging null into its parent by default")
+    void deleteByMerge() {
+        MergeRecorder client = new MergeRecorder();
+        client.delete(NodePaths.of("/subscriptions/tenant/node/"));
+
+        assertEquals(NodePaths.of("subscriptions/tenant"), client.path);
+        assertEquals(JsonNull.INSTANCE, client.value.underlyingJson()
+                                                    .get("node"));
+    }
+
+    @Test
+    @DisplayName("delete a top-level node by merging null into the root")
+    void deleteTopLevel() {
+        MergeRecorder client = new MergeRecorder();
+        client.delete(NodePaths.of("node"));
+
+        assertEquals(NodePaths.of(""), client.path);
+        assertEquals(JsonNull.INSTANCE, client.value.underlyingJson()
+                                                    .get("node"));
+    }
+
+    /**
+     * A client which remembers the last merged value and relies on the default deletion.
+     */
+    private static final class MergeRecorder implements FirebaseClient {
+
+        private NodePath path;
+        private NodeValue value;
+
+        @Override
+        public Optional<NodeValue> get(NodePath nodePath) {
+            return Optional.empty();
+        }
+
+        @Override
+        public void merge(NodePath nodePath, NodeValue value) {
+            this.path = nodePath;
+            this.value = value;
+        }
+    }
+}
@@ -21,6 +21,7 @@
 package io.spine.web.firebase;
 
 import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
 import com.google.gson.JsonObject;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -76,6 +77,43 @@ class NodeValueTest {
         assertSingleChild(value, KEY, VALUE);
     }
 
+    @Test
+    @DisplayName("add a JSON child under the generated key")
+    void pushJsonChild() {
+        NodeValue value = NodeValue.empty();
+        JsonObject child = NodeValue.from(DATA)
+                                    .underlyingJson();
+        String key = value.addChild(child);
+        assertEquals(child, value.underlyingJson()
+                                 .get(key));
+    }
+
+    @Test
+    @DisplayName("keep a JSON null child")
+    void addNullChild() {
+        NodeValue value = NodeValue.empty();
+        value.addChild(KEY, JsonNull.INSTANCE);
+        assertEquals("{\"" + KEY + "\":null}", value.underlyingJson()
+                                                    .toString());
+    }
+
+    @Test
+    @DisplayName("add children of another value overwriting the common ones")
+    void addChildren() {
+        NodeValue value = NodeValue.empty();
+        value.addChild(KEY, "oldValue");
+        value.addChild("otherKey", VALUE);
+        NodeValue other = NodeValue.empty();
+        other.addChild(KEY, VALUE);
+
+        value.addChildren(other);
+        JsonObject underlyingJson = value.underlyingJson();
+        assertEquals(2, underlyingJson.entrySet()
+                                      .size());
+        assertEquals(VALUE, underlyingJson.get(KEY)
+                                          .getAsString());
+    }
+
     private static void assertSingleChild(NodeValue value, String childValue) {
         JsonObject underlyingJson = value.underlyingJson();
         assertEquals(1, underlyingJson.entrySet()
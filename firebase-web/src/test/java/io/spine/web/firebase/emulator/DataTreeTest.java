@@ -0,0 +1,156 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.firebase.emulator;
+
+import com.google.common.collect.ImmutableList;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.web.firebase.emulator.DataTree.keys;
+
+@DisplayName("DataTree should")
+class DataTreeTest {
+
+    private static final List<String> NODE = keys("some/node");
+
+    private DataTree tree;
+
+    @BeforeEach
+    void setUp() {
+        tree = new DataTree();
+    }
+
+    @Test
+    @DisplayName("split paths into keys")
+    void splitPaths() {
+        assertThat(keys("/a//b/c/")).containsExactly("a", "b", "c")
+                                     .inOrder();
+        assertThat(keys("")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("return nothing for a missing node")
+    void readMissing() {
+        assertThat(tree.get(NODE)).isEqualTo(Optional.empty());
+        assertThat(tree.get(ImmutableList.of())).isEqualTo(Optional.empty());
+    }
+
+    @Test
+    @DisplayName("replace the node value")
+    void setValue() {
+        tree.set(NODE, json("{\"a\": 1, \"b\": {\"c\": 2}}"));
+        tree.set(NODE, json("{\"d\": 3}"));
+
+        assertThat(tree.get(NODE)).isEqualTo(Optional.of(json("{\"d\": 3}")));
+        assertThat(tree.get(keys("some"))).isEqualTo(Optional.of(json("{\"node\": {\"d\": 3}}")));
+    }
+
+    @Test
+    @DisplayName("merge the node children")
+    void updateChildren() {
+        tree.set(NODE, json("{\"a\": 1, \"b\": {\"c\": 2, \"d\": 3}}"));
+        tree.update(NODE, json("{\"a\": 4, \"b/c\": 5, \"e\": \"null\"}").getAsJsonObject());
+
+        JsonElement expected = json("{\"a\": 4, \"b\": {\"c\": 5, \"d\": 3}, \"e\": \"null\"}");
+        assertThat(tree.get(NODE)).isEqualTo(Optional.of(expected));
+    }
+
+    @Test
+    @DisplayName("delete children written with null")
+    void deleteNullChildren() {
+        tree.set(NODE, json("{\"a\": 1, \"b\": 2}"));
+        tree.update(NODE, json("{\"a\": null}").getAsJsonObject());
+        assertThat(tree.get(NODE)).isEqualTo(Optional.of(json("{\"b\": 2}")));
+
+        tree.update(NODE, json("{\"b\": null}").getAsJsonObject());
+        assertThat(tree.get(NODE)).isEqualTo(Optional.empty());
+        assertThat(tree.get(keys("some"))).isEqualTo(Optional.empty());
+    }
+
+    @Test
+    @DisplayName("not store empty objects")
+    void dropEmptyObjects() {
+        tree.set(NODE, json("{\"a\": {}, \"b\": {\"c\": null}}"));
+        assertThat(tree.get(NODE)).isEqualTo(Optional.empty());
+
+        tree.set(NODE, JsonNull.INSTANCE);
+        assertThat(tree.get(NODE)).isEqualTo(Optional.empty());
+    }
+
+    @Test
+    @DisplayName("return the children sorted by key")
+    void sortKeys() {
+        tree.set(NODE, json("{\"b\": 1, \"10\": 2, \"a\": 3, \"9\": 4, \"-1\": 5}"));
+        tree.update(NODE, json("{\"0\": 6, \"aa\": 7, \"01\": 8}").getAsJsonObject());
+
+        JsonObject value = tree.get(NODE)
+                               .get()
+                               .getAsJsonObject();
+        assertThat(value.keySet()).containsExactly("-1", "0", "9", "10", "01", "a", "aa", "b")
+                                  .inOrder();
+    }
+
+    @Test
+    @DisplayName("replace a primitive with an object when writing under it")
+    void replacePrimitive() {
+        tree.set(keys("some"), new JsonPrimitive("value"));
+        tree.set(NODE, new JsonPrimitive(42));
+
+        assertThat(tree.get(keys("some"))).isEqualTo(Optional.of(json("{\"node\": 42}")));
+    }
+
+    @Test
+    @DisplayName("delete the node and its empty ancestors")
+    void deleteNode() {
+        tree.set(keys("a/b/c"), new JsonPrimitive(1));
+        tree.set(keys("a/d"), new JsonPrimitive(2));
+        tree.delete(keys("a/b/c"));
+
+        assertThat(tree.get(keys("a"))).isEqualTo(Optional.of(json("{\"d\": 2}")));
+    }
+
+    @Test
+    @DisplayName("not expose the stored values")
+    void copyValues() {
+        JsonObject written = json("{\"a\": 1}").getAsJsonObject();
+        tree.set(NODE, written);
+        written.addProperty("b", 2);
+        tree.get(NODE)
+            .ifPresent(read -> read.getAsJsonObject()
+                                   .addProperty("c", 3));
+
+        assertThat(tree.get(NODE)).isEqualTo(Optional.of(json("{\"a\": 1}")));
+    }
+
+    private static JsonElement json(String value) {
+        return new JsonParser().parse(value);
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.firebase.emulator;
+
+import com.google.api.client.http.ByteArrayContent;
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpRequestFactory;
+import com.google.api.client.http.HttpResponseException;
+import com.google.api.client.http.apache.ApacheHttpTransport;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import io.spine.net.Urls;
+import io.spine.web.firebase.FirebaseClient;
+import io.spine.web.firebase.NodePath;
+import io.spine.web.firebase.NodePaths;
+import io.spine.web.firebase.NodeValue;
+import io.spine.web.firebase.rest.RestClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.google.api.client.http.ByteArrayContent.fromString;
+import static com.google.common.net.MediaType.JSON_UTF_8;
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("LocalDatabase should")
+class LocalDatabaseTest {
+
+    private static final NodePath PATH = NodePaths.of("subscriptions/some-id");
+
+    private LocalDatabase database;
+
+    @BeforeEach
+    void setUp() {
+        database = LocalDatabase.newInstance();
+    }
+
+    @Test
+    @DisplayName("store the merged values")
+    void storeMerged() {
+        FirebaseClient client = database.client();
+        NodeValue first = NodeValue.empty();
+        first.addChild("a", "1");
+        first.addChild("b", "2");
+        NodeValue second = NodeValue.empty();
+        second.addChild("b", "3");
+        client.merge(PATH, first);
+        client.merge(PATH, second);
+
+        Optional<NodeValue> stored = client.get(PATH);
+        assertTrue(stored.isPresent());
+        assertThat(stored.get()
+                         .underlyingJson()).isEqualTo(json("{\"a\": \"1\", \"b\": \"3\"}"));
+    }
+
+    @Test
+    @DisplayName("pass each stored child to the action")
+    void readChildren() {
+        FirebaseClient client = database.client();
+        client.merge(PATH, NodeValue.withSingleChild("{}"));
+        client.merge(PATH, NodeValue.withSingleChild("{}"));
+
+        Map<String, JsonElement> children = new HashMap<>();
+        client.forEachChild(PATH, children::put);
+        assertThat(children).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("delete nodes")
+    void deleteNodes() {
+        FirebaseClient client = database.client();
+        client.merge(PATH, NodeValue.withSingleChild("{}"));
+        client.delete(PATH);
+
+        assertFalse(client.get(PATH)
+                          .isPresent());
+    }
+
+    @Test
+    @DisplayName("delete all the data on clear")
+    void clear() {
+        database.client()
+                .merge(PATH, NodeValue.withSingleChild("{}"));
+        database.clear();
+
+        assertFalse(database.read(PATH)
+                            .isPresent());
+    }
+
+    @Nested
+    @DisplayName("serve the data over HTTP")
+    class OverHttp {
+
+        private LocalDatabaseServer server;
+        private HttpRequestFactory requestFactory;
+
+        @BeforeEach
+        void startServer() throws IOException {
+            server = database.serve();
+            requestFactory = new ApacheHttpTransport().createRequestFactory();
+        }
+
+        @AfterEach
+        void stopServer() {
+            server.close();
+        }
+
+        @Test
+        @DisplayName("to a REST client")
+        void toRestClient() {
+            FirebaseClient client = RestClient.create(server.url(), requestFactory);
+            NodeValue value = NodeValue.empty();
+            value.addChild("a", "1");
+            client.merge(PATH, value);
+
+            Optional<NodeValue> stored = client.get(PATH);
+            assertTrue(stored.isPresent());
+            assertThat(stored.get()
+                             .underlyingJson()).isEqualTo(json("{\"a\": \"1\"}"));
+            assertThat(database.read(PATH)).isEqualTo(Optional.of(json("{\"a\": \"1\"}")));
+
+            client.delete(PATH);
+            assertFalse(client.get(PATH)
+                              .isPresent());
+        }
+
+        @Test
+        @DisplayName("replacing the node on PUT")
+        void replaceOnPut() throws IOException {
+            database.client()
+                    .merge(PATH, NodeValue.withSingleChild("{}"));
+            String response = requestFactory.buildPutRequest(urlOf(PATH), body("{\"b\": 2}"))
+                                            .execute()
+                                            .parseAsString();
+
+            assertEquals("{\"b\":2}", response);
+            assertThat(database.read(PATH)).isEqualTo(Optional.of(json("{\"b\": 2}")));
+        }
+
+        @Test
+        @DisplayName("responding with an empty body in the silent mode")
+        void silent() throws IOException {
+            GenericUrl url = new GenericUrl(urlOf(PATH) + "?print=silent");
+            int status = requestFactory.buildPatchRequest(url, body("{\"c\": 3}"))
+                                       .execute()
+                                       .getStatusCode();
+
+            assertEquals(204, status);
+            assertThat(database.read(PATH)).isEqualTo(Optional.of(json("{\"c\": 3}")));
+        }
+
+        @Test
+        @DisplayName("rejecting malformed data")
+        void rejectMalformed() {
+            HttpResponseException exception = assertThrows(
+                    HttpResponseException.class,
+                    () -> requestFactory.buildPatchRequest(urlOf(PATH), body("[1, 2"))
+                                        .execute());
+            assertEquals(400, exception.getStatusCode());
+        }
+
+        private GenericUrl urlOf(NodePath path) {
+            String databaseUrl = Urls.toString(server.url()
+                                                     .getUrl());
+            return new GenericUrl(databaseUrl + '/' + path.getValue() + ".json");
+        }
+    }
+
+    private static ByteArrayContent body(String json) {
+        return fromString(JSON_UTF_8.toString(), json);
+    }
+
+    private static JsonElement json(String value) {
+        return new JsonParser().parse(value);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.firebase.given;
+
+import com.google.common.collect.ImmutableList;
+import io.spine.web.firebase.FirebaseClient;
+import io.spine.web.firebase.NodePath;
+import io.spine.web.firebase.NodeValue;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * A {@code FirebaseClient} which blocks every write until it is {@linkplain #release() released}.
+ */
+public final class BlockingFirebaseClient implements FirebaseClient {
+
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch released = new CountDownLatch(1);
+    private final List<NodePath> writes = new CopyOnWriteArrayList<>();
+    private final List<NodeValue> values = new CopyOnWriteArrayList<>();
+
+    @Override
+    public Optional<NodeValue> get(NodePath nodePath) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void merge(NodePath nodePath, NodeValue value) {
+        started.countDown();
+        await(released);
+        writes.add(nodePath);
+        values.add(value);
+    }
+
+    @Override
+    public void delete(NodePath nodePath) {
+        // Deletions are not tracked.
+    }
+
+    /**
+     * Waits until the first write is started.
+     */
+    public void awaitFirstWrite() {
+        await(started);
+    }
+
+    /**
+     * Allows all the writes to complete.
+     */
+    public void release() {
+        released.countDown();
+    }
+
+    public ImmutableList<NodePath> writes() {
+        return ImmutableList.copyOf(writes);
+    }
+
+    public ImmutableList<NodeValue> values() {
+        return ImmutableList.copyOf(values);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(TIMEOUT_SECONDS, SECONDS));
+        } catch (InterruptedException e) {
+            fail(e);
+        }
+    }
+}
@@ -37,6 +37,7 @@ import io.spine.core.UserIdVBuilder;
 import io.spine.testing.client.TestActorRequestFactory;
 import io.spine.web.firebase.FirebaseClient;
 import io.spine.web.firebase.subscription.FirebaseSubscriptionBridge;
+import org.mockito.stubbing.Answer;
 
 import javax.servlet.ServletResponse;
 import java.io.IOException;
@@ -48,6 +49,8 @@ import java.util.regex.Pattern;
 import static com.google.common.collect.Lists.newArrayList;
 import static io.spine.core.Responses.statusOk;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Answers.RETURNS_DEFAULTS;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 @SuppressWarnings("DuplicateStringLiteralInspection") // Duplicate strings for testing.
@@ -120,6 +123,29 @@ public final class FirebaseSubscriptionBridgeTestEnv {
                 .build();
     }
 
+    /**
+     * Creates a mock {@code FirebaseClient} whose asynchronous writes are performed via
+     * the mocked {@link FirebaseClient#merge merge} method.
+     */
+    public static FirebaseClient mockClient() {
+        return mockClient(RETURNS_DEFAULTS);
+    }
+
+    /**
+     * Creates a mock {@code FirebaseClient} whose asynchronous writes are performed via
+     * the mocked {@link FirebaseClient#merge merge} method and other calls are answered with
+     * the given answer.
+     */
+    public static FirebaseClient mockClient(Answer<?> answer) {
+        return mock(FirebaseClient.class, invocation -> {
+            String method = invocation.getMethod()
+                                      .getName();
+            return "mergeAsync".equals(method)
+                   ? invocation.callRealMethod()
+                   : answer.answer(invocation);
+        });
+    }
+
     public static TopicFactory topicFactory() {
         UserId userId = UserIdVBuilder.newBuilder()
                                       .setValue("test-user")
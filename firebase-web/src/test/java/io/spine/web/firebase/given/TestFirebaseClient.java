@@ -37,6 +37,7 @@ public final class TestFirebaseClient implements FirebaseClient {
 
     private final List<NodePath> reads = newArrayList();
     private final List<NodePath> writes = newArrayList();
+    private final List<NodePath> deletions = newArrayList();
 
     private final Duration writeLatency;
 
@@ -61,6 +62,11 @@ public final class TestFirebaseClient implements FirebaseClient {
         writes.add(nodePath);
     }
 
+    @Override
+    public void delete(NodePath nodePath) {
+        deletions.add(nodePath);
+    }
+
     public ImmutableList<NodePath> reads() {
         return ImmutableList.copyOf(reads);
     }
@@ -68,4 +74,8 @@ public final class TestFirebaseClient implements FirebaseClient {
     public ImmutableList<NodePath> writes() {
         return ImmutableList.copyOf(writes);
     }
+
+    public ImmutableList<NodePath> deletions() {
+        return ImmutableList.copyOf(deletions);
+    }
 }
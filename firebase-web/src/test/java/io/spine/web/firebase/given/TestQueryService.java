@@ -40,6 +40,7 @@ import static java.util.stream.Collectors.toSet;
 public final class TestQueryService extends QueryServiceGrpc.QueryServiceImplBase {
 
     private final Collection<EntityStateWithVersion> response;
+    private int readCount = 0;
 
     public TestQueryService(Message... messages) {
         super();
@@ -52,6 +53,7 @@ public final class TestQueryService extends QueryServiceGrpc.QueryServiceImplBas
 
     @Override
     public void read(Query request, StreamObserver<QueryResponse> responseObserver) {
+        readCount++;
         QueryResponse queryResponse =
                 QueryResponseVBuilder.newBuilder()
                                      .setResponse(ok())
@@ -61,6 +63,10 @@ public final class TestQueryService extends QueryServiceGrpc.QueryServiceImplBas
         responseObserver.onCompleted();
     }
 
+    public int readCount() {
+        return readCount;
+    }
+
     private static EntityStateWithVersion toEntityState(Message message) {
         EntityStateWithVersion result = EntityStateWithVersion
                 .newBuilder()
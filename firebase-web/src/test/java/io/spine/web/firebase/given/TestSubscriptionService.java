@@ -0,0 +1,98 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.firebase.given;
+
+import com.google.protobuf.Message;
+import io.grpc.stub.StreamObserver;
+import io.spine.client.Subscription;
+import io.spine.client.SubscriptionId;
+import io.spine.client.SubscriptionIdVBuilder;
+import io.spine.client.SubscriptionUpdate;
+import io.spine.client.SubscriptionUpdateVBuilder;
+import io.spine.client.SubscriptionVBuilder;
+import io.spine.client.Topic;
+import io.spine.client.grpc.SubscriptionServiceGrpc;
+import io.spine.core.Response;
+
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.collect.Lists.newArrayList;
+import static io.spine.core.Responses.ok;
+import static io.spine.protobuf.AnyPacker.pack;
+
+/**
+ * A subscription service which publishes the entity updates on demand.
+ */
+public final class TestSubscriptionService
+        extends SubscriptionServiceGrpc.SubscriptionServiceImplBase {
+
+    private final List<Subscription> cancelled = newArrayList();
+    private Subscription subscription;
+    private StreamObserver<SubscriptionUpdate> updateObserver;
+
+    @Override
+    public void subscribe(Topic topic, StreamObserver<Subscription> responseObserver) {
+        SubscriptionId id = SubscriptionIdVBuilder
+                .newBuilder()
+                .setValue("test-bounded-context-subscription")
+                .build();
+        subscription = SubscriptionVBuilder
+                .newBuilder()
+                .setId(id)
+                .setTopic(topic)
+                .build();
+        responseObserver.onNext(subscription);
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void activate(Subscription subscription,
+                         StreamObserver<SubscriptionUpdate> responseObserver) {
+        this.updateObserver = responseObserver;
+    }
+
+    @Override
+    public void cancel(Subscription subscription, StreamObserver<Response> responseObserver) {
+        cancelled.add(subscription);
+        responseObserver.onNext(ok());
+        responseObserver.onCompleted();
+    }
+
+    /**
+     * Publishes the given entity states as an update of the active subscription.
+     */
+    public void publish(Message... states) {
+        checkState(updateObserver != null, "The subscription is not activated.");
+        SubscriptionUpdateVBuilder update = SubscriptionUpdateVBuilder
+                .newBuilder()
+                .setSubscription(subscription)
+                .setResponse(ok());
+        for (Message state : states) {
+            update.addUpdates(pack(state));
+        }
+        updateObserver.onNext(update.build());
+    }
+
+    public List<Subscription> cancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.firebase.metrics;
+
+import io.spine.web.firebase.FirebaseClient;
+import io.spine.web.firebase.NodePath;
+import io.spine.web.firebase.NodePaths;
+import io.spine.web.firebase.NodeValue;
+import io.spine.web.firebase.given.TestFirebaseClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("InstrumentedClient should")
+class InstrumentedClientTest {
+
+    private static final NodePath PATH = NodePaths.of("some/path");
+
+    private InMemoryMetricsRegistry metrics;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new InMemoryMetricsRegistry();
+    }
+
+    @Test
+    @DisplayName("record the latency of each operation")
+    void recordLatency() {
+        Duration latency = Duration.ofMillis(20);
+        TestFirebaseClient delegate = TestFirebaseClient.withSimulatedLatency(latency);
+        FirebaseClient client = InstrumentedClient.wrap(delegate, metrics);
+        client.merge(PATH, NodeValue.empty());
+        client.merge(PATH, NodeValue.empty());
+        client.delete(PATH);
+
+        LatencyHistogram merges = metrics.latency(Operation.MERGE);
+        assertThat(merges.count()).isEqualTo(2);
+        assertThat(merges.max()).isAtLeast(latency);
+        assertThat(metrics.latency(Operation.DELETE).count()).isEqualTo(1);
+        assertThat(metrics.latency(Operation.READ).count()).isEqualTo(0);
+        assertThat(delegate.writes()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("record the failed operations")
+    void recordFailures() {
+        FirebaseClient delegate = mock(FirebaseClient.class);
+        doThrow(new IllegalStateException("Database is down."))
+                .when(delegate)
+                .merge(any(), any());
+        FirebaseClient client = InstrumentedClient.wrap(delegate, metrics);
+
+        assertThrows(IllegalStateException.class, () -> client.merge(PATH, NodeValue.empty()));
+        assertThat(metrics.failureCount(Operation.MERGE)).isEqualTo(1);
+        assertThat(metrics.latency(Operation.MERGE).count()).isEqualTo(1);
+        assertThat(metrics.gaugeValue(Gauge.IN_FLIGHT_OPERATIONS)).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("expose the number of operations in progress")
+    void exposeInFlight() {
+        FirebaseClient client = InstrumentedClient.wrap(new InFlightCheckingClient(1), metrics);
+        assertFalse(client.get(PATH)
+                          .isPresent());
+        assertThat(metrics.gaugeValue(Gauge.IN_FLIGHT_OPERATIONS)).isEqualTo(0);
+        assertThat(metrics.latency(Operation.READ).count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("sum the operations in progress of the clients sharing a registry")
+    void sumInFlight() {
+        FirebaseClient inner = InstrumentedClient.wrap(new InFlightCheckingClient(2), metrics);
+        FirebaseClient outerDelegate = mock(FirebaseClient.class);
+        doAnswer(invocation -> inner.get(PATH))
+                .when(outerDelegate)
+                .get(any());
+        FirebaseClient outer = InstrumentedClient.wrap(outerDelegate, metrics);
+
+        assertFalse(outer.get(PATH)
+                         .isPresent());
+        assertThat(metrics.gaugeValue(Gauge.IN_FLIGHT_OPERATIONS)).isEqualTo(0);
+        assertThat(metrics.latency(Operation.READ).count()).isEqualTo(2);
+    }
+
+    /**
+     * A client which checks the number of the operations in progress during its read.
+     */
+    private final class InFlightCheckingClient implements FirebaseClient {
+
+        private final long expectedInFlight;
+
+        private InFlightCheckingClient(long expectedInFlight) {
+            this.expectedInFlight = expectedInFlight;
+        }
+
+        @Override
+        public Optional<NodeValue> get(NodePath nodePath) {
+            assertThat(metrics.gaugeValue(Gauge.IN_FLIGHT_OPERATIONS))
+                    .isEqualTo(expectedInFlight);
+            return Optional.empty();
+        }
+
+        @Override
+        public void merge(NodePath nodePath, NodeValue value) {
+            fail("Unexpected write.");
+        }
+
+        @Override
+        public void delete(NodePath nodePath) {
+            fail("Unexpected deletion.");
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.firebase.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.time.Duration.ofMillis;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("LatencyHistogram should")
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("be empty initially")
+    void beEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertThat(histogram.count()).isEqualTo(0);
+        assertThat(histogram.mean()).isEqualTo(Duration.ZERO);
+        assertThat(histogram.quantile(0.99)).isEqualTo(Duration.ZERO);
+    }
+
+    @Test
+    @DisplayName("put latencies into the buckets by the upper bound")
+    void fillBuckets() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(ofMillis(1));
+        histogram.record(ofMillis(3));
+        histogram.record(ofMillis(5));
+        histogram.record(ofMillis(60_000));
+
+        assertThat(histogram.bucketCounts()).containsExactly(1L, 0L, 2L, 0L, 0L, 0L, 0L,
+                                                             0L, 0L, 0L, 0L, 0L, 0L, 1L)
+                                            .inOrder();
+        assertThat(histogram.count()).isEqualTo(4);
+        assertThat(histogram.max()).isEqualTo(ofMillis(60_000));
+    }
+
+    @Test
+    @DisplayName("estimate quantiles")
+    void estimateQuantiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(ofMillis(8));
+        }
+        histogram.record(ofMillis(15_000));
+
+        assertThat(histogram.quantile(0.5)).isEqualTo(ofMillis(10));
+        assertThat(histogram.quantile(0.99)).isEqualTo(ofMillis(10));
+        assertThat(histogram.quantile(1)).isEqualTo(ofMillis(15_000));
+    }
+
+    @SuppressWarnings({"ResultOfMethodCallIgnored", "CheckReturnValue"}) // Method called to throw.
+    @Test
+    @DisplayName("not accept quantiles out of range")
+    void rejectInvalidQuantile() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertThrows(IllegalArgumentException.class, () -> histogram.quantile(0));
+        assertThrows(IllegalArgumentException.class, () -> histogram.quantile(1.5));
+    }
+}
@@ -20,33 +20,58 @@
 
 package io.spine.web.firebase.query;
 
+import com.google.gson.JsonElement;
 import com.google.protobuf.Empty;
 import com.google.protobuf.Message;
 import com.google.protobuf.Timestamp;
+import io.grpc.stub.StreamObserver;
 import io.spine.base.Time;
 import io.spine.client.Query;
 import io.spine.client.QueryFactory;
+import io.spine.client.QueryResponse;
+import io.spine.client.grpc.QueryServiceGrpc.QueryServiceImplBase;
 import io.spine.server.QueryService;
 import io.spine.testing.client.TestActorRequestFactory;
 import io.spine.web.firebase.FirebaseClient;
+import io.spine.web.firebase.NodeValue;
+import io.spine.web.firebase.given.Book;
 import io.spine.web.firebase.given.TestQueryService;
+import io.spine.web.firebase.subscription.given.HasChildCount;
 import io.spine.web.firebase.subscription.given.HasChildren;
 import io.spine.web.query.QueryProcessingResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
+import javax.servlet.ServletResponse;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
 
+import static io.spine.json.Json.fromJson;
 import static io.spine.json.Json.toCompactJson;
+import static io.spine.web.firebase.EntryFormat.JSON_OBJECT;
+import static io.spine.web.firebase.given.FirebaseResultTestEnv.mockWriter;
+import static io.spine.web.firebase.given.FirebaseSubscriptionRecordTestEnv.Books.aliceInWonderland;
 import static io.spine.web.firebase.subscription.given.HasChildren.anyKey;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.after;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @DisplayName("FirebaseQueryBridge should")
@@ -113,4 +138,218 @@ class FirebaseQueryBridgeTest {
         expected.put(anyKey(), toCompactJson(dataElement));
         verify(firebaseClient).merge(any(), argThat(new HasChildren(expected)));
     }
+
+    @Test
+    @DisplayName("write query results as native JSON objects if configured")
+    void writeJsonObjects() {
+        Message dataElement = aliceInWonderland();
+        FirebaseQueryBridge bridge = bridgeFor(dataElement)
+                .setEntryFormat(JSON_OBJECT)
+                .build();
+        @SuppressWarnings("unused")
+        QueryProcessingResult ignored = bridge.send(queryFactory.all(Book.class));
+
+        ArgumentCaptor<NodeValue> captor = ArgumentCaptor.forClass(NodeValue.class);
+        verify(firebaseClient).merge(any(), captor.capture());
+        JsonElement child = captor.getValue()
+                                  .underlyingJson()
+                                  .entrySet()
+                                  .iterator()
+                                  .next()
+                                  .getValue();
+        assertTrue(child.isJsonObject());
+        assertEquals(JSON_OBJECT.child(toCompactJson(dataElement)), child);
+    }
+
+    @Test
+    @DisplayName("write all query results with a single request by default")
+    void writeSingleBatch() throws IOException {
+        FirebaseQueryBridge bridge = bridgeFor(timestamps(3))
+                .build();
+        QueryProcessingResult result = bridge.send(queryFactory.all(Timestamp.class));
+
+        verify(firebaseClient).merge(any(), argThat(new HasChildCount(3)));
+        assertCount(3, result);
+    }
+
+    @Test
+    @DisplayName("split query results into batches by entry count")
+    void splitByEntryCount() throws IOException {
+        FirebaseQueryBridge bridge = bridgeFor(timestamps(5))
+                .setMaxBatchEntries(2)
+                .build();
+        QueryProcessingResult result = bridge.send(queryFactory.all(Timestamp.class));
+
+        verify(firebaseClient, times(2)).merge(any(), argThat(new HasChildCount(2)));
+        verify(firebaseClient).merge(any(), argThat(new HasChildCount(1)));
+        assertCount(5, result);
+    }
+
+    @Test
+    @DisplayName("split query results into batches by size in bytes")
+    void splitBySize() throws IOException {
+        FirebaseQueryBridge bridge = bridgeFor(timestamps(3))
+                .setMaxBatchBytes(1)
+                .build();
+        QueryProcessingResult result = bridge.send(queryFactory.all(Timestamp.class));
+
+        verify(firebaseClient, times(3)).merge(any(), argThat(new HasChildCount(1)));
+        assertCount(3, result);
+    }
+
+    @Test
+    @DisplayName("reuse the cached result of an identical query")
+    void reuseCachedResult() throws IOException {
+        TestQueryService queryService = new TestQueryService(timestamps(2));
+        FirebaseQueryBridge bridge = FirebaseQueryBridge
+                .newBuilder()
+                .setQueryService(queryService)
+                .setFirebaseClient(firebaseClient)
+                .setCache(QueryResultCache.newBuilder()
+                                          .build())
+                .build();
+        QueryProcessingResult first = bridge.send(queryFactory.all(Timestamp.class));
+        QueryProcessingResult second = bridge.send(queryFactory.all(Timestamp.class));
+
+        assertEquals(1, queryService.readCount());
+        verify(firebaseClient, times(1)).merge(any(), any());
+        assertCount(2, second);
+        assertEquals(first, second);
+    }
+
+    @Test
+    @DisplayName("send query asynchronously")
+    void sendAsync() throws IOException {
+        FirebaseQueryBridge bridge = bridgeFor(timestamps(2))
+                .build();
+        QueryProcessingResult result = bridge.sendAsync(queryFactory.all(Timestamp.class))
+                                             .toCompletableFuture()
+                                             .join();
+
+        verify(firebaseClient).merge(any(), argThat(new HasChildCount(2)));
+        assertCount(2, result);
+    }
+
+    @Test
+    @DisplayName("reuse the cached result of an identical asynchronous query")
+    void reuseCachedResultAsync() {
+        TestQueryService queryService = new TestQueryService(timestamps(2));
+        FirebaseQueryBridge bridge = FirebaseQueryBridge
+                .newBuilder()
+                .setQueryService(queryService)
+                .setFirebaseClient(firebaseClient)
+                .setCache(QueryResultCache.newBuilder()
+                                          .build())
+                .build();
+        QueryProcessingResult first = bridge.sendAsync(queryFactory.all(Timestamp.class))
+                                            .toCompletableFuture()
+                                            .join();
+        QueryProcessingResult second = bridge.sendAsync(queryFactory.all(Timestamp.class))
+                                             .toCompletableFuture()
+                                             .join();
+
+        assertEquals(1, queryService.readCount());
+        assertEquals(first, second);
+    }
+
+    @Test
+    @DisplayName("fail the query which is not answered in time")
+    void failOnTimeout() {
+        QueryServiceImplBase silentService = new QueryServiceImplBase() {
+            @Override
+            public void read(Query request, StreamObserver<QueryResponse> responseObserver) {
+                // Never respond.
+            }
+        };
+        FirebaseQueryBridge bridge = FirebaseQueryBridge
+                .newBuilder()
+                .setQueryService(silentService)
+                .setFirebaseClient(firebaseClient)
+                .setQueryTimeout(Duration.ofMillis(10))
+                .build();
+        CompletableFuture<QueryProcessingResult> result =
+                bridge.sendAsync(queryFactory.all(Timestamp.class))
+                      .toCompletableFuture();
+
+        CompletionException thrown = assertThrows(CompletionException.class, result::join);
+        assertThat(thrown.getCause(), instanceOf(TimeoutException.class));
+        verify(firebaseClient, never()).merge(any(), any());
+    }
+
+    @Test
+    @DisplayName("delete the query result once its lifetime passes")
+    void deleteExpiredResult() {
+        FirebaseQueryBridge bridge = bridgeFor(timestamps(1))
+                .setResultLifetime(Duration.ofMillis(10))
+                .build();
+        Query query = queryFactory.all(Timestamp.class);
+        @SuppressWarnings("unused")
+        QueryProcessingResult ignored = bridge.send(query);
+
+        verify(firebaseClient, timeout(1000)).delete(QueryNodePath.of(query));
+    }
+
+    @Test
+    @DisplayName("not delete the query results after shutdown")
+    void notDeleteAfterShutdown() {
+        FirebaseQueryBridge bridge = bridgeFor(timestamps(1))
+                .setResultLifetime(Duration.ofMillis(200))
+                .build();
+        Query query = queryFactory.all(Timestamp.class);
+        @SuppressWarnings("unused")
+        QueryProcessingResult beforeShutdown = bridge.send(query);
+        bridge.shutdown();
+        @SuppressWarnings("unused")
+        QueryProcessingResult afterShutdown = bridge.send(query);
+
+        verify(firebaseClient, after(400).never()).delete(any());
+    }
+
+    @SuppressWarnings({"ResultOfMethodCallIgnored", "CheckReturnValue"}) // Method called to throw.
+    @Test
+    @DisplayName("require the result lifetime to exceed the cache TTL")
+    void rejectShortLifetime() {
+        FirebaseQueryBridge.Builder builder = bridgeFor()
+                .setCache(QueryResultCache.newBuilder()
+                                          .setTtl(Duration.ofSeconds(5))
+                                          .build())
+                .setResultLifetime(Duration.ofSeconds(5));
+        assertThrows(IllegalStateException.class, builder::build);
+    }
+
+    @SuppressWarnings({"ResultOfMethodCallIgnored", "CheckReturnValue"}) // Method called to throw.
+    @Test
+    @DisplayName("not accept non-positive batch limits")
+    void rejectNonPositiveLimits() {
+        FirebaseQueryBridge.Builder builder = FirebaseQueryBridge.newBuilder();
+        assertThrows(IllegalArgumentException.class, () -> builder.setMaxBatchEntries(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.setMaxBatchBytes(-1));
+    }
+
+    private static void assertCount(long expected, QueryProcessingResult result)
+            throws IOException {
+        ServletResponse response = mock(ServletResponse.class);
+        StringWriter writer = mockWriter(response);
+        result.writeTo(response);
+        FirebaseQueryResponse queryResponse = fromJson(writer.toString(),
+                                                       FirebaseQueryResponse.class);
+        assertEquals(expected, queryResponse.getCount());
+    }
+
+    private FirebaseQueryBridge.Builder bridgeFor(Message... queryResults) {
+        TestQueryService queryService = new TestQueryService(queryResults);
+        return FirebaseQueryBridge.newBuilder()
+                                  .setQueryService(queryService)
+                                  .setFirebaseClient(firebaseClient);
+    }
+
+    private static Message[] timestamps(int count) {
+        Message[] result = new Message[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = Timestamp.newBuilder()
+                                 .setSeconds(i)
+                                 .build();
+        }
+        return result;
+    }
 }
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.firebase.query;
+
+import com.google.common.testing.FakeTicker;
+import com.google.protobuf.Timestamp;
+import io.spine.client.Query;
+import io.spine.client.QueryFactory;
+import io.spine.core.UserId;
+import io.spine.core.Version;
+import io.spine.testing.client.TestActorRequestFactory;
+import io.spine.type.TypeUrl;
+import io.spine.web.firebase.NodePaths;
+import io.spine.web.firebase.given.TestSubscriptionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static com.google.protobuf.util.Durations.fromSeconds;
+import static com.google.protobuf.util.Timestamps.add;
+import static io.spine.base.Time.currentTime;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@DisplayName("QueryResultCache should")
+class QueryResultCacheTest {
+
+    private static final QueryFactory queryFactory =
+            new TestActorRequestFactory(QueryResultCacheTest.class).query();
+    private static final Duration TTL = Duration.ofSeconds(10);
+
+    private FakeTicker ticker;
+    private QueryResultCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        ticker = new FakeTicker();
+        cache = QueryResultCache
+                .newBuilder()
+                .setTtl(TTL)
+                .setMaxSize(2)
+                .setTicker(ticker)
+                .build();
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("return the cached result for an identical query")
+    void returnCached() {
+        QueryResult first = cache.get(allTimestamps(), loader());
+        QueryResult second = cache.get(allTimestamps(), loader());
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("distinguish queries by field mask")
+    void distinguishFieldMask() {
+        Query masked = queryFactory.allWithMask(Timestamp.class, "seconds");
+
+        QueryResult first = cache.get(allTimestamps(), loader());
+        QueryResult second = cache.get(masked, loader());
+
+        assertNotSame(first, second);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("distinguish queries by actor")
+    void distinguishActor() {
+        UserId actor = UserId
+                .newBuilder()
+                .setValue("other-actor")
+                .build();
+        QueryFactory otherActor = new TestActorRequestFactory(actor).query();
+
+        QueryResult first = cache.get(allTimestamps(), loader());
+        QueryResult second = cache.get(otherActor.all(Timestamp.class), loader());
+
+        assertNotSame(first, second);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("share the result of an identical query being loaded asynchronously")
+    void shareAsyncLoad() {
+        CompletableFuture<QueryResult> pending = new CompletableFuture<>();
+        Supplier<CompletableFuture<QueryResult>> loader = () -> {
+            loads.incrementAndGet();
+            return pending;
+        };
+
+        CompletableFuture<QueryResult> first = cache.getAsync(allTimestamps(), loader);
+        CompletableFuture<QueryResult> second = cache.getAsync(allTimestamps(), loader);
+        QueryResult result = new QueryResult(NodePaths.of("query/async"), 0);
+        pending.complete(result);
+
+        assertSame(result, first.join());
+        assertSame(result, second.join());
+        assertSame(result, cache.getAsync(allTimestamps(), loader)
+                                .join());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("invalidate the result if the entity changes while the result is loaded")
+    void invalidateChangedDuringLoad() {
+        AtomicReference<Timestamp> changed = new AtomicReference<>();
+        cache.get(allTimestamps(), () -> {
+            changed.set(currentTime());
+            return loader().get();
+        });
+
+        cache.invalidate(TypeUrl.of(Timestamp.class), versionAt(changed.get()));
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("not cache the result if its type is invalidated while the result is loaded")
+    void discardInvalidatedDuringLoad() {
+        TypeUrl type = TypeUrl.of(Timestamp.class);
+        cache.get(allTimestamps(), () -> {
+            QueryResult result = loader().get();
+            cache.invalidate(type, versionAt(currentTime()));
+            return result;
+        });
+        assertEquals(0, cache.size());
+
+        CompletableFuture<QueryResult> pending = new CompletableFuture<>();
+        cache.getAsync(allTimestamps(), () -> pending);
+        cache.invalidate(type, versionAt(currentTime()));
+        pending.complete(loader().get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("invalidate the results upon the entity changes reported by the bounded context")
+    void invalidateOnSubscriptionUpdate() {
+        TestSubscriptionService subscriptionService = new TestSubscriptionService();
+        QueryResultCache watchingCache = QueryResultCache
+                .newBuilder()
+                .setSubscriptionService(subscriptionService)
+                .build();
+        watchingCache.get(allTimestamps(), loader());
+        assertEquals(1, watchingCache.size());
+
+        subscriptionService.publish(currentTime());
+
+        assertEquals(0, watchingCache.size());
+        watchingCache.get(allTimestamps(), loader());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("expire the result after TTL")
+    void expire() {
+        cache.get(allTimestamps(), loader());
+        ticker.advance(TTL.getSeconds() + 1, SECONDS);
+        cache.get(allTimestamps(), loader());
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("evict the results exceeding the maximum size")
+    void evict() {
+        cache.get(allTimestamps(), loader());
+        cache.get(queryFactory.allWithMask(Timestamp.class, "seconds"), loader());
+        cache.get(queryFactory.allWithMask(Timestamp.class, "nanos"), loader());
+
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    @DisplayName("invalidate the results materialized before a newer entity version")
+    void invalidateByVersion() {
+        cache.get(allTimestamps(), loader());
+        TypeUrl type = TypeUrl.of(Timestamp.class);
+
+        cache.invalidate(type, versionAt(Timestamp.getDefaultInstance()));
+        assertEquals(1, cache.size());
+
+        cache.invalidate(type, versionAt(add(currentTime(), fromSeconds(60))));
+        assertEquals(0, cache.size());
+    }
+
+    private static Query allTimestamps() {
+        return queryFactory.all(Timestamp.class);
+    }
+
+    private static Version versionAt(Timestamp timestamp) {
+        return Version.newBuilder()
+                      .setNumber(1)
+                      .setTimestamp(timestamp)
+                      .build();
+    }
+
+    private Supplier<QueryResult> loader() {
+        return () -> {
+            int count = loads.incrementAndGet();
+            return new QueryResult(NodePaths.of("query/" + count), count);
+        };
+    }
+}
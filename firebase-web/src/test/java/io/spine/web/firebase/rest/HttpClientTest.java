@@ -29,6 +29,9 @@ import com.google.api.client.http.LowLevelHttpResponse;
 import com.google.api.client.testing.http.MockHttpTransport;
 import com.google.api.client.testing.http.MockLowLevelHttpRequest;
 import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import com.google.gson.stream.JsonReader;
+import io.spine.web.firebase.metrics.Gauge;
+import io.spine.web.firebase.metrics.InMemoryMetricsRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -36,6 +39,10 @@ import java.io.IOException;
 
 import static com.google.api.client.http.ByteArrayContent.fromString;
 import static com.google.common.net.MediaType.JSON_UTF_8;
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.web.firebase.metrics.Operation.HTTP_DELETE;
+import static io.spine.web.firebase.metrics.Operation.HTTP_GET;
+import static io.spine.web.firebase.metrics.Operation.HTTP_PATCH;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -48,20 +55,25 @@ class HttpClientTest {
     private static final ByteArrayContent CONTENT = fromString(JSON_UTF_8.toString(), "content");
 
     @Test
-    @DisplayName("execute GET request")
-    void executeGetRequest() {
+    @DisplayName("execute GET request and read the response as a stream")
+    void readGetResponse() {
         HttpRequestFactory transport = mockRequestFactory(RESPONSE);
         HttpClient requestExecutor = HttpClient.using(transport);
-        String content = requestExecutor.get(URL);
-        assertEquals(RESPONSE, content);
+        String error = requestExecutor.read(URL, json -> {
+            json.beginObject();
+            json.nextName();
+            return json.nextString();
+        });
+        assertEquals("not found", error);
     }
 
     @Test
-    @DisplayName("throw RequestToFirebaseFailedException if an error occurs on GET request")
-    void throwIfErrorOnGet() {
+    @DisplayName("throw RequestToFirebaseFailedException if an error occurs on streamed GET")
+    void throwIfErrorOnRead() {
         HttpRequestFactory transport = throwingRequestFactory();
         HttpClient requestExecutor = HttpClient.using(transport);
-        assertThrows(RequestToFirebaseFailedException.class, () -> requestExecutor.get(URL));
+        assertThrows(RequestToFirebaseFailedException.class,
+                     () -> requestExecutor.read(URL, JsonReader::nextString));
     }
 
     @Test
@@ -100,6 +112,54 @@ class HttpClientTest {
                      () -> requestExecutor.patch(URL, CONTENT));
     }
 
+    @Test
+    @DisplayName("execute DELETE request")
+    void executeDeleteRequest() {
+        HttpRequestFactory transport = mockRequestFactory(RESPONSE);
+        HttpClient requestExecutor = HttpClient.using(transport);
+        String content = requestExecutor.delete(URL);
+        assertEquals(RESPONSE, content);
+    }
+
+    @Test
+    @DisplayName("throw RequestToFirebaseFailedException if an error occurs on DELETE request")
+    void throwIfErrorOnDelete() {
+        HttpRequestFactory transport = throwingRequestFactory();
+        HttpClient requestExecutor = HttpClient.using(transport);
+        assertThrows(RequestToFirebaseFailedException.class, () -> requestExecutor.delete(URL));
+    }
+
+    @Test
+    @DisplayName("record the metrics of the executed requests")
+    void recordMetrics() {
+        HttpRequestFactory transport = mockRequestFactory(RESPONSE);
+        InMemoryMetricsRegistry metrics = new InMemoryMetricsRegistry();
+        HttpClient requestExecutor = HttpClient.using(transport, metrics);
+        requestExecutor.read(URL, json -> {
+            json.skipValue();
+            return json;
+        });
+        requestExecutor.patch(URL, CONTENT);
+
+        assertThat(metrics.latency(HTTP_GET).count()).isEqualTo(1);
+        assertThat(metrics.responseBytes(HTTP_GET)).isEqualTo(RESPONSE.length());
+        assertThat(metrics.requestBytes(HTTP_PATCH)).isEqualTo(CONTENT.getLength());
+        assertThat(metrics.failureCount(HTTP_PATCH)).isEqualTo(0);
+        assertThat(metrics.gaugeValue(Gauge.IN_FLIGHT_REQUESTS)).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("record the failures of the requests")
+    void recordFailures() {
+        HttpRequestFactory transport = throwingRequestFactory();
+        InMemoryMetricsRegistry metrics = new InMemoryMetricsRegistry();
+        HttpClient requestExecutor = HttpClient.using(transport, metrics);
+        assertThrows(RequestToFirebaseFailedException.class, () -> requestExecutor.delete(URL));
+
+        assertThat(metrics.failureCount(HTTP_DELETE)).isEqualTo(1);
+        assertThat(metrics.latency(HTTP_DELETE).count()).isEqualTo(1);
+    }
+
     /**
      * Returns an {@code HttpRequestFactory} mock which returns the specified content on every
      * request.
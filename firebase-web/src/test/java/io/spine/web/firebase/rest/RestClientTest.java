@@ -22,7 +22,15 @@ package io.spine.web.firebase.rest;
 
 import com.google.api.client.http.ByteArrayContent;
 import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpRequestFactory;
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
+import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
 import com.google.common.testing.NullPointerTester;
+import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonReader;
 import io.spine.web.firebase.DatabaseUrl;
 import io.spine.web.firebase.DatabaseUrls;
 import io.spine.web.firebase.NodePath;
@@ -32,8 +40,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Maps.newLinkedHashMap;
+import static com.google.common.truth.Truth.assertThat;
 import static io.spine.testing.DisplayNames.NOT_ACCEPT_NULLS;
 import static io.spine.web.firebase.rest.RestClient.NULL_ENTRY;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -42,6 +56,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -82,7 +97,7 @@ class RestClientTest {
     @Test
     @DisplayName("retrieve data from given database path")
     void getData() {
-        when(httpClient.get(any())).thenReturn(DATA);
+        respondWith(DATA);
 
         Optional<NodeValue> result = client.get(path);
         assertTrue(result.isPresent());
@@ -95,27 +110,118 @@ class RestClientTest {
     @Test
     @DisplayName("return empty Optional in case of null data")
     void getNullData() {
-        when(httpClient.get(any())).thenReturn(NULL_ENTRY);
+        respondWith(NULL_ENTRY);
 
         Optional<NodeValue> result = client.get(path);
         assertFalse(result.isPresent());
     }
 
     @Test
-    @DisplayName("store data via PUT method when node is not present")
+    @DisplayName("read children of the given database path one by one")
+    void readChildren() {
+        respondWith("{\"a\":\"b\",\"c\":{\"d\":\"e\"}}");
+
+        Map<String, JsonElement> children = newLinkedHashMap();
+        client.forEachChild(path, children::put);
+        assertThat(children.keySet()).containsExactly("a", "c")
+                                     .inOrder();
+        assertEquals("b", children.get("a")
+                                  .getAsString());
+        assertTrue(children.get("c")
+                           .isJsonObject());
+    }
+
+    @Test
+    @DisplayName("read no children in case of null data")
+    void readNoChildren() {
+        respondWith(NULL_ENTRY);
+
+        List<String> keys = newArrayList();
+        client.forEachChild(path, (key, child) -> keys.add(key));
+        assertThat(keys).isEmpty();
+    }
+
+    @Test
+    @DisplayName("merge data via a single PATCH request by default")
+    void mergeViaSinglePatch() {
+        client.merge(path, value);
+        verify(httpClient).patch(eq(EXPECTED_NODE_URL), any(ByteArrayContent.class));
+        verify(httpClient, never()).read(any(), any());
+        verify(httpClient, never()).put(any(), any());
+    }
+
+    @Test
+    @DisplayName("send exactly one HTTP request per merge by default")
+    void sendOneRequestPerMerge() {
+        List<String> methods = newArrayList();
+        HttpRequestFactory requestFactory = recordingTransport(methods).createRequestFactory();
+        RestClient client = RestClient.create(DATABASE_URL, requestFactory);
+
+        client.merge(path, value);
+        client.merge(path, value);
+
+        assertThat(methods).containsExactly("PATCH", "PATCH");
+    }
+
+    @Test
+    @DisplayName("store data via PUT method when node is not present in read-before-write mode")
     void storeNewViaPut() {
-        when(httpClient.get(any())).thenReturn(NULL_ENTRY);
+        RestClient client = readBeforeWriteClient();
+        respondWith(NULL_ENTRY);
 
         client.merge(path, value);
         verify(httpClient).put(eq(EXPECTED_NODE_URL), any(ByteArrayContent.class));
     }
 
     @Test
-    @DisplayName("store data via PATCH method when node already exists")
+    @DisplayName("store data via PATCH method when node already exists in read-before-write mode")
     void updateExistingViaPatch() {
-        when(httpClient.get(any())).thenReturn(DATA);
+        RestClient client = readBeforeWriteClient();
+        respondWith(DATA);
 
         client.merge(path, value);
         verify(httpClient).patch(eq(EXPECTED_NODE_URL), any(ByteArrayContent.class));
     }
+
+    @Test
+    @DisplayName("delete data via DELETE method")
+    void deleteViaDelete() {
+        client.delete(path);
+        verify(httpClient).delete(EXPECTED_NODE_URL);
+    }
+
+    /**
+     * Makes the mock {@code HttpClient} stream the given data to every response reader.
+     */
+    private void respondWith(String data) {
+        when(httpClient.read(any(), any())).thenAnswer(invocation -> {
+            HttpClient.ResponseReader<?> reader = invocation.getArgument(1);
+            return reader.read(new JsonReader(new StringReader(data)));
+        });
+    }
+
+    private RestClient readBeforeWriteClient() {
+        return new RestClient(NODE_FACTORY, httpClient, MergeMode.READ_BEFORE_WRITE);
+    }
+
+    /**
+     * Creates an HTTP transport which records the methods of all the executed requests and
+     * responds with the {@code null} entry.
+     */
+    private static MockHttpTransport recordingTransport(List<String> methods) {
+        return new MockHttpTransport() {
+            @Override
+            public LowLevelHttpRequest buildRequest(String method, String url) {
+                methods.add(method);
+                return new MockLowLevelHttpRequest() {
+                    @Override
+                    public LowLevelHttpResponse execute() {
+                        MockLowLevelHttpResponse response = new MockLowLevelHttpResponse();
+                        response.setContent(NULL_ENTRY);
+                        return response;
+                    }
+                };
+            }
+        };
+    }
 }
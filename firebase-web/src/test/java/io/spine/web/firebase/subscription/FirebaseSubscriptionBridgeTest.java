@@ -20,6 +20,9 @@
 
 package io.spine.web.firebase.subscription;
 
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.protobuf.StringValue;
 import io.spine.client.Subscription;
 import io.spine.client.Topic;
 import io.spine.client.TopicFactory;
@@ -27,30 +30,51 @@ import io.spine.client.grpc.QueryServiceGrpc.QueryServiceImplBase;
 import io.spine.core.Response;
 import io.spine.server.QueryService;
 import io.spine.web.firebase.FirebaseClient;
+import io.spine.web.firebase.NodePath;
+import io.spine.web.firebase.NodePaths;
+import io.spine.web.firebase.NodeValue;
+import io.spine.web.firebase.emulator.LocalDatabase;
+import io.spine.web.firebase.given.Book;
+import io.spine.web.firebase.given.BookId;
 import io.spine.web.firebase.given.TestQueryService;
+import io.spine.web.firebase.given.TestSubscriptionService;
 import io.spine.web.subscription.result.SubscribeResult;
 import io.spine.web.subscription.result.SubscriptionCancelResult;
 import io.spine.web.subscription.result.SubscriptionKeepUpResult;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 import javax.servlet.ServletResponse;
 import java.io.IOException;
 import java.io.StringWriter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static io.spine.json.Json.fromJson;
 import static io.spine.json.Json.toCompactJson;
 import static io.spine.web.firebase.given.FirebaseSubscriptionBridgeTestEnv.assertSubscriptionPointsToFirebase;
+import static io.spine.web.firebase.given.FirebaseSubscriptionBridgeTestEnv.mockClient;
 import static io.spine.web.firebase.given.FirebaseSubscriptionBridgeTestEnv.mockWriter;
 import static io.spine.web.firebase.given.FirebaseSubscriptionBridgeTestEnv.newBridge;
 import static io.spine.web.firebase.given.FirebaseSubscriptionBridgeTestEnv.newResponse;
 import static io.spine.web.firebase.given.FirebaseSubscriptionBridgeTestEnv.newSubscription;
 import static io.spine.web.firebase.given.FirebaseSubscriptionBridgeTestEnv.newTarget;
 import static io.spine.web.firebase.given.FirebaseSubscriptionBridgeTestEnv.topicFactory;
+import static com.google.common.truth.Truth.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @DisplayName("FirebaseSubscriptionBridge should")
 class FirebaseSubscriptionBridgeTest {
@@ -61,7 +85,7 @@ class FirebaseSubscriptionBridgeTest {
     @BeforeEach
     void setUp() {
         QueryServiceImplBase queryService = new TestQueryService();
-        FirebaseClient firebaseClient = mock(FirebaseClient.class);
+        FirebaseClient firebaseClient = mockClient();
         bridge = newBridge(firebaseClient, queryService);
         topicFactory = topicFactory();
     }
@@ -86,6 +110,14 @@ class FirebaseSubscriptionBridgeTest {
         assertThrows(IllegalStateException.class, builder::build);
     }
 
+    @SuppressWarnings({"ResultOfMethodCallIgnored", "CheckReturnValue"}) // Method called to throw.
+    @Test
+    @DisplayName("not accept a negative maximum number of the node shadows")
+    void rejectNegativeMaxShadows() {
+        FirebaseSubscriptionBridge.Builder builder = FirebaseSubscriptionBridge.newBuilder();
+        assertThrows(IllegalArgumentException.class, () -> builder.setMaxShadows(-1));
+    }
+
     @Test
     @DisplayName("write OK response upon subscription keep up")
     void keepUpSubscription() throws IOException {
@@ -118,6 +150,20 @@ class FirebaseSubscriptionBridgeTest {
         assertEquals(toCompactJson(responseMessage), writer.toString());
     }
 
+    @Test
+    @DisplayName("delete the subscription node upon cancelling subscription")
+    void deleteNodeOnCancel() {
+        FirebaseClient firebaseClient = mockClient();
+        FirebaseSubscriptionBridge bridge = newBridge(firebaseClient, new TestQueryService());
+        Topic topic = topicFactory.forTarget(newTarget());
+        Subscription subscription = newSubscription(topic);
+
+        bridge.cancel(subscription);
+
+        verify(firebaseClient).delete(NodePaths.of(subscription.getId()
+                                                               .getValue()));
+    }
+
     @Test
     @DisplayName("set firebase path to Subscription ID upon subscribe")
     void subscribe() throws IOException {
@@ -133,4 +179,301 @@ class FirebaseSubscriptionBridgeTest {
         assertEquals(topic, subscription.getTopic());
         assertSubscriptionPointsToFirebase(subscription.getId(), topic);
     }
+
+    @Test
+    @DisplayName("subscribe asynchronously")
+    void subscribeAsync() throws IOException {
+        Topic topic = topicFactory.forTarget(newTarget());
+
+        SubscribeResult result = bridge.subscribeAsync(topic)
+                                       .toCompletableFuture()
+                                       .join();
+
+        ServletResponse response = mock(ServletResponse.class);
+        StringWriter writer = mockWriter(response);
+        result.writeTo(response);
+        Subscription subscription = fromJson(writer.toString(), Subscription.class);
+
+        assertEquals(topic, subscription.getTopic());
+        assertSubscriptionPointsToFirebase(subscription.getId(), topic);
+    }
+
+    @Test
+    @DisplayName("keep up subscription asynchronously")
+    void keepUpAsync() throws IOException {
+        Topic topic = topicFactory.forTarget(newTarget());
+        Subscription subscription = newSubscription(topic);
+
+        SubscriptionKeepUpResult result = bridge.keepUpAsync(subscription)
+                                                .toCompletableFuture()
+                                                .join();
+
+        ServletResponse response = mock(ServletResponse.class);
+        StringWriter writer = mockWriter(response);
+        result.writeTo(response);
+
+        assertEquals(toCompactJson(newResponse()), writer.toString());
+    }
+
+    @Nested
+    @DisplayName("in the push mode")
+    class PushMode {
+
+        private final Book firstBook = book("first", "Title");
+        private final Book secondBook = book("second", "Another title");
+
+        private TestQueryService queryService;
+        private TestSubscriptionService subscriptionService;
+        private FirebaseClient firebaseClient;
+        private SubscriptionRegistry registry;
+        private FirebaseSubscriptionBridge pushBridge;
+
+        @BeforeEach
+        void setUp() {
+            queryService = new TestQueryService(firstBook, secondBook);
+            subscriptionService = new TestSubscriptionService();
+            LocalDatabase database = LocalDatabase.newInstance();
+            firebaseClient = mockClient(delegatesTo(database.client()));
+            registry = SubscriptionRegistry
+                    .newBuilder()
+                    .setFirebaseClient(database.client())
+                    .build();
+            pushBridge = FirebaseSubscriptionBridge
+                    .newBuilder()
+                    .setQueryService(queryService)
+                    .setSubscriptionService(subscriptionService)
+                    .setFirebaseClient(firebaseClient)
+                    .setRegistry(registry)
+                    .build();
+        }
+
+        @AfterEach
+        void tearDown() {
+            registry.shutdown();
+        }
+
+        @Test
+        @DisplayName("require the subscription registry")
+        void requireRegistry() {
+            FirebaseSubscriptionBridge.Builder builder = FirebaseSubscriptionBridge
+                    .newBuilder()
+                    .setQueryService(queryService)
+                    .setSubscriptionService(subscriptionService)
+                    .setFirebaseClient(firebaseClient);
+            assertThrows(IllegalStateException.class, builder::build);
+        }
+
+        @Test
+        @DisplayName("write only the changed entity to its existing child")
+        void writeChangedEntity() {
+            pushBridge.subscribe(topicFactory.forTarget(newTarget()));
+            Book changedBook = firstBook.toBuilder()
+                                        .setName("New title")
+                                        .build();
+            subscriptionService.publish(changedBook);
+
+            List<NodeValue> writes = writtenValues(3);
+            String firstBookKey = keyOf(writes.get(0), firstBook);
+            JsonObject update = writes.get(2)
+                                      .underlyingJson();
+            assertThat(update.entrySet()).hasSize(1);
+            assertEquals(toCompactJson(changedBook),
+                         update.get(firstBookKey)
+                               .getAsString());
+        }
+
+        @Test
+        @DisplayName("add a new entity as a new child")
+        void addNewEntity() {
+            pushBridge.subscribe(topicFactory.forTarget(newTarget()));
+            Book newBook = book("third", "One more title");
+            subscriptionService.publish(newBook);
+
+            List<NodeValue> writes = writtenValues(3);
+            JsonObject update = writes.get(2)
+                                      .underlyingJson();
+            assertThat(update.entrySet()).hasSize(1);
+            assertThat(writes.get(0)
+                             .underlyingJson()
+                             .has(keyOf(writes.get(2), newBook))).isFalse();
+        }
+
+        @Test
+        @DisplayName("refresh the subscription node once the subscription is activated")
+        void refreshOnActivation() {
+            pushBridge.subscribe(topicFactory.forTarget(newTarget()));
+
+            assertEquals(2, queryService.readCount());
+            List<NodeValue> writes = writtenValues(2);
+            assertThat(writes.get(1)
+                             .underlyingJson()
+                             .entrySet()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("refresh the subscription node upon an entity without ID")
+        void refreshOnEntityWithoutId() {
+            pushBridge.subscribe(topicFactory.forTarget(newTarget()));
+            StringValue notEntity = StringValue
+                    .newBuilder()
+                    .setValue("Not an entity with ID")
+                    .build();
+            subscriptionService.publish(notEntity);
+            Book changedBook = firstBook.toBuilder()
+                                        .setName("New title")
+                                        .build();
+            subscriptionService.publish(changedBook);
+
+            assertEquals(3, queryService.readCount());
+            List<NodeValue> writes = writtenValues(4);
+            String firstBookKey = keyOf(writes.get(0), firstBook);
+            assertThat(writes.get(3)
+                             .underlyingJson()
+                             .has(firstBookKey)).isTrue();
+        }
+
+        @Test
+        @DisplayName("not query the bounded context upon keep-up")
+        void notQueryOnKeepUp() {
+            Subscription subscription = subscribeAndParse(pushBridge);
+            int queriesOnSubscribe = queryService.readCount();
+
+            pushBridge.keepUp(subscription);
+            pushBridge.keepUp(subscription);
+
+            assertEquals(queriesOnSubscribe, queryService.readCount());
+        }
+
+        @Test
+        @DisplayName("cancel the subscription in the bounded context")
+        void cancelInBoundedContext() {
+            Subscription subscription = subscribeAndParse(pushBridge);
+
+            pushBridge.cancel(subscription);
+
+            assertThat(subscriptionService.cancelled()).hasSize(1);
+        }
+
+        private List<NodeValue> writtenValues(int expectedCount) {
+            return FirebaseSubscriptionBridgeTest.writtenValues(firebaseClient, expectedCount);
+        }
+    }
+
+    @Nested
+    @DisplayName("with the node shadows")
+    class Shadows {
+
+        private FirebaseClient firebaseClient;
+        private TestQueryService queryService;
+
+        @BeforeEach
+        void setUp() {
+            firebaseClient = mockClient();
+            queryService = new TestQueryService(book("first", "Title"),
+                                                book("second", "Another title"));
+        }
+
+        @Test
+        @DisplayName("not read the subscription node upon keep-up")
+        void notReadOnKeepUp() {
+            FirebaseSubscriptionBridge bridge = shadowedBridge();
+            Subscription subscription = subscribeAndParse(bridge);
+
+            bridge.keepUp(subscription);
+            bridge.keepUp(subscription);
+
+            verify(firebaseClient, never()).get(any());
+            List<NodeValue> writes = writtenValues(firebaseClient, 3);
+            assertThat(writes.get(2)
+                             .underlyingJson()
+                             .entrySet()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("read the subscription node upon keep-up if the shadows are not enabled")
+        void readWithoutShadows() {
+            FirebaseSubscriptionBridge bridge = newBridge(firebaseClient, queryService);
+            Subscription subscription = subscribeAndParse(bridge);
+
+            bridge.keepUp(subscription);
+
+            verify(firebaseClient).get(any());
+        }
+
+        @Test
+        @DisplayName("read the subscription node upon keep-up after a failed write")
+        void readAfterFailedWrite() {
+            FirebaseSubscriptionBridge bridge = shadowedBridge();
+            Subscription subscription = subscribeAndParse(bridge);
+            CompletableFuture<Void> failedWrite = new CompletableFuture<>();
+            failedWrite.completeExceptionally(new IllegalStateException("Write failed."));
+            doReturn(failedWrite).when(firebaseClient)
+                                 .mergeAsync(any(), any());
+
+            bridge.keepUp(subscription);
+            verify(firebaseClient, never()).get(any());
+
+            bridge.keepUp(subscription);
+            verify(firebaseClient).get(any());
+        }
+
+        private FirebaseSubscriptionBridge shadowedBridge() {
+            return FirebaseSubscriptionBridge
+                    .newBuilder()
+                    .setQueryService(queryService)
+                    .setFirebaseClient(firebaseClient)
+                    .setMaxShadows(1000)
+                    .build();
+        }
+    }
+
+    private Subscription subscribeAndParse(FirebaseSubscriptionBridge bridge) {
+        SubscribeResult result = bridge.subscribe(topicFactory.forTarget(newTarget()));
+        ServletResponse response = mock(ServletResponse.class);
+        try {
+            StringWriter writer = mockWriter(response);
+            result.writeTo(response);
+            return fromJson(writer.toString(), Subscription.class);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<NodeValue> writtenValues(FirebaseClient firebaseClient,
+                                                 int expectedCount) {
+        ArgumentCaptor<NodeValue> values = ArgumentCaptor.forClass(NodeValue.class);
+        verify(firebaseClient, times(expectedCount)).merge(any(NodePath.class),
+                                                           values.capture());
+        return values.getAllValues();
+    }
+
+    private static Book book(String id, String name) {
+        BookId bookId = BookId
+                .newBuilder()
+                .setValue(id)
+                .build();
+        return Book.newBuilder()
+                   .setId(bookId)
+                   .setName(name)
+                   .build();
+    }
+
+    /**
+     * Finds the key of the child which holds the entity with the ID of the given book.
+     */
+    private static String keyOf(NodeValue value, Book book) {
+        String bookId = book.getId()
+                            .getValue();
+        for (Map.Entry<String, JsonElement> child : value.underlyingJson()
+                                                          .entrySet()) {
+            Book stored = fromJson(child.getValue()
+                                        .getAsString(), Book.class);
+            if (stored.getId()
+                      .getValue()
+                      .equals(bookId)) {
+                return child.getKey();
+            }
+        }
+        throw new AssertionError("No child holds the book " + bookId);
+    }
 }
@@ -20,21 +20,31 @@
 
 package io.spine.web.firebase.subscription;
 
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
 import io.spine.client.QueryResponse;
 import io.spine.web.firebase.FirebaseClient;
 import io.spine.web.firebase.NodePath;
 import io.spine.web.firebase.NodePaths;
 import io.spine.web.firebase.NodeValue;
 import io.spine.web.firebase.given.Book;
+import io.spine.web.firebase.subscription.diff.EntryShadow;
 import io.spine.web.firebase.subscription.given.HasChildren;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 
 import static io.spine.json.Json.toCompactJson;
+import static io.spine.web.firebase.EntryFormat.JSON_OBJECT;
+import static io.spine.web.firebase.EntryFormat.JSON_STRING;
+import static io.spine.web.firebase.given.FirebaseSubscriptionBridgeTestEnv.mockClient;
 import static io.spine.web.firebase.given.FirebaseSubscriptionRecordTestEnv.Authors.gangOfFour;
 import static io.spine.web.firebase.given.FirebaseSubscriptionRecordTestEnv.Books.aliceInWonderland;
 import static io.spine.web.firebase.given.FirebaseSubscriptionRecordTestEnv.Books.designPatterns;
@@ -43,17 +53,19 @@ import static io.spine.web.firebase.given.FirebaseSubscriptionRecordTestEnv.Book
 import static io.spine.web.firebase.given.FirebaseSubscriptionRecordTestEnv.mockQueryResponse;
 import static io.spine.web.firebase.given.FirebaseSubscriptionRecordTestEnv.updateAuthors;
 import static io.spine.web.firebase.subscription.given.HasChildren.anyKey;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @DisplayName("SubscriptionRecord should")
 class QueryRecordTest {
 
-    private final FirebaseClient firebaseClient = mock(FirebaseClient.class);
+    private final FirebaseClient firebaseClient = mockClient();
 
     @Test
     @DisplayName("store an initial subscription adding new entries")
@@ -65,7 +77,8 @@ class QueryRecordTest {
         QueryResponse queryResponse = mockQueryResponse(aliceInWonderland, donQuixote);
 
         NodePath queryResponsePath = NodePaths.of(dbPath);
-        SubscriptionRecord record = new SubscriptionRecord(queryResponsePath, queryResponse);
+        SubscriptionRecord record = new SubscriptionRecord(queryResponsePath, queryResponse,
+                                                           JSON_STRING);
         record.storeAsInitial(firebaseClient);
 
         Map<String, String> expected = new HashMap<>();
@@ -94,7 +107,8 @@ class QueryRecordTest {
                                                         designPatternsWithAuthors);
         NodePath queryResponsePath = NodePaths.of(dbPath);
         SubscriptionRecord record = new SubscriptionRecord(queryResponsePath,
-                                                           queryResponse);
+                                                           queryResponse,
+                                                           JSON_STRING);
         NodeValue existingValue = NodeValue.empty();
         existingValue.addChild(toCompactJson(aliceInWonderland));
         String patternsKey = existingValue.addChild(toCompactJson(designPatterns));
@@ -102,7 +116,7 @@ class QueryRecordTest {
 
         when(firebaseClient.get(any())).thenReturn(Optional.of(existingValue));
 
-        record.storeAsUpdate(firebaseClient);
+        record.storeAsUpdate(firebaseClient, null);
 
         Map<String, String> expected = new HashMap<>();
         expected.put(anyKey(), toCompactJson(donQuixote));
@@ -111,6 +125,34 @@ class QueryRecordTest {
         verify(firebaseClient).merge(eq(queryResponsePath), argThat(new HasChildren(expected)));
     }
 
+    @Test
+    @DisplayName("store a subscription update calculated against the node shadow")
+    void storeUpdateWithShadow() {
+        Book aliceInWonderland = aliceInWonderland();
+        Book designPatterns = designPatterns();
+        Book designPatternsWithAuthors = updateAuthors(designPatterns, gangOfFour());
+        Book guideToTheGalaxy = guideToTheGalaxy();
+
+        NodeValue storedValue = NodeValue.empty();
+        storedValue.addChild(toCompactJson(aliceInWonderland));
+        String patternsKey = storedValue.addChild(toCompactJson(designPatterns));
+        String guideKey = storedValue.addChild(toCompactJson(guideToTheGalaxy));
+        EntryShadow shadow = EntryShadow.of(storedValue);
+
+        QueryResponse queryResponse = mockQueryResponse(aliceInWonderland,
+                                                        designPatternsWithAuthors);
+        NodePath path = NodePaths.of("subscription-update-shadow");
+        SubscriptionRecord record = new SubscriptionRecord(path, queryResponse, JSON_STRING);
+        EntryShadow updated = record.storeAsUpdate(firebaseClient, shadow);
+
+        Map<String, String> expected = new HashMap<>();
+        expected.put(patternsKey, toCompactJson(designPatternsWithAuthors));
+        expected.put(guideKey, "null");
+        verify(firebaseClient).merge(eq(path), argThat(new HasChildren(expected)));
+        verify(firebaseClient, never()).get(any());
+        assertEquals(2, updated.size());
+    }
+
     @Test
     @DisplayName("store a subscription update even when no initial record is present")
     void storeUpdateWhenNoInitialPresent() {
@@ -121,11 +163,110 @@ class QueryRecordTest {
 
         NodePath queryResponsePath = NodePaths.of(dbPath);
         SubscriptionRecord record = new SubscriptionRecord(queryResponsePath,
-                                                           queryResponse);
-        record.storeAsUpdate(firebaseClient);
+                                                           queryResponse,
+                                                           JSON_STRING);
+        record.storeAsUpdate(firebaseClient, null);
 
         Map<String, String> expected = new HashMap<>();
         expected.put(anyKey(), toCompactJson(aliceInWonderland));
         verify(firebaseClient).merge(eq(queryResponsePath), argThat(new HasChildren(expected)));
     }
+
+    @Test
+    @DisplayName("store entries as native JSON objects")
+    void storeObjects() {
+        Book aliceInWonderland = aliceInWonderland();
+        QueryResponse queryResponse = mockQueryResponse(aliceInWonderland);
+        NodePath path = NodePaths.of("subscription-create-objects");
+        SubscriptionRecord record = new SubscriptionRecord(path, queryResponse, JSON_OBJECT);
+        NodeValue written = record.storeAsInitial(firebaseClient);
+
+        verify(firebaseClient).merge(path, written);
+        JsonObject children = written.underlyingJson();
+        assertEquals(1, children.entrySet()
+                                .size());
+        String key = children.keySet()
+                             .iterator()
+                             .next();
+        assertTrue(children.get(key)
+                           .isJsonObject());
+        assertEquals(JSON_OBJECT.child(toCompactJson(aliceInWonderland)), children.get(key));
+    }
+
+    @Test
+    @DisplayName("remove native JSON entries with the JSON null")
+    void removeObjects() {
+        Book aliceInWonderland = aliceInWonderland();
+        Book designPatterns = designPatterns();
+        Book designPatternsWithAuthors = updateAuthors(designPatterns, gangOfFour());
+        Book guideToTheGalaxy = guideToTheGalaxy();
+
+        NodeValue storedValue = NodeValue.empty();
+        storedValue.addChild(JSON_OBJECT.child(toCompactJson(aliceInWonderland)));
+        String patternsKey = storedValue.addChild(JSON_OBJECT.child(toCompactJson(designPatterns)));
+        String guideKey = storedValue.addChild(JSON_OBJECT.child(toCompactJson(guideToTheGalaxy)));
+        when(firebaseClient.get(any())).thenReturn(Optional.of(storedValue));
+
+        QueryResponse queryResponse = mockQueryResponse(aliceInWonderland,
+                                                        designPatternsWithAuthors);
+        NodePath path = NodePaths.of("subscription-update-objects");
+        SubscriptionRecord record = new SubscriptionRecord(path, queryResponse, JSON_OBJECT);
+        EntryShadow updated = record.storeAsUpdate(firebaseClient, null);
+
+        ArgumentCaptor<NodeValue> captor = ArgumentCaptor.forClass(NodeValue.class);
+        verify(firebaseClient).merge(eq(path), captor.capture());
+        JsonObject children = captor.getValue()
+                                    .underlyingJson();
+        assertEquals(2, children.entrySet()
+                                .size());
+        assertEquals(JSON_OBJECT.child(toCompactJson(designPatternsWithAuthors)),
+                     children.get(patternsKey));
+        assertEquals(JsonNull.INSTANCE, children.get(guideKey));
+        assertEquals(2, updated.size());
+    }
+
+    @Test
+    @DisplayName("not rewrite native JSON entries read back with the keys sorted")
+    void matchSortedObjects() {
+        Book aliceInWonderland = aliceInWonderland();
+        Book donQuixote = donQuixote();
+        NodeValue storedValue = NodeValue.empty();
+        storedValue.addChild(sorted(JSON_OBJECT.child(toCompactJson(aliceInWonderland))));
+        storedValue.addChild(sorted(JSON_OBJECT.child(toCompactJson(donQuixote))));
+        when(firebaseClient.get(any())).thenReturn(Optional.of(storedValue));
+
+        QueryResponse queryResponse = mockQueryResponse(aliceInWonderland, donQuixote);
+        NodePath path = NodePaths.of("subscription-update-sorted");
+        SubscriptionRecord record = new SubscriptionRecord(path, queryResponse, JSON_OBJECT);
+        record.storeAsUpdate(firebaseClient, null);
+
+        ArgumentCaptor<NodeValue> captor = ArgumentCaptor.forClass(NodeValue.class);
+        verify(firebaseClient).merge(eq(path), captor.capture());
+        assertTrue(captor.getValue()
+                         .underlyingJson()
+                         .entrySet()
+                         .isEmpty());
+    }
+
+    /**
+     * Copies the given JSON with the object keys sorted, as the database returns them.
+     */
+    private static JsonElement sorted(JsonElement json) {
+        if (json.isJsonObject()) {
+            Map<String, JsonElement> fields = new TreeMap<>();
+            json.getAsJsonObject()
+                .entrySet()
+                .forEach(field -> fields.put(field.getKey(), field.getValue()));
+            JsonObject result = new JsonObject();
+            fields.forEach((key, value) -> result.add(key, sorted(value)));
+            return result;
+        }
+        if (json.isJsonArray()) {
+            JsonArray result = new JsonArray();
+            json.getAsJsonArray()
+                .forEach(element -> result.add(sorted(element)));
+            return result;
+        }
+        return json;
+    }
 }
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.firebase.subscription;
+
+import io.spine.web.firebase.FirebaseClient;
+import io.spine.web.firebase.NodePath;
+import io.spine.web.firebase.NodePaths;
+import io.spine.web.firebase.NodeValue;
+import io.spine.web.firebase.emulator.LocalDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("SubscriptionRegistry should")
+class SubscriptionRegistryTest {
+
+    private static final Duration LEASE = Duration.ofSeconds(30);
+
+    private final NodePath path = NodePaths.of("subscriptions/test");
+    private final NodePath leaseNode = NodePaths.of("subscriptionLeases");
+
+    private LocalDatabase database;
+    private FirebaseClient firebaseClient;
+    private MovingClock clock;
+    private SubscriptionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        database = LocalDatabase.newInstance();
+        firebaseClient = database.client();
+        firebaseClient.merge(path, NodeValue.withSingleChild("{}"));
+        clock = new MovingClock();
+        registry = newRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.shutdown();
+    }
+
+    private SubscriptionRegistry newRegistry() {
+        return SubscriptionRegistry
+                .newBuilder()
+                .setFirebaseClient(firebaseClient)
+                .setLease(LEASE)
+                .setReapInterval(Duration.ofHours(1))
+                .setClock(clock)
+                .build();
+    }
+
+    @Test
+    @DisplayName("delete the subscription node and its lease on cancel")
+    void deleteOnCancel() {
+        registry.register(path, () -> {});
+        assertTrue(database.read(leaseNode)
+                           .isPresent());
+
+        registry.cancel(path);
+
+        assertFalse(database.read(path)
+                            .isPresent());
+        assertFalse(database.read(leaseNode)
+                            .isPresent());
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    @DisplayName("delete the node of the subscription whose lease has expired")
+    void reapExpired() {
+        AtomicInteger expired = new AtomicInteger();
+        registry.register(path, expired::incrementAndGet);
+
+        clock.advance(LEASE.plusSeconds(1));
+
+        assertEquals(1, registry.reapExpired());
+        assertEquals(1, expired.get());
+        assertFalse(database.read(path)
+                            .isPresent());
+        assertFalse(database.read(leaseNode)
+                            .isPresent());
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    @DisplayName("keep the subscription whose lease is renewed")
+    void keepRenewed() {
+        registry.register(path, () -> {});
+
+        clock.advance(LEASE.minusSeconds(1));
+        registry.register(path, () -> {});
+        clock.advance(LEASE.minusSeconds(1));
+
+        assertEquals(0, registry.reapExpired());
+        assertTrue(database.read(path)
+                           .isPresent());
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    @DisplayName("keep the subscription whose lease is renewed by another instance")
+    void keepRenewedElsewhere() {
+        SubscriptionRegistry other = newRegistry();
+        try {
+            registry.register(path, () -> {});
+
+            clock.advance(LEASE.minusSeconds(1));
+            other.register(path, () -> {});
+            clock.advance(LEASE.minusSeconds(1));
+
+            assertEquals(0, registry.reapExpired());
+            assertTrue(database.read(path)
+                               .isPresent());
+        } finally {
+            other.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("forget the subscription reaped by another instance")
+    void forgetReapedElsewhere() {
+        SubscriptionRegistry other = newRegistry();
+        try {
+            AtomicInteger expired = new AtomicInteger();
+            registry.register(path, expired::incrementAndGet);
+
+            clock.advance(LEASE.plusSeconds(1));
+
+            assertEquals(1, other.reapExpired());
+            assertFalse(database.read(path)
+                                .isPresent());
+            assertEquals(0, registry.reapExpired());
+            assertEquals(1, expired.get());
+            assertEquals(0, registry.size());
+        } finally {
+            other.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("keep the new subscription whose lease is not yet written")
+    void keepNewBeforeLeaseWritten() {
+        AtomicInteger expired = new AtomicInteger();
+        registry.register(path, expired::incrementAndGet);
+        firebaseClient.delete(leaseNode);
+
+        clock.advance(LEASE.minusSeconds(1));
+
+        assertEquals(0, registry.reapExpired());
+        assertEquals(0, expired.get());
+        assertEquals(1, registry.size());
+    }
+
+    /**
+     * A clock which moves only when asked.
+     */
+    private static final class MovingClock extends Clock {
+
+        private volatile Instant now = Instant.now();
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -20,7 +20,11 @@
 
 package io.spine.web.firebase.subscription.diff;
 
+import io.spine.web.firebase.FirebaseClient;
+import io.spine.web.firebase.NodePath;
+import io.spine.web.firebase.NodePaths;
 import io.spine.web.firebase.NodeValue;
+import io.spine.web.firebase.emulator.LocalDatabase;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -28,6 +32,8 @@ import java.util.Collections;
 import java.util.List;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static io.spine.web.firebase.EntryFormat.JSON_OBJECT;
+import static java.lang.String.format;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -97,6 +103,97 @@ class EntityEntryUpdatesDiffTest {
         assertEquals(1, diff.getRemovedCount());
     }
 
+    @Test
+    @DisplayName("match each existing object without ID at most once")
+    void matchDuplicatesOnce() {
+        NodeValue value = nodeValue("{\"a\":1}", "{\"a\":1}", "{\"a\":1}");
+
+        Diff diff = DiffCalculator
+                .from(value)
+                .compareWith(newArrayList("{\"a\":1}", "{\"a\":1}"));
+
+        assertEquals(0, diff.getChangedCount());
+        assertEquals(0, diff.getAddedCount());
+        assertEquals(1, diff.getRemovedCount());
+    }
+
+    @Test
+    @DisplayName("match identical objects before matching objects by ID")
+    void matchIdenticalFirst() {
+        NodeValue value = nodeValue("{\"id\":\"1\",\"a\":1}");
+
+        Diff diff = DiffCalculator
+                .from(value)
+                .compareWith(newArrayList("{\"id\":\"1\",\"a\":2}",
+                                          "{\"id\":\"1\",\"a\":1}"));
+
+        assertEquals(0, diff.getChangedCount());
+        assertEquals(1, diff.getAddedCount());
+        assertEquals(0, diff.getRemovedCount());
+    }
+
+    @Test
+    @DisplayName("match a large number of objects regardless of their order")
+    void matchManyObjects() {
+        int count = 10_000;
+        NodeValue value = NodeValue.empty();
+        List<String> newEntries = newArrayList();
+        for (int i = 0; i < count; i++) {
+            value.addChild(format("{\"id\":\"%d\",\"value\":0}", i));
+            int changedValue = i % 2;
+            newEntries.add(format("{\"id\":\"%d\",\"value\":%d}", i, changedValue));
+            newEntries.add(format("{\"noId\":%d}", i));
+        }
+        Collections.reverse(newEntries);
+
+        Diff diff = DiffCalculator
+                .from(value)
+                .compareWith(newEntries);
+
+        assertEquals(count / 2, diff.getChangedCount());
+        assertEquals(count, diff.getAddedCount());
+        assertEquals(0, diff.getRemovedCount());
+    }
+
+    @Test
+    @DisplayName("not change objects read back with the keys sorted")
+    void matchSortedObjects() {
+        NodeValue value = NodeValue.from(
+                "{\"k1\":{\"a\":1,\"id\":{\"value\":\"1\"}},"
+                        + "\"k2\":{\"list\":[{\"x\":1.0,\"y\":2}],\"z\":true}}");
+
+        Diff diff = DiffCalculator
+                .from(value)
+                .compareWith(newArrayList("{\"id\":{\"value\":\"1\"},\"a\":1}",
+                                          "{\"z\":true,\"list\":[{\"y\":2,\"x\":1}]}"));
+
+        assertEquals(0, diff.getChangedCount());
+        assertEquals(0, diff.getAddedCount());
+        assertEquals(0, diff.getRemovedCount());
+    }
+
+    @Test
+    @DisplayName("not change objects with empty values read back from the database")
+    void matchObjectsWithEmptyValues() {
+        String entry = "{\"id\":\"1\",\"details\":{},\"tags\":[]}";
+        NodeValue written = NodeValue.empty();
+        written.addChild(JSON_OBJECT.child(entry));
+        FirebaseClient database = LocalDatabase.newInstance()
+                                               .client();
+        NodePath path = NodePaths.of("query/entries");
+        database.merge(path, written);
+        NodeValue stored = database.get(path)
+                                   .get();
+
+        Diff diff = DiffCalculator
+                .from(stored)
+                .compareWith(newArrayList(entry));
+
+        assertEquals(0, diff.getChangedCount());
+        assertEquals(0, diff.getAddedCount());
+        assertEquals(0, diff.getRemovedCount());
+    }
+
     @SuppressWarnings({"ResultOfMethodCallIgnored", "CheckReturnValue"}) // Method called to throw.
     @Test
     @DisplayName("throw RuntimeException in case the new entries are invalid")
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.firebase.subscription.diff;
+
+import io.spine.web.firebase.NodeValue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("EntryShadow should")
+class EntryShadowTest {
+
+    @Test
+    @DisplayName("produce the same diff as the shadowed value")
+    void diffAsValue() {
+        NodeValue value = NodeValue.empty();
+        value.addChild("{\"id\":\"1\",\"a\":1}");
+        value.addChild("{\"id\":\"2\",\"a\":2}");
+        value.addChild("{\"pass\":true}");
+        value.addChild("{\"removed\":true}");
+        List<String> newEntries = newArrayList("{\"id\":\"1\",\"a\":1}",
+                                               "{\"id\":\"2\",\"a\":3}",
+                                               "{\"pass\": true}",
+                                               "{\"added\":true}");
+
+        Diff fromValue = DiffCalculator.from(value)
+                                       .compareWith(newEntries);
+        Diff fromShadow = DiffCalculator.from(EntryShadow.of(value))
+                                        .compareWith(newEntries);
+
+        assertEquals(fromValue.getChangedList(), fromShadow.getChangedList());
+        assertEquals(fromValue.getRemovedList(), fromShadow.getRemovedList());
+        assertEquals(fromValue.getAddedList(), fromShadow.getAddedList());
+    }
+
+    @Test
+    @DisplayName("apply the written changes")
+    void applyWrittenValue() {
+        NodeValue value = NodeValue.empty();
+        String changedKey = value.addChild("{\"id\":\"1\",\"a\":1}");
+        String removedKey = value.addChild("{\"id\":\"2\",\"a\":2}");
+        EntryShadow shadow = EntryShadow.of(value);
+
+        NodeValue written = NodeValue.empty();
+        written.addChild(changedKey, "{\"id\":\"1\",\"a\":2}");
+        written.addChild(removedKey, "null");
+        written.addChild("{\"id\":\"3\",\"a\":3}");
+        EntryShadow updated = shadow.updatedWith(written);
+
+        assertEquals(2, updated.size());
+        Diff diff = DiffCalculator.from(updated)
+                                  .compareWith(newArrayList("{\"id\":\"1\",\"a\":2}",
+                                                            "{\"id\":\"3\",\"a\":3}"));
+        assertEquals(0, diff.getChangedCount());
+        assertEquals(0, diff.getAddedCount());
+        assertEquals(0, diff.getRemovedCount());
+    }
+}
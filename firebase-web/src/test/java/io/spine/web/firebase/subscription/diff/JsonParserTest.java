@@ -21,13 +21,36 @@
 package io.spine.web.firebase.subscription.diff;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.spine.testing.UtilityClassTest;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.truth.Truth.assertThat;
+import static java.lang.String.format;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 class JsonParserTest extends UtilityClassTest<JsonParser> {
 
+    private static final int ITERATIONS = 1_000;
+
+    /**
+     * Keeps the results of the measured operations, so that their allocations are not optimized
+     * away.
+     */
+    @SuppressWarnings("unused")
+    private static volatile Object sink;
+
     JsonParserTest() {
         super(JsonParser.class);
     }
@@ -37,4 +60,62 @@ class JsonParserTest extends UtilityClassTest<JsonParser> {
         JsonNode node = JsonParser.parse("{\"foo\": \"bar\"}");
         assertEquals("bar", node.get("foo").asText());
     }
+
+    @Test
+    @DisplayName("parse JSON concurrently with the shared reader")
+    void parseConcurrently() throws InterruptedException, ExecutionException {
+        ExecutorService executor = newFixedThreadPool(4);
+        List<Future<JsonNode>> results = newArrayList();
+        for (int i = 0; i < ITERATIONS; i++) {
+            String json = format("{\"id\": %d}", i);
+            results.add(executor.submit(() -> JsonParser.parse(json)));
+        }
+        for (int i = 0; i < ITERATIONS; i++) {
+            assertEquals(i, results.get(i)
+                                   .get()
+                                   .get("id")
+                                   .asInt());
+        }
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("not create an ObjectMapper per parse")
+    void notCreateMapperPerParse() {
+        com.sun.management.ThreadMXBean threads = threadBean();
+        String json = "{\"id\":{\"value\":\"1\"},\"name\":\"entity\"}";
+        long parseBytes = allocatedBytes(threads, i -> JsonParser.parse(json));
+        long mapperBytes = allocatedBytes(threads, i -> new ObjectMapper());
+        assertThat(parseBytes).isLessThan(mapperBytes);
+        assertThat(JsonParser.reader()).isSameAs(JsonParser.reader());
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return threads;
+    }
+
+    /**
+     * Measures the number of bytes allocated by the current thread while running the given
+     * operation {@link #ITERATIONS} times.
+     */
+    private static long allocatedBytes(com.sun.management.ThreadMXBean threads,
+                                       IntFunction<?> operation) {
+        long threadId = Thread.currentThread()
+                              .getId();
+        // Warm up, so that the class loading does not count.
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink = operation.apply(i);
+        }
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink = operation.apply(i);
+        }
+        long after = threads.getThreadAllocatedBytes(threadId);
+        return after - before;
+    }
 }
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.test.load;
+
+import com.google.common.collect.ImmutableList;
+import io.spine.web.test.given.TestCommandServlet;
+import io.spine.web.test.given.TestMetricsServlet;
+import io.spine.web.test.given.TestQueryServlet;
+import io.spine.web.test.given.TestSubscribeServlet;
+import io.spine.web.test.given.TestSubscriptionCancelServlet;
+import io.spine.web.test.given.TestSubscriptionKeepUpServlet;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+import static com.google.common.base.Preconditions.checkState;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+
+/**
+ * An embedded servlet container which serves the endpoints of the test application.
+ *
+ * <p>The servlets are mapped to the paths declared in their {@link WebServlet} annotations.
+ * The container listens on an ephemeral port of the loopback interface.
+ *
+ * <p>In the {@linkplain ServletMode#ASYNC asynchronous mode}, the command, query and subscribe
+ * servlets process the requests on an executor owned by the container and are registered with
+ * the async support enabled.
+ */
+final class EmbeddedContainer implements AutoCloseable {
+
+    private final Server server;
+    private final URL root;
+    private final ServletMode mode;
+    private final ExecutorService executor;
+
+    private EmbeddedContainer(Server server,
+                              URL root,
+                              ServletMode mode,
+                              ExecutorService executor) {
+        this.server = server;
+        this.root = root;
+        this.mode = mode;
+        this.executor = executor;
+    }
+
+    /**
+     * Starts a container with all the endpoints of the test application.
+     *
+     * @param mode
+     *         the way the servlets process the requests
+     * @param threads
+     *         the number of the threads processing the asynchronous requests
+     */
+    static EmbeddedContainer start(ServletMode mode, int threads) throws Exception {
+        Server server = new Server(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        ExecutorService executor = newFixedThreadPool(threads);
+        ServletContextHandler context = new ServletContextHandler();
+        boolean async = mode == ServletMode.ASYNC;
+        for (HttpServlet servlet : servlets(async, executor)) {
+            ServletHolder holder = new ServletHolder(servlet);
+            holder.setAsyncSupported(async);
+            context.addServlet(holder, pathOf(servlet));
+        }
+        server.setHandler(context);
+        server.start();
+        ServerConnector connector = (ServerConnector) server.getConnectors()[0];
+        URL root = new URL("http", connector.getHost(), connector.getLocalPort(), "");
+        return new EmbeddedContainer(server, root, mode, executor);
+    }
+
+    private static ImmutableList<HttpServlet> servlets(boolean async, Executor executor) {
+        ImmutableList<HttpServlet> processing = async
+                ? ImmutableList.of(new TestCommandServlet(executor),
+                                   new TestQueryServlet(executor),
+                                   new TestSubscribeServlet(executor))
+                : ImmutableList.of(new TestCommandServlet(),
+                                   new TestQueryServlet(),
+                                   new TestSubscribeServlet());
+        return ImmutableList.<HttpServlet>builder()
+                            .addAll(processing)
+                            .add(new TestSubscriptionKeepUpServlet(),
+                                 new TestSubscriptionCancelServlet(),
+                                 new TestMetricsServlet())
+                            .build();
+    }
+
+    private static String pathOf(HttpServlet servlet) {
+        WebServlet mapping = servlet.getClass()
+                                    .getAnnotation(WebServlet.class);
+        checkState(mapping != null && mapping.value().length > 0,
+                   "Servlet `%s` declares no path.", servlet.getClass().getName());
+        return mapping.value()[0];
+    }
+
+    /**
+     * Obtains the way the servlets of this container process the requests.
+     */
+    ServletMode mode() {
+        return mode;
+    }
+
+    /**
+     * Obtains the URL of the given path in the container.
+     */
+    URL url(String path) {
+        try {
+            return new URL(root, path);
+        } catch (MalformedURLException e) {
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    /**
+     * Stops the container.
+     */
+    @Override
+    public void close() {
+        try {
+            server.stop();
+        } catch (Exception e) {
+            throw illegalStateWithCauseOf(e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.test.load;
+
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * An endpoint of the test application driven by the load test.
+ */
+enum Endpoint {
+
+    COMMAND("command", "/command"),
+    QUERY("query", "/query"),
+    SUBSCRIBE("subscribe", "/subscription/create"),
+    KEEP_UP("keep-up", "/subscription/keep-up");
+
+    private final String label;
+    private final String path;
+
+    Endpoint(String label, String path) {
+        this.label = label;
+        this.path = path;
+    }
+
+    /**
+     * Obtains the name of the endpoint used in the settings and in the report.
+     */
+    String label() {
+        return label;
+    }
+
+    /**
+     * Obtains the path of the endpoint relative to the application root.
+     */
+    String path() {
+        return path;
+    }
+
+    /**
+     * Finds the endpoint with the given {@linkplain #label() label}.
+     */
+    static Optional<Endpoint> withLabel(String label) {
+        checkNotNull(label);
+        for (Endpoint endpoint : values()) {
+            if (endpoint.label.equals(label)) {
+                return Optional.of(endpoint);
+            }
+        }
+        return Optional.empty();
+    }
+}
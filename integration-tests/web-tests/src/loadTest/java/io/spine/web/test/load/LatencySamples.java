@@ -0,0 +1,115 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.test.load;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The latencies of the requests to a single endpoint.
+ *
+ * <p>Each latency is kept, so that the percentiles are exact. The samples are not thread-safe,
+ * each load generating thread collects its own samples, which are {@linkplain #addAll merged}
+ * once the load is over.
+ */
+final class LatencySamples {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private long[] nanos = new long[INITIAL_CAPACITY];
+    private int size = 0;
+    private long errors = 0;
+    private boolean sorted = true;
+
+    /**
+     * Adds the latency of a successful request.
+     */
+    void add(long latencyNanos) {
+        if (size == nanos.length) {
+            nanos = Arrays.copyOf(nanos, size * 2);
+        }
+        nanos[size++] = latencyNanos;
+        sorted = false;
+    }
+
+    /**
+     * Counts a failed request.
+     */
+    void addError() {
+        errors++;
+    }
+
+    /**
+     * Adds all the latencies and errors of the given samples to these samples.
+     */
+    void addAll(LatencySamples other) {
+        checkNotNull(other);
+        if (size + other.size > nanos.length) {
+            nanos = Arrays.copyOf(nanos, Math.max(size + other.size, size * 2));
+        }
+        System.arraycopy(other.nanos, 0, nanos, size, other.size);
+        size += other.size;
+        errors += other.errors;
+        sorted = false;
+    }
+
+    /**
+     * Obtains the number of the successful requests.
+     */
+    int count() {
+        return size;
+    }
+
+    /**
+     * Obtains the number of the failed requests.
+     */
+    long errors() {
+        return errors;
+    }
+
+    /**
+     * Obtains the latency which is not exceeded by the given share of the requests.
+     *
+     * @param quantile
+     *         the quantile, e.g. {@code 0.999} for the 99.9th percentile
+     * @return the latency or zero if there are no samples
+     */
+    Duration percentile(double quantile) {
+        checkArgument(quantile > 0 && quantile <= 1,
+                      "Quantile must be in (0, 1], got %s.", quantile);
+        if (size == 0) {
+            return Duration.ZERO;
+        }
+        sort();
+        int rank = (int) Math.ceil(quantile * size);
+        return Duration.ofNanos(nanos[rank - 1]);
+    }
+
+    private void sort() {
+        if (!sorted) {
+            Arrays.sort(nanos, 0, size);
+            sorted = true;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.test.load;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.CharStreams;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.Callable;
+
+import static com.google.common.net.MediaType.JSON_UTF_8;
+import static java.net.HttpURLConnection.HTTP_OK;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A client which sends the requests to the test application in a loop.
+ *
+ * <p>Each request is sent to an endpoint picked at random according to the weights of
+ * the {@linkplain LoadSettings#mix() load mix}. The client keeps the subscriptions it has
+ * created in order to keep them up. If there are no subscriptions yet, a subscription is created
+ * instead of a keep-up.
+ *
+ * <p>The latencies of the requests started after the warm-up are collected and returned once
+ * the load is over.
+ */
+final class LoadClient implements Callable<Map<Endpoint, LatencySamples>> {
+
+    private static final int MAX_SUBSCRIPTIONS = 100;
+
+    private final EmbeddedContainer container;
+    private final RequestBodies requests;
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+    private final boolean[] createdTasks;
+    private final List<String> subscriptions = new ArrayList<>();
+    private final Map<Endpoint, LatencySamples> samples = new EnumMap<>(Endpoint.class);
+    private final Random random;
+    private final long measureFromNanos;
+    private final long stopAtNanos;
+    private long revision = 0;
+
+    LoadClient(int index,
+               EmbeddedContainer container,
+               LoadSettings settings,
+               long measureFromNanos,
+               long stopAtNanos) {
+        this.container = container;
+        this.requests = new RequestBodies(container.mode()
+                                                   .label() + "-client-" + index);
+        ImmutableMap<Endpoint, Integer> mix = settings.mix();
+        this.endpoints = mix.keySet()
+                            .toArray(new Endpoint[0]);
+        this.cumulativeWeights = new int[endpoints.length];
+        int total = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            total += mix.get(endpoints[i]);
+            cumulativeWeights[i] = total;
+        }
+        this.createdTasks = new boolean[settings.tasks()];
+        this.random = new Random(index);
+        this.measureFromNanos = measureFromNanos;
+        this.stopAtNanos = stopAtNanos;
+        for (Endpoint endpoint : Endpoint.values()) {
+            samples.put(endpoint, new LatencySamples());
+        }
+    }
+
+    @Override
+    public Map<Endpoint, LatencySamples> call() {
+        long start = System.nanoTime();
+        while (start < stopAtNanos) {
+            Endpoint endpoint = nextEndpoint();
+            boolean succeeded = send(endpoint);
+            long end = System.nanoTime();
+            if (start >= measureFromNanos) {
+                LatencySamples endpointSamples = samples.get(endpoint);
+                if (succeeded) {
+                    endpointSamples.add(end - start);
+                } else {
+                    endpointSamples.addError();
+                }
+            }
+            start = end;
+        }
+        return samples;
+    }
+
+    private Endpoint nextEndpoint() {
+        int point = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < endpoints.length; i++) {
+            if (point < cumulativeWeights[i]) {
+                Endpoint endpoint = endpoints[i];
+                return endpoint == Endpoint.KEEP_UP && subscriptions.isEmpty()
+                       ? Endpoint.SUBSCRIBE
+                       : endpoint;
+            }
+        }
+        throw new IllegalStateException("No endpoint for " + point + '.');
+    }
+
+    /**
+     * Sends a request to the given endpoint.
+     *
+     * @return {@code true} if the request has succeeded, {@code false} otherwise
+     */
+    private boolean send(Endpoint endpoint) {
+        switch (endpoint) {
+            case COMMAND:
+                return sendCommand();
+            case QUERY:
+                return post(endpoint, requests.queryTasks()).isPresent();
+            case SUBSCRIBE:
+                return subscribe();
+            case KEEP_UP:
+                String subscription = subscriptions.get(random.nextInt(subscriptions.size()));
+                return post(endpoint, subscription).isPresent();
+            default:
+                throw new IllegalArgumentException("Unexpected endpoint " + endpoint + '.');
+        }
+    }
+
+    /**
+     * Creates a task or renames it if the task was already created by this client.
+     */
+    private boolean sendCommand() {
+        int task = random.nextInt(createdTasks.length);
+        if (createdTasks[task]) {
+            return post(Endpoint.COMMAND, requests.renameTask(task, ++revision)).isPresent();
+        }
+        boolean created = post(Endpoint.COMMAND, requests.createTask(task)).isPresent();
+        createdTasks[task] = created;
+        return created;
+    }
+
+    private boolean subscribe() {
+        Optional<String> subscription = post(Endpoint.SUBSCRIBE, requests.topicOfTasks());
+        subscription.ifPresent(value -> {
+            if (subscriptions.size() == MAX_SUBSCRIPTIONS) {
+                subscriptions.remove(0);
+            }
+            subscriptions.add(value);
+        });
+        return subscription.isPresent();
+    }
+
+    /**
+     * Posts the given JSON to the given endpoint.
+     *
+     * @return the response body or {@code Optional.empty()} if the request has failed
+     */
+    private Optional<String> post(Endpoint endpoint, String body) {
+        URL url = container.url(endpoint.path());
+        try {
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", JSON_UTF_8.toString());
+            try (OutputStream request = connection.getOutputStream()) {
+                request.write(body.getBytes(UTF_8));
+            }
+            int status = connection.getResponseCode();
+            InputStream responseStream = status == HTTP_OK
+                                         ? connection.getInputStream()
+                                         : connection.getErrorStream();
+            String response = readFully(responseStream);
+            return status == HTTP_OK
+                   ? Optional.of(response)
+                   : Optional.empty();
+        } catch (IOException ignored) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Reads the whole response, so that the connection can be reused.
+     */
+    private static String readFully(InputStream stream) throws IOException {
+        if (stream == null) {
+            return "";
+        }
+        try (Reader reader = new InputStreamReader(stream, UTF_8)) {
+            return CharStreams.toString(reader);
+        }
+    }
+}
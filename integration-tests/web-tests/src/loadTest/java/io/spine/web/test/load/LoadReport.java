@@ -0,0 +1,80 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.test.load;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.String.format;
+
+/**
+ * A summary of the requests sent to each endpoint during the measured part of a load test.
+ */
+final class LoadReport {
+
+    private static final String ROW = "%-10s %10s %8s %10s %10s %10s %10s %10s%n";
+
+    private final Map<Endpoint, LatencySamples> samples;
+    private final Duration duration;
+
+    /**
+     * Creates a report of the given samples collected during the given time.
+     */
+    LoadReport(Map<Endpoint, LatencySamples> samples, Duration duration) {
+        this.samples = checkNotNull(samples);
+        this.duration = checkNotNull(duration);
+    }
+
+    /**
+     * Formats the report as a table with a row per endpoint.
+     *
+     * <p>The throughput is measured in the successful requests per second, the latencies are
+     * measured in milliseconds.
+     */
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        result.append(format(ROW, "endpoint", "requests", "errors", "req/s",
+                             "p50", "p99", "p99.9", "max"));
+        double seconds = duration.toMillis() / 1000.0;
+        for (Map.Entry<Endpoint, LatencySamples> entry : samples.entrySet()) {
+            LatencySamples endpointSamples = entry.getValue();
+            if (endpointSamples.count() == 0 && endpointSamples.errors() == 0) {
+                continue;
+            }
+            result.append(format(ROW,
+                                 entry.getKey().label(),
+                                 endpointSamples.count(),
+                                 endpointSamples.errors(),
+                                 format("%.1f", endpointSamples.count() / seconds),
+                                 millis(endpointSamples.percentile(0.5)),
+                                 millis(endpointSamples.percentile(0.99)),
+                                 millis(endpointSamples.percentile(0.999)),
+                                 millis(endpointSamples.percentile(1))));
+        }
+        return result.toString();
+    }
+
+    private static String millis(Duration latency) {
+        return format("%.2f", latency.toNanos() / 1_000_000.0);
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.test.load;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.Integer.parseInt;
+import static java.lang.String.format;
+
+/**
+ * The settings of a load test.
+ *
+ * <p>The settings are read from the system properties:
+ * <ul>
+ *     <li>{@code load.duration} — the measured time in seconds, 30 by default;
+ *     <li>{@code load.warmup} — the time in seconds during which the load is applied but not
+ *         measured, 5 by default;
+ *     <li>{@code load.concurrency} — the number of the concurrent clients, 8 by default;
+ *     <li>{@code load.tasks} — the number of the tasks each client creates and then renames,
+ *         50 by default;
+ *     <li>{@code load.mix} — the relative weights of the endpoints, e.g.
+ *         {@code command=4,query=3,subscribe=1,keep-up=2}, which is also the default;
+ *     <li>{@code load.modes} — the {@linkplain ServletMode servlet modes} to compare, each
+ *         measured in a separate run, {@code sync,async} by default.
+ * </ul>
+ */
+final class LoadSettings {
+
+    private static final String PREFIX = "load.";
+    private static final String DEFAULT_MIX = "command=4,query=3,subscribe=1,keep-up=2";
+    private static final String DEFAULT_MODES = "sync,async";
+
+    private static final Splitter MIX_SPLITTER = Splitter.on(',')
+                                                         .trimResults()
+                                                         .omitEmptyStrings();
+    private static final Splitter WEIGHT_SPLITTER = Splitter.on('=')
+                                                            .trimResults();
+
+    private final Duration duration;
+    private final Duration warmup;
+    private final int concurrency;
+    private final int tasks;
+    private final ImmutableMap<Endpoint, Integer> mix;
+    private final ImmutableSet<ServletMode> modes;
+
+    private LoadSettings(Duration duration,
+                         Duration warmup,
+                         int concurrency,
+                         int tasks,
+                         ImmutableMap<Endpoint, Integer> mix,
+                         ImmutableSet<ServletMode> modes) {
+        this.duration = duration;
+        this.warmup = warmup;
+        this.concurrency = concurrency;
+        this.tasks = tasks;
+        this.mix = mix;
+        this.modes = modes;
+    }
+
+    /**
+     * Reads the settings from the system properties.
+     *
+     * @throws IllegalArgumentException
+     *         if a property has an invalid value
+     */
+    static LoadSettings fromSystemProperties() {
+        Duration duration = Duration.ofSeconds(intProperty("duration", 30));
+        Duration warmup = Duration.ofSeconds(intProperty("warmup", 5));
+        int concurrency = intProperty("concurrency", 8);
+        int tasks = intProperty("tasks", 50);
+        ImmutableMap<Endpoint, Integer> mix =
+                parseMix(System.getProperty(PREFIX + "mix", DEFAULT_MIX));
+        ImmutableSet<ServletMode> modes =
+                parseModes(System.getProperty(PREFIX + "modes", DEFAULT_MODES));
+        checkArgument(!duration.isZero(), "Load test duration must be positive.");
+        checkArgument(concurrency > 0, "Concurrency must be positive, got %s.", concurrency);
+        checkArgument(tasks > 0, "Task count must be positive, got %s.", tasks);
+        return new LoadSettings(duration, warmup, concurrency, tasks, mix, modes);
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        String value = System.getProperty(PREFIX + name);
+        if (value == null) {
+            return defaultValue;
+        }
+        int result = parseInt(value.trim());
+        checkArgument(result >= 0, "Property `%s%s` must not be negative.", PREFIX, name);
+        return result;
+    }
+
+    private static ImmutableMap<Endpoint, Integer> parseMix(String value) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (String entry : MIX_SPLITTER.split(value)) {
+            List<String> parts = WEIGHT_SPLITTER.splitToList(entry);
+            checkArgument(parts.size() == 2, "Invalid mix entry `%s`.", entry);
+            Endpoint endpoint = Endpoint
+                    .withLabel(parts.get(0))
+                    .orElseThrow(() -> new IllegalArgumentException(
+                            format("Unknown endpoint `%s`.", parts.get(0))));
+            int weight = parseInt(parts.get(1));
+            checkArgument(weight >= 0, "Weight of `%s` must not be negative.", endpoint.label());
+            if (weight > 0) {
+                weights.put(endpoint, weight);
+            }
+        }
+        checkArgument(!weights.isEmpty(), "The load mix `%s` is empty.", value);
+        return ImmutableMap.copyOf(weights);
+    }
+
+    private static ImmutableSet<ServletMode> parseModes(String value) {
+        ImmutableSet.Builder<ServletMode> modes = ImmutableSet.builder();
+        for (String label : MIX_SPLITTER.split(value)) {
+            ServletMode mode = ServletMode
+                    .withLabel(label)
+                    .orElseThrow(() -> new IllegalArgumentException(
+                            format("Unknown servlet mode `%s`.", label)));
+            modes.add(mode);
+        }
+        ImmutableSet<ServletMode> result = modes.build();
+        checkArgument(!result.isEmpty(), "No servlet modes are set.");
+        return result;
+    }
+
+    Duration duration() {
+        return duration;
+    }
+
+    Duration warmup() {
+        return warmup;
+    }
+
+    int concurrency() {
+        return concurrency;
+    }
+
+    int tasks() {
+        return tasks;
+    }
+
+    /**
+     * Obtains the positive weights of the endpoints to drive.
+     */
+    ImmutableMap<Endpoint, Integer> mix() {
+        return mix;
+    }
+
+    /**
+     * Obtains the servlet modes to run the test in, one after another.
+     */
+    ImmutableSet<ServletMode> modes() {
+        return modes;
+    }
+
+    @Override
+    public String toString() {
+        return format("duration=%ss warmup=%ss concurrency=%d tasks=%d mix=%s modes=%s",
+                      duration.getSeconds(), warmup.getSeconds(), concurrency, tasks, mix,
+                      modes);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.test.load;
+
+import com.google.common.io.CharStreams;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+
+/**
+ * A load test of the web endpoints of the test application.
+ *
+ * <p>The test starts the command, query and subscription servlets in an embedded servlet
+ * container. Unless the {@code io.spine.web.test.localDatabase} system property is set to
+ * {@code false}, the application writes to a local Firebase database emulator over HTTP, so
+ * the whole servlet-to-{@code RestClient} pipeline is exercised without the network.
+ *
+ * <p>The {@linkplain LoadSettings#concurrency() concurrent clients} send the requests
+ * {@linkplain LoadClient in a loop} for the warm-up time and then for the measured time.
+ * The throughput and the latency percentiles of each endpoint are printed once the time is
+ * over, followed by the Firebase client metrics of the application.
+ *
+ * <p>The test is run once per {@linkplain LoadSettings#modes() servlet mode}, so that
+ * the synchronous and the asynchronous request processing may be compared under the same load.
+ * The Firebase client metrics are accumulated over all the runs.
+ *
+ * <p>Run the test with {@code ./gradlew :web-tests:loadTest}. See {@link LoadSettings} for
+ * the available settings.
+ */
+public final class LoadTest {
+
+    /**
+     * The system property which makes the test application use a local database emulator.
+     */
+    private static final String LOCAL_DATABASE_PROPERTY = "io.spine.web.test.localDatabase";
+
+    /** Prevents instantiation of this class. */
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (System.getProperty(LOCAL_DATABASE_PROPERTY) == null) {
+            System.setProperty(LOCAL_DATABASE_PROPERTY, String.valueOf(true));
+        }
+        LoadSettings settings = LoadSettings.fromSystemProperties();
+        System.out.println("Running the load test with " + settings + '.');
+        String metrics = "";
+        for (ServletMode mode : settings.modes()) {
+            try (EmbeddedContainer container =
+                         EmbeddedContainer.start(mode, settings.concurrency())) {
+                Map<Endpoint, LatencySamples> samples = run(container, settings);
+                System.out.println();
+                System.out.println("Servlet mode: " + mode.label());
+                System.out.print(new LoadReport(samples, settings.duration()));
+                metrics = metrics(container);
+            }
+        }
+        System.out.println();
+        System.out.print(metrics);
+    }
+
+    private static Map<Endpoint, LatencySamples> run(EmbeddedContainer container,
+                                                     LoadSettings settings) throws Exception {
+        long measureFrom = System.nanoTime() + settings.warmup()
+                                                       .toNanos();
+        long stopAt = measureFrom + settings.duration()
+                                            .toNanos();
+        ExecutorService executor = newFixedThreadPool(settings.concurrency());
+        try {
+            List<Future<Map<Endpoint, LatencySamples>>> results = new ArrayList<>();
+            for (int i = 0; i < settings.concurrency(); i++) {
+                LoadClient client = new LoadClient(i, container, settings, measureFrom, stopAt);
+                results.add(executor.submit(client));
+            }
+            Map<Endpoint, LatencySamples> total = new EnumMap<>(Endpoint.class);
+            for (Endpoint endpoint : Endpoint.values()) {
+                total.put(endpoint, new LatencySamples());
+            }
+            for (Future<Map<Endpoint, LatencySamples>> result : results) {
+                result.get()
+                      .forEach((endpoint, samples) -> total.get(endpoint)
+                                                           .addAll(samples));
+            }
+            return total;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Obtains the report of the Firebase client metrics of the application.
+     */
+    private static String metrics(EmbeddedContainer container) throws Exception {
+        try (InputStream stream = container.url("/metrics")
+                                           .openStream();
+             Reader reader = new InputStreamReader(stream, UTF_8)) {
+            return CharStreams.toString(reader);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.test.load;
+
+import io.spine.client.Query;
+import io.spine.client.Topic;
+import io.spine.core.Command;
+import io.spine.testing.client.TestActorRequestFactory;
+import io.spine.web.test.given.CreateTask;
+import io.spine.web.test.given.RenameTask;
+import io.spine.web.test.given.Task;
+import io.spine.web.test.given.TaskId;
+
+import static io.spine.json.Json.toCompactJson;
+
+/**
+ * A factory of the JSON bodies of the requests to the test application.
+ *
+ * <p>The instances are not thread-safe.
+ */
+final class RequestBodies {
+
+    private final TestActorRequestFactory factory;
+    private final String clientId;
+
+    /**
+     * Creates a factory of the requests of the client with the given ID.
+     */
+    RequestBodies(String clientId) {
+        this.factory = new TestActorRequestFactory(RequestBodies.class);
+        this.clientId = clientId;
+    }
+
+    /**
+     * Creates a command which creates the task with the given index.
+     */
+    String createTask(int index) {
+        CreateTask message = CreateTask
+                .newBuilder()
+                .setId(taskId(index))
+                .setName("Task " + index)
+                .setDescription("Created by " + clientId)
+                .build();
+        Command command = factory.command()
+                                 .create(message);
+        return toCompactJson(command);
+    }
+
+    /**
+     * Creates a command which renames the task with the given index.
+     */
+    String renameTask(int index, long revision) {
+        RenameTask message = RenameTask
+                .newBuilder()
+                .setId(taskId(index))
+                .setName("Task " + index + " revision " + revision)
+                .build();
+        Command command = factory.command()
+                                 .create(message);
+        return toCompactJson(command);
+    }
+
+    /**
+     * Creates a query for all the tasks.
+     */
+    String queryTasks() {
+        Query query = factory.query()
+                             .all(Task.class);
+        return toCompactJson(query);
+    }
+
+    /**
+     * Creates a topic of all the tasks.
+     */
+    String topicOfTasks() {
+        Topic topic = factory.topic()
+                             .allOf(Task.class);
+        return toCompactJson(topic);
+    }
+
+    private TaskId taskId(int index) {
+        return TaskId.newBuilder()
+                     .setValue(clientId + '-' + index)
+                     .build();
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.test.load;
+
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The way the servlets of the test application process the requests.
+ */
+enum ServletMode {
+
+    /**
+     * The request is processed on the container thread.
+     */
+    SYNC("sync"),
+
+    /**
+     * The request is processed on a separate executor, while the container thread is released.
+     */
+    ASYNC("async");
+
+    private final String label;
+
+    ServletMode(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Obtains the name of the mode used in the settings and in the report.
+     */
+    String label() {
+        return label;
+    }
+
+    /**
+     * Finds the mode with the given {@linkplain #label() label}.
+     */
+    static Optional<ServletMode> withLabel(String label) {
+        checkNotNull(label);
+        for (ServletMode mode : values()) {
+            if (mode.label.equals(label)) {
+                return Optional.of(mode);
+            }
+        }
+        return Optional.empty();
+    }
+}
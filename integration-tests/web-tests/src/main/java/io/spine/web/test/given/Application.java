@@ -27,14 +27,25 @@ import io.spine.web.firebase.DatabaseUrl;
 import io.spine.web.firebase.DatabaseUrls;
 import io.spine.web.firebase.FirebaseClient;
 import io.spine.web.firebase.FirebaseCredentials;
+import io.spine.web.firebase.TransportSettings;
+import io.spine.web.firebase.emulator.LocalDatabase;
+import io.spine.web.firebase.emulator.LocalDatabaseServer;
+import io.spine.web.firebase.metrics.InMemoryMetricsRegistry;
+import io.spine.web.firebase.metrics.InstrumentedClient;
 
+import java.io.IOException;
 import java.io.InputStream;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.util.Exceptions.illegalStateWithCauseOf;
 import static io.spine.web.firebase.FirebaseClientFactory.restClient;
 
 /**
  * A test Spine application.
+ *
+ * <p>By default, the application uses the {@code spine-dev} Firebase database. If
+ * the {@value #LOCAL_DATABASE_PROPERTY} system property is set to {@code true}, the application
+ * uses a {@linkplain LocalDatabase local database emulator} served over HTTP instead.
  */
 final class Application {
 
@@ -42,16 +53,24 @@ final class Application {
             DatabaseUrls.from("https://spine-dev.firebaseio.com/");
     private static final String SERVICE_ACCOUNT_FILE = "/spine-dev.json";
 
+    /**
+     * The system property which switches the application to a local database emulator.
+     */
+    static final String LOCAL_DATABASE_PROPERTY = "io.spine.web.test.localDatabase";
+
     private final CommandService commandService;
     private final QueryService queryService;
     private final FirebaseClient firebaseClient;
+    private final InMemoryMetricsRegistry metrics;
 
     private Application(CommandService commandService,
                         QueryService queryService,
-                        FirebaseClient client) {
+                        FirebaseClient client,
+                        InMemoryMetricsRegistry metrics) {
         this.commandService = commandService;
         this.queryService = queryService;
         this.firebaseClient = client;
+        this.metrics = metrics;
     }
 
     static Application create(BoundedContext boundedContext) {
@@ -62,10 +81,34 @@ final class Application {
         QueryService queryService = QueryService.newBuilder()
                                                 .add(boundedContext)
                                                 .build();
+        InMemoryMetricsRegistry metrics = new InMemoryMetricsRegistry();
+        FirebaseClient restClient = Boolean.getBoolean(LOCAL_DATABASE_PROPERTY)
+                                    ? localClient(metrics)
+                                    : remoteClient(metrics);
+        FirebaseClient firebaseClient = InstrumentedClient.wrap(restClient, metrics);
+        return new Application(commandService, queryService, firebaseClient, metrics);
+    }
+
+    private static FirebaseClient remoteClient(InMemoryMetricsRegistry metrics) {
         InputStream credentialStream = Application.class.getResourceAsStream(SERVICE_ACCOUNT_FILE);
         FirebaseCredentials credentials = FirebaseCredentials.fromStream(credentialStream);
-        FirebaseClient firebaseClient = restClient(DATABASE_URL, credentials);
-        return new Application(commandService, queryService, firebaseClient);
+        return restClient(DATABASE_URL, credentials, TransportSettings.defaults(), metrics);
+    }
+
+    /**
+     * Creates a REST client of a new local database emulator.
+     *
+     * <p>The emulator is served until the JVM exits.
+     */
+    private static FirebaseClient localClient(InMemoryMetricsRegistry metrics) {
+        try {
+            LocalDatabaseServer server = LocalDatabase.newInstance()
+                                                      .serve();
+            return restClient(server.url(), FirebaseCredentials.empty(),
+                              TransportSettings.defaults(), metrics);
+        } catch (IOException e) {
+            throw illegalStateWithCauseOf(e);
+        }
     }
 
     CommandService commandService() {
@@ -79,4 +122,8 @@ final class Application {
     FirebaseClient firebaseClient() {
         return firebaseClient;
     }
+
+    InMemoryMetricsRegistry metrics() {
+        return metrics;
+    }
 }
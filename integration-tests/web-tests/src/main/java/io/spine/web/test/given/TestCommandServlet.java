@@ -23,6 +23,7 @@ package io.spine.web.test.given;
 import io.spine.web.command.CommandServlet;
 
 import javax.servlet.annotation.WebServlet;
+import java.util.concurrent.Executor;
 
 import static io.spine.web.test.given.Server.application;
 
@@ -36,4 +37,11 @@ public final class TestCommandServlet extends CommandServlet {
     public TestCommandServlet() {
         super(application().commandService());
     }
+
+    /**
+     * Creates a servlet which posts the commands asynchronously on the given executor.
+     */
+    public TestCommandServlet(Executor executor) {
+        super(application().commandService(), executor);
+    }
 }
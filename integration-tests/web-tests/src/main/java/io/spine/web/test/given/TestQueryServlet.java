@@ -24,6 +24,7 @@ import io.spine.web.firebase.query.FirebaseQueryBridge;
 import io.spine.web.query.QueryServlet;
 
 import javax.servlet.annotation.WebServlet;
+import java.util.concurrent.Executor;
 
 import static io.spine.web.test.given.Server.application;
 
@@ -35,10 +36,21 @@ import static io.spine.web.test.given.Server.application;
 public class TestQueryServlet extends QueryServlet {
 
     public TestQueryServlet() {
-        super(FirebaseQueryBridge
-                      .newBuilder()
-                      .setQueryService(application().queryService())
-                      .setFirebaseClient(application().firebaseClient())
-                      .build());
+        super(newBridge());
+    }
+
+    /**
+     * Creates a servlet which processes the queries asynchronously on the given executor.
+     */
+    public TestQueryServlet(Executor executor) {
+        super(newBridge(), executor);
+    }
+
+    private static FirebaseQueryBridge newBridge() {
+        return FirebaseQueryBridge
+                .newBuilder()
+                .setQueryService(application().queryService())
+                .setFirebaseClient(application().firebaseClient())
+                .build();
     }
 }
@@ -24,6 +24,7 @@ import io.spine.web.firebase.subscription.FirebaseSubscriptionBridge;
 import io.spine.web.subscription.servlet.SubscribeServlet;
 
 import javax.servlet.annotation.WebServlet;
+import java.util.concurrent.Executor;
 
 import static io.spine.web.test.given.Server.application;
 
@@ -35,10 +36,21 @@ import static io.spine.web.test.given.Server.application;
 public class TestSubscribeServlet extends SubscribeServlet {
 
     public TestSubscribeServlet() {
-        super(FirebaseSubscriptionBridge
-                      .newBuilder()
-                      .setQueryService(application().queryService())
-                      .setFirebaseClient(application().firebaseClient())
-                      .build());
+        super(newBridge());
+    }
+
+    /**
+     * Creates a servlet which creates the subscriptions asynchronously on the given executor.
+     */
+    public TestSubscribeServlet(Executor executor) {
+        super(newBridge(), executor);
+    }
+
+    private static FirebaseSubscriptionBridge newBridge() {
+        return FirebaseSubscriptionBridge
+                .newBuilder()
+                .setQueryService(application().queryService())
+                .setFirebaseClient(application().firebaseClient())
+                .build();
     }
 }
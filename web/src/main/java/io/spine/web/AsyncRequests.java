@@ -0,0 +1,186 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web;
+
+import io.spine.logging.Logging;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.slf4j.Logger;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static javax.servlet.http.HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+import static javax.servlet.http.HttpServletResponse.SC_SERVICE_UNAVAILABLE;
+
+/**
+ * A set of utilities for processing the servlet requests asynchronously.
+ *
+ * <p>The request processing is moved to the Servlet 3.x {@link AsyncContext}, so that the container
+ * thread is released while the result is being computed. The servlet must be registered with
+ * the async support enabled.
+ *
+ * <p>A request whose result is not ready within the timeout is completed with
+ * the {@link HttpServletResponse#SC_SERVICE_UNAVAILABLE 503} code. The result which is computed
+ * later is discarded.
+ */
+public final class AsyncRequests {
+
+    /**
+     * The default time to wait for the result of a request.
+     */
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final Logger log = Logging.get(AsyncRequests.class);
+
+    /**
+     * Prevents the utility class instantiation.
+     */
+    private AsyncRequests() {
+    }
+
+    /**
+     * Puts the given request into the asynchronous mode and writes the given result into
+     * the response once the result is ready.
+     *
+     * <p>The result is awaited for the {@linkplain #DEFAULT_TIMEOUT default time}.
+     *
+     * @param request
+     *         the request to process asynchronously
+     * @param result
+     *         the result of the request processing
+     * @see #respondAsync(HttpServletRequest, CompletionStage, Duration)
+     */
+    public static void respondAsync(HttpServletRequest request,
+                                    CompletionStage<? extends RequestResult> result) {
+        respondAsync(request, result, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Puts the given request into the asynchronous mode and writes the given result into
+     * the response once the result is ready.
+     *
+     * <p>The result is written in the {@linkplain ResponseFormat#of format} requested by
+     * the client.
+     *
+     * <p>If the result completes exceptionally, the response is completed with
+     * the {@link HttpServletResponse#SC_INTERNAL_SERVER_ERROR 500} code. If the result is not
+     * ready within the given timeout, the response is completed with
+     * the {@link HttpServletResponse#SC_SERVICE_UNAVAILABLE 503} code.
+     *
+     * @param request
+     *         the request to process asynchronously
+     * @param result
+     *         the result of the request processing
+     * @param timeout
+     *         the positive time to wait for the result
+     */
+    public static void respondAsync(HttpServletRequest request,
+                                    CompletionStage<? extends RequestResult> result,
+                                    Duration timeout) {
+        checkNotNull(request);
+        checkNotNull(result);
+        checkNotNull(timeout);
+        checkArgument(!timeout.isNegative() && !timeout.isZero(),
+                      "Request timeout must be positive, got %s.", timeout);
+        ResponseFormat format = ResponseFormat.of(request);
+        AsyncContext context = request.startAsync();
+        context.setTimeout(timeout.toMillis());
+        AtomicBoolean responded = new AtomicBoolean();
+        context.addListener(new TimeoutListener(responded));
+        result.whenComplete((value, error) -> {
+            if (responded.compareAndSet(false, true)) {
+                complete(context, format, value, error);
+            }
+        });
+    }
+
+    private static void complete(AsyncContext context,
+                                 ResponseFormat format,
+                                 @Nullable RequestResult result,
+                                 @Nullable Throwable error) {
+        HttpServletResponse response = (HttpServletResponse) context.getResponse();
+        try {
+            if (error != null || result == null) {
+                log.error("Failed to process an asynchronous request.", error);
+                response.sendError(SC_INTERNAL_SERVER_ERROR);
+            } else {
+                result.writeTo(response, format);
+            }
+        } catch (IOException e) {
+            log.error("Failed to write an asynchronous response.", e);
+        } finally {
+            context.complete();
+        }
+    }
+
+    /**
+     * Completes the request with an error if its result is not ready in time.
+     */
+    private static final class TimeoutListener implements AsyncListener {
+
+        private final AtomicBoolean responded;
+
+        private TimeoutListener(AtomicBoolean responded) {
+            this.responded = responded;
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            if (!responded.compareAndSet(false, true)) {
+                return;
+            }
+            AsyncContext context = event.getAsyncContext();
+            HttpServletResponse response = (HttpServletResponse) context.getResponse();
+            try {
+                log.error("The asynchronous request is not processed in time.");
+                response.sendError(SC_SERVICE_UNAVAILABLE);
+            } catch (IOException e) {
+                log.error("Failed to write an asynchronous response.", e);
+            } finally {
+                context.complete();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            // Nothing to clean up.
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            responded.set(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // The request is not restarted.
+        }
+    }
+}
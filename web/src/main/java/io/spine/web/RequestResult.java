@@ -36,4 +36,20 @@ public interface RequestResult {
      * @throws IOException in case of a failure
      */
     void writeTo(ServletResponse response) throws IOException;
+
+    /**
+     * Writes this result into the given {@link ServletResponse} in the given format.
+     *
+     * <p>By default, ignores the format and {@linkplain #writeTo(ServletResponse) writes}
+     * the result as is. The implementations which represent a message are encouraged to override
+     * this method.
+     *
+     * @param response the response to write the result into
+     * @param format   the format negotiated with the client
+     * @throws IOException in case of a failure
+     * @see ResponseFormat#of(javax.servlet.http.HttpServletRequest)
+     */
+    default void writeTo(ServletResponse response, ResponseFormat format) throws IOException {
+        writeTo(response);
+    }
 }
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web;
+
+import com.google.common.base.Splitter;
+import com.google.common.net.MediaType;
+import com.google.protobuf.Message;
+import com.google.protobuf.util.JsonFormat;
+import io.spine.type.KnownTypes;
+
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Strings.isNullOrEmpty;
+import static com.google.common.net.MediaType.JSON_UTF_8;
+import static com.google.common.net.MediaType.create;
+
+/**
+ * The formats in which the messages are written to the servlet responses.
+ *
+ * <p>The format is negotiated via the {@code Accept} request header. See
+ * {@link #of(HttpServletRequest)} for details.
+ *
+ * <p>In any format, the message is written right to the response, without an intermediate
+ * string or byte array.
+ */
+public enum ResponseFormat {
+
+    /**
+     * The <a href="https://developers.google.com/protocol-buffers/docs/proto3#json">
+     * Protobuf JSON</a> format.
+     */
+    JSON(JSON_UTF_8) {
+        @Override
+        void writeBody(Message message, ServletResponse response) throws IOException {
+            Printer.json.appendTo(message, response.getWriter());
+        }
+    },
+
+    /**
+     * The raw message bytes.
+     */
+    BINARY(create("application", "protobuf")) {
+        @Override
+        void writeBody(Message message, ServletResponse response) throws IOException {
+            message.writeTo(response.getOutputStream());
+        }
+    };
+
+    private static final String ACCEPT = "Accept";
+    private static final Splitter mediaRanges = Splitter.on(',')
+                                                        .trimResults()
+                                                        .omitEmptyStrings();
+
+    @SuppressWarnings("NonSerializableFieldInSerializableClass")
+    private final MediaType contentType;
+
+    ResponseFormat(MediaType contentType) {
+        this.contentType = contentType;
+    }
+
+    /**
+     * Selects the response format for the given request.
+     *
+     * <p>The media ranges of the {@code Accept} header are checked in the order of appearance.
+     * The first range which is {@code application/protobuf} or {@code application/json} defines
+     * the format. The quality factors are not taken into account.
+     *
+     * <p>If the header is absent or lists neither of the types, returns {@link #JSON}.
+     *
+     * @param request
+     *         the request to respond to
+     * @return the format of the response
+     */
+    public static ResponseFormat of(HttpServletRequest request) {
+        checkNotNull(request);
+        String accept = request.getHeader(ACCEPT);
+        if (isNullOrEmpty(accept)) {
+            return JSON;
+        }
+        for (String range : mediaRanges.split(accept)) {
+            MediaType type;
+            try {
+                type = MediaType.parse(range);
+            } catch (IllegalArgumentException ignored) {
+                continue;
+            }
+            for (ResponseFormat format : values()) {
+                if (format.matches(type)) {
+                    return format;
+                }
+            }
+        }
+        return JSON;
+    }
+
+    private boolean matches(MediaType type) {
+        return !type.hasWildcard() && contentType.is(type.withoutParameters());
+    }
+
+    /**
+     * Writes the given message into the given response in this format.
+     *
+     * <p>The response content type is set accordingly.
+     *
+     * @param message
+     *         the message to write
+     * @param response
+     *         the response to write the message into
+     * @throws IOException
+     *         if the response cannot be written
+     */
+    public void write(Message message, ServletResponse response) throws IOException {
+        checkNotNull(message);
+        checkNotNull(response);
+        response.setContentType(contentType.toString());
+        writeBody(message, response);
+    }
+
+    abstract void writeBody(Message message, ServletResponse response) throws IOException;
+
+    /**
+     * Holds the JSON printer shared by all the responses.
+     */
+    private static final class Printer {
+
+        private static final JsonFormat.Printer json =
+                JsonFormat.printer()
+                          .omittingInsignificantWhitespace()
+                          .usingTypeRegistry(KnownTypes.instance()
+                                                       .typeRegistry());
+    }
+}
@@ -20,45 +20,69 @@
 
 package io.spine.web.command;
 
-import com.google.common.net.MediaType;
 import io.spine.core.Ack;
 import io.spine.core.Command;
 import io.spine.grpc.MemoizingObserver;
 import io.spine.server.CommandService;
 import io.spine.web.NonSerializableServlet;
+import io.spine.web.RequestResult;
+import io.spine.web.ResponseFormat;
+import io.spine.web.future.FutureObserver;
 import io.spine.web.parser.HttpMessages;
 
+import javax.annotation.Nullable;
 import javax.annotation.OverridingMethodsMustInvokeSuper;
+import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
-import static com.google.common.net.MediaType.JSON_UTF_8;
 import static io.spine.grpc.StreamObservers.memoizingObserver;
-import static io.spine.json.Json.toCompactJson;
+import static io.spine.web.AsyncRequests.respondAsync;
 import static javax.servlet.http.HttpServletResponse.SC_BAD_REQUEST;
 
 /**
  * An {@link HttpServlet} representing a command endpoint.
  *
  * <p>Handles {@code POST} requests with {@linkplain Command commands} in their bodies.
+ * The {@link Ack} is written in the {@linkplain ResponseFormat#of format} requested by the client.
+ *
+ * <p>A servlet created with an {@link Executor} posts the commands asynchronously and must be
+ * registered with the async support enabled.
  *
  * @author Dmytro Dashenkov
  */
 @SuppressWarnings("serial") // Java serialization is not supported.
 public abstract class CommandServlet extends NonSerializableServlet {
 
-    private static final MediaType MIME_TYPE = JSON_UTF_8;
-
     private final CommandService commandService;
+    @Nullable
+    private final Executor executor;
 
     protected CommandServlet(CommandService commandService) {
         super();
         this.commandService = checkNotNull(commandService);
+        this.executor = null;
+    }
+
+    /**
+     * Creates a new instance of {@code CommandServlet} which posts the commands asynchronously.
+     *
+     * @param commandService
+     *         the command service to post the commands to
+     * @param executor
+     *         the executor to post the commands on
+     */
+    protected CommandServlet(CommandService commandService, Executor executor) {
+        super();
+        this.commandService = checkNotNull(commandService);
+        this.executor = checkNotNull(executor);
     }
 
     @OverridingMethodsMustInvokeSuper
@@ -70,18 +94,50 @@ public abstract class CommandServlet extends NonSerializableServlet {
             resp.sendError(SC_BAD_REQUEST);
         } else {
             Command command = parsed.get();
-            MemoizingObserver<Ack> ack = memoizingObserver();
-            commandService.post(command, ack);
-            checkState(ack.isCompleted());
-            Ack result = ack.firstResponse();
-            writeToResponse(result, resp);
+            if (executor == null) {
+                MemoizingObserver<Ack> ack = memoizingObserver();
+                commandService.post(command, ack);
+                checkState(ack.isCompleted());
+                Ack result = ack.firstResponse();
+                ResponseFormat.of(req)
+                              .write(result, resp);
+            } else {
+                respondAsync(req, postAsync(command, executor));
+            }
         }
     }
 
-    private static void writeToResponse(Ack ack, HttpServletResponse response)
-            throws IOException {
-        String json = toCompactJson(ack);
-        response.getWriter().append(json);
-        response.setContentType(MIME_TYPE.toString());
+    private CompletableFuture<RequestResult> postAsync(Command command, Executor executor) {
+        FutureObserver<Ack> observer = FutureObserver.create();
+        return CompletableFuture
+                .runAsync(() -> commandService.post(command, observer), executor)
+                .thenCompose(posted -> observer.toFuture())
+                .thenApply(CommandServlet::asResult);
+    }
+
+    private static RequestResult asResult(Ack ack) {
+        return new AckResult(ack);
+    }
+
+    /**
+     * The acknowledgement of an asynchronously posted command.
+     */
+    private static final class AckResult implements RequestResult {
+
+        private final Ack ack;
+
+        private AckResult(Ack ack) {
+            this.ack = ack;
+        }
+
+        @Override
+        public void writeTo(ServletResponse response) throws IOException {
+            writeTo(response, ResponseFormat.JSON);
+        }
+
+        @Override
+        public void writeTo(ServletResponse response, ResponseFormat format) throws IOException {
+            format.write(ack, response);
+        }
     }
 }
@@ -82,23 +82,23 @@ public final class FutureObserver<T> implements StreamObserver<T> {
 
     @Override
     public void onNext(T value) {
-        if (future.isDone()) {
+        boolean completed = future.complete(value);
+        if (!completed && !future.isCompletedExceptionally()) {
             throw newIllegalStateException("FutureObserver may only be used for UNARY calls.");
-        } else {
-            future.complete(value);
         }
     }
 
     @Override
     public void onError(Throwable t) {
-        future.obtrudeException(t);
+        boolean completed = future.completeExceptionally(t);
+        if (!completed && !future.isCompletedExceptionally()) {
+            future.obtrudeException(t);
+        }
     }
 
     @Override
     public void onCompleted() {
-        if (!future.isDone()) {
-            future.complete(defaultValue);
-        }
+        future.complete(defaultValue);
     }
 
     /**
@@ -113,6 +113,9 @@ public final class FutureObserver<T> implements StreamObserver<T> {
      *         with the error from the stream.
      * </ol>
      *
+     * <p>If the future is {@linkplain CompletableFuture#cancel(boolean) cancelled} or otherwise
+     * completed exceptionally by the caller, the values and errors which arrive later are ignored.
+     *
      * @return the future view on this observer
      */
     public CompletableFuture<T> toFuture() {
@@ -20,11 +20,14 @@
 
 package io.spine.web.parser;
 
-import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.Message;
 import io.spine.logging.Logging;
 import io.spine.protobuf.Messages;
 
+import javax.servlet.ServletRequest;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Base64;
 import java.util.Optional;
 
@@ -36,6 +39,9 @@ import static com.google.common.base.Throwables.getRootCause;
  *
  * <p>A parsed string should contain the message of type {@code M} represented as bytes.
  *
+ * <p>The bytes are decoded from the request input stream as they are read. A string which is
+ * not valid {@code Base64}, including one split into lines, is rejected.
+ *
  * @param <M>
  *         the type of messages to parse
  * @author Dmytro Dashenkov
@@ -44,24 +50,76 @@ final class Base64MessageParser<M extends Message> implements MessageParser<M>,
 
     private final Class<M> type;
 
+    /**
+     * The default instance of the parsed type, which creates the builders without reflection.
+     */
+    private final M prototype;
+
     Base64MessageParser(Class<M> type) {
         this.type = type;
+        @SuppressWarnings("unchecked") // Logically checked.
+        M defaultInstance = (M) Messages.builderFor(type)
+                                        .getDefaultInstanceForType();
+        this.prototype = defaultInstance;
     }
 
     @Override
-    public Optional<M> parse(String raw) {
-        byte[] bytes = Base64.getDecoder()
-                             .decode(raw);
-        Message.Builder builder = Messages.builderFor(type);
+    public Optional<M> parse(ServletRequest request) throws IOException {
+        RequestStream source = new RequestStream(request.getInputStream());
+        InputStream bytes = Base64.getDecoder()
+                                  .wrap(source);
+        Message.Builder builder = prototype.newBuilderForType();
         try {
             @SuppressWarnings("unchecked") // Logically checked.
                     M message = (M) builder.mergeFrom(bytes)
                                            .build();
             return Optional.of(message);
-        } catch (InvalidProtocolBufferException | ClassCastException e) {
-            log().error("Unable to parse message of type {} from a Base64 string: `{}`",
-                        type.getName(), raw, System.lineSeparator(), getRootCause(e).getMessage());
+        } catch (IOException | ClassCastException e) {
+            if (source.failed()) {
+                throw e;
+            }
+            log().error("Unable to parse message of type {} from a Base64 string.{}{}",
+                        type.getName(), System.lineSeparator(), getRootCause(e).getMessage());
             return Optional.empty();
         }
     }
+
+    /**
+     * The request input stream which remembers if reading from it has failed.
+     *
+     * <p>Tells the failures of the request from the malformed {@code Base64} content, both of
+     * which are reported by the decoder as an {@link IOException}.
+     */
+    private static final class RequestStream extends FilterInputStream {
+
+        private boolean failed;
+
+        private RequestStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            try {
+                return super.read();
+            } catch (IOException e) {
+                failed = true;
+                throw e;
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            try {
+                return super.read(b, off, len);
+            } catch (IOException e) {
+                failed = true;
+                throw e;
+            }
+        }
+
+        private boolean failed() {
+            return failed;
+        }
+    }
 }
\ No newline at end of file
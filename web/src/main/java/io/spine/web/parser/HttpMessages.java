@@ -22,26 +22,26 @@ package io.spine.web.parser;
 
 import com.google.protobuf.Message;
 
-import javax.servlet.ServletRequest;
 import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
 import java.util.Optional;
 
 import static com.google.common.base.Preconditions.checkNotNull;
-import static java.util.stream.Collectors.joining;
 
 /**
  * A HTTP request to message parser.
  *
- * <p>The parser supports two string representation formats:
+ * <p>The parser supports three message representation formats:
  * <ul>
  *     <li>JSON - <a href="https://developers.google.com/protocol-buffers/docs/proto3#json">
  *         the Protobuf JSON format</a>;
- *     <li>Base64 - the message bytes encoded in Base64.
+ *     <li>Base64 - the message bytes encoded in Base64;
+ *     <li>binary - the raw message bytes.
  * </ul>
  *
- * <p>In order to specify either format, add the {@code Content-Type} header. The accepted values
- * are {@code application/json} and {@code application/x-protobuf}, case insensitive. If the header
+ * <p>In order to specify the format, add the {@code Content-Type} header. The accepted values
+ * are {@code application/json}, {@code application/x-protobuf} and {@code application/protobuf}
+ * respectively, case insensitive. If the header
  * is absent, the JSON format is expected. If the header value is not recognized, the parsing fails,
  * returning an empty {@link java.util.Optional Optional}.
  *
@@ -51,9 +51,14 @@ import static java.util.stream.Collectors.joining;
  *
  * <p>There is a difference in behavior when parsing one or the other format.
  * When parsing a JSON-encoded message, if an unknown field is found, the parsing is considered
- * failed. In contrary, an unknown field in a Base64-encoded message does not fail parsing;
- * the field can be found in the {@linkplain Message#getUnknownFields() unknown fields set} of
- * the parsed message.
+ * failed. In contrary, an unknown field in a binary or Base64-encoded message does not fail
+ * parsing; the field can be found in the {@linkplain Message#getUnknownFields() unknown fields
+ * set} of the parsed message.
+ *
+ * <p>The request body is parsed as a stream. The JSON is read from the request
+ * {@linkplain HttpServletRequest#getReader() reader}, the Base64 bytes are decoded from
+ * the request {@linkplain HttpServletRequest#getInputStream() input stream}, the raw bytes are
+ * parsed from the input stream as is.
  *
  * @author Dmytro Dashenkov
  * @see MessageFormat
@@ -83,16 +88,12 @@ public final class HttpMessages {
             throws IOException {
         checkNotNull(request, type);
         Optional<MessageFormat> format = MessageFormat.formatOf(request);
-        String requestBody = body(request);
-        Optional<M> message = format.map(messageFormat -> messageFormat.parserFor(type))
-                                    .flatMap(parser -> parser.parse(requestBody));
+        if (!format.isPresent()) {
+            return Optional.empty();
+        }
+        MessageParser<M> parser = format.get()
+                                        .parserFor(type);
+        Optional<M> message = parser.parse(request);
         return message;
     }
-
-    private static String body(ServletRequest request) throws IOException {
-        String result = request.getReader()
-                               .lines()
-                               .collect(joining(" "));
-        return result;
-    }
 }
@@ -20,18 +20,21 @@
 
 package io.spine.web.parser;
 
+import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.Message;
+import com.google.protobuf.util.JsonFormat;
 import io.spine.json.Json;
 import io.spine.logging.Logging;
+import io.spine.protobuf.Messages;
+import io.spine.type.KnownTypes;
 
+import javax.servlet.ServletRequest;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static com.google.common.base.Throwables.getRootCause;
-import static io.spine.json.Json.fromJson;
-import static java.util.regex.Pattern.LITERAL;
-import static java.util.regex.Pattern.compile;
 
 /**
  * An implementation of {@link MessageParser} which parses messages from their JSON representations.
@@ -40,83 +43,61 @@ import static java.util.regex.Pattern.compile;
  * <a href="https://developers.google.com/protocol-buffers/docs/proto3#json">Protobuf documentation
  * </a> for the detailed description of the message format.
  *
+ * <p>The JSON object is tokenized right from the request reader. A body which is a quoted JSON
+ * string is un-escaped as it is read, see {@link UnquotingReader}.
+ *
  * @param <M>
  *         the type of messages to parse
  * @author Dmytro Dashenkov
  */
 final class JsonMessageParser<M extends Message> implements MessageParser<M>, Logging {
 
+    private static final JsonFormat.Parser jsonParser =
+            JsonFormat.parser()
+                      .usingTypeRegistry(KnownTypes.instance()
+                                                   .typeRegistry());
+
     private final Class<M> type;
 
+    /**
+     * The default instance of the parsed type, which creates the builders without reflection.
+     */
+    private final M prototype;
+
     JsonMessageParser(Class<M> type) {
         this.type = type;
+        @SuppressWarnings("unchecked") // Logically checked.
+        M defaultInstance = (M) Messages.builderFor(type)
+                                        .getDefaultInstanceForType();
+        this.prototype = defaultInstance;
     }
 
     @Override
-    public Optional<M> parse(String raw) {
-        String json = cleanUp(raw);
+    public Optional<M> parse(ServletRequest request) throws IOException {
+        BufferedReader body = request.getReader();
+        Reader json = isQuoted(body)
+                      ? new UnquotingReader(body)
+                      : body;
+        Message.Builder builder = prototype.newBuilderForType();
         try {
-            M message = fromJson(json, type);
+            jsonParser.merge(json, builder);
+            @SuppressWarnings("unchecked") // Logically checked.
+                    M message = (M) builder.build();
             return Optional.of(message);
-        } catch (IllegalArgumentException e) {
-            log().error("Unable to parse message of type {} from JSON: `{}`",
-                        type.getName(), json, System.lineSeparator(), getRootCause(e).getMessage());
+        } catch (InvalidProtocolBufferException | IllegalArgumentException | ClassCastException e) {
+            log().error("Unable to parse message of type {} from JSON.{}{}",
+                        type.getName(), System.lineSeparator(), getRootCause(e).getMessage());
             return Optional.empty();
         }
     }
 
-    private static String cleanUp(String jsonFromRequest) {
-        String json = EscapeSymbol.unEscapeAll(jsonFromRequest);
-        String unQuoted = unQuote(json);
-        return unQuoted;
-    }
-
-    private static String unQuote(String json) {
-        int beginIndex = 0;
-        int endIndex = json.length();
-        if (json.startsWith("\"")) {
-            beginIndex = 1;
-        }
-        if (json.endsWith("\"")) {
-            endIndex = json.length() - 1;
-        }
-        String result = json.substring(beginIndex, endIndex);
-        return result;
-    }
-
     /**
-     * An enumeration of special characters that may be escaped when sending a string over HTTP.
+     * Checks if the given body starts with a quotation mark without consuming it.
      */
-    private enum EscapeSymbol {
-
-        @SuppressWarnings({
-                "HardcodedLineSeparator", // Work only with literal "\n"s
-                "unused"                  // Used via `values()`.
-        })
-        LINE_FEED("\\n", "\n"),
-        @SuppressWarnings("unused") // Used via `values()`.
-                QUOTATION_MARK("\\\"", "\"");
-
-        private final Pattern escapedPattern;
-        private final String raw;
-
-        EscapeSymbol(String escaped, String raw) {
-            this.escapedPattern = compile(escaped, LITERAL);
-            this.raw = raw;
-        }
-
-        private String unEscape(String escaped) {
-            Matcher matcher = escapedPattern.matcher(escaped);
-            String unescaped = matcher.replaceAll(raw);
-            return unescaped;
-        }
-
-        private static String unEscapeAll(String escaped) {
-            String json = escaped;
-            for (EscapeSymbol symbol : EscapeSymbol.values()) {
-                json = symbol.unEscape(json);
-            }
-            return json;
-        }
+    private static boolean isQuoted(BufferedReader body) throws IOException {
+        body.mark(1);
+        int first = body.read();
+        body.reset();
+        return first == '"';
     }
 }
@@ -20,11 +20,16 @@
 
 package io.spine.web.parser;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.common.net.MediaType;
 import com.google.protobuf.Message;
 
 import javax.servlet.http.HttpServletRequest;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
@@ -36,6 +41,10 @@ import static java.util.Optional.empty;
 /**
  * Message formats supported by the {@link HttpMessages}.
  *
+ * <p>The formats resolved for the {@code Content-Type} header values are cached, as well as
+ * the parsers created for the message types. The parsers are stateless and are shared between
+ * the requests.
+ *
  * @author Dmytro Dashenkov
  */
 @SuppressWarnings("NonSerializableFieldInSerializableClass")
@@ -46,7 +55,7 @@ enum MessageFormat {
      */
     JSON(Constants.PROTOBUF_JSON) {
         @Override
-        <M extends Message> MessageParser<M> parserFor(Class<M> type) {
+        <M extends Message> MessageParser<M> newParser(Class<M> type) {
             return new JsonMessageParser<>(type);
         }
     },
@@ -56,15 +65,39 @@ enum MessageFormat {
      */
     BASE64(Constants.PROTOBUF_BINARY) {
         @Override
-        <M extends Message> MessageParser<M> parserFor(Class<M> type) {
+        <M extends Message> MessageParser<M> newParser(Class<M> type) {
             return new Base64MessageParser<>(type);
         }
+    },
+
+    /**
+     * The raw bytes message format.
+     */
+    BINARY(Constants.PROTOBUF_RAW_BINARY) {
+        @Override
+        <M extends Message> MessageParser<M> newParser(Class<M> type) {
+            return new BinaryMessageParser<>(type);
+        }
     };
 
     @SuppressWarnings("DuplicateStringLiteralInspection") // A duplicate is in tests.
     private static final String CONTENT_TYPE = "Content-Type";
 
+    /**
+     * The maximum number of the cached {@code Content-Type} header values.
+     *
+     * <p>The header values are sent by the clients, so the cache is bounded.
+     */
+    private static final int MAX_CACHED_CONTENT_TYPES = 64;
+
+    private static final LoadingCache<String, Optional<MessageFormat>> formats =
+            CacheBuilder.newBuilder()
+                        .maximumSize(MAX_CACHED_CONTENT_TYPES)
+                        .build(CacheLoader.from(MessageFormat::parseFormat));
+
     private final MediaType contentType;
+    private final Map<Class<? extends Message>, MessageParser<?>> parsers =
+            new ConcurrentHashMap<>();
 
     MessageFormat(MediaType contentType) {
         this.contentType = contentType;
@@ -76,7 +109,8 @@ enum MessageFormat {
      * <p>The format is determined by the value of the {@code Content-Type} header.
      * If the value is equal to {@code application/json} (case insensitive), returns {@link #JSON}.
      * If the value is equal to {@code application/x-protobuf} (case insensitive), returns
-     * {@link #BASE64}. If the header is not set, returns {@link #JSON}.
+     * {@link #BASE64}. If the value is equal to {@code application/protobuf} (case insensitive),
+     * returns {@link #BINARY}. If the header is not set, returns {@link #JSON}.
      *
      * @param request
      *         the request to get the format for
@@ -89,7 +123,10 @@ enum MessageFormat {
         if (isNullOrEmpty(contentTypeHeader)) {
             return Optional.of(JSON);
         }
+        return formats.getUnchecked(contentTypeHeader);
+    }
 
+    private static Optional<MessageFormat> parseFormat(String contentTypeHeader) {
         try {
             MediaType type = parse(contentTypeHeader);
             Optional<MessageFormat> format = formatOf(type);
@@ -110,9 +147,10 @@ enum MessageFormat {
     }
 
     /**
-     * Creates a {@link MessageParser} for the given {@code type}.
+     * Obtains a {@link MessageParser} for the given {@code type}.
      *
-     * <p>The parser works with {@code this} message format.
+     * <p>The parser works with {@code this} message format. The parser is created once per
+     * message type.
      *
      * @param type
      *         the class of the message to parse
@@ -120,11 +158,21 @@ enum MessageFormat {
      *         the type of the message to parse
      * @return a message parses instance
      */
-    abstract <M extends Message> MessageParser<M> parserFor(Class<M> type);
+    <M extends Message> MessageParser<M> parserFor(Class<M> type) {
+        @SuppressWarnings("unchecked") // Ensured by the map key.
+        MessageParser<M> parser = (MessageParser<M>) parsers.computeIfAbsent(type, this::newParser);
+        return parser;
+    }
+
+    /**
+     * Creates a new {@link MessageParser} for the given {@code type}.
+     */
+    abstract <M extends Message> MessageParser<M> newParser(Class<M> type);
 
     private static class Constants {
 
         private static final MediaType PROTOBUF_JSON = JSON_UTF_8;
         private static final MediaType PROTOBUF_BINARY = create("application", "x-protobuf");
+        private static final MediaType PROTOBUF_RAW_BINARY = create("application", "protobuf");
     }
 }
@@ -22,12 +22,15 @@ package io.spine.web.parser;
 
 import com.google.protobuf.Message;
 
+import javax.servlet.ServletRequest;
+import java.io.IOException;
 import java.util.Optional;
 
 /**
- * A string to message parser.
+ * A request body to message parser.
  *
- * <p>The string format is implementation specific.
+ * <p>The body format is implementation specific. The parsers read the body as a stream, without
+ * copying it into a string first.
  *
  * @param <M> the type of messages to parse
  * @author Dmytro Dashenkov
@@ -35,11 +38,12 @@ import java.util.Optional;
 interface MessageParser<M extends Message> {
 
     /**
-     * Parses the given string into a message.
+     * Parses the body of the given request into a message.
      *
-     * @param raw the string to parse
-     * @return parsed message or {@code Optional.empty()} if the string cannot be parsed into
+     * @param request the request to parse the body of
+     * @return parsed message or {@code Optional.empty()} if the body cannot be parsed into
      *         a message of type {@code M}
+     * @throws IOException if the request body cannot be read
      */
-    Optional<M> parse(String raw);
+    Optional<M> parse(ServletRequest request) throws IOException;
 }
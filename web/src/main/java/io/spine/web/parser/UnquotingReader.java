@@ -0,0 +1,156 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.parser;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.String.format;
+
+/**
+ * A {@link Reader} which reads the contents of a quoted JSON string.
+ *
+ * <p>The reader skips the opening quotation mark, un-escapes the string characters and stops at
+ * the closing quotation mark. The characters after the closing quotation mark are ignored.
+ *
+ * <p>The string is un-escaped in a single pass as it is read, so the quoted body is never
+ * copied as a whole.
+ */
+final class UnquotingReader extends Reader {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int UNICODE_DIGITS = 4;
+    private static final int HEX_RADIX = 16;
+
+    private final Reader quoted;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position = 0;
+    private int limit = 0;
+    private boolean started = false;
+    private boolean finished = false;
+
+    /**
+     * Creates a new reader of the given quoted string.
+     *
+     * @param quoted
+     *         the reader positioned at the opening quotation mark
+     */
+    UnquotingReader(Reader quoted) {
+        super();
+        this.quoted = checkNotNull(quoted);
+    }
+
+    @Override
+    public int read(char[] target, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        int count = 0;
+        while (count < length && !finished) {
+            int next = next();
+            if (next >= 0) {
+                target[offset + count] = (char) next;
+                count++;
+            }
+        }
+        return count == 0 ? -1 : count;
+    }
+
+    /**
+     * Reads the next un-escaped character.
+     *
+     * @return the next character or {@code -1} if the string has ended
+     */
+    private int next() throws IOException {
+        if (!started) {
+            started = true;
+            int opening = readRaw();
+            if (opening != '"') {
+                finished = true;
+                return -1;
+            }
+        }
+        int c = readRaw();
+        if (c < 0 || c == '"') {
+            finished = true;
+            return -1;
+        }
+        return c == '\\' ? unEscape() : c;
+    }
+
+    private int unEscape() throws IOException {
+        int escaped = readRaw();
+        switch (escaped) {
+            case 'n':
+                return '\n';
+            case 't':
+                return '\t';
+            case 'r':
+                return '\r';
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'u':
+                return readUnicode();
+            case -1:
+                throw malformed("String ends with an unfinished escape sequence.");
+            default:
+                return escaped;
+        }
+    }
+
+    private int readUnicode() throws IOException {
+        int code = 0;
+        for (int i = 0; i < UNICODE_DIGITS; i++) {
+            int digit = Character.digit(readRaw(), HEX_RADIX);
+            if (digit < 0) {
+                throw malformed("Malformed Unicode escape sequence.");
+            }
+            code = code * HEX_RADIX + digit;
+        }
+        return code;
+    }
+
+    private int readRaw() throws IOException {
+        if (position == limit) {
+            int read = quoted.read(buffer, 0, buffer.length);
+            if (read <= 0) {
+                return -1;
+            }
+            position = 0;
+            limit = read;
+        }
+        return buffer[position++];
+    }
+
+    private static InvalidProtocolBufferException malformed(String message) {
+        return new InvalidProtocolBufferException(format("Malformed quoted JSON. %s", message));
+    }
+
+    @Override
+    public void close() throws IOException {
+        quoted.close();
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.query;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.spine.client.Query;
+import io.spine.client.QueryResponse;
+import io.spine.client.grpc.QueryServiceGrpc.QueryServiceImplBase;
+import io.spine.web.future.FutureObserver;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeoutException;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.lang.String.format;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * A {@code QueryService} client which does not block the calling thread.
+ *
+ * <p>The query response is delivered via a {@link CompletableFuture}. The service may complete
+ * the call on any thread, which allows the caller to overlap the query with other work.
+ *
+ * <p>If the timeout is set, the future fails with a {@link TimeoutException} when the response
+ * does not arrive in time. The caller may also {@linkplain CompletableFuture#cancel(boolean)
+ * cancel} the future. In both cases, the late response is ignored.
+ */
+public final class AsyncQueryService {
+
+    /**
+     * The scheduler of the query timeouts shared by all the instances.
+     */
+    private static final ScheduledExecutorService timeouts = newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("query-timeout-%d")
+                                      .setDaemon(true)
+                                      .build()
+    );
+
+    private final QueryServiceImplBase queryService;
+    @Nullable
+    private final Duration timeout;
+
+    /**
+     * Creates a new instance of {@code AsyncQueryService} which waits for the response
+     * indefinitely.
+     *
+     * @param service
+     *         the query service to execute the queries
+     */
+    public AsyncQueryService(QueryServiceImplBase service) {
+        this.queryService = checkNotNull(service);
+        this.timeout = null;
+    }
+
+    /**
+     * Creates a new instance of {@code AsyncQueryService} which fails the queries not answered
+     * within the given timeout.
+     *
+     * @param service
+     *         the query service to execute the queries
+     * @param timeout
+     *         the positive time to wait for a query response
+     */
+    public AsyncQueryService(QueryServiceImplBase service, Duration timeout) {
+        checkNotNull(timeout);
+        checkArgument(!timeout.isNegative() && !timeout.isZero(),
+                      "Query timeout must be positive, got %s.", timeout);
+        this.queryService = checkNotNull(service);
+        this.timeout = timeout;
+    }
+
+    /**
+     * Sends the given query to the {@code QueryService}.
+     *
+     * @param query
+     *         the query to execute
+     * @return the future of the query response
+     */
+    public CompletableFuture<QueryResponse> execute(Query query) {
+        checkNotNull(query);
+        FutureObserver<QueryResponse> observer = FutureObserver.create();
+        CompletableFuture<QueryResponse> response = observer.toFuture();
+        if (timeout != null) {
+            scheduleTimeout(query, response, timeout);
+        }
+        try {
+            queryService.read(query, observer);
+        } catch (RuntimeException e) {
+            observer.onError(e);
+        }
+        return response;
+    }
+
+    /**
+     * Obtains the time to wait for a query response, if it is limited.
+     */
+    Optional<Duration> timeout() {
+        return Optional.ofNullable(timeout);
+    }
+
+    private static void scheduleTimeout(Query query,
+                                        CompletableFuture<QueryResponse> response,
+                                        Duration timeout) {
+        ScheduledFuture<?> task = timeouts.schedule(
+                () -> response.completeExceptionally(timeoutOf(query, timeout)),
+                timeout.toMillis(), MILLISECONDS
+        );
+        response.whenComplete((result, error) -> task.cancel(false));
+    }
+
+    private static TimeoutException timeoutOf(Query query, Duration timeout) {
+        String message = format("Query %s is not answered within %s.",
+                                query.getId()
+                                     .getValue(), timeout);
+        return new TimeoutException(message);
+    }
+}
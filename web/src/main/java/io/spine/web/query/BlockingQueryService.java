@@ -23,30 +23,71 @@ package io.spine.web.query;
 import io.spine.client.Query;
 import io.spine.client.QueryResponse;
 import io.spine.client.grpc.QueryServiceGrpc.QueryServiceImplBase;
-import io.spine.grpc.MemoizingObserver;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
-import static io.spine.grpc.StreamObservers.memoizingObserver;
 import static io.spine.util.Exceptions.illegalStateWithCauseOf;
+import static io.spine.util.Exceptions.newIllegalStateException;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
+/**
+ * A {@code QueryService} client which waits for the query response on the calling thread.
+ *
+ * <p>The queries are executed via an {@link AsyncQueryService}. If the service has a timeout,
+ * the response is awaited for no longer than the timeout, so the service may complete the call
+ * on any thread. Otherwise, the service must complete the call before returning, and a query
+ * which is not completed by then fails right away instead of blocking the thread indefinitely.
+ */
 public final class BlockingQueryService {
 
-    private final QueryServiceImplBase queryService;
+    private final AsyncQueryService queryService;
 
     public BlockingQueryService(QueryServiceImplBase service) {
+        this(new AsyncQueryService(service));
+    }
+
+    public BlockingQueryService(AsyncQueryService service) {
         queryService = checkNotNull(service);
     }
 
     public QueryResponse execute(Query query) {
-        MemoizingObserver<QueryResponse> observer = memoizingObserver();
-        queryService.read(query, observer);
-        Throwable error = observer.getError();
-        if (error != null) {
-            throw illegalStateWithCauseOf(error);
+        CompletableFuture<QueryResponse> future = queryService.execute(query);
+        String queryId = query.getId()
+                              .getValue();
+        try {
+            QueryResponse response = await(future, queryId);
+            checkState(response != null, "Query %s is completed with no response.", queryId);
+            return response;
+        } catch (ExecutionException e) {
+            throw illegalStateWithCauseOf(e.getCause());
+        } catch (TimeoutException e) {
+            throw illegalStateWithCauseOf(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+            throw illegalStateWithCauseOf(e);
+        }
+    }
+
+    private QueryResponse await(CompletableFuture<QueryResponse> future, String queryId)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        Optional<Duration> timeout = queryService.timeout();
+        if (timeout.isPresent()) {
+            return future.get(timeout.get()
+                                     .toMillis(), MILLISECONDS);
+        }
+        if (!future.isDone()) {
+            future.cancel(false);
+            throw newIllegalStateException(
+                    "Query %s is not completed synchronously. " +
+                            "Set the query timeout to wait for the response.", queryId);
         }
-        checkState(observer.isCompleted());
-        QueryResponse response = observer.firstResponse();
-        return response;
+        return future.get();
     }
 }
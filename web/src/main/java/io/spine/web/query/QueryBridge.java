@@ -22,6 +22,10 @@ package io.spine.web.query;
 
 import io.spine.client.Query;
 
+import java.util.concurrent.CompletionStage;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
 /**
  * An {@linkplain io.spine.client.Query entity query} bridge.
  *
@@ -46,4 +50,18 @@ public interface QueryBridge {
      * @return the query result
      */
     QueryProcessingResult send(Query query);
+
+    /**
+     * Sends the given {@link io.spine.client.Query Query} without blocking the calling thread
+     * for the query response.
+     *
+     * <p>By default, {@linkplain #send(Query) sends} the query synchronously. The implementations
+     * are encouraged to override this method.
+     *
+     * @param query the query to send
+     * @return the future query result
+     */
+    default CompletionStage<QueryProcessingResult> sendAsync(Query query) {
+        return completedFuture(send(query));
+    }
 }
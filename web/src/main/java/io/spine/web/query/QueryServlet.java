@@ -22,14 +22,22 @@ package io.spine.web.query;
 
 import io.spine.client.Query;
 import io.spine.web.NonSerializableServlet;
+import io.spine.web.ResponseFormat;
 import io.spine.web.parser.HttpMessages;
 
+import javax.annotation.Nullable;
 import javax.annotation.OverridingMethodsMustInvokeSuper;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.web.AsyncRequests.respondAsync;
+import static java.util.function.Function.identity;
 
 /**
  * An {@link HttpServlet} which receives {@linkplain Query query requests}, passes them
@@ -52,6 +60,10 @@ import java.util.Optional;
  * the constructor. No additional config is required in order for this servlet to handle
  * the {@linkplain io.spine.client.Query entity queries}.
  *
+ * <p>A servlet created with an {@link Executor} processes the queries asynchronously, releasing
+ * the container thread until the result is ready. Such a servlet must be registered with
+ * the async support enabled.
+ *
  * <p>A {@code QueryServlet} does not support serialization. Please keep that in mind when selecting
  * a servlet container. When trying to serialize an instance of {@code QueryServlet}, an
  * {@link UnsupportedOperationException} is thrown.
@@ -62,6 +74,8 @@ import java.util.Optional;
 public abstract class QueryServlet extends NonSerializableServlet {
 
     private final QueryBridge bridge;
+    @Nullable
+    private final Executor executor;
 
     /**
      * Creates a new instance of {@code QueryServlet} with the given {@link QueryBridge}.
@@ -71,6 +85,19 @@ public abstract class QueryServlet extends NonSerializableServlet {
     protected QueryServlet(QueryBridge bridge) {
         super();
         this.bridge = bridge;
+        this.executor = null;
+    }
+
+    /**
+     * Creates a new instance of {@code QueryServlet} which processes the queries asynchronously.
+     *
+     * @param bridge   the query bridge to be used in this query servlet
+     * @param executor the executor to send the queries on
+     */
+    protected QueryServlet(QueryBridge bridge, Executor executor) {
+        super();
+        this.bridge = checkNotNull(bridge);
+        this.executor = checkNotNull(executor);
     }
 
     /**
@@ -87,8 +114,15 @@ public abstract class QueryServlet extends NonSerializableServlet {
             resp.sendError(HttpServletResponse.SC_BAD_REQUEST);
         } else {
             Query query = optionalQuery.get();
-            QueryProcessingResult result = bridge.send(query);
-            result.writeTo(resp);
+            if (executor == null) {
+                QueryProcessingResult result = bridge.send(query);
+                result.writeTo(resp, ResponseFormat.of(req));
+            } else {
+                CompletableFuture<QueryProcessingResult> result = CompletableFuture
+                        .supplyAsync(() -> bridge.sendAsync(query), executor)
+                        .thenCompose(identity());
+                respondAsync(req, result);
+            }
         }
     }
 }
@@ -26,6 +26,10 @@ import io.spine.web.subscription.result.SubscribeResult;
 import io.spine.web.subscription.result.SubscriptionCancelResult;
 import io.spine.web.subscription.result.SubscriptionKeepUpResult;
 
+import java.util.concurrent.CompletionStage;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
 /**
  * A bridge for requests to a subscription {@link io.spine.server.SubscriptionService}.
  *
@@ -65,4 +69,29 @@ public interface SubscriptionBridge {
      * @return a {@link SubscriptionCancelResult} which can be written to a {@link javax.servlet.ServletResponse}
      */
     SubscriptionCancelResult cancel(Subscription subscription);
+
+    /**
+     * Creates a new {@link Subscription} to a provided topic without blocking the calling thread
+     * for the topic query.
+     *
+     * <p>By default, {@linkplain #subscribe(Topic) subscribes} synchronously.
+     *
+     * @param topic a topic to subscribe the client to
+     * @return the future {@link SubscribeResult}
+     */
+    default CompletionStage<SubscribeResult> subscribeAsync(Topic topic) {
+        return completedFuture(subscribe(topic));
+    }
+
+    /**
+     * Keep up the subscription without blocking the calling thread for the topic query.
+     *
+     * <p>By default, {@linkplain #keepUp(Subscription) keeps up} the subscription synchronously.
+     *
+     * @param subscription a subscription that should stay open
+     * @return the future {@link SubscriptionKeepUpResult}
+     */
+    default CompletionStage<SubscriptionKeepUpResult> keepUpAsync(Subscription subscription) {
+        return completedFuture(keepUp(subscription));
+    }
 }
@@ -22,16 +22,23 @@ package io.spine.web.subscription.servlet;
 
 import io.spine.client.Topic;
 import io.spine.web.NonSerializableServlet;
+import io.spine.web.ResponseFormat;
 import io.spine.web.parser.HttpMessages;
 import io.spine.web.subscription.SubscriptionBridge;
 import io.spine.web.subscription.result.SubscribeResult;
 
+import javax.annotation.Nullable;
 import javax.annotation.OverridingMethodsMustInvokeSuper;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.spine.web.AsyncRequests.respondAsync;
+import static java.util.function.Function.identity;
 import static javax.servlet.http.HttpServletResponse.SC_BAD_REQUEST;
 
 /**
@@ -41,11 +48,16 @@ import static javax.servlet.http.HttpServletResponse.SC_BAD_REQUEST;
  * <p>This servlet parses the client requests and passes it to the {@link SubscriptionBridge}
  * to process. After, {@linkplain SubscribeResult the processing result} is written to
  * the servlet response.
+ *
+ * <p>A servlet created with an {@link Executor} creates the subscriptions asynchronously and
+ * must be registered with the async support enabled.
  */
 @SuppressWarnings("serial") // Java serialization is not supported.
 public abstract class SubscribeServlet extends NonSerializableServlet {
 
     private final SubscriptionBridge bridge;
+    @Nullable
+    private final Executor executor;
 
     /**
      * Creates a new instance of {@code SubscribeServlet} with the given
@@ -57,6 +69,22 @@ public abstract class SubscribeServlet extends NonSerializableServlet {
     protected SubscribeServlet(SubscriptionBridge bridge) {
         super();
         this.bridge = bridge;
+        this.executor = null;
+    }
+
+    /**
+     * Creates a new instance of {@code SubscribeServlet} which creates the subscriptions
+     * asynchronously.
+     *
+     * @param bridge
+     *         the subscription bridge to be used to create subscriptions
+     * @param executor
+     *         the executor to create the subscriptions on
+     */
+    protected SubscribeServlet(SubscriptionBridge bridge, Executor executor) {
+        super();
+        this.bridge = checkNotNull(bridge);
+        this.executor = checkNotNull(executor);
     }
 
     /**
@@ -73,8 +101,15 @@ public abstract class SubscribeServlet extends NonSerializableServlet {
             resp.sendError(SC_BAD_REQUEST);
         } else {
             Topic topic = optionalTopic.get();
-            SubscribeResult result = bridge.subscribe(topic);
-            result.writeTo(resp);
+            if (executor == null) {
+                SubscribeResult result = bridge.subscribe(topic);
+                result.writeTo(resp, ResponseFormat.of(req));
+            } else {
+                CompletableFuture<SubscribeResult> result = CompletableFuture
+                        .supplyAsync(() -> bridge.subscribeAsync(topic), executor)
+                        .thenCompose(identity());
+                respondAsync(req, result);
+            }
         }
     }
 }
@@ -22,6 +22,7 @@ package io.spine.web.subscription.servlet;
 
 import io.spine.client.Subscription;
 import io.spine.web.NonSerializableServlet;
+import io.spine.web.ResponseFormat;
 import io.spine.web.parser.HttpMessages;
 import io.spine.web.subscription.SubscriptionBridge;
 import io.spine.web.subscription.result.SubscriptionCancelResult;
@@ -72,7 +73,7 @@ public abstract class SubscriptionCancelServlet extends NonSerializableServlet {
         } else {
             Subscription subscription = optionalSubscription.get();
             SubscriptionCancelResult result = bridge.cancel(subscription);
-            result.writeTo(resp);
+            result.writeTo(resp, ResponseFormat.of(req));
         }
     }
 }
@@ -22,6 +22,7 @@ package io.spine.web.subscription.servlet;
 
 import io.spine.client.Subscription;
 import io.spine.web.NonSerializableServlet;
+import io.spine.web.ResponseFormat;
 import io.spine.web.parser.HttpMessages;
 import io.spine.web.subscription.SubscriptionBridge;
 import io.spine.web.subscription.result.SubscriptionKeepUpResult;
@@ -73,7 +74,7 @@ public abstract class SubscriptionKeepUpServlet extends NonSerializableServlet {
         } else {
             Subscription subscription = optionalSubscription.get();
             SubscriptionKeepUpResult result = bridge.keepUp(subscription);
-            result.writeTo(resp);
+            result.writeTo(resp, ResponseFormat.of(req));
         }
     }
 }
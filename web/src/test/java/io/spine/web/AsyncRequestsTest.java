@@ -0,0 +1,97 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web;
+
+import com.google.protobuf.Empty;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static io.spine.web.AsyncRequests.DEFAULT_TIMEOUT;
+import static io.spine.web.AsyncRequests.respondAsync;
+import static io.spine.web.given.Servlets.asyncContext;
+import static io.spine.web.given.Servlets.asyncRequest;
+import static io.spine.web.given.Servlets.response;
+import static javax.servlet.http.HttpServletResponse.SC_SERVICE_UNAVAILABLE;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("AsyncRequests should")
+class AsyncRequestsTest {
+
+    private HttpServletResponse response;
+    private AsyncContext context;
+    private HttpServletRequest request;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        response = response(new StringWriter());
+        context = asyncContext(response);
+        request = asyncRequest(Empty.getDefaultInstance(), context);
+    }
+
+    @Test
+    @DisplayName("limit the time of the asynchronous processing")
+    void setTimeout() {
+        respondAsync(request, new CompletableFuture<>());
+
+        verify(context).setTimeout(DEFAULT_TIMEOUT.toMillis());
+    }
+
+    @Test
+    @DisplayName("respond with an error if the result is not ready in time")
+    void failOnTimeout() throws IOException {
+        CompletableFuture<RequestResult> result = new CompletableFuture<>();
+        respondAsync(request, result, Duration.ofSeconds(1));
+        ArgumentCaptor<AsyncListener> listener = ArgumentCaptor.forClass(AsyncListener.class);
+        verify(context).addListener(listener.capture());
+
+        listener.getValue()
+                .onTimeout(new AsyncEvent(context));
+        verify(response).sendError(SC_SERVICE_UNAVAILABLE);
+        verify(context).complete();
+
+        RequestResult lateResult = mock(RequestResult.class);
+        result.complete(lateResult);
+        verify(lateResult, never()).writeTo(any(), any());
+    }
+
+    @Test
+    @DisplayName("not accept non-positive timeout")
+    void rejectNonPositiveTimeout() {
+        assertThrows(IllegalArgumentException.class,
+                     () -> respondAsync(request, new CompletableFuture<>(), Duration.ZERO));
+    }
+}
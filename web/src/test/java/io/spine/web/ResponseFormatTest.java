@@ -0,0 +1,108 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web;
+
+import com.google.protobuf.Timestamp;
+import io.spine.web.given.BytesOutputStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static io.spine.base.Time.currentTime;
+import static io.spine.json.Json.toCompactJson;
+import static io.spine.web.ResponseFormat.BINARY;
+import static io.spine.web.ResponseFormat.JSON;
+import static io.spine.web.given.Servlets.request;
+import static io.spine.web.given.Servlets.response;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("ResponseFormat should")
+class ResponseFormatTest {
+
+    @Nested
+    @DisplayName("select")
+    class Select {
+
+        @Test
+        @DisplayName("JSON if Accept is absent")
+        void jsonByDefault() throws IOException {
+            assertEquals(JSON, ResponseFormat.of(request(currentTime())));
+        }
+
+        @Test
+        @DisplayName("binary if requested")
+        void binary() throws IOException {
+            assertEquals(BINARY, formatFor("application/protobuf"));
+        }
+
+        @Test
+        @DisplayName("the first known format")
+        void firstKnown() throws IOException {
+            assertEquals(JSON, formatFor("text/html, application/json, application/protobuf"));
+            assertEquals(BINARY, formatFor("application/protobuf;q=0.9, application/json"));
+        }
+
+        @Test
+        @DisplayName("JSON for a wildcard or a malformed header")
+        void jsonForUnknown() throws IOException {
+            assertEquals(JSON, formatFor("*/*"));
+            assertEquals(JSON, formatFor("application/*"));
+            assertEquals(JSON, formatFor("not a media type"));
+        }
+
+        private ResponseFormat formatFor(String accept) throws IOException {
+            HttpServletRequest request = request(currentTime(), accept);
+            return ResponseFormat.of(request);
+        }
+    }
+
+    @Test
+    @DisplayName("write message as JSON")
+    void writeJson() throws IOException {
+        Timestamp message = currentTime();
+        StringWriter writer = new StringWriter();
+        HttpServletResponse response = response(writer);
+
+        JSON.write(message, response);
+
+        assertEquals(toCompactJson(message), writer.toString());
+        verify(response).setContentType("application/json; charset=utf-8");
+    }
+
+    @Test
+    @DisplayName("write message as bytes")
+    void writeBinary() throws IOException {
+        Timestamp message = currentTime();
+        BytesOutputStream stream = new BytesOutputStream();
+        HttpServletResponse response = response(stream);
+
+        BINARY.write(message, response);
+
+        assertEquals(message, Timestamp.parseFrom(stream.toByteArray()));
+        verify(response).setContentType("application/protobuf");
+    }
+}
@@ -29,10 +29,14 @@ import io.spine.protobuf.AnyPacker;
 import io.spine.testing.client.TestActorRequestFactory;
 import io.spine.testing.client.command.TestCommandMessage;
 import io.spine.testing.client.command.TestCommandMessageVBuilder;
+import io.spine.web.command.given.CommandServletTestEnv.AsyncCommandServlet;
 import io.spine.web.command.given.CommandServletTestEnv.TestCommandServlet;
+import io.spine.web.given.BytesOutputStream;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import javax.servlet.AsyncContext;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -42,6 +46,8 @@ import java.io.StringWriter;
 
 import static io.spine.base.Identifier.newUuid;
 import static io.spine.core.Status.StatusCase.OK;
+import static io.spine.web.given.Servlets.asyncContext;
+import static io.spine.web.given.Servlets.asyncRequest;
 import static io.spine.web.given.Servlets.request;
 import static io.spine.web.given.Servlets.response;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -79,6 +85,39 @@ class CommandServletTest {
         assertEquals(command.getId(), AnyPacker.unpack(ack.getMessageId()));
     }
 
+    @Test
+    @DisplayName("handle command POST requests asynchronously")
+    void testHandleAsync() throws IOException {
+        CommandServlet servlet = new AsyncCommandServlet(Runnable::run);
+        StringWriter response = new StringWriter();
+        AsyncContext context = asyncContext(response(response));
+        TestCommandMessage createTask = TestCommandMessage
+                .vBuilder()
+                .setId(newUuid())
+                .build();
+        Command command = commandFactory.create(createTask);
+        HttpServletRequest request = asyncRequest(command, context);
+        servlet.doPost(request, response(new StringWriter()));
+        verify(context).complete();
+        Ack ack = Json.fromJson(response.toString(), Ack.class);
+        assertEquals(command.getId(), AnyPacker.unpack(ack.getMessageId()));
+    }
+
+    @Test
+    @DisplayName("write binary acknowledgement if requested")
+    void testBinaryAck() throws IOException {
+        CommandServlet servlet = new TestCommandServlet();
+        BytesOutputStream response = new BytesOutputStream();
+        TestCommandMessage createTask = TestCommandMessage
+                .vBuilder()
+                .setId(newUuid())
+                .build();
+        Command command = commandFactory.create(createTask);
+        servlet.doPost(request(command, "application/protobuf"), response(response));
+        Ack ack = Ack.parseFrom(response.toByteArray());
+        assertEquals(command.getId(), AnyPacker.unpack(ack.getMessageId()));
+    }
+
     @Test
     @DisplayName("respond 400 to an invalid command")
     void testInvalidCommand() throws IOException {
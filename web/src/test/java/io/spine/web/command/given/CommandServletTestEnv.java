@@ -27,6 +27,8 @@ import io.spine.core.Command;
 import io.spine.server.CommandService;
 import io.spine.web.command.CommandServlet;
 
+import java.util.concurrent.Executor;
+
 import static io.spine.core.Responses.statusOk;
 import static io.spine.protobuf.AnyPacker.pack;
 import static io.spine.testing.Tests.nullRef;
@@ -66,4 +68,12 @@ public final class CommandServletTestEnv {
             super(positiveCommandService());
         }
     }
+
+    @SuppressWarnings("serial")
+    public static final class AsyncCommandServlet extends CommandServlet {
+
+        public AsyncCommandServlet(Executor executor) {
+            super(positiveCommandService(), executor);
+        }
+    }
 }
@@ -31,6 +31,7 @@ import static org.hamcrest.Matchers.instanceOf;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DisplayName("FutureObserver should")
 class FutureObserverTest {
@@ -86,6 +87,18 @@ class FutureObserverTest {
         assertThat(rootCause, instanceOf(IcebergCollisionException.class));
     }
 
+    @Test
+    @DisplayName("ignore value and error after cancellation")
+    void testIgnoreAfterCancel() {
+        FutureObserver<String> observer = FutureObserver.create();
+        observer.toFuture()
+                .cancel(false);
+        observer.onNext("Lusitania");
+        observer.onError(new IcebergCollisionException());
+        assertTrue(observer.toFuture()
+                           .isCancelled());
+    }
+
     /**
      * An exception thrown on an event on colliding with an iceberg.
      *
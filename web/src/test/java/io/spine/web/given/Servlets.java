@@ -23,6 +23,7 @@ package io.spine.web.given;
 import com.google.protobuf.Message;
 import io.spine.json.Json;
 
+import javax.servlet.AsyncContext;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.BufferedReader;
@@ -52,9 +53,46 @@ public final class Servlets {
         return request;
     }
 
+    /**
+     * Creates a request which accepts the response of the given media type.
+     */
+    public static HttpServletRequest request(Message contents, String accept) throws IOException {
+        HttpServletRequest request = request(contents);
+        when(request.getHeader("Accept")).thenReturn(accept);
+        return request;
+    }
+
     public static HttpServletResponse response(StringWriter writer) throws IOException {
         HttpServletResponse response = mock(HttpServletResponse.class);
         when(response.getWriter()).thenReturn(new PrintWriter(writer));
         return response;
     }
+
+    /**
+     * Creates a response which collects the written bytes into the given stream.
+     */
+    public static HttpServletResponse response(BytesOutputStream stream) throws IOException {
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        when(response.getOutputStream()).thenReturn(stream);
+        return response;
+    }
+
+    /**
+     * Creates a request which processing may be moved to the given async context.
+     */
+    public static HttpServletRequest asyncRequest(Message contents, AsyncContext context)
+            throws IOException {
+        HttpServletRequest request = request(contents);
+        when(request.startAsync()).thenReturn(context);
+        return request;
+    }
+
+    /**
+     * Creates an async context which holds the given response.
+     */
+    public static AsyncContext asyncContext(HttpServletResponse response) {
+        AsyncContext context = mock(AsyncContext.class);
+        when(context.getResponse()).thenReturn(response);
+        return context;
+    }
 }
@@ -35,6 +35,7 @@ import java.util.Base64;
 import java.util.Optional;
 
 import static io.spine.json.Json.toCompactJson;
+import static io.spine.json.Json.toJson;
 import static io.spine.testing.Tests.assertHasPrivateParameterlessCtor;
 import static io.spine.web.parser.HttpMessages.parse;
 import static io.spine.web.parser.given.HttpMessagesTestEnv.JSON_TYPE;
@@ -42,12 +43,14 @@ import static io.spine.web.parser.given.HttpMessagesTestEnv.JSON_TYPE_CRAZY_CASE
 import static io.spine.web.parser.given.HttpMessagesTestEnv.JSON_TYPE_UTF_8;
 import static io.spine.web.parser.given.HttpMessagesTestEnv.PROTOBUF_TYPE;
 import static io.spine.web.parser.given.HttpMessagesTestEnv.base64;
+import static io.spine.web.parser.given.HttpMessagesTestEnv.binaryRequest;
 import static io.spine.web.parser.given.HttpMessagesTestEnv.newAck;
 import static io.spine.web.parser.given.HttpMessagesTestEnv.request;
 import static io.spine.web.parser.given.HttpMessagesTestEnv.requestWithoutContentType;
 import static io.spine.web.parser.given.HttpMessagesTestEnv.testJsonWithContentType;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -103,6 +106,57 @@ class HttpMessagesTest {
         assertEquals(expectedMessage, actual.get());
     }
 
+    @Test
+    @DisplayName("fail to parse Base64 string split into lines")
+    void testMultilineBase64() throws IOException {
+        Message expectedMessage = FieldMask.newBuilder()
+                                           .addPaths("Dummy.field")
+                                           .addPaths("Dummy.other_field")
+                                           .build();
+        String content = Base64.getMimeEncoder(8, "\r\n".getBytes(UTF_8))
+                               .encodeToString(expectedMessage.toByteArray());
+        Optional<FieldMask> actual =
+                parse(request(content, PROTOBUF_TYPE), FieldMask.class);
+        assertFalse(actual.isPresent());
+    }
+
+    @Test
+    @DisplayName("parse message from JSON split into lines")
+    void testMultilineJson() throws IOException {
+        Ack expectedAck = newAck(42);
+        String content = toJson(expectedAck);
+        Optional<Ack> actual = parse(requestWithoutContentType(content), Ack.class);
+        assertTrue(actual.isPresent());
+        assertEquals(expectedAck, actual.get());
+    }
+
+    @Test
+    @DisplayName("parse message from a quoted JSON string")
+    void testParseQuoted() throws IOException {
+        Ack expectedAck = newAck(7);
+        String content = '"' + toCompactJson(expectedAck).replace("\"", "\\\"") + '"';
+        Optional<Ack> actual = parse(requestWithoutContentType(content), Ack.class);
+        assertTrue(actual.isPresent());
+        assertEquals(expectedAck, actual.get());
+    }
+
+    @Test
+    @DisplayName("parse message from raw bytes in HTTP request")
+    void testBinary() throws IOException {
+        Ack expectedAck = newAck(3);
+        Optional<Ack> actual = parse(binaryRequest(expectedAck), Ack.class);
+        assertTrue(actual.isPresent());
+        assertEquals(expectedAck, actual.get());
+    }
+
+    @Test
+    @DisplayName("fail to parse malformed raw bytes")
+    void testFailToParseRawBytes() throws IOException {
+        byte[] content = {(byte) 1, (byte) 42, (byte) 127};
+        Optional<?> parsed = parse(binaryRequest(content), Empty.class);
+        assertFalse(parsed.isPresent());
+    }
+
     @Test
     @DisplayName("not parse message of an unknown format")
     void testNotSupportUnknownFormat() throws IOException {
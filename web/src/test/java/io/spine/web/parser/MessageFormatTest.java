@@ -0,0 +1,69 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.parser;
+
+import com.google.protobuf.Empty;
+import com.google.protobuf.Timestamp;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import static io.spine.web.parser.MessageFormat.BASE64;
+import static io.spine.web.parser.MessageFormat.JSON;
+import static io.spine.web.parser.given.HttpMessagesTestEnv.JSON_TYPE_UTF_8;
+import static io.spine.web.parser.given.HttpMessagesTestEnv.PROTOBUF_TYPE;
+import static io.spine.web.parser.given.HttpMessagesTestEnv.request;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@DisplayName("MessageFormat should")
+class MessageFormatTest {
+
+    @Test
+    @DisplayName("reuse the parser of a message type")
+    void reuseParser() {
+        assertSame(JSON.parserFor(Timestamp.class), JSON.parserFor(Timestamp.class));
+        assertNotSame(JSON.parserFor(Timestamp.class), JSON.parserFor(Empty.class));
+        assertNotSame(JSON.parserFor(Empty.class), BASE64.parserFor(Empty.class));
+    }
+
+    @Test
+    @DisplayName("resolve the same format for a repeated Content-Type")
+    void resolveRepeatedContentType() throws IOException {
+        for (int i = 0; i < 2; i++) {
+            assertEquals(Optional.of(JSON), MessageFormat.formatOf(request("", JSON_TYPE_UTF_8)));
+            assertEquals(Optional.of(BASE64), MessageFormat.formatOf(request("", PROTOBUF_TYPE)));
+        }
+    }
+
+    @Test
+    @DisplayName("not resolve a format for a malformed Content-Type")
+    void rejectMalformedContentType() throws IOException {
+        for (int i = 0; i < 2; i++) {
+            assertFalse(MessageFormat.formatOf(request("", "not a media type"))
+                                     .isPresent());
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.parser;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.CharStreams;
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Map;
+
+import static com.google.common.base.Strings.repeat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("UnquotingReader should")
+class UnquotingReaderTest {
+
+    /**
+     * The quoted strings and their expected contents.
+     */
+    private static final Map<String, String> corpus = ImmutableMap
+            .<String, String>builder()
+            .put("\"\"", "")
+            .put("\"{}\"", "{}")
+            .put("\"{\\\"a\\\":1}\"", "{\"a\":1}")
+            .put("\"line\\nbreak\"", "line\nbreak")
+            .put("\"tab\\tand\\rreturn\"", "tab\tand\rreturn")
+            .put("\"\\b\\f\"", "\b\f")
+            .put("\"back\\\\slash\"", "back\\slash")
+            .put("\"a\\/b\"", "a/b")
+            .put("\"\\u0041\\u00e9\\u20AC\"", "A\u00e9\u20ac")
+            .put("\"\\ud83d\\ude00\"", "\ud83d\ude00")
+            .put("\"{\\\"s\\\":\\\"\\\\\\\"q\\\\\\\"\\\"}\"", "{\"s\":\"\\\"q\\\"\"}")
+            .put("\"unterminated", "unterminated")
+            .put("\"trailing\" ignored", "trailing")
+            .build();
+
+    @Test
+    @DisplayName("un-escape the quoted strings")
+    void unEscapeCorpus() throws IOException {
+        for (Map.Entry<String, String> sample : corpus.entrySet()) {
+            assertEquals(sample.getValue(), read(sample.getKey()), sample.getKey());
+        }
+    }
+
+    @Test
+    @DisplayName("read a string longer than the buffer")
+    void readLongString() throws IOException {
+        String contents = repeat("ab\\\"", 10_000);
+        String expected = repeat("ab\"", 10_000);
+        assertEquals(expected, read('"' + contents + '"'));
+    }
+
+    @Test
+    @DisplayName("read a string char by char")
+    void readSingleChars() throws IOException {
+        Reader reader = new UnquotingReader(new StringReader("\"a\\nb\""));
+        assertEquals('a', reader.read());
+        assertEquals('\n', reader.read());
+        assertEquals('b', reader.read());
+        assertEquals(-1, reader.read());
+        assertEquals(-1, reader.read());
+    }
+
+    @Test
+    @DisplayName("read nothing from a non-quoted string")
+    void readNonQuoted() throws IOException {
+        assertEquals("", read("{}"));
+    }
+
+    @Test
+    @DisplayName("fail on a malformed escape sequence")
+    void failOnMalformed() {
+        assertThrows(InvalidProtocolBufferException.class, () -> read("\"\\u12G4\""));
+        assertThrows(InvalidProtocolBufferException.class, () -> read("\"\\u12\""));
+        assertThrows(InvalidProtocolBufferException.class, () -> read("\"abc\\"));
+    }
+
+    private static String read(String quoted) throws IOException {
+        Reader reader = new UnquotingReader(new StringReader(quoted));
+        return CharStreams.toString(reader);
+    }
+}
@@ -24,6 +24,7 @@ import com.google.protobuf.Int32Value;
 import com.google.protobuf.Message;
 import io.spine.core.Ack;
 import io.spine.core.AckVBuilder;
+import io.spine.web.given.BytesInputStream;
 import io.spine.web.parser.HttpMessages;
 
 import javax.servlet.http.HttpServletRequest;
@@ -36,6 +37,7 @@ import java.util.Optional;
 import static io.spine.core.Responses.statusOk;
 import static io.spine.json.Json.toCompactJson;
 import static io.spine.protobuf.AnyPacker.pack;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.eq;
@@ -53,6 +55,7 @@ public final class HttpMessagesTestEnv {
     public static final String JSON_TYPE_UTF_8 = "application/json; charset=utf-8";
     public static final String JSON_TYPE_CRAZY_CASE = "aPPliCatIon/JSon";
     public static final String PROTOBUF_TYPE = "application/x-protobuf";
+    public static final String BINARY_TYPE = "application/protobuf";
 
     /** Prevents the test environment class instantiation. */
     private HttpMessagesTestEnv() {
@@ -83,15 +86,31 @@ public final class HttpMessagesTestEnv {
 
     public static HttpServletRequest requestWithoutContentType(String content) throws IOException {
         HttpServletRequest request = mock(HttpServletRequest.class);
-        when(request.getReader()).thenReturn(new BufferedReader(new StringReader(content)));
+        stubBody(request, content);
         return request;
     }
 
     public static HttpServletRequest request(String content, String format)
             throws IOException {
         HttpServletRequest request = mock(HttpServletRequest.class);
-        when(request.getReader()).thenReturn(new BufferedReader(new StringReader(content)));
+        stubBody(request, content);
         when(request.getHeader(eq(CONTENT_TYPE))).thenReturn(format);
         return request;
     }
+
+    public static HttpServletRequest binaryRequest(Message content) throws IOException {
+        return binaryRequest(content.toByteArray());
+    }
+
+    public static HttpServletRequest binaryRequest(byte[] content) throws IOException {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getInputStream()).thenReturn(new BytesInputStream(content));
+        when(request.getHeader(eq(CONTENT_TYPE))).thenReturn(BINARY_TYPE);
+        return request;
+    }
+
+    private static void stubBody(HttpServletRequest request, String content) throws IOException {
+        when(request.getReader()).thenReturn(new BufferedReader(new StringReader(content)));
+        when(request.getInputStream()).thenReturn(new BytesInputStream(content.getBytes(UTF_8)));
+    }
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.query;
+
+import com.google.protobuf.Timestamp;
+import io.spine.client.Query;
+import io.spine.client.QueryFactory;
+import io.spine.client.QueryResponse;
+import io.spine.testing.client.TestActorRequestFactory;
+import io.spine.web.query.given.AsyncQueryServiceTestEnv.DeferredQueryService;
+import io.spine.web.query.given.AsyncQueryServiceTestEnv.FaultyQueryService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.web.query.given.AsyncQueryServiceTestEnv.okResponse;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("AsyncQueryService should")
+class AsyncQueryServiceTest {
+
+    private static final QueryFactory queryFactory =
+            new TestActorRequestFactory(AsyncQueryServiceTest.class).query();
+
+    @Test
+    @DisplayName("not wait for the query response")
+    void notBlock() {
+        DeferredQueryService queryService = new DeferredQueryService();
+        AsyncQueryService service = new AsyncQueryService(queryService);
+
+        CompletableFuture<QueryResponse> response = service.execute(query());
+        assertFalse(response.isDone());
+
+        QueryResponse expected = okResponse();
+        queryService.respond(expected);
+        assertEquals(expected, response.join());
+    }
+
+    @Test
+    @DisplayName("fail with the error of the query service")
+    void propagateError() {
+        DeferredQueryService queryService = new DeferredQueryService();
+        AsyncQueryService service = new AsyncQueryService(queryService);
+
+        CompletableFuture<QueryResponse> response = service.execute(query());
+        queryService.fail(new IllegalArgumentException());
+
+        CompletionException thrown = assertThrows(CompletionException.class, response::join);
+        assertThat(thrown.getCause()).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("fail if the query service throws")
+    void failOnThrow() {
+        AsyncQueryService service = new AsyncQueryService(new FaultyQueryService());
+
+        CompletableFuture<QueryResponse> response = service.execute(query());
+
+        CompletionException thrown = assertThrows(CompletionException.class, response::join);
+        assertThat(thrown.getCause()).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("fail the query which is not answered in time")
+    void timeout() {
+        DeferredQueryService queryService = new DeferredQueryService();
+        AsyncQueryService service = new AsyncQueryService(queryService, Duration.ofMillis(10));
+
+        CompletableFuture<QueryResponse> response = service.execute(query());
+
+        CompletionException thrown = assertThrows(CompletionException.class, response::join);
+        assertThat(thrown.getCause()).isInstanceOf(TimeoutException.class);
+        queryService.respond(okResponse());
+        assertTrue(response.isCompletedExceptionally());
+    }
+
+    @Test
+    @DisplayName("ignore the response to a cancelled query")
+    void cancel() {
+        DeferredQueryService queryService = new DeferredQueryService();
+        AsyncQueryService service = new AsyncQueryService(queryService);
+
+        CompletableFuture<QueryResponse> response = service.execute(query());
+        response.cancel(false);
+        queryService.respond(okResponse());
+
+        assertTrue(response.isCancelled());
+    }
+
+    @Test
+    @DisplayName("not accept non-positive timeout")
+    void rejectNonPositiveTimeout() {
+        DeferredQueryService queryService = new DeferredQueryService();
+        assertThrows(IllegalArgumentException.class,
+                     () -> new AsyncQueryService(queryService, Duration.ZERO));
+    }
+
+    private static Query query() {
+        return queryFactory.all(Timestamp.class);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.query;
+
+import com.google.protobuf.Timestamp;
+import io.grpc.stub.StreamObserver;
+import io.spine.client.Query;
+import io.spine.client.QueryFactory;
+import io.spine.client.QueryResponse;
+import io.spine.client.grpc.QueryServiceGrpc.QueryServiceImplBase;
+import io.spine.testing.client.TestActorRequestFactory;
+import io.spine.web.query.given.AsyncQueryServiceTestEnv.DeferredQueryService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+import static com.google.common.truth.Truth.assertThat;
+import static io.spine.web.query.given.AsyncQueryServiceTestEnv.okResponse;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("BlockingQueryService should")
+class BlockingQueryServiceTest {
+
+    private static final QueryFactory queryFactory =
+            new TestActorRequestFactory(BlockingQueryServiceTest.class).query();
+
+    @Test
+    @DisplayName("return the response of a synchronous query service")
+    void returnResponse() {
+        QueryResponse expected = okResponse();
+        BlockingQueryService service = new BlockingQueryService(new QueryServiceImplBase() {
+            @Override
+            public void read(Query request, StreamObserver<QueryResponse> responseObserver) {
+                responseObserver.onNext(expected);
+                responseObserver.onCompleted();
+            }
+        });
+
+        assertEquals(expected, service.execute(query()));
+    }
+
+    @Test
+    @DisplayName("fail right away if the query is not completed and there is no timeout")
+    void failFast() {
+        BlockingQueryService service = new BlockingQueryService(new DeferredQueryService());
+
+        assertThrows(IllegalStateException.class, () -> service.execute(query()));
+    }
+
+    @Test
+    @DisplayName("fail if the query is not completed within the timeout")
+    void failOnTimeout() {
+        AsyncQueryService asyncService =
+                new AsyncQueryService(new DeferredQueryService(), Duration.ofMillis(10));
+        BlockingQueryService service = new BlockingQueryService(asyncService);
+
+        IllegalStateException thrown =
+                assertThrows(IllegalStateException.class, () -> service.execute(query()));
+        assertThat(thrown.getCause()).isInstanceOf(TimeoutException.class);
+    }
+
+    private static Query query() {
+        return queryFactory.all(Timestamp.class);
+    }
+}
@@ -25,10 +25,12 @@ import io.spine.client.Query;
 import io.spine.client.QueryFactory;
 import io.spine.json.Json;
 import io.spine.testing.client.TestActorRequestFactory;
+import io.spine.web.query.given.QueryServletTestEnv.AsyncQueryServlet;
 import io.spine.web.query.given.QueryServletTestEnv.TestQueryServlet;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import javax.servlet.AsyncContext;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.ByteArrayOutputStream;
@@ -37,6 +39,8 @@ import java.io.ObjectOutputStream;
 import java.io.StringWriter;
 
 import static io.spine.base.Time.currentTime;
+import static io.spine.web.given.Servlets.asyncContext;
+import static io.spine.web.given.Servlets.asyncRequest;
 import static io.spine.web.given.Servlets.request;
 import static io.spine.web.given.Servlets.response;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -71,6 +75,22 @@ class QueryServletTest {
         assertEquals(expectedData, actualData);
     }
 
+    @Test
+    @DisplayName("handle query POST requests asynchronously")
+    void testHandleAsync() throws IOException {
+        Timestamp expectedData = currentTime();
+        QueryServlet servlet = new AsyncQueryServlet(expectedData, Runnable::run);
+        StringWriter response = new StringWriter();
+        AsyncContext context = asyncContext(response(response));
+        Query query = queryFactory.all(Timestamp.class);
+        HttpServletRequest request = asyncRequest(query, context);
+        servlet.doPost(request, response(new StringWriter()));
+        verify(request).startAsync();
+        verify(context).complete();
+        Timestamp actualData = Json.fromJson(response.toString(), Timestamp.class);
+        assertEquals(expectedData, actualData);
+    }
+
     @Test
     @DisplayName("respond 400 to an invalid query")
     void testInvalidCommand() throws IOException {
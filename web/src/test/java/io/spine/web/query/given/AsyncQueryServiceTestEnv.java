@@ -0,0 +1,79 @@
+/*
+ * Copyright 2019, TeamDev. All rights reserved.
+ *
+ * Redistribution and use in source and/or binary forms, with or without
+ * modification, must retain the above copyright notice and the following
+ * disclaimer.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package io.spine.web.query.given;
+
+import io.grpc.stub.StreamObserver;
+import io.spine.client.Query;
+import io.spine.client.QueryResponse;
+import io.spine.client.grpc.QueryServiceGrpc.QueryServiceImplBase;
+
+import static com.google.common.base.Preconditions.checkState;
+import static io.spine.core.Responses.ok;
+
+public final class AsyncQueryServiceTestEnv {
+
+    /**
+     * Prevents the utility class instantiation.
+     */
+    private AsyncQueryServiceTestEnv() {
+    }
+
+    public static QueryResponse okResponse() {
+        return QueryResponse.newBuilder()
+                            .setResponse(ok())
+                            .build();
+    }
+
+    /**
+     * A {@code QueryService} which answers the queries only when asked to.
+     */
+    public static final class DeferredQueryService extends QueryServiceImplBase {
+
+        private StreamObserver<QueryResponse> observer;
+
+        @Override
+        public void read(Query request, StreamObserver<QueryResponse> responseObserver) {
+            this.observer = responseObserver;
+        }
+
+        public void respond(QueryResponse response) {
+            checkState(observer != null, "No query received.");
+            observer.onNext(response);
+            observer.onCompleted();
+        }
+
+        public void fail(Throwable error) {
+            checkState(observer != null, "No query received.");
+            observer.onError(error);
+        }
+    }
+
+    /**
+     * A {@code QueryService} which fails to accept a query.
+     */
+    public static final class FaultyQueryService extends QueryServiceImplBase {
+
+        @Override
+        public void read(Query request, StreamObserver<QueryResponse> responseObserver) {
+            throw new IllegalStateException("Query service is unavailable.");
+        }
+    }
+}
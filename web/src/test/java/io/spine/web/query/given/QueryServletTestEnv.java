@@ -31,6 +31,7 @@ import io.spine.web.query.QueryServlet;
 import javax.annotation.Nonnull;
 import javax.servlet.ServletResponse;
 import java.io.IOException;
+import java.util.concurrent.Executor;
 
 public final class QueryServletTestEnv {
 
@@ -56,6 +57,14 @@ public final class QueryServletTestEnv {
         }
     }
 
+    @SuppressWarnings("serial")
+    public static final class AsyncQueryServlet extends QueryServlet {
+
+        public AsyncQueryServlet(Message expectedMessage, Executor executor) {
+            super(new TestQueryBridge(expectedMessage), executor);
+        }
+    }
+
     private static final class TestQueryBridge implements QueryBridge {
 
         private final Message response;